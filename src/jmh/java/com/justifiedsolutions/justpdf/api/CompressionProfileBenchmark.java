@@ -0,0 +1,118 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.api;
+
+import com.justifiedsolutions.justpdf.api.content.Paragraph;
+import com.justifiedsolutions.justpdf.api.content.Table;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures writing a {@link Document} with each {@link CompressionProfile}, on a corpus of paragraphs and a corpus of
+ * tables. The score is the number of milliseconds to write the document and the {@code bytes} counter is the size of
+ * the document.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompressionProfileBenchmark {
+
+    private static final int PARAGRAPHS = 100;
+    private static final int TABLE_ROWS = 200;
+    private static final int TABLE_COLUMNS = 5;
+    private static final String TEXT = "Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor "
+            + "incididunt ut labore et dolore magna aliqua. Ut enim ad minim veniam, quis nostrud exercitation ullamco "
+            + "laboris nisi ut aliquip ex ea commodo consequat.";
+
+    @Param({"NONE", "FASTEST", "BALANCED", "SMALLEST"})
+    private CompressionProfile profile;
+
+    @Param({"TEXT", "TABLE"})
+    private String corpus;
+
+    private Document document;
+
+    /**
+     * Builds the document once, so only layout and writing are measured.
+     *
+     * @throws DocumentException never
+     */
+    @Setup
+    public void setup() throws DocumentException {
+        document = new Document(PageSize.LETTER, new Margin(72, 72, 72, 72));
+        document.getWriteOptions().setCompressionProfile(profile);
+        if ("TABLE".equals(corpus)) {
+            Table table = new Table(TABLE_COLUMNS);
+            for (int row = 0; row < TABLE_ROWS; row++) {
+                for (int column = 0; column < TABLE_COLUMNS; column++) {
+                    table.createCell(new Paragraph("R" + row + "C" + column));
+                }
+            }
+            document.add(table);
+        } else {
+            for (int i = 0; i < PARAGRAPHS; i++) {
+                document.add(new Paragraph(i + " " + TEXT));
+            }
+        }
+    }
+
+    /**
+     * Writes the document.
+     *
+     * @param counters the counters that report the size of the document
+     * @throws DocumentException never
+     * @throws IOException       never, the output is discarded
+     */
+    @Benchmark
+    public void write(Size counters) throws DocumentException, IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        document.write(out);
+        counters.bytes = out.count;
+    }
+
+    /**
+     * Reports the size of the document written by the last invocation.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Size {
+        /**
+         * The number of bytes in the document.
+         */
+        public long bytes;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
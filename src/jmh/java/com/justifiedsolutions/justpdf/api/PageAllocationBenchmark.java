@@ -0,0 +1,79 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.api;
+
+import com.justifiedsolutions.justpdf.api.content.Paragraph;
+import com.justifiedsolutions.justpdf.api.content.Table;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the heap allocated to lay out and write a {@link Document} of tables, whose cells and borders create many
+ * rectangles and numeric operands. The content is not compressed and the paragraphs are not hyphenated, whose pattern
+ * matching would otherwise allocate far more than the PDF objects, so the allocations are those of the layout and the
+ * PDF objects. Run with {@code -prof gc}; {@code gc.alloc.rate.norm} is the number of bytes allocated per document of
+ * {@code pages} pages.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageAllocationBenchmark {
+
+    private static final int ROWS_PER_PAGE = 30;
+    private static final int TABLE_COLUMNS = 5;
+
+    @Param({"1", "10"})
+    private int pages;
+
+    private Document document;
+
+    /**
+     * Builds the document once, so only layout and writing are measured.
+     *
+     * @throws DocumentException never
+     */
+    @Setup
+    public void setup() throws DocumentException {
+        document = new Document(PageSize.LETTER, new Margin(72, 72, 72, 72));
+        document.getWriteOptions().setCompressionProfile(CompressionProfile.NONE);
+        Table table = new Table(TABLE_COLUMNS);
+        for (int row = 0; row < pages * ROWS_PER_PAGE; row++) {
+            for (int column = 0; column < TABLE_COLUMNS; column++) {
+                Paragraph paragraph = new Paragraph("R" + row + "C" + column);
+                paragraph.setHyphenate(false);
+                table.createCell(paragraph);
+            }
+        }
+        document.add(table);
+    }
+
+    /**
+     * Lays out and writes the document, discarding the output.
+     *
+     * @throws DocumentException never
+     * @throws IOException       never, the output is discarded
+     */
+    @Benchmark
+    public void write() throws DocumentException, IOException {
+        document.write(OutputStream.nullOutputStream());
+    }
+}
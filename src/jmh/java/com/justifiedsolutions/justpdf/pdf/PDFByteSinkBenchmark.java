@@ -0,0 +1,125 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf;
+
+import com.justifiedsolutions.justpdf.pdf.contents.BeginText;
+import com.justifiedsolutions.justpdf.pdf.contents.CreateRectangularPath;
+import com.justifiedsolutions.justpdf.pdf.contents.EndText;
+import com.justifiedsolutions.justpdf.pdf.contents.PositionText;
+import com.justifiedsolutions.justpdf.pdf.contents.SetFont;
+import com.justifiedsolutions.justpdf.pdf.contents.SetLineWidth;
+import com.justifiedsolutions.justpdf.pdf.contents.ShowText;
+import com.justifiedsolutions.justpdf.pdf.contents.StrokePath;
+import com.justifiedsolutions.justpdf.pdf.object.ObjectNumberAllocator;
+import com.justifiedsolutions.justpdf.pdf.object.PDFArray;
+import com.justifiedsolutions.justpdf.pdf.object.PDFDictionary;
+import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject;
+import com.justifiedsolutions.justpdf.pdf.object.PDFName;
+import com.justifiedsolutions.justpdf.pdf.object.PDFReal;
+import com.justifiedsolutions.justpdf.pdf.object.PDFRectangle;
+import com.justifiedsolutions.justpdf.pdf.object.PDFString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures serializing a typical page, its content stream and its page dictionary, into a {@link PDFByteSink}. Run
+ * with {@code -prof gc}; {@code gc.alloc.rate.norm} is the number of bytes allocated per page and should be close to
+ * zero.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PDFByteSinkBenchmark {
+
+    private static final int LINES_PER_PAGE = 50;
+
+    private final List<PDFWritable> operators = new ArrayList<>();
+    private PDFIndirectObject page;
+    private PDFByteSink sink;
+
+    /**
+     * Builds the page once, so only serialization is measured.
+     */
+    @Setup
+    public void setup() {
+        PDFName font = new PDFName("F1");
+        operators.add(new SetLineWidth(new PDFReal(.5f)));
+        operators.add(new CreateRectangularPath(new PDFRectangle(70.25f, 718.5f, 235.125f, 740.75f)));
+        operators.add(new StrokePath());
+        operators.add(new BeginText());
+        operators.add(new SetFont(font, new PDFReal(12)));
+        for (int i = 0; i < LINES_PER_PAGE; i++) {
+            operators.add(new PositionText(new PDFReal(72.33333f), new PDFReal(-14.4f)));
+            operators.add(new ShowText(new PDFString("Lorem ipsum dolor sit amet, consectetur (adipiscing) elit.")));
+        }
+        operators.add(new EndText());
+
+        ObjectNumberAllocator allocator = new ObjectNumberAllocator();
+        PDFIndirectObject parent = new PDFIndirectObject(new PDFDictionary(), allocator);
+        PDFIndirectObject contents = new PDFIndirectObject(new PDFDictionary(), allocator);
+        PDFIndirectObject fontObject = new PDFIndirectObject(new PDFDictionary(), allocator);
+        PDFDictionary fonts = new PDFDictionary();
+        fonts.put(font, fontObject.getReference());
+        PDFDictionary resources = new PDFDictionary();
+        resources.put(new PDFName("Font"), fonts);
+        PDFArray procSet = new PDFArray();
+        procSet.add(new PDFName("PDF"));
+        procSet.add(new PDFName("Text"));
+        resources.put(new PDFName("ProcSet"), procSet);
+        PDFDictionary dictionary = new PDFDictionary();
+        dictionary.put(new PDFName("Type"), new PDFName("Page"));
+        dictionary.put(new PDFName("Parent"), parent.getReference());
+        dictionary.put(new PDFName("MediaBox"), new PDFRectangle(0, 0, 612, 792));
+        dictionary.put(new PDFName("Contents"), contents.getReference());
+        dictionary.put(new PDFName("Resources"), resources);
+        page = new PDFIndirectObject(dictionary, allocator);
+
+        sink = new PDFByteSink(OutputStream.nullOutputStream());
+    }
+
+    /**
+     * Writes the content stream operators of one page.
+     *
+     * @return the number of bytes written so far, to prevent dead code elimination
+     * @throws IOException never, the sink discards its output
+     */
+    @Benchmark
+    public long writeContentStream() throws IOException {
+        for (PDFWritable operator : operators) {
+            operator.writeToPDF(sink);
+        }
+        return sink.getCount();
+    }
+
+    /**
+     * Writes the indirect page dictionary of one page.
+     *
+     * @return the number of bytes written so far, to prevent dead code elimination
+     * @throws IOException never, the sink discards its output
+     */
+    @Benchmark
+    public long writePageObject() throws IOException {
+        page.writeToPDF(sink);
+        return sink.getCount();
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.api;
+
+/**
+ * Represents the different trade-offs between speed and size when compressing the contents of a {@link Document}.
+ */
+public enum CompressionProfile {
+    /**
+     * Contents are not compressed.
+     */
+    NONE,
+    /**
+     * Contents are compressed as quickly as possible.
+     */
+    FASTEST,
+    /**
+     * Contents are compressed with a balance of speed and size.
+     */
+    BALANCED,
+    /**
+     * Contents are compressed as small as possible.
+     */
+    SMALLEST
+}
@@ -8,10 +8,20 @@ package com.justifiedsolutions.justpdf.api;
 import com.justifiedsolutions.justpdf.api.content.Content;
 import com.justifiedsolutions.justpdf.api.content.Paragraph;
 import com.justifiedsolutions.justpdf.layout.DocumentLayout;
+import com.justifiedsolutions.justpdf.pdf.ChannelOutputStream;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.function.IntFunction;
 
 /**
  * Represents a PDF document. A document can contain {@link Metadata}, {@link Section}s, and {@link Content}. It is
@@ -30,6 +40,7 @@ public final class Document {
     private final Outline outline = new Outline();
     private Header header;
     private Footer footer;
+    private final WriteOptions writeOptions = new WriteOptions();
 
     /**
      * Creates a new instance of a Document with the specified {@link PageSize} and {@link Margin}. These values are
@@ -135,6 +146,16 @@ public final class Document {
         this.footer = footer;
     }
 
+    /**
+     * Gets the {@link WriteOptions} that say how the Document is laid out and written. Changes to the options apply
+     * to the next time the Document is written.
+     *
+     * @return the write options
+     */
+    public WriteOptions getWriteOptions() {
+        return writeOptions;
+    }
+
     /**
      * Gets the document outline.
      *
@@ -227,7 +248,129 @@ public final class Document {
      */
     public void write(OutputStream out) throws IOException, DocumentException {
         Objects.requireNonNull(out);
-        DocumentLayout layout = new DocumentLayout(this);
+        DocumentLayout layout = new DocumentLayout(this, out);
         layout.write(out);
     }
+
+    /**
+     * Writes the contents of the Document to the specified blocking {@link WritableByteChannel}. The PDF is copied into
+     * a pooled direct buffer that is written to the channel whenever it is full, so the JDK never allocates a temporary
+     * direct buffer for a large write. Large stream data that is already held off-heap, such as page contents spilled
+     * to a mapped file, is handed to the channel without being copied. The channel is not closed.
+     *
+     * @param channel the channel to write the PDF to
+     * @throws NullPointerException  if the channel is {@code null}
+     * @throws IOException           if there was a problem writing to the channel
+     * @throws DocumentException     if there was problem laying out the document
+     * @throws IllegalStateException if there was no data in the document
+     */
+    public void write(WritableByteChannel channel) throws IOException, DocumentException {
+        Objects.requireNonNull(channel);
+        try (ChannelOutputStream out = new ChannelOutputStream(channel)) {
+            write(out);
+        }
+    }
+
+    /**
+     * Writes the contents of the Document to the file at the specified {@link Path} through a {@link FileChannel}. The
+     * file is created, or truncated if it already exists.
+     *
+     * @param pdf the path of the PDF file
+     * @throws NullPointerException  if the path is {@code null}
+     * @throws IOException           if there was a problem writing the file
+     * @throws DocumentException     if there was problem laying out the document
+     * @throws IllegalStateException if there was no data in the document
+     * @see #write(WritableByteChannel)
+     */
+    public void write(Path pdf) throws IOException, DocumentException {
+        Objects.requireNonNull(pdf);
+        try (FileChannel channel = FileChannel.open(pdf, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            write(channel);
+        }
+    }
+
+    /**
+     * Writes the contents of the Document as shards, separate PDF files that each hold a consecutive range of its pages,
+     * so that no file has more than the maximum number of pages or bytes. Each shard is a complete PDF with the
+     * metadata of the Document and the part of its outline that points at the shard's pages. The Document is laid out
+     * once, then the shards are written in parallel on the executor. The byte size of a shard is estimated from the
+     * objects its pages use, so maxBytes should leave a little room for the page tree, outline and trailer. The
+     * streaming setting is ignored.
+     *
+     * @param maxPages the maximum number of pages in a shard, {@link Integer#MAX_VALUE} for no maximum
+     * @param maxBytes the maximum number of bytes in a shard, {@link Long#MAX_VALUE} for no maximum
+     * @param paths    gets the path of the file for each shard from its index, starting at {@code 0}; each file is
+     *                 created, or truncated if it already exists
+     * @param executor the executor the shards are written on, or {@code null} to write them one after the other
+     * @return the number of shards written
+     * @throws NullPointerException     if paths is {@code null}
+     * @throws IllegalArgumentException if maxPages or maxBytes is less than 1
+     * @throws IOException              if there was a problem writing a file
+     * @throws DocumentException        if there was problem laying out the document
+     * @throws IllegalStateException    if there was no data in the document
+     */
+    public int writeShards(int maxPages, long maxBytes, IntFunction<Path> paths, Executor executor)
+            throws IOException, DocumentException {
+        Objects.requireNonNull(paths);
+        DocumentLayout layout = new DocumentLayout(this, null, false);
+        return layout.writeShards(maxPages, maxBytes, shard -> Files.newOutputStream(paths.apply(shard)), executor);
+    }
+
+    /**
+     * Creates a {@link Flow.Publisher} of the contents of the Document as a PDF in {@link ByteBuffer} chunks. Each
+     * subscriber gets its own layout of the Document, which runs on a new thread. The PDF is streamed whatever the
+     * streaming setting: the header is published first, then the objects of each page as soon as it has been laid
+     * out, and finally the cross-reference table and the trailer. A linearized Document is published once it has been
+     * completely laid out.
+     *
+     * <p>The layout waits whenever the subscriber has not requested more chunks, so a slow subscriber slows down the
+     * layout rather than the unpublished bytes growing the heap. A problem laying out the Document is signalled with
+     * {@link Flow.Subscriber#onError(Throwable)}.</p>
+     *
+     * @return the publisher
+     * @see #publish(Executor)
+     */
+    public Flow.Publisher<ByteBuffer> publish() {
+        return publish(DocumentPublisher.NEW_THREAD);
+    }
+
+    /**
+     * Creates a {@link Flow.Publisher} of the contents of the Document as a PDF in {@link ByteBuffer} chunks, with
+     * the layout for each subscriber running on the specified {@link Executor}. As the layout blocks while the
+     * subscriber has not requested more chunks, the executor should not be shared with the subscribers.
+     *
+     * @param executor runs the layout for each subscriber
+     * @return the publisher
+     * @throws NullPointerException if the executor is {@code null}
+     * @see #publish()
+     */
+    public Flow.Publisher<ByteBuffer> publish(Executor executor) {
+        return new DocumentPublisher(this, Objects.requireNonNull(executor));
+    }
+
+    /**
+     * Appends the contents of the Document to the existing PDF file at the specified {@link Path} as new pages, after
+     * the pages already in the file. The file must have been written by a Document that does not compress objects.
+     * Only the new pages and the objects they change are written after the existing bytes, as an incremental update,
+     * so the existing pages are neither laid out nor rewritten again. The metadata of the Document replaces the
+     * metadata of the file. The streaming, linearized, compressObjects and deterministic settings are ignored.
+     *
+     * @param pdf the path of the existing PDF file
+     * @throws NullPointerException  if the path is {@code null}
+     * @throws IOException           if there was a problem reading or writing the file
+     * @throws DocumentException     if there was problem laying out the document
+     * @throws IllegalStateException if there was no data in the document
+     * @see "ISO 32000-1:2008, 7.5.6"
+     */
+    public void append(Path pdf) throws IOException, DocumentException {
+        Objects.requireNonNull(pdf);
+        try (FileChannel channel = FileChannel.open(pdf, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            DocumentLayout layout = new DocumentLayout(this, channel);
+            channel.position(channel.size());
+            try (ChannelOutputStream out = new ChannelOutputStream(channel)) {
+                layout.write(out);
+            }
+        }
+    }
 }
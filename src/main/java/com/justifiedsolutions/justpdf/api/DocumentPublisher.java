@@ -0,0 +1,215 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.api;
+
+import com.justifiedsolutions.justpdf.layout.DocumentLayout;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Publishes a {@link Document} as a PDF in {@link ByteBuffer} chunks. Each subscriber gets its own layout of the
+ * document, which runs on a thread of the {@link Executor} and is streamed: the header is published first, then the
+ * objects of each page as soon as it has been laid out, and finally the remaining objects, the cross-reference table
+ * and the trailer. A linearized document can only be published once it has been completely laid out.
+ *
+ * <p>The layout blocks whenever the subscriber has no outstanding demand, so a slow subscriber slows down the layout
+ * instead of the published bytes piling up in memory. At most one chunk of {@link #CHUNK_SIZE} bytes is held at a
+ * time, besides the pages waiting for their contents to be compressed.</p>
+ *
+ * <p>The signals to a subscriber are serial: once its layout is running, only the layout thread signals it, and a
+ * cancelled subscriber is not signalled again.</p>
+ *
+ * @see Document#publish(Executor)
+ */
+final class DocumentPublisher implements Flow.Publisher<ByteBuffer> {
+
+    /**
+     * The maximum size of a published chunk.
+     */
+    static final int CHUNK_SIZE = 16 * 1024;
+
+    /**
+     * Runs each layout on a new thread.
+     */
+    static final Executor NEW_THREAD = runnable -> {
+        Thread thread = new Thread(runnable, "justPDF-publisher");
+        thread.setDaemon(true);
+        thread.start();
+    };
+
+    private final Document document;
+    private final Executor executor;
+
+    /**
+     * Creates a new DocumentPublisher.
+     *
+     * @param document the document to publish
+     * @param executor runs the layout for each subscriber
+     */
+    DocumentPublisher(Document document, Executor executor) {
+        this.document = document;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+        Objects.requireNonNull(subscriber);
+        Publication publication = new Publication(subscriber);
+        subscriber.onSubscribe(publication);
+        try {
+            executor.execute(publication::publish);
+        } catch (RejectedExecutionException e) {
+            publication.cancel();
+            subscriber.onError(e);
+        }
+    }
+
+    /**
+     * The subscription of a single subscriber, which lays out the document and publishes it in chunks.
+     */
+    private final class Publication implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super ByteBuffer> subscriber;
+        private final Object lock = new Object();
+        private long demand;
+        private boolean cancelled;
+        private Throwable failure;
+
+        Publication(Flow.Subscriber<? super ByteBuffer> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            synchronized (lock) {
+                if (n <= 0) {
+                    failure = new IllegalArgumentException("The number of requested chunks must be positive.");
+                    cancelled = true;
+                } else {
+                    demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                }
+                lock.notifyAll();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (lock) {
+                cancelled = true;
+                lock.notifyAll();
+            }
+        }
+
+        /**
+         * Lays out the document and publishes it, then signals the subscriber that it is complete or that it failed.
+         * Nothing is signalled once the subscription has been cancelled.
+         */
+        @SuppressWarnings("PMD.AvoidCatchingGenericException") // any failure must be signalled to the subscriber
+        void publish() {
+            Throwable error = null;
+            try (OutputStream out = new ChunkOutputStream()) {
+                DocumentLayout layout = new DocumentLayout(document, out, !document.getWriteOptions().isLinearized());
+                layout.write(out);
+                out.flush();
+            } catch (IOException | DocumentException | RuntimeException e) {
+                error = e;
+            }
+            Throwable signal;
+            synchronized (lock) {
+                if (failure != null) {
+                    signal = failure;
+                } else if (cancelled) {
+                    return;
+                } else {
+                    signal = error;
+                }
+            }
+            if (signal == null) {
+                subscriber.onComplete();
+            } else {
+                subscriber.onError(signal);
+            }
+        }
+
+        /**
+         * Waits until the subscriber has requested another chunk.
+         *
+         * @throws IOException if the subscription was cancelled, or the layout thread was interrupted
+         */
+        private void awaitDemand() throws IOException {
+            synchronized (lock) {
+                while (demand == 0 && !cancelled) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        InterruptedIOException exception = new InterruptedIOException("Interrupted waiting for demand.");
+                        exception.initCause(e);
+                        throw exception;
+                    }
+                }
+                if (cancelled) {
+                    throw new IOException("The subscription was cancelled.");
+                }
+                demand--;
+            }
+        }
+
+        /**
+         * The stream the layout writes to. A chunk is published when it is full, and when the stream is flushed,
+         * which a streaming document does after writing each page.
+         */
+        private final class ChunkOutputStream extends OutputStream {
+
+            private ByteBuffer chunk = ByteBuffer.allocate(CHUNK_SIZE);
+
+            @Override
+            public void write(int b) throws IOException {
+                if (!chunk.hasRemaining()) {
+                    emit();
+                }
+                chunk.put((byte) b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                Objects.checkFromIndexSize(off, len, b.length);
+                int offset = off;
+                int remaining = len;
+                while (remaining > 0) {
+                    if (!chunk.hasRemaining()) {
+                        emit();
+                    }
+                    int length = Math.min(remaining, chunk.remaining());
+                    chunk.put(b, offset, length);
+                    offset += length;
+                    remaining -= length;
+                }
+            }
+
+            @Override
+            public void flush() throws IOException {
+                if (chunk.position() > 0) {
+                    emit();
+                }
+            }
+
+            private void emit() throws IOException {
+                awaitDemand();
+                chunk.flip();
+                subscriber.onNext(chunk);
+                chunk = ByteBuffer.allocate(CHUNK_SIZE);
+            }
+        }
+    }
+}
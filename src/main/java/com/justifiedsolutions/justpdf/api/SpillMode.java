@@ -0,0 +1,25 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.api;
+
+/**
+ * Represents where the contents of the pages of a {@link Document} are held between being laid out and being written.
+ */
+public enum SpillMode {
+    /**
+     * Contents stay on the Java heap.
+     */
+    NONE,
+    /**
+     * Contents are moved to direct memory, outside the Java heap.
+     */
+    DIRECT,
+    /**
+     * Contents are moved to a temporary file in the {@linkplain WriteOptions#setSpillDirectory(java.nio.file.Path) spill
+     * directory}, which is mapped into memory, so the operating system can page them out.
+     */
+    MAPPED
+}
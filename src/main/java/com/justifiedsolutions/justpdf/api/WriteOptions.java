@@ -0,0 +1,320 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.api;
+
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+/**
+ * Holds the options that say how a {@link Document} is laid out and written, such as streaming, compression and the
+ * executors that do the work. They do not change the content of the Document. Each Document has its own options,
+ * which are read every time it is written.
+ */
+public final class WriteOptions {
+
+    private boolean streaming;
+    private boolean compressObjects;
+    private boolean linearized;
+    private boolean deterministic;
+    private Clock clock = Clock.systemDefaultZone();
+    private Executor compressionExecutor;
+    private Executor serializationExecutor;
+    private CompressionProfile compressionProfile = CompressionProfile.BALANCED;
+    private int compressionThreshold;
+    private int pageTreeFanOut = 32;
+    private boolean sharedResources;
+    private SpillMode spillMode = SpillMode.NONE;
+    private Path spillDirectory = Path.of(System.getProperty("java.io.tmpdir"));
+
+    /**
+     * Creates a new instance of WriteOptions with the default options.
+     */
+    public WriteOptions() {
+        // the defaults are the initial values of the fields
+    }
+
+    /**
+     * Specifies if the Document is streamed while it is written.
+     *
+     * @return true if the Document is streamed
+     */
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Sets whether the Document is streamed while it is written. A streamed Document writes each page to the
+     * {@link OutputStream} as soon as it has been laid out and then releases it, so the memory required depends on the
+     * size of a page rather than the number of pages. The default is {@code false}.
+     *
+     * @param streaming true to stream the Document
+     */
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    /**
+     * Specifies if the objects in the Document are compressed.
+     *
+     * @return true if objects are compressed
+     */
+    public boolean isCompressObjects() {
+        return compressObjects;
+    }
+
+    /**
+     * Sets whether the objects in the Document are compressed. When set, page dictionaries, outline items, fonts and
+     * other objects that are not streams are packed into compressed object streams, and a compressed cross reference
+     * stream replaces the cross reference table. This results in smaller files, but requires a viewer that supports
+     * PDF 1.5 or later. The default is {@code false}.
+     *
+     * @param compressObjects true to compress objects
+     */
+    public void setCompressObjects(boolean compressObjects) {
+        this.compressObjects = compressObjects;
+    }
+
+    /**
+     * Specifies if the Document is written as a linearized file.
+     *
+     * @return true if the Document is linearized
+     */
+    public boolean isLinearized() {
+        return linearized;
+    }
+
+    /**
+     * Sets whether the Document is written as a linearized file, also known as Fast Web View. A linearized Document
+     * starts with everything needed to display the first page, so a viewer can show it while the rest of the file is
+     * still downloading. Since every page has to be laid out before the first page can be written, a linearized
+     * Document is not {@linkplain #setStreaming(boolean) streamed} and its objects are not {@linkplain
+     * #setCompressObjects(boolean) compressed}, even if those options are set. The default is {@code false}.
+     *
+     * @param linearized true to linearize the Document
+     */
+    public void setLinearized(boolean linearized) {
+        this.linearized = linearized;
+    }
+
+    /**
+     * Specifies if the Document is written deterministically.
+     *
+     * @return true if the Document is deterministic
+     */
+    public boolean isDeterministic() {
+        return deterministic;
+    }
+
+    /**
+     * Sets whether the Document is written deterministically. A deterministic Document gets a file identifier in its
+     * trailer that is derived from the digest of its content, so the same Document written with the same {@linkplain
+     * #setClock(Clock) clock} gives byte-identical files that can be cached by their digest, whichever executors lay it
+     * out and write it. The default is {@code false}.
+     *
+     * @param deterministic true to write the Document deterministically
+     */
+    public void setDeterministic(boolean deterministic) {
+        this.deterministic = deterministic;
+    }
+
+    /**
+     * Gets the {@link Clock} that the creation date of the Document is taken from.
+     *
+     * @return the clock
+     */
+    public Clock getClock() {
+        return clock;
+    }
+
+    /**
+     * Sets the {@link Clock} that the creation date of the Document is taken from when it is laid out. A {@linkplain
+     * Clock#fixed(java.time.Instant, java.time.ZoneId) fixed} clock makes the creation date, and so a {@linkplain
+     * #setDeterministic(boolean) deterministic} Document, the same every time it is written. The default is the
+     * {@linkplain Clock#systemDefaultZone() system clock}.
+     *
+     * @param clock the clock
+     * @throws NullPointerException if clock is {@code null}
+     */
+    public void setClock(Clock clock) {
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    /**
+     * Gets the {@link Executor} used to compress the contents of each page.
+     *
+     * @return the executor or {@code null} if contents are compressed while the document is laid out
+     */
+    public Executor getCompressionExecutor() {
+        return compressionExecutor;
+    }
+
+    /**
+     * Sets the {@link Executor} used to compress the contents of each page. When set, layout continues with the next
+     * page while the previous pages are compressed, for example on a {@link java.util.concurrent.ForkJoinPool}. The
+     * output is the same as without an executor. The Document does not shut the executor down. The default is {@code
+     * null}.
+     *
+     * @param compressionExecutor the executor or {@code null}
+     */
+    public void setCompressionExecutor(Executor compressionExecutor) {
+        this.compressionExecutor = compressionExecutor;
+    }
+
+    /**
+     * Gets the {@link Executor} used to serialize the objects of the PDF when it is written.
+     *
+     * @return the executor or {@code null} if objects are serialized on the writing thread
+     */
+    public Executor getSerializationExecutor() {
+        return serializationExecutor;
+    }
+
+    /**
+     * Sets the {@link Executor} used to serialize the objects of the PDF when it is written. When set, the objects
+     * remaining after layout are serialized in parallel into separate buffers, which are written in order, so writing
+     * a large Document scales with the number of cores. Unless objects are compressed, the output is the same as
+     * without an executor. It does not apply to a linearized Document or when appending. The Document does not shut
+     * the executor down. The default is {@code null}.
+     *
+     * @param serializationExecutor the executor or {@code null}
+     */
+    public void setSerializationExecutor(Executor serializationExecutor) {
+        this.serializationExecutor = serializationExecutor;
+    }
+
+    /**
+     * Gets the {@link CompressionProfile} used to compress the contents of each page.
+     *
+     * @return the compression profile
+     */
+    public CompressionProfile getCompressionProfile() {
+        return compressionProfile;
+    }
+
+    /**
+     * Sets the {@link CompressionProfile} used to compress the contents of each page. The default is {@link
+     * CompressionProfile#BALANCED}.
+     *
+     * @param compressionProfile the compression profile
+     * @throws NullPointerException if compressionProfile is null
+     */
+    public void setCompressionProfile(CompressionProfile compressionProfile) {
+        this.compressionProfile = Objects.requireNonNull(compressionProfile);
+    }
+
+    /**
+     * Gets the size in bytes below which the contents of a page are not compressed.
+     *
+     * @return the compression threshold
+     */
+    public int getCompressionThreshold() {
+        return compressionThreshold;
+    }
+
+    /**
+     * Sets the size in bytes below which the contents of a page are not compressed. Compressing very short contents
+     * costs time and may not make them any smaller. The default is {@code 0}, which compresses all contents.
+     *
+     * @param compressionThreshold the compression threshold
+     * @throws IllegalArgumentException if compressionThreshold is negative
+     */
+    public void setCompressionThreshold(int compressionThreshold) {
+        if (compressionThreshold < 0) {
+            throw new IllegalArgumentException("Compression threshold must not be negative.");
+        }
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    /**
+     * Gets the maximum number of kids of a node in the page tree of the PDF.
+     *
+     * @return the page tree fan-out
+     */
+    public int getPageTreeFanOut() {
+        return pageTreeFanOut;
+    }
+
+    /**
+     * Sets the maximum number of kids of a node in the page tree of the PDF. The pages are arranged in a balanced tree
+     * in which every page is at the same depth, so viewers can find any page of a long document quickly. The default
+     * is {@code 32}.
+     *
+     * @param pageTreeFanOut the page tree fan-out
+     * @throws IllegalArgumentException if pageTreeFanOut is less than 2
+     */
+    public void setPageTreeFanOut(int pageTreeFanOut) {
+        if (pageTreeFanOut < 2) {
+            throw new IllegalArgumentException("Page tree fan-out must be at least 2.");
+        }
+        this.pageTreeFanOut = pageTreeFanOut;
+    }
+
+    /**
+     * Specifies if the pages of the PDF share one Resources dictionary.
+     *
+     * @return true if pages share their resources
+     */
+    public boolean isSharedResources() {
+        return sharedResources;
+    }
+
+    /**
+     * Sets whether the pages of the PDF share one Resources dictionary, which names the fonts they use, instead of
+     * each page holding its own copy. This makes a long document that uses the same few fonts on every page smaller.
+     * The default is {@code false}.
+     *
+     * @param sharedResources true to share one Resources dictionary between pages
+     */
+    public void setSharedResources(boolean sharedResources) {
+        this.sharedResources = sharedResources;
+    }
+
+    /**
+     * Gets the {@link SpillMode} that says where the contents of pages are held once they are laid out.
+     *
+     * @return the spill mode
+     */
+    public SpillMode getSpillMode() {
+        return spillMode;
+    }
+
+    /**
+     * Sets the {@link SpillMode} that says where the contents of pages are held once they are laid out, so a long
+     * Document can hold them off the heap, in direct memory or in a mapped temporary file, until it is written. The
+     * output is the same whatever the mode. It does not apply when streaming, as each page is written once it is laid
+     * out. A temporary file is deleted once the Document has been written. The default is {@link SpillMode#NONE}.
+     *
+     * @param spillMode the spill mode
+     * @throws NullPointerException if spillMode is {@code null}
+     */
+    public void setSpillMode(SpillMode spillMode) {
+        this.spillMode = Objects.requireNonNull(spillMode);
+    }
+
+    /**
+     * Gets the directory that the temporary file of the {@link SpillMode#MAPPED} spill mode is created in.
+     *
+     * @return the spill directory
+     */
+    public Path getSpillDirectory() {
+        return spillDirectory;
+    }
+
+    /**
+     * Sets the directory that the temporary file of the {@link SpillMode#MAPPED} spill mode is created in. It should
+     * be on a local disk with room for the contents of every page. The default is the directory of the {@code
+     * java.io.tmpdir} system property.
+     *
+     * @param spillDirectory the spill directory
+     * @throws NullPointerException if spillDirectory is {@code null}
+     */
+    public void setSpillDirectory(Path spillDirectory) {
+        this.spillDirectory = Objects.requireNonNull(spillDirectory);
+    }
+}
@@ -172,7 +172,7 @@ class CellLayout {
         List<GraphicsOperator> result = new ArrayList<>();
 
         if (cell.getGrayFill() < 1) {
-            DeviceGray fill = new DeviceGray(new PDFReal(cell.getGrayFill()));
+            DeviceGray fill = new DeviceGray(PDFReal.valueOf(cell.getGrayFill()));
             result.add(new SetGrayFillColor(fill));
             result.add(new CreateRectangularPath(location));
             result.add(new FillPath());
@@ -209,7 +209,7 @@ class CellLayout {
             }
         }
         if (!result.isEmpty()) {
-            result.add(0, new SetLineWidth(new PDFReal(cell.getBorderWidth())));
+            result.add(0, new SetLineWidth(PDFReal.valueOf(cell.getBorderWidth())));
             result.add(new StrokePath());
         }
         return result;
@@ -235,7 +235,7 @@ class CellLayout {
         float startX = location.getLLx().getValue() + cell.getPaddingLeft();
 
         result.add(new BeginText());
-        result.add(new AbsolutePositionText(new PDFReal(startX), new PDFReal(startY)));
+        result.add(new AbsolutePositionText(PDFReal.valueOf(startX), PDFReal.valueOf(startY)));
         for (ContentLine line : contentLines) {
             result.addAll(line.getOperators());
         }
@@ -259,7 +259,7 @@ class CellLayout {
             float textLLy = location.getLLy().getValue() + cell.getPaddingBottom();
             float textURx = location.getURx().getValue() - cell.getPaddingRight();
             float textURy = location.getURy().getValue() - cell.getPaddingTop();
-            result.add(new SetLineWidth(new PDFReal(.25f)));
+            result.add(new SetLineWidth(PDFReal.valueOf(.25f)));
             result.add(new CreateRectangularPath(new PDFRectangle(textLLx, textLLy, textURx, textURy)));
             result.add(new StrokePath());
         }
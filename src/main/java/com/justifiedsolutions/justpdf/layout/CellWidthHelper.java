@@ -117,16 +117,14 @@ final class CellWidthHelper {
         int prevBoundary = 0;
         int boundary = hyphenator.first();
         while (boundary != Hyphenator.DONE) {
-            String chunk = text.substring(prevBoundary, boundary) + "-";
-            float width = fontWrapper.getStringWidth(chunk);
+            float width = fontWrapper.measure(text, prevBoundary, boundary) + fontWrapper.getCharacterWidth('-');
             result = Math.max(result, width);
             prevBoundary = boundary;
             boundary = hyphenator.next();
         }
 
         if (prevBoundary > 0) {
-            String chunk = text.substring(prevBoundary);
-            float width = fontWrapper.getStringWidth(chunk);
+            float width = fontWrapper.measure(text, prevBoundary, text.length());
             result = Math.max(result, width);
         }
 
@@ -10,25 +10,45 @@ import com.justifiedsolutions.justpdf.api.DocumentException;
 import com.justifiedsolutions.justpdf.api.Margin;
 import com.justifiedsolutions.justpdf.api.Metadata;
 import com.justifiedsolutions.justpdf.api.Section;
+import com.justifiedsolutions.justpdf.api.SpillMode;
+import com.justifiedsolutions.justpdf.api.WriteOptions;
 import com.justifiedsolutions.justpdf.api.content.Content;
 import com.justifiedsolutions.justpdf.api.content.KeepTogetherCapable;
 import com.justifiedsolutions.justpdf.api.content.PageBreak;
 import com.justifiedsolutions.justpdf.pdf.doc.PDFDocument;
+import com.justifiedsolutions.justpdf.pdf.doc.PDFDocumentOptions;
+import com.justifiedsolutions.justpdf.pdf.doc.PDFDocumentSplitter;
 import com.justifiedsolutions.justpdf.pdf.doc.PDFInfoDictionary;
 import com.justifiedsolutions.justpdf.pdf.object.PDFDate;
 import com.justifiedsolutions.justpdf.pdf.object.PDFDocEncodedString;
-import com.justifiedsolutions.justpdf.pdf.object.PDFString;
+import com.justifiedsolutions.justpdf.pdf.object.PDFName;
+import com.justifiedsolutions.justpdf.pdf.object.PDFStreamStore;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.channels.SeekableByteChannel;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * Lays out a specified {@link Document} as a {@link PDFDocument}. Takes care of
- * pagination, etc.
+ * pagination, etc. The {@link WriteOptions} of the document are turned into the {@link PDFDocumentOptions} of the
+ * PDFDocument. If the document has a {@link SpillMode}, the layout creates the store the contents of its pages are
+ * moved to, and closes it once the PDF has been written.
  */
 public class DocumentLayout {
+    private static final Map<Metadata, PDFName> INFO_KEYS = Map.of(
+            Metadata.TITLE, PDFInfoDictionary.TITLE,
+            Metadata.AUTHOR, PDFInfoDictionary.AUTHOR,
+            Metadata.SUBJECT, PDFInfoDictionary.SUBJECT,
+            Metadata.KEYWORDS, PDFInfoDictionary.KEYWORDS,
+            Metadata.CREATOR, PDFInfoDictionary.CREATOR,
+            Metadata.PRODUCER, PDFInfoDictionary.PRODUCER);
+
     private final Document document;
-    private final PDFDocument pdfDocument = new PDFDocument();
+    private final PDFDocument pdfDocument;
+    private final PDFStreamStore spillStore;
     private final OutlineLayout outlineLayout;
     private PageLayout currentPage;
     private int currentPageNumber;
@@ -41,19 +61,101 @@ public class DocumentLayout {
      * @throws IllegalStateException if there is no data in the document
      */
     public DocumentLayout(Document document) throws DocumentException {
+        this(document, (OutputStream) null);
+    }
+
+    /**
+     * Creates a layout of the specified {@link Document}. If the document is {@linkplain WriteOptions#isStreaming()
+     * streaming}, each page is written to the specified {@link OutputStream} as soon as it is laid out.
+     *
+     * @param document        the document to layout as a PDF
+     * @param pdfOutputStream the stream that pages are written to while streaming, may be {@code null}
+     * @throws DocumentException     if there is an issue laying out the document
+     * @throws IllegalStateException if there is no data in the document
+     */
+    public DocumentLayout(Document document, OutputStream pdfOutputStream) throws DocumentException {
+        this(document, pdfOutputStream, document.getWriteOptions().isStreaming());
+    }
+
+    /**
+     * Creates a layout of the specified {@link Document}, streaming it to the specified {@link OutputStream} if
+     * specified, whatever the document's own setting. A linearized document is never streamed.
+     *
+     * @param document        the document to layout as a PDF
+     * @param pdfOutputStream the stream that pages are written to while streaming, may be {@code null}
+     * @param streaming       true to write each page to the stream as soon as it is laid out
+     * @throws DocumentException     if there is an issue laying out the document
+     * @throws IllegalStateException if there is no data in the document
+     */
+    public DocumentLayout(Document document, OutputStream pdfOutputStream, boolean streaming)
+            throws DocumentException {
+        this(document, PDFDocumentFactory.create(document.getWriteOptions(), pdfOutputStream, streaming));
+    }
+
+    /**
+     * Creates a layout of the specified {@link Document} as new pages of the existing PDF file read from the specified
+     * channel. The pages are numbered after the pages of the file, and {@link #write(OutputStream)} writes an
+     * incremental update that must be appended to the file. The streaming, linearized, compressObjects and
+     * deterministic write options of the document are ignored.
+     *
+     * @param document the document to layout as a PDF
+     * @param existing the channel to read the existing file from
+     * @throws DocumentException     if there is an issue laying out the document
+     * @throws IOException           if there is an issue reading the existing file
+     * @throws IllegalStateException if there is no data in the document
+     */
+    public DocumentLayout(Document document, SeekableByteChannel existing) throws DocumentException, IOException {
+        this(document, PDFDocumentFactory.append(document.getWriteOptions(), existing));
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException") // the spill store is closed whatever the layout fails with
+    private DocumentLayout(Document document, PDFDocument pdfDocument) throws DocumentException {
         this.document = document;
+        this.pdfDocument = pdfDocument;
+        this.currentPageNumber = pdfDocument.getPageCount();
+        this.spillStore = pdfDocument.getOptions().getSpillStore();
         outlineLayout = new OutlineLayout(this.document.getOutline(), this.pdfDocument);
-        layout();
+        try {
+            layout();
+        } catch (DocumentException | RuntimeException e) {
+            PDFDocumentFactory.closeSpillStore(spillStore, e);
+            throw e;
+        }
     }
 
     /**
-     * Writes the PDF to the specified {@link OutputStream}.
+     * Writes the PDF to the specified {@link OutputStream}. When streaming, this must be the same stream supplied to
+     * the constructor and only the remainder of the document is written. The spill store is closed afterwards.
      *
      * @param pdfOutputStream the stream to write to
      * @throws IOException if there is an issue writing to the stream
      */
     public void write(OutputStream pdfOutputStream) throws IOException {
-        pdfDocument.write(pdfOutputStream);
+        try (PDFStreamStore store = spillStore) {
+            pdfDocument.write(pdfOutputStream);
+        }
+    }
+
+    /**
+     * Writes the PDF as shards, separate PDF files that each hold a consecutive range of its pages, with no more than
+     * the maximum number of pages or bytes each. Each shard is a complete document with the outline items that point
+     * at its pages. The layout must not be streaming. The spill store is closed afterwards.
+     *
+     * @param maxPages the maximum number of pages in a shard, {@link Integer#MAX_VALUE} for no maximum
+     * @param maxBytes the maximum number of bytes in a shard, {@link Long#MAX_VALUE} for no maximum
+     * @param output   opens the stream for each shard
+     * @param executor the executor the shards are written on in parallel, or {@code null} to write them on the
+     *                 calling thread
+     * @return the number of shards
+     * @throws IOException              if there is an issue writing a shard
+     * @throws IllegalArgumentException if maxPages or maxBytes is less than 1, or the layout is streaming
+     * @see PDFDocumentSplitter
+     */
+    public int writeShards(int maxPages, long maxBytes, PDFDocumentSplitter.Output output, Executor executor)
+            throws IOException {
+        try (PDFStreamStore store = spillStore) {
+            return new PDFDocumentSplitter(maxPages, maxBytes).write(pdfDocument, output, executor);
+        }
     }
 
     /**
@@ -78,36 +180,13 @@ public class DocumentLayout {
      */
     private void processMetadata() {
         for (Metadata key : document.getMetadata().keySet()) {
-            String value = document.getMetadata(key);
-            PDFString pdfValue = new PDFDocEncodedString(value);
-            switch (key) {
-                case TITLE:
-                    pdfDocument.addInfo(PDFInfoDictionary.TITLE, pdfValue);
-                    break;
-                case AUTHOR:
-                    pdfDocument.addInfo(PDFInfoDictionary.AUTHOR, pdfValue);
-                    break;
-                case SUBJECT:
-                    pdfDocument.addInfo(PDFInfoDictionary.SUBJECT, pdfValue);
-                    break;
-                case KEYWORDS:
-                    pdfDocument.addInfo(PDFInfoDictionary.KEYWORDS, pdfValue);
-                    break;
-                case CREATOR:
-                    pdfDocument.addInfo(PDFInfoDictionary.CREATOR, pdfValue);
-                    break;
-                case PRODUCER:
-                    pdfDocument.addInfo(PDFInfoDictionary.PRODUCER, pdfValue);
-                    break;
-                case CREATE_DATE:
-                    // do nothing. CREATE_DATE passed by user is ignored and set below even if it
-                    // isn't specified
-                    break;
-                default:
-                    break;
+            // the CREATE_DATE passed by the user is ignored and set below even if it isn't specified
+            PDFName infoKey = INFO_KEYS.get(key);
+            if (infoKey != null) {
+                pdfDocument.addInfo(infoKey, new PDFDocEncodedString(document.getMetadata(key)));
             }
         }
-        PDFDate createDate = new PDFDate();
+        PDFDate createDate = new PDFDate(ZonedDateTime.now(document.getWriteOptions().getClock()));
         pdfDocument.addInfo(PDFInfoDictionary.CREATION_DATE, createDate);
         document.setMetadata(Metadata.CREATE_DATE, createDate.getValue());
     }
@@ -121,6 +200,8 @@ public class DocumentLayout {
         currentPage.setHeader(document.getHeader());
         currentPage.setFooter(document.getFooter());
         currentPage.setOutlineLayout(outlineLayout);
+        WriteOptions options = document.getWriteOptions();
+        currentPage.setCompression(options.getCompressionProfile(), options.getCompressionThreshold());
     }
 
     private void completePage() throws IOException {
@@ -5,9 +5,9 @@
 
 package com.justifiedsolutions.justpdf.layout;
 
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
 import com.justifiedsolutions.justpdf.pdf.contents.GraphicsOperator;
 
-import java.io.OutputStream;
 import java.util.Objects;
 
 /**
@@ -45,7 +45,7 @@ class FontWrapperOperator implements GraphicsOperator {
     }
 
     @Override
-    public void writeToPDF(OutputStream pdf) {
+    public void writeToPDF(PDFByteSink pdf) {
         // no op
     }
 
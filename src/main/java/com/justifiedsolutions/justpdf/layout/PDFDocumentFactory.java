@@ -0,0 +1,128 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.layout;
+
+import com.justifiedsolutions.justpdf.api.DocumentException;
+import com.justifiedsolutions.justpdf.api.SpillMode;
+import com.justifiedsolutions.justpdf.api.WriteOptions;
+import com.justifiedsolutions.justpdf.pdf.doc.PDFDocument;
+import com.justifiedsolutions.justpdf.pdf.doc.PDFDocumentOptions;
+import com.justifiedsolutions.justpdf.pdf.object.PDFStreamStore;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.SeekableByteChannel;
+
+/**
+ * Creates the {@link PDFDocument} of a {@link DocumentLayout}, turning the {@link WriteOptions} of its document into
+ * {@link PDFDocumentOptions}. If the document has a {@link SpillMode}, the store the contents of its pages are moved to
+ * is created with the PDFDocument.
+ */
+final class PDFDocumentFactory {
+    private PDFDocumentFactory() {
+    }
+
+    /**
+     * Creates the {@link PDFDocument} for a new file with the write options of a document.
+     *
+     * @param writeOptions    the write options of the document
+     * @param pdfOutputStream the stream that pages are written to while streaming, may be {@code null}
+     * @param streaming       true to stream the document
+     * @return the PDFDocument
+     * @throws DocumentException if the spill store cannot be created
+     */
+    static PDFDocument create(WriteOptions writeOptions, OutputStream pdfOutputStream, boolean streaming)
+            throws DocumentException {
+        PDFDocumentOptions options = createOptions(writeOptions);
+        options.setLinearized(writeOptions.isLinearized());
+        options.setCompressObjects(writeOptions.isCompressObjects() && !writeOptions.isLinearized());
+        options.setDeterministic(writeOptions.isDeterministic());
+        if (streaming && !writeOptions.isLinearized() && pdfOutputStream != null) {
+            return new PDFDocument(pdfOutputStream, options);
+        }
+        options.setSpillStore(createSpillStore(writeOptions));
+        return new PDFDocument(options);
+    }
+
+    /**
+     * Creates the {@link PDFDocument} for an incremental update of the existing file with the write options of a
+     * document. The streaming, linearized, compressObjects and deterministic options are ignored.
+     *
+     * @param writeOptions the write options of the document
+     * @param existing     the channel to read the existing file from
+     * @return the PDFDocument
+     * @throws DocumentException if the spill store cannot be created
+     * @throws IOException       if there is an issue reading the existing file
+     */
+    // the spill store is closed whatever the append fails with, or once the update has been written
+    @SuppressWarnings({"PMD.AvoidCatchingGenericException", "PMD.CloseResource"})
+    static PDFDocument append(WriteOptions writeOptions, SeekableByteChannel existing)
+            throws DocumentException, IOException {
+        PDFDocumentOptions options = createOptions(writeOptions);
+        PDFStreamStore store = createSpillStore(writeOptions);
+        options.setSpillStore(store);
+        try {
+            return PDFDocument.append(existing, options);
+        } catch (IOException | RuntimeException e) {
+            closeSpillStore(store, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Closes the spill store after the layout failed, adding any issue closing it to the failure.
+     *
+     * @param spillStore the store or {@code null}
+     * @param failure    the failure of the layout
+     */
+    static void closeSpillStore(PDFStreamStore spillStore, Exception failure) {
+        if (spillStore != null) {
+            try {
+                spillStore.close();
+            } catch (IOException e) {
+                failure.addSuppressed(e);
+            }
+        }
+    }
+
+    /**
+     * Creates the {@link PDFDocumentOptions} that a new file and an incremental update share, from the write options
+     * of the document.
+     *
+     * @param options the write options of the document
+     * @return the PDFDocumentOptions
+     */
+    private static PDFDocumentOptions createOptions(WriteOptions options) {
+        PDFDocumentOptions result = new PDFDocumentOptions();
+        result.setCompressionExecutor(options.getCompressionExecutor());
+        result.setSerializationExecutor(options.getSerializationExecutor());
+        result.setPageTreeFanOut(options.getPageTreeFanOut());
+        result.setSharedResources(options.isSharedResources());
+        return result;
+    }
+
+    /**
+     * Creates the {@link PDFStreamStore} for the spill mode of the document. It is not created for a streaming
+     * document, which writes the contents of each page once it is laid out.
+     *
+     * @param options the write options of the document
+     * @return the store or {@code null} if the contents stay on the heap
+     * @throws DocumentException if the temporary file cannot be created
+     */
+    private static PDFStreamStore createSpillStore(WriteOptions options) throws DocumentException {
+        if (options.getSpillMode() == SpillMode.NONE) {
+            return null;
+        }
+        if (options.getSpillMode() == SpillMode.DIRECT) {
+            return PDFStreamStore.direct();
+        }
+        try {
+            return PDFStreamStore.mapped(options.getSpillDirectory());
+        } catch (IOException e) {
+            throw new DocumentException("Unable to create the spill file.", e);
+        }
+    }
+}
@@ -16,19 +16,20 @@ import com.justifiedsolutions.justpdf.pdf.font.PDFFontType1;
 import com.justifiedsolutions.justpdf.pdf.object.PDFReal;
 
 import java.awt.Color;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Wrapper for a {@link PDFFont} that specifies not only the font, but the size
  * and color as well.
  */
 final class PDFFontWrapper {
-    private static final Map<com.justifiedsolutions.justpdf.api.font.PDFFont, PDFFontWrapper> CACHE = new HashMap<>();
+    private static final Map<com.justifiedsolutions.justpdf.api.font.PDFFont, PDFFontWrapper> CACHE = new ConcurrentHashMap<>();
     private final PDFFont font;
     private final PDFReal size;
     private final ColorSpace color;
+    private final float[] characterWidths;
 
     private final FontWrapperOperator operator = new FontWrapperOperator(this);
 
@@ -36,6 +37,11 @@ final class PDFFontWrapper {
         this.font = Objects.requireNonNull(font);
         this.size = Objects.requireNonNull(size);
         this.color = Objects.requireNonNull(color);
+        short[] widths = font.getCharacterWidths();
+        this.characterWidths = new float[widths.length];
+        for (int character = 0; character < widths.length; character++) {
+            characterWidths[character] = size.getValue() * (widths[character] / 1000f);
+        }
     }
 
     /**
@@ -50,7 +56,7 @@ final class PDFFontWrapper {
             com.justifiedsolutions.justpdf.api.font.PDFFont apiPDFFont = (com.justifiedsolutions.justpdf.api.font.PDFFont) apiFont;
             return CACHE.computeIfAbsent(apiPDFFont, k -> {
                 PDFFont font = getFont(apiPDFFont.getName());
-                PDFReal size = new PDFReal(apiPDFFont.getSize());
+                PDFReal size = PDFReal.valueOf(apiPDFFont.getSize());
                 ColorSpace colorSpace = getColorSpace(apiPDFFont.getColor());
                 return new PDFFontWrapper(font, size, colorSpace);
             });
@@ -66,10 +72,10 @@ final class PDFFontWrapper {
     private static ColorSpace getColorSpace(Color color) {
         ColorSpace result;
         if ((color.getRed() == color.getGreen()) && (color.getRed() == color.getBlue())) {
-            result = new DeviceGray(new PDFReal(color.getRed() / 255f));
+            result = new DeviceGray(PDFReal.valueOf(color.getRed() / 255f));
         } else {
-            result = new DeviceRGB(new PDFReal(color.getRed() / 255f), new PDFReal(color.getGreen() / 255f),
-                    new PDFReal(color.getBlue() / 255f));
+            result = new DeviceRGB(PDFReal.valueOf(color.getRed() / 255f), PDFReal.valueOf(color.getGreen() / 255f),
+                    PDFReal.valueOf(color.getBlue() / 255f));
         }
         return result;
     }
@@ -127,6 +133,9 @@ final class PDFFontWrapper {
      * @return the character width
      */
     float getCharacterWidth(int character) {
+        if (character >= 0 && character < characterWidths.length) {
+            return characterWidths[character];
+        }
         return size.getValue() * (font.getCharacterWidth(character) / 1000f);
     }
 
@@ -137,10 +146,24 @@ final class PDFFontWrapper {
      * @return the string width
      */
     float getStringWidth(String string) {
+        return measure(string, 0, string.length());
+    }
+
+    /**
+     * Gets the width of the characters from start to end of the specified text using this font and font size, without
+     * copying them. The widths of the first 256 characters are scaled to the font size when the wrapper is created.
+     *
+     * @param text  the text
+     * @param start the index of the first character
+     * @param end   the index after the last character
+     * @return the width of the characters
+     * @throws IndexOutOfBoundsException if start or end is out of range
+     */
+    float measure(CharSequence text, int start, int end) {
+        Objects.checkFromToIndex(start, end, text.length());
         float result = 0f;
-        char[] chars = string.toCharArray();
-        for (char c : chars) {
-            result += getCharacterWidth(c);
+        for (int i = start; i < end; i++) {
+            result += getCharacterWidth(text.charAt(i));
         }
         return result;
     }
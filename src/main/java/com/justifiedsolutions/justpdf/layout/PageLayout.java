@@ -5,6 +5,7 @@
 
 package com.justifiedsolutions.justpdf.layout;
 
+import com.justifiedsolutions.justpdf.api.CompressionProfile;
 import com.justifiedsolutions.justpdf.api.DocumentException;
 import com.justifiedsolutions.justpdf.api.Footer;
 import com.justifiedsolutions.justpdf.api.Header;
@@ -30,14 +31,15 @@ import com.justifiedsolutions.justpdf.pdf.contents.StrokePath;
 import com.justifiedsolutions.justpdf.pdf.doc.PDFDocument;
 import com.justifiedsolutions.justpdf.pdf.doc.PDFPage;
 import com.justifiedsolutions.justpdf.pdf.filter.DeflateFilter;
-import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject;
 import com.justifiedsolutions.justpdf.pdf.object.PDFName;
 import com.justifiedsolutions.justpdf.pdf.object.PDFReal;
 import com.justifiedsolutions.justpdf.pdf.object.PDFRectangle;
 
 import java.io.IOException;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.zip.Deflater;
 
 /**
  * Lays out content on a {@link PDFPage}.
@@ -47,7 +49,7 @@ class PageLayout {
     private final PDFPage pdfPage;
     private final PDFContentStreamBuilder pdfBuilder;
 
-    private final Set<ContentLayoutFactory> factories = new HashSet<>();
+    private final List<ContentLayoutFactory> factories = new ArrayList<>();
 
     private final int pageNumber;
     private final float width;
@@ -59,6 +61,7 @@ class PageLayout {
     private Header header;
     private Footer footer;
     private OutlineLayout outlineLayout;
+    private CompressionProfile compressionProfile = CompressionProfile.BALANCED;
 
     /**
      * Creates a new PageLayout.
@@ -79,7 +82,6 @@ class PageLayout {
         this.pdfPage = pdfDocument.createPage(pageSize);
 
         this.pdfBuilder = new PDFContentStreamBuilder();
-        this.pdfBuilder.addFilter(new DeflateFilter());
 
         this.margin = margin;
         this.remainingHeight = height - (margin.getTop() + margin.getBottom());
@@ -117,6 +119,17 @@ class PageLayout {
         this.outlineLayout = outlineLayout;
     }
 
+    /**
+     * Sets how the page contents are compressed.
+     *
+     * @param compressionProfile   the compression profile
+     * @param compressionThreshold the size in bytes below which the contents are not compressed
+     */
+    void setCompression(CompressionProfile compressionProfile, int compressionThreshold) {
+        this.compressionProfile = compressionProfile;
+        pdfBuilder.setFilterThreshold(compressionThreshold);
+    }
+
     /**
      * Checks to see if there has been any content added to the page.
      *
@@ -170,7 +183,7 @@ class PageLayout {
         pdfBuilder.addOperator(new PushGraphicsState());
         if (content instanceof TextContent) {
             pdfBuilder.addOperator(new BeginText());
-            pdfBuilder.addOperator(new PositionText(new PDFReal(margin.getLeft()), new PDFReal(currentVertPos)));
+            pdfBuilder.addOperator(new PositionText(PDFReal.valueOf(margin.getLeft()), PDFReal.valueOf(currentVertPos)));
         }
 
         float minHeight = layout.getMinimumHeight();
@@ -203,7 +216,30 @@ class PageLayout {
         drawFooter();
         drawMargin();
         drawCenterLine();
-        pdfPage.setContents(pdfBuilder.getStream());
+        addCompressionFilter();
+        Executor compressionExecutor = pdfDocument.getOptions().getCompressionExecutor();
+        if (compressionExecutor != null) {
+            pdfPage.setContents(pdfBuilder.getStream(compressionExecutor));
+        } else {
+            pdfPage.setContents(pdfBuilder.getStream());
+        }
+        pdfDocument.completePage(pdfPage);
+    }
+
+    private void addCompressionFilter() {
+        switch (compressionProfile) {
+            case FASTEST:
+                pdfBuilder.addFilter(new DeflateFilter(Deflater.BEST_SPEED));
+                break;
+            case BALANCED:
+                pdfBuilder.addFilter(new DeflateFilter());
+                break;
+            case SMALLEST:
+                pdfBuilder.addFilter(new DeflateFilter(Deflater.BEST_COMPRESSION));
+                break;
+            default:
+                break;
+        }
     }
 
     private ContentLayout getContentLayout(Content content) {
@@ -221,8 +257,7 @@ class PageLayout {
         for (GraphicsOperator operator : line.getOperators()) {
             if (operator instanceof FontWrapperOperator) {
                 PDFFontWrapper wrapper = ((FontWrapperOperator) operator).getFontWrapper();
-                PDFIndirectObject.Reference reference = pdfDocument.addFont(wrapper.getFont());
-                PDFName fontAlias = pdfPage.addFontReference(reference);
+                PDFName fontAlias = pdfPage.addFont(wrapper.getFont());
                 pdfBuilder.addOperator(new SetFont(fontAlias, wrapper.getSize()));
             } else {
                 pdfBuilder.addOperator(operator);
@@ -268,7 +303,7 @@ class PageLayout {
         float vPos = marginTop - diff;
         pdfBuilder.addOperator(new PushGraphicsState());
         pdfBuilder.addOperator(new BeginText());
-        pdfBuilder.addOperator(new PositionText(new PDFReal(margin.getLeft()), new PDFReal(vPos)));
+        pdfBuilder.addOperator(new PositionText(PDFReal.valueOf(margin.getLeft()), PDFReal.valueOf(vPos)));
         ContentLine line = layout.getNextLine(vPos);
         while (line != null) {
             addLine(line);
@@ -289,7 +324,7 @@ class PageLayout {
         float urx = width - margin.getRight();
         float ury = height - margin.getTop();
         pdfBuilder.addOperator(new PushGraphicsState());
-        pdfBuilder.addOperator(new SetLineWidth(new PDFReal(.5f)));
+        pdfBuilder.addOperator(new SetLineWidth(PDFReal.valueOf(.5f)));
         pdfBuilder.addOperator(new CreateRectangularPath(new PDFRectangle(llx, lly, urx, ury)));
         pdfBuilder.addOperator(new StrokePath());
         pdfBuilder.addOperator(new PopGraphicsState());
@@ -303,9 +338,9 @@ class PageLayout {
         float lly = margin.getBottom();
         float ury = height - margin.getTop();
         pdfBuilder.addOperator(new PushGraphicsState());
-        pdfBuilder.addOperator(new SetLineWidth(new PDFReal(.5f)));
-        pdfBuilder.addOperator(new StartPath(new PDFReal(width / 2f), new PDFReal(ury)));
-        pdfBuilder.addOperator(new AppendToPath(new PDFReal(width / 2f), new PDFReal(lly)));
+        pdfBuilder.addOperator(new SetLineWidth(PDFReal.valueOf(.5f)));
+        pdfBuilder.addOperator(new StartPath(PDFReal.valueOf(width / 2f), PDFReal.valueOf(ury)));
+        pdfBuilder.addOperator(new AppendToPath(PDFReal.valueOf(width / 2f), PDFReal.valueOf(lly)));
         pdfBuilder.addOperator(new StrokePath());
         pdfBuilder.addOperator(new PopGraphicsState());
     }
@@ -60,7 +60,7 @@ final class TextLine implements ContentLine {
     @Override
     public List<GraphicsOperator> getOperators() {
         List<GraphicsOperator> result = new ArrayList<>();
-        result.add(new SetLeading(new PDFReal(leading)));
+        result.add(new SetLeading(PDFReal.valueOf(leading)));
         result.add(new MoveToNextLine());
         result.addAll(getAlignmentOperators());
         result.addAll(operators);
@@ -229,18 +229,18 @@ final class TextLine implements ContentLine {
         List<GraphicsOperator> result = new ArrayList<>();
         float start = (lineStart - previousLineStart);
         if (start != 0) {
-            result.add(new PositionText(new PDFReal(start), new PDFReal(0)));
+            result.add(new PositionText(PDFReal.valueOf(start), PDFReal.valueOf(0)));
         }
         if (HorizontalAlignment.JUSTIFIED == alignment) {
             if ((lineWidth * .2f) < remainingWidth) {
-                result.add(new SetWordSpacing(new PDFReal(0)));
-                result.add(new SetCharacterSpacing(new PDFReal(0)));
+                result.add(new SetWordSpacing(PDFReal.valueOf(0)));
+                result.add(new SetCharacterSpacing(PDFReal.valueOf(0)));
             } else {
                 float wordSpacing = PDFReal.truncate(remainingWidth / numSpaces);
                 float remainder = remainingWidth - (wordSpacing * numSpaces);
                 float charSpacing = PDFReal.truncate(remainder / numChars);
-                result.add(new SetWordSpacing(new PDFReal(wordSpacing)));
-                result.add(new SetCharacterSpacing(new PDFReal(charSpacing)));
+                result.add(new SetWordSpacing(PDFReal.valueOf(wordSpacing)));
+                result.add(new SetCharacterSpacing(PDFReal.valueOf(charSpacing)));
             }
         }
         return result;
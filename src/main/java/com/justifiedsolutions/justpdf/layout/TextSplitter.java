@@ -38,14 +38,13 @@ class TextSplitter {
         char[] chars = input.toCharArray();
         int boundary = breakDetector.next();
         while (boundary != BreakIterator.DONE) {
-            String value = new String(chars, 0, boundary);
-            float valueWidth = wrapper.getStringWidth(value);
+            float valueWidth = wrapper.measure(input, 0, boundary);
             if (valueWidth > lineWidth) {
                 int end = boundary;
                 boundary = breakDetector.previous();
                 if (doHyphenation) {
                     String tmp = new String(chars, boundary, (end - boundary)).stripTrailing();
-                    int hyphenBoundary = hyphenate(tmp, wrapper, chars, boundary);
+                    int hyphenBoundary = hyphenate(tmp, wrapper, input, boundary);
                     if (hyphenBoundary > boundary) {
                         boundary = hyphenBoundary;
                         hyphenate = true;
@@ -67,14 +66,13 @@ class TextSplitter {
         return value;
     }
 
-    private int hyphenate(String tmp, PDFFontWrapper wrapper, char[] chars, int boundary) {
+    private int hyphenate(String tmp, PDFFontWrapper wrapper, String input, int boundary) {
         int result = boundary;
         Hyphenator hyphenator = new Hyphenator();
         hyphenator.setText(tmp);
         int hyphenBreak = hyphenator.last();
         while (hyphenBreak != Hyphenator.DONE) {
-            String tmpValue = new String(chars, 0, boundary + hyphenBreak) + "-";
-            float tmpValueWidth = wrapper.getStringWidth(tmpValue);
+            float tmpValueWidth = wrapper.measure(input, 0, boundary + hyphenBreak) + wrapper.getCharacterWidth('-');
             if (tmpValueWidth < lineWidth) {
                 result += hyphenBreak;
                 break;
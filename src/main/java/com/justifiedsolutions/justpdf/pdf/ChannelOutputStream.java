@@ -0,0 +1,159 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Objects;
+
+/**
+ * An {@link OutputStream} that writes to a blocking {@link WritableByteChannel} through a direct {@link ByteBuffer}.
+ * Arrays are copied into the direct buffer, which is written to the channel when it is full, so large arrays are
+ * written in buffer-sized pieces instead of the JDK allocating a temporary direct buffer as large as the array. A large
+ * direct buffer, such as a mapped file, is handed to the channel as it is by {@link #write(ByteBuffer)}, without being
+ * copied.
+ *
+ * <p>Allocating a direct buffer is expensive, and its native memory is only released when it is garbage collected, so
+ * each thread keeps one pooled buffer. It is borrowed when the stream is created and returned when the stream is
+ * closed. Closing the stream does not close the channel, which belongs to the caller.</p>
+ *
+ * <p>A ChannelOutputStream is not thread-safe.</p>
+ */
+public final class ChannelOutputStream extends OutputStream {
+
+    /**
+     * The size of the pooled direct buffers.
+     */
+    public static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final ThreadLocal<ByteBuffer> BUFFERS = new ThreadLocal<>();
+
+    private final WritableByteChannel channel;
+    private ByteBuffer buffer;
+
+    /**
+     * Creates a new ChannelOutputStream that writes to the specified channel.
+     *
+     * @param channel the blocking channel to write to
+     * @throws NullPointerException if channel is {@code null}
+     */
+    public ChannelOutputStream(WritableByteChannel channel) {
+        this.channel = Objects.requireNonNull(channel);
+        this.buffer = borrowBuffer();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        if (!buffer.hasRemaining()) {
+            drain();
+        }
+        buffer.put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        ensureOpen();
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            int length = Math.min(remaining, buffer.remaining());
+            buffer.put(b, offset, length);
+            offset += length;
+            remaining -= length;
+        }
+    }
+
+    /**
+     * Writes the remaining bytes of the specified {@link ByteBuffer}. The position of the buffer is not changed. A
+     * direct buffer of at least {@value #BUFFER_SIZE} bytes is written to the channel directly, once the bytes before
+     * it have been written. Other buffers are copied into the pooled buffer.
+     *
+     * @param src the buffer to write
+     * @throws IOException if the stream is closed, or there is an issue writing to the channel
+     */
+    public void write(ByteBuffer src) throws IOException {
+        ensureOpen();
+        ByteBuffer remaining = src.duplicate();
+        if (remaining.isDirect() && remaining.remaining() >= BUFFER_SIZE) {
+            drain();
+            while (remaining.hasRemaining()) {
+                channel.write(remaining);
+            }
+            return;
+        }
+        while (remaining.hasRemaining()) {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            int length = Math.min(remaining.remaining(), buffer.remaining());
+            buffer.put(buffer.position(), remaining, remaining.position(), length);
+            buffer.position(buffer.position() + length);
+            remaining.position(remaining.position() + length);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        drain();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (buffer == null) {
+            return;
+        }
+        try {
+            drain();
+        } finally {
+            returnBuffer(buffer);
+            buffer = null;
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (buffer == null) {
+            throw new IOException("The stream is closed.");
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Takes the pooled buffer from the current thread's pool, or allocates a new one if it is already in use.
+     */
+    private static ByteBuffer borrowBuffer() {
+        ByteBuffer result = BUFFERS.get();
+        if (result == null) {
+            return ByteBuffer.allocateDirect(BUFFER_SIZE);
+        }
+        BUFFERS.remove();
+        return result;
+    }
+
+    /**
+     * Clears the buffer and puts it in the current thread's pool, unless the pool already holds one.
+     */
+    private static void returnBuffer(ByteBuffer returned) {
+        if (BUFFERS.get() == null) {
+            returned.clear();
+            BUFFERS.set(returned);
+        }
+    }
+}
@@ -0,0 +1,345 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormat;
+import java.util.Objects;
+
+/**
+ * A buffered {@link OutputStream} that the PDF is serialized to. In addition to raw bytes, it can write the numbers,
+ * names and ASCII tokens used in a PDF directly into its buffer without creating intermediate {@link String}s or byte
+ * arrays. It also tracks the total number of bytes written, which are the byte offsets used in the cross reference
+ * table, and the last byte written.
+ *
+ * <p>A PDFByteSink is not thread-safe.</p>
+ */
+@SuppressWarnings("PMD.GodClass") // the sink writes each kind of token the serializer needs into its own buffer
+public final class PDFByteSink extends OutputStream {
+
+    /**
+     * The size of the buffer of a PDFByteSink, unless another size is specified.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private static final int FRACTION_DIGITS = 5;
+    private static final int FRACTION_SCALE = 100_000;
+    private static final float MAXIMUM_FIXED_POINT = 1e13f;
+    private static final byte[] DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private final byte[] scratch = new byte[20];
+    private int position;
+    private long count;
+    private int lastByte = -1;
+
+    /**
+     * Creates a new PDFByteSink that writes to the specified {@link OutputStream}.
+     *
+     * @param out the stream to write to
+     */
+    public PDFByteSink(OutputStream out) {
+        this(out, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a new PDFByteSink that writes to the specified {@link OutputStream} with the specified buffer size.
+     *
+     * @param out        the stream to write to
+     * @param bufferSize the size of the buffer
+     * @throws IllegalArgumentException if bufferSize is less than 1
+     */
+    public PDFByteSink(OutputStream out, int bufferSize) {
+        this(out, bufferSize, 0);
+    }
+
+    /**
+     * Creates a new PDFByteSink that continues a file of which the specified number of bytes have already been written,
+     * such as an existing file that an incremental update is appended to. The count of bytes starts at that number, so
+     * it is the byte offset in the whole file.
+     *
+     * @param out        the stream to write to
+     * @param bufferSize the size of the buffer
+     * @param count      the number of bytes already in the file, not negative
+     * @throws IllegalArgumentException if bufferSize is less than 1
+     */
+    public PDFByteSink(OutputStream out, int bufferSize, long count) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Buffer size must be greater than 0.");
+        }
+        this.out = Objects.requireNonNull(out);
+        this.buffer = new byte[bufferSize];
+        this.count = count;
+    }
+
+    /**
+     * Gets the total number of bytes written to this sink, including those still in its buffer.
+     *
+     * @return the number of bytes written
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the last byte written to this sink.
+     *
+     * @return the last byte as an unsigned value, or {@code -1} if nothing has been written
+     */
+    public int getLastByte() {
+        return lastByte;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (position == buffer.length) {
+            flushBuffer();
+        }
+        buffer[position++] = (byte) b;
+        count++;
+        lastByte = b & 0xFF;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        if (len == 0) {
+            return;
+        }
+        if (len >= buffer.length) {
+            flushBuffer();
+            out.write(b, off, len);
+        } else {
+            if (len > buffer.length - position) {
+                flushBuffer();
+            }
+            System.arraycopy(b, off, buffer, position, len);
+            position += len;
+        }
+        count += len;
+        lastByte = b[off + len - 1] & 0xFF;
+    }
+
+    /**
+     * Writes the remaining bytes of the specified {@link ByteBuffer}. The position of the buffer is not changed. The
+     * bytes of a buffer that is not backed by an array, such as a direct or mapped buffer, are copied straight into the
+     * buffer of this PDFByteSink, unless it is at least as large as that buffer and this PDFByteSink writes to a
+     * {@link ChannelOutputStream}. Then the buffered bytes are flushed and the buffer is handed to the stream, which
+     * writes a large direct buffer to its channel without copying it.
+     *
+     * @param b the buffer to write
+     * @throws IOException if there is an issue writing to the stream
+     */
+    public void write(ByteBuffer b) throws IOException {
+        int length = b.remaining();
+        if (length == 0) {
+            return;
+        }
+        if (b.hasArray()) {
+            write(b.array(), b.arrayOffset() + b.position(), length);
+            return;
+        }
+        if (length >= buffer.length && out instanceof ChannelOutputStream) {
+            flushBuffer();
+            ((ChannelOutputStream) out).write(b);
+        } else {
+            copyToBuffer(b);
+        }
+        count += length;
+        lastByte = b.get(b.limit() - 1) & 0xFF;
+    }
+
+    /**
+     * Writes the characters of the specified {@link String} as US-ASCII. Characters outside of US-ASCII are written as
+     * {@code ?}.
+     *
+     * @param value the value to write
+     * @throws IOException if there is an issue writing to the stream
+     */
+    public void writeAscii(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            write(c < 128 ? c : '?');
+        }
+    }
+
+    /**
+     * Writes the decimal representation of the specified {@code int}.
+     *
+     * @param value the value to write
+     * @throws IOException if there is an issue writing to the stream
+     */
+    public void writeInt(int value) throws IOException {
+        writeLong(value);
+    }
+
+    /**
+     * Writes the decimal representation of the specified {@code long}.
+     *
+     * @param value the value to write
+     * @throws IOException if there is an issue writing to the stream
+     */
+    public void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            writeAscii(Long.toString(value));
+            return;
+        }
+        long remaining = value;
+        if (remaining < 0) {
+            write('-');
+            remaining = -remaining;
+        }
+        int index = scratch.length;
+        do {
+            scratch[--index] = DIGITS[(int) (remaining % 10)];
+            remaining /= 10;
+        } while (remaining != 0);
+        write(scratch, index, scratch.length - index);
+    }
+
+    /**
+     * Writes the decimal representation of the specified non-negative {@code long}, padded with leading zeros to the
+     * specified width. This is the format used in the cross reference table.
+     *
+     * @param value the value to write
+     * @param width the minimum number of digits
+     * @throws IOException if there is an issue writing to the stream
+     */
+    public void writePaddedLong(long value, int width) throws IOException {
+        long remaining = value;
+        int index = scratch.length;
+        do {
+            scratch[--index] = DIGITS[(int) (remaining % 10)];
+            remaining /= 10;
+        } while (remaining != 0);
+        for (int i = scratch.length - index; i < width; i++) {
+            write('0');
+        }
+        write(scratch, index, scratch.length - index);
+    }
+
+    /**
+     * Writes the specified {@code float} rounded half-up to at most 5 decimal places, with no trailing zeros and no
+     * leading zero before the decimal point. For example, {@code 0.5} is written as {@code .5} and {@code 12} is
+     * written as {@code 12}.
+     *
+     * @param value the value to write
+     * @throws IOException if there is an issue writing to the stream
+     * @see "ISO 32000-1:2008, 7.3.3"
+     */
+    public void writeFixedPointFloat(float value) throws IOException {
+        if (!Float.isFinite(value) || Math.abs(value) >= MAXIMUM_FIXED_POINT) {
+            writeAscii(getFallbackFormat().format(value));
+            return;
+        }
+        double magnitude = Math.abs((double) value);
+        double scaledValue = magnitude * FRACTION_SCALE;
+        long scaled = (long) scaledValue;
+        if (scaledValue - scaled >= 0.5) {
+            scaled++;
+        }
+        if (Float.floatToRawIntBits(value) < 0) {
+            write('-');
+        }
+        long integer = scaled / FRACTION_SCALE;
+        int fraction = (int) (scaled % FRACTION_SCALE);
+        if (integer != 0 || fraction == 0) {
+            writeLong(integer);
+        }
+        if (fraction != 0) {
+            int digits = FRACTION_DIGITS;
+            while (fraction % 10 == 0) {
+                fraction /= 10;
+                digits--;
+            }
+            write('.');
+            writePaddedLong(fraction, digits);
+        }
+    }
+
+    /**
+     * Writes the specified value as a PDF name, including the leading solidus. Characters outside of the regular
+     * printable range, and the number sign, are written as a number sign followed by their hexadecimal code.
+     *
+     * @param value the name to write
+     * @throws IOException if there is an issue writing to the stream
+     * @see "ISO 32000-1:2008, 7.3.5"
+     */
+    public void writeName(String value) throws IOException {
+        write('/');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 33 || c > 126 || c == '#') {
+                write('#');
+                writeHex(c);
+            } else {
+                write(c);
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flushBuffer();
+        out.close();
+    }
+
+    private void writeHex(int value) throws IOException {
+        int remaining = value;
+        int index = scratch.length;
+        do {
+            scratch[--index] = DIGITS[remaining & 0xF];
+            remaining >>>= 4;
+        } while (remaining != 0);
+        write(scratch, index, scratch.length - index);
+    }
+
+    private void copyToBuffer(ByteBuffer b) throws IOException {
+        int offset = b.position();
+        int end = b.limit();
+        while (offset < end) {
+            if (position == buffer.length) {
+                flushBuffer();
+            }
+            int len = Math.min(buffer.length - position, end - offset);
+            b.get(offset, buffer, position, len);
+            position += len;
+            offset += len;
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    /**
+     * Values that are too large for the fixed point arithmetic, or not finite, are rare enough that they are formatted
+     * the way they always have been.
+     */
+    private static DecimalFormat getFallbackFormat() {
+        DecimalFormat df = new DecimalFormat("#");
+        df.setMinimumFractionDigits(0);
+        df.setMaximumFractionDigits(FRACTION_DIGITS);
+        df.setMinimumIntegerDigits(0);
+        df.setDecimalSeparatorAlwaysShown(false);
+        df.setRoundingMode(RoundingMode.HALF_UP);
+        return df;
+    }
+}
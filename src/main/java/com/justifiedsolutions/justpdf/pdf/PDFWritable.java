@@ -17,8 +17,25 @@ public interface PDFWritable {
      * Allows an object to write itself to a PDF document. This method will take into account any special formatting,
      * escaping, delimiting, or conversion to the object that must occur to represent it in the document.
      *
+     * @param pdf a {@link PDFByteSink} that represents the document or part of the document
+     * @throws IOException if there is an issue writing the object to the PDFByteSink
+     */
+    void writeToPDF(PDFByteSink pdf) throws IOException;
+
+    /**
+     * Writes the object to an arbitrary {@link OutputStream}. If the stream is not already a {@link PDFByteSink}, it
+     * is wrapped in one for the duration of the call.
+     *
      * @param pdf an {@link OutputStream} that represents the document or part of the document
      * @throws IOException if there is an issue writing the object to the OutputStream
      */
-    void writeToPDF(OutputStream pdf) throws IOException;
+    default void writeToPDF(OutputStream pdf) throws IOException {
+        if (pdf instanceof PDFByteSink) {
+            writeToPDF((PDFByteSink) pdf);
+        } else {
+            PDFByteSink sink = new PDFByteSink(pdf);
+            writeToPDF(sink);
+            sink.flush();
+        }
+    }
 }
@@ -5,11 +5,10 @@
 
 package com.justifiedsolutions.justpdf.pdf.contents;
 
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
 import com.justifiedsolutions.justpdf.pdf.object.PDFReal;
 
 import java.io.IOException;
-import java.io.OutputStream;
-import java.nio.charset.StandardCharsets;
 
 /**
  * Uses the PDF command {@code Tm} to move the text state to the specified point from the origin of the page.
@@ -39,11 +38,11 @@ public final class AbsolutePositionText extends LocationOperator implements Text
     }
 
     @Override
-    public void writeToPDF(OutputStream pdf) throws IOException {
-        pdf.write("1 0 0 1 ".getBytes(StandardCharsets.US_ASCII));
+    public void writeToPDF(PDFByteSink pdf) throws IOException {
+        pdf.writeAscii("1 0 0 1 ");
         getX().writeToPDF(pdf);
         pdf.write(' ');
         getY().writeToPDF(pdf);
-        pdf.write(" Tm\n".getBytes(StandardCharsets.US_ASCII));
+        pdf.writeAscii(" Tm\n");
     }
 }
@@ -5,10 +5,10 @@
 
 package com.justifiedsolutions.justpdf.pdf.contents;
 
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
 import com.justifiedsolutions.justpdf.pdf.object.PDFReal;
 
 import java.io.IOException;
-import java.io.OutputStream;
 
 /**
  * Implements the PDF command {@code l} to append a straight line segment to the current path in a content stream.
@@ -28,7 +28,7 @@ public final class AppendToPath extends LocationOperator implements PathConstruc
     }
 
     @Override
-    public void writeToPDF(OutputStream pdf) throws IOException {
+    public void writeToPDF(PDFByteSink pdf) throws IOException {
         getX().writeToPDF(pdf);
         pdf.write(' ');
         getY().writeToPDF(pdf);
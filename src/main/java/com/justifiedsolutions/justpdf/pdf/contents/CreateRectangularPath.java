@@ -5,11 +5,10 @@
 
 package com.justifiedsolutions.justpdf.pdf.contents;
 
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
 import com.justifiedsolutions.justpdf.pdf.object.PDFRectangle;
 
 import java.io.IOException;
-import java.io.OutputStream;
-import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 
 /**
@@ -31,7 +30,7 @@ public final class CreateRectangularPath implements PathConstructionGraphicsOper
     }
 
     @Override
-    public void writeToPDF(OutputStream pdf) throws IOException {
+    public void writeToPDF(PDFByteSink pdf) throws IOException {
         rectangle.getLLx().writeToPDF(pdf);
         pdf.write(' ');
         rectangle.getLLy().writeToPDF(pdf);
@@ -39,6 +38,6 @@ public final class CreateRectangularPath implements PathConstructionGraphicsOper
         rectangle.getWidth().writeToPDF(pdf);
         pdf.write(' ');
         rectangle.getHeight().writeToPDF(pdf);
-        pdf.write(" re\n".getBytes(StandardCharsets.US_ASCII));
+        pdf.writeAscii(" re\n");
     }
 }
@@ -5,9 +5,9 @@
 
 package com.justifiedsolutions.justpdf.pdf.contents;
 
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
+
 import java.io.IOException;
-import java.io.OutputStream;
-import java.nio.charset.StandardCharsets;
 
 /**
  * Superclass for operators that work on {@link DeviceRGB} colorspace.
@@ -24,14 +24,14 @@ abstract class DeviceRGBOperator extends DeviceColorSpaceOperator {
     }
 
     @Override
-    public void writeToPDF(OutputStream pdf) throws IOException {
+    public void writeToPDF(PDFByteSink pdf) throws IOException {
         getColorSpace().getRed().writeToPDF(pdf);
         pdf.write(' ');
         getColorSpace().getGreen().writeToPDF(pdf);
         pdf.write(' ');
         getColorSpace().getBlue().writeToPDF(pdf);
         pdf.write(' ');
-        pdf.write(getOperatorCode().getBytes(StandardCharsets.US_ASCII));
+        pdf.writeAscii(getOperatorCode());
         pdf.write('\n');
     }
 
@@ -5,8 +5,9 @@
 
 package com.justifiedsolutions.justpdf.pdf.contents;
 
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
+
 import java.io.IOException;
-import java.io.OutputStream;
 
 /**
  * Implements the PDF command {@code ET} to end a text object in a content stream.
@@ -15,7 +16,7 @@ import java.io.OutputStream;
  */
 public final class EndText implements TextOperator {
     @Override
-    public void writeToPDF(OutputStream pdf) throws IOException {
+    public void writeToPDF(PDFByteSink pdf) throws IOException {
         pdf.write('E');
         pdf.write('T');
         pdf.write('\n');
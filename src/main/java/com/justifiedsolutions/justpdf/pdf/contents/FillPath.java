@@ -5,8 +5,9 @@
 
 package com.justifiedsolutions.justpdf.pdf.contents;
 
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
+
 import java.io.IOException;
-import java.io.OutputStream;
 
 /**
  * Implements the PDF command {@code f} to fill a path in a content stream.
@@ -16,7 +17,7 @@ import java.io.OutputStream;
  */
 public final class FillPath implements PathPaintingGraphicsOperator {
     @Override
-    public void writeToPDF(OutputStream pdf) throws IOException {
+    public void writeToPDF(PDFByteSink pdf) throws IOException {
         pdf.write('f');
         pdf.write('\n');
     }
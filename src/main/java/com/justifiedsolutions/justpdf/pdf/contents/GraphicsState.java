@@ -19,17 +19,17 @@ import java.util.Objects;
 final class GraphicsState {
 
     // Graphics State
-    private PDFReal lineWidth = new PDFReal(1);
+    private PDFReal lineWidth = PDFReal.valueOf(1);
     private LineCapStyle lineCap = LineCapStyle.BUTT_CAP;
 
     // Color Space State
-    private ColorSpace fillColorSpace = new DeviceGray(new PDFReal(0));
-    private ColorSpace strokeColorSpace = new DeviceGray(new PDFReal(0));
+    private ColorSpace fillColorSpace = new DeviceGray(PDFReal.valueOf(0));
+    private ColorSpace strokeColorSpace = new DeviceGray(PDFReal.valueOf(0));
 
     // Text State
-    private PDFReal characterSpacing = new PDFReal(0);
-    private PDFReal wordSpacing = new PDFReal(0);
-    private PDFReal leading = new PDFReal(0);
+    private PDFReal characterSpacing = PDFReal.valueOf(0);
+    private PDFReal wordSpacing = PDFReal.valueOf(0);
+    private PDFReal leading = PDFReal.valueOf(0);
     private PDFName textFont; //no default
     private PDFReal textFontSize; //no default
 
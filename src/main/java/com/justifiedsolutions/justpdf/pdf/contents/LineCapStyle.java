@@ -13,9 +13,9 @@ import com.justifiedsolutions.justpdf.pdf.object.PDFInteger;
  * @see "ISO 32000-1:2008, 8.4.3.3"
  */
 public enum LineCapStyle {
-    BUTT_CAP(new PDFInteger(0)),
-    ROUND_CAP(new PDFInteger(1)),
-    PROJECTING_SQUARE(new PDFInteger(2));
+    BUTT_CAP(PDFInteger.valueOf(0)),
+    ROUND_CAP(PDFInteger.valueOf(1)),
+    PROJECTING_SQUARE(PDFInteger.valueOf(2));
 
     private final PDFInteger theStyle;
 
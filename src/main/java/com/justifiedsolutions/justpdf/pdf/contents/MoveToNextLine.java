@@ -5,9 +5,9 @@
 
 package com.justifiedsolutions.justpdf.pdf.contents;
 
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
+
 import java.io.IOException;
-import java.io.OutputStream;
-import java.nio.charset.StandardCharsets;
 
 /**
  * Implements the PDF command {@code T*} to move to the start of the next line including leading.
@@ -16,7 +16,7 @@ import java.nio.charset.StandardCharsets;
  */
 public final class MoveToNextLine implements TextPositioningOperator {
     @Override
-    public void writeToPDF(OutputStream pdf) throws IOException {
-        pdf.write("T*\n".getBytes(StandardCharsets.US_ASCII));
+    public void writeToPDF(PDFByteSink pdf) throws IOException {
+        pdf.writeAscii("T*\n");
     }
 }
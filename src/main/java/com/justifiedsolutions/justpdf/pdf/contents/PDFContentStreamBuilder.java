@@ -5,18 +5,23 @@
 
 package com.justifiedsolutions.justpdf.pdf.contents;
 
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
 import com.justifiedsolutions.justpdf.pdf.filter.PDFFilter;
 import com.justifiedsolutions.justpdf.pdf.object.PDFArray;
 import com.justifiedsolutions.justpdf.pdf.object.PDFDictionary;
 import com.justifiedsolutions.justpdf.pdf.object.PDFName;
 import com.justifiedsolutions.justpdf.pdf.object.PDFStream;
+import com.justifiedsolutions.justpdf.pdf.object.PDFStreamBuffer;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * A helper used to build a PDF content stream. A content stream is built by adding a series of {@link
@@ -33,6 +38,7 @@ public final class PDFContentStreamBuilder {
     private final Deque<GraphicsState> graphicsStateStack = new ArrayDeque<>();
     private GraphicsState graphicsState = new GraphicsState();
     private GraphicsObject graphicsObject = new PageDescriptionObject();
+    private int filterThreshold;
 
     /**
      * Creates a new {@code PDFContentStreamBuilder}.
@@ -67,6 +73,16 @@ public final class PDFContentStreamBuilder {
         }
     }
 
+    /**
+     * Sets the size in bytes below which the filters are not applied. Content that is shorter than the threshold is
+     * written unfiltered. The default is {@code 0}, which always applies the filters.
+     *
+     * @param filterThreshold the filter threshold
+     */
+    public void setFilterThreshold(int filterThreshold) {
+        this.filterThreshold = filterThreshold;
+    }
+
     /**
      * Adds the specified {@link GraphicsOperator} to the content stream. It will ensure the operator is valid for the
      * current {@link GraphicsObject}, and possibly collapse the specified operator with the previously specified
@@ -105,20 +121,45 @@ public final class PDFContentStreamBuilder {
     }
 
     /**
-     * Gets the PDF Content Stream defined by the set of operators added to this builder.
+     * Gets the PDF Content Stream defined by the set of operators added to this builder. The operators are serialized
+     * through the filters directly into the buffer of the stream.
      *
      * @return the {@link PDFStream} object that represents the contents
      * @throws IOException           if there was an issue creating the byte stream
      * @throws IllegalStateException if the content stream is not in a valid state
      */
     public PDFStream getStream() throws IOException {
-        if (graphicsStateStack.isEmpty() && (graphicsObject instanceof PageDescriptionObject) && !operators.isEmpty()) {
-            PDFStream stream = new PDFStream(applyFilters(getByteArray()));
-            stream.addFilter(getDecodeFilterArray());
-            stream.addDecodeParams(getDecodeFilterParams());
-            return stream;
+        validateComplete();
+        return createStream(operators, filters, filterThreshold);
+    }
+
+    /**
+     * Gets the PDF Content Stream defined by the set of operators added to this builder, serializing the operators and
+     * applying the filters on the specified {@link Executor}. The builder may be discarded as soon as this method
+     * returns.
+     *
+     * @param executor the executor that serializes the operators and applies the filters
+     * @return a future that completes with the {@link PDFStream} object that represents the contents
+     * @throws IllegalStateException if the content stream is not in a valid state
+     */
+    public CompletableFuture<PDFStream> getStream(Executor executor) {
+        validateComplete();
+        List<GraphicsOperator> streamOperators = List.copyOf(operators);
+        List<PDFFilter> streamFilters = List.copyOf(filters);
+        int threshold = filterThreshold;
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return createStream(streamOperators, streamFilters, threshold);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor);
+    }
+
+    private void validateComplete() {
+        if (!graphicsStateStack.isEmpty() || !(graphicsObject instanceof PageDescriptionObject) || operators.isEmpty()) {
+            throw new IllegalStateException("Contents are not complete. Cannot create content stream.");
         }
-        throw new IllegalStateException("Contents are not complete. Cannot create content stream.");
     }
 
     private void validate(GraphicsOperator operator) {
@@ -176,9 +217,10 @@ public final class PDFContentStreamBuilder {
     /**
      * Gets the array of filter names required to decode this content stream.
      *
+     * @param filters the filters applied to the content
      * @return the PDFArray containing the filter names. The Array is empty if filters are applied
      */
-    private PDFArray getDecodeFilterArray() {
+    private static PDFArray getDecodeFilterArray(List<PDFFilter> filters) {
         PDFArray result = new PDFArray();
         Deque<PDFName> names = new ArrayDeque<>();
         for (PDFFilter filter : filters) {
@@ -194,9 +236,10 @@ public final class PDFContentStreamBuilder {
     /**
      * Gets the array of Decode Filter Parameters.
      *
+     * @param filters the filters applied to the content
      * @return the array or {@code null} if there are no parameters
      */
-    private PDFArray getDecodeFilterParams() {
+    private static PDFArray getDecodeFilterParams(List<PDFFilter> filters) {
         PDFArray result = new PDFArray();
         for (PDFFilter filter : filters) {
             PDFDictionary params = filter.getDecodeFilterParams();
@@ -207,19 +250,90 @@ public final class PDFContentStreamBuilder {
         return (result.isEmpty() ? null : result);
     }
 
-    private byte[] getByteArray() throws IOException {
-        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
-        for (GraphicsOperator operator : operators) {
-            operator.writeToPDF(bytes);
+    /**
+     * Serializes the operators through the chain of filters into the buffer of a new {@link PDFStream}, so neither the
+     * unfiltered content nor the output of the intermediate filters is held in memory. If there is a filter threshold,
+     * the operators are serialized once without the filters, and the filters are only applied to the serialized bytes
+     * if there are at least as many as the threshold.
+     *
+     * @param operators the operators to serialize
+     * @param filters   the filters to apply, in order
+     * @param threshold the size in bytes below which the filters are not applied
+     * @return the stream
+     * @throws IOException if there was an issue creating the byte stream
+     */
+    private static PDFStream createStream(List<GraphicsOperator> operators, List<PDFFilter> filters, int threshold)
+            throws IOException {
+        if (threshold <= 0 || filters.isEmpty()) {
+            return createStream(operators, filters);
+        }
+        PDFStreamBuffer unfiltered = new PDFStreamBuffer();
+        try (PDFByteSink sink = new PDFByteSink(unfiltered)) {
+            for (GraphicsOperator operator : operators) {
+                operator.writeToPDF(sink);
+            }
+        }
+        if (unfiltered.size() < threshold) {
+            return unfiltered.toStream();
         }
-        return bytes.toByteArray();
+        PDFStream stream;
+        try (PDFStreamBuffer buffer = new PDFStreamBuffer()) {
+            try (OutputStream out = wrap(filters, 0, buffer)) {
+                unfiltered.writeTo(out);
+            }
+            stream = buffer.toStream();
+        }
+        addDecodeEntries(stream, filters);
+        return stream;
     }
 
-    private byte[] applyFilters(byte[] input) {
-        byte[] data = input;
-        for (PDFFilter filter : filters) {
-            data = filter.filter(data);
+    /**
+     * Serializes the operators through the chain of filters into the buffer of a new {@link PDFStream}.
+     *
+     * @param operators the operators to serialize
+     * @param filters   the filters to apply, in order
+     * @return the stream
+     * @throws IOException if there was an issue creating the byte stream
+     */
+    private static PDFStream createStream(List<GraphicsOperator> operators, List<PDFFilter> filters)
+            throws IOException {
+        PDFStream stream;
+        try (PDFStreamBuffer buffer = new PDFStreamBuffer()) {
+            try (PDFByteSink sink = new PDFByteSink(wrap(filters, 0, buffer))) {
+                for (GraphicsOperator operator : operators) {
+                    operator.writeToPDF(sink);
+                }
+            }
+            stream = buffer.toStream();
+        }
+        addDecodeEntries(stream, filters);
+        return stream;
+    }
+
+    /**
+     * Adds the filter names and decode parameters of the specified filters to the stream.
+     *
+     * @param stream  the stream
+     * @param filters the filters that were applied to the data of the stream
+     */
+    private static void addDecodeEntries(PDFStream stream, List<PDFFilter> filters) {
+        stream.addFilter(getDecodeFilterArray(filters));
+        stream.addDecodeParams(getDecodeFilterParams(filters));
+    }
+
+    /**
+     * Wraps the specified {@link OutputStream} in the filters, starting with the specified index, so the bytes written
+     * to the result pass through the filters in order.
+     *
+     * @param filters the filters
+     * @param index   the index of the first filter to wrap
+     * @param out     the stream the output of the last filter is written to
+     * @return the stream to write the content to
+     */
+    private static OutputStream wrap(List<PDFFilter> filters, int index, OutputStream out) {
+        if (index == filters.size()) {
+            return out;
         }
-        return data;
+        return filters.get(index).wrap(wrap(filters, index + 1, out));
     }
 }
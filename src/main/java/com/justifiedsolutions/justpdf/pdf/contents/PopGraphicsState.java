@@ -5,8 +5,9 @@
 
 package com.justifiedsolutions.justpdf.pdf.contents;
 
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
+
 import java.io.IOException;
-import java.io.OutputStream;
 
 /**
  * Implements the PDF command {@code Q} to pop the graphics state off of the stack in a content stream.
@@ -15,7 +16,7 @@ import java.io.OutputStream;
  */
 public final class PopGraphicsState implements SpecialGraphicsOperator {
     @Override
-    public void writeToPDF(OutputStream pdf) throws IOException {
+    public void writeToPDF(PDFByteSink pdf) throws IOException {
         pdf.write('Q');
         pdf.write('\n');
     }
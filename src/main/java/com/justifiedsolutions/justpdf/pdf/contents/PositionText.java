@@ -5,11 +5,10 @@
 
 package com.justifiedsolutions.justpdf.pdf.contents;
 
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
 import com.justifiedsolutions.justpdf.pdf.object.PDFReal;
 
 import java.io.IOException;
-import java.io.OutputStream;
-import java.nio.charset.StandardCharsets;
 
 /**
  * Implements the PDF command {@code Td} to move the text state to the specified point.
@@ -38,14 +37,14 @@ public final class PositionText extends LocationOperator implements TextPosition
         PositionText other = (PositionText) operator;
         float newTx = getX().getValue() + other.getX().getValue();
         float newTy = getY().getValue() + other.getY().getValue();
-        return new PositionText(new PDFReal(newTx), new PDFReal(newTy));
+        return new PositionText(PDFReal.valueOf(newTx), PDFReal.valueOf(newTy));
     }
 
     @Override
-    public void writeToPDF(OutputStream pdf) throws IOException {
+    public void writeToPDF(PDFByteSink pdf) throws IOException {
         getX().writeToPDF(pdf);
         pdf.write(' ');
         getY().writeToPDF(pdf);
-        pdf.write(" Td\n".getBytes(StandardCharsets.US_ASCII));
+        pdf.writeAscii(" Td\n");
     }
 }
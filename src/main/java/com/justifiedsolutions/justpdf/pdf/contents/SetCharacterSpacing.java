@@ -5,11 +5,10 @@
 
 package com.justifiedsolutions.justpdf.pdf.contents;
 
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
 import com.justifiedsolutions.justpdf.pdf.object.PDFReal;
 
 import java.io.IOException;
-import java.io.OutputStream;
-import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 
 /**
@@ -68,8 +67,8 @@ public final class SetCharacterSpacing implements TextStateOperator, Collapsable
     }
 
     @Override
-    public void writeToPDF(OutputStream pdf) throws IOException {
+    public void writeToPDF(PDFByteSink pdf) throws IOException {
         charSpacing.writeToPDF(pdf);
-        pdf.write(" Tc\n".getBytes(StandardCharsets.US_ASCII));
+        pdf.writeAscii(" Tc\n");
     }
 }
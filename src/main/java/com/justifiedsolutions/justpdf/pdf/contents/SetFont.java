@@ -5,12 +5,11 @@
 
 package com.justifiedsolutions.justpdf.pdf.contents;
 
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
 import com.justifiedsolutions.justpdf.pdf.object.PDFName;
 import com.justifiedsolutions.justpdf.pdf.object.PDFReal;
 
 import java.io.IOException;
-import java.io.OutputStream;
-import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 
 /**
@@ -73,10 +72,10 @@ public final class SetFont implements TextStateOperator, CollapsableOperator {
     }
 
     @Override
-    public void writeToPDF(OutputStream pdf) throws IOException {
+    public void writeToPDF(PDFByteSink pdf) throws IOException {
         font.writeToPDF(pdf);
         pdf.write(' ');
         size.writeToPDF(pdf);
-        pdf.write(" Tf\n".getBytes(StandardCharsets.US_ASCII));
+        pdf.writeAscii(" Tf\n");
     }
 }
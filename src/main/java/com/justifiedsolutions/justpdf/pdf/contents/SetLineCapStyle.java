@@ -5,9 +5,9 @@
 
 package com.justifiedsolutions.justpdf.pdf.contents;
 
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
+
 import java.io.IOException;
-import java.io.OutputStream;
-import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 
 /**
@@ -56,8 +56,8 @@ public final class SetLineCapStyle implements GeneralGraphicsOperator {
     }
 
     @Override
-    public void writeToPDF(OutputStream pdf) throws IOException {
+    public void writeToPDF(PDFByteSink pdf) throws IOException {
         lineCapStyle.style().writeToPDF(pdf);
-        pdf.write(" J\n".getBytes(StandardCharsets.US_ASCII));
+        pdf.writeAscii(" J\n");
     }
 }
@@ -5,11 +5,10 @@
 
 package com.justifiedsolutions.justpdf.pdf.contents;
 
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
 import com.justifiedsolutions.justpdf.pdf.object.PDFReal;
 
 import java.io.IOException;
-import java.io.OutputStream;
-import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 
 /**
@@ -77,8 +76,8 @@ public final class SetWordSpacing implements TextStateOperator, CollapsableOpera
     }
 
     @Override
-    public void writeToPDF(OutputStream pdf) throws IOException {
+    public void writeToPDF(PDFByteSink pdf) throws IOException {
         wordSpacing.writeToPDF(pdf);
-        pdf.write(" Tw\n".getBytes(StandardCharsets.US_ASCII));
+        pdf.writeAscii(" Tw\n");
     }
 }
@@ -5,11 +5,10 @@
 
 package com.justifiedsolutions.justpdf.pdf.contents;
 
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
 import com.justifiedsolutions.justpdf.pdf.object.PDFString;
 
 import java.io.IOException;
-import java.io.OutputStream;
-import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 
 /**
@@ -60,8 +59,8 @@ public final class ShowText implements TextShowingOperator, CollapsableOperator
     }
 
     @Override
-    public void writeToPDF(OutputStream pdf) throws IOException {
+    public void writeToPDF(PDFByteSink pdf) throws IOException {
         text.writeToPDF(pdf);
-        pdf.write("Tj\n".getBytes(StandardCharsets.US_ASCII));
+        pdf.writeAscii("Tj\n");
     }
 }
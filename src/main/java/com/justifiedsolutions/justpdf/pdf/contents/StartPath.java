@@ -5,10 +5,10 @@
 
 package com.justifiedsolutions.justpdf.pdf.contents;
 
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
 import com.justifiedsolutions.justpdf.pdf.object.PDFReal;
 
 import java.io.IOException;
-import java.io.OutputStream;
 
 /**
  * Implements the PDF command {@code m} to start a new path in a content stream.
@@ -38,7 +38,7 @@ public final class StartPath extends LocationOperator implements PathConstructio
     }
 
     @Override
-    public void writeToPDF(OutputStream pdf) throws IOException {
+    public void writeToPDF(PDFByteSink pdf) throws IOException {
         getX().writeToPDF(pdf);
         pdf.write(' ');
         getY().writeToPDF(pdf);
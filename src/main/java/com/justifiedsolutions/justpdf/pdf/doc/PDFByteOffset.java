@@ -0,0 +1,64 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.doc;
+
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
+import com.justifiedsolutions.justpdf.pdf.object.PDFObject;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * An integer object that holds a byte offset or length in the file, such as the {@code Prev} entry of a trailer or the
+ * entries of a linearization parameter dictionary. Unlike a {@code PDFInteger}, it is not limited to the range of an
+ * {@code int}.
+ *
+ * @see "ISO 32000-1:2008, 7.3.3"
+ */
+final class PDFByteOffset implements PDFObject {
+
+    private final long value;
+
+    /**
+     * Creates a new PDFByteOffset.
+     *
+     * @param value the byte offset
+     */
+    PDFByteOffset(long value) {
+        this.value = value;
+    }
+
+    /**
+     * Gets the byte offset.
+     *
+     * @return the byte offset
+     */
+    long getValue() {
+        return value;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(value);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        PDFByteOffset that = (PDFByteOffset) o;
+        return value == that.value;
+    }
+
+    @Override
+    public void writeToPDF(PDFByteSink pdf) throws IOException {
+        pdf.writeLong(value);
+    }
+}
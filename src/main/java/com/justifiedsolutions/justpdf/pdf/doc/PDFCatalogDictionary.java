@@ -14,13 +14,13 @@ import com.justifiedsolutions.justpdf.pdf.object.PDFName;
  * @see "ISO 32000-1:2008, 7.7.2"
  */
 final class PDFCatalogDictionary extends PDFDictionary {
-    public static final PDFName TYPE = new PDFName("Type");
-    public static final PDFName VERSION = new PDFName("Version");
-    public static final PDFName PAGES = new PDFName("Pages");
-    public static final PDFName OUTLINES = new PDFName("Outlines");
+    public static final PDFName TYPE = PDFName.valueOf("Type");
+    public static final PDFName VERSION = PDFName.valueOf("Version");
+    public static final PDFName PAGES = PDFName.valueOf("Pages");
+    public static final PDFName OUTLINES = PDFName.valueOf("Outlines");
 
-    static final PDFName CATALOG = new PDFName("Catalog");
-    static final PDFName VERSION_17 = new PDFName("1.7");
+    static final PDFName CATALOG = PDFName.valueOf("Catalog");
+    static final PDFName VERSION_17 = PDFName.valueOf("1.7");
 
     /**
      * Creates a new PDFCatalogDictionary setting the {@code Type} and {@code Version} in the dictionary.
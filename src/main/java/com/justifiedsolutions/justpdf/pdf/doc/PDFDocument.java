@@ -5,10 +5,12 @@
 
 package com.justifiedsolutions.justpdf.pdf.doc;
 
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
 import com.justifiedsolutions.justpdf.pdf.font.PDFFont;
+import com.justifiedsolutions.justpdf.pdf.object.ObjectNumberAllocator;
+import com.justifiedsolutions.justpdf.pdf.object.PDFDictionary;
 import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject;
 import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject.Reference;
-import com.justifiedsolutions.justpdf.pdf.object.PDFInteger;
 import com.justifiedsolutions.justpdf.pdf.object.PDFName;
 import com.justifiedsolutions.justpdf.pdf.object.PDFObject;
 import com.justifiedsolutions.justpdf.pdf.object.PDFRectangle;
@@ -16,8 +18,11 @@ import com.justifiedsolutions.justpdf.pdf.object.PDFString;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.channels.SeekableByteChannel;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -27,25 +32,129 @@ import java.util.Map;
  * @see "ISO 32000-1:2008, 7.7"
  */
 public class PDFDocument {
-    private final PDFHeader header = new PDFHeader();
-    private final PDFXRefTable xrefTable = new PDFXRefTable();
+    private static final PDFHeader HEADER = new PDFHeader();
+
     private final PDFTrailer trailer = new PDFTrailer();
 
+    private final ObjectNumberAllocator allocator;
     private final List<PDFIndirectObject> indirectObjects = new ArrayList<>();
 
     private PDFOutlineDictionary outline;
-    private final PDFPages pages = new PDFPages();
+    private final PDFPageTree pageTree = new PDFPageTree(this::createIndirectObject);
     private final PDFInfoDictionary info = new PDFInfoDictionary();
     private final PDFCatalogDictionary catalog = new PDFCatalogDictionary();
-    private final Map<PDFFont, PDFIndirectObject> fonts = new HashMap<>();
+    private final Map<PDFFont, PDFIndirectObject> fonts = new IdentityHashMap<>();
+
+    private final PDFStreamingWriter streamingWriter;
+
+    private final PDFObjectWriter objectWriter;
+    private final PDFIncrementalUpdate update;
+    private final PDFDocumentOptions options;
+    private PDFIndirectObject indirectResources;
+    @SuppressWarnings("PMD.AvoidMessageDigestField") // a document is only written by one thread at a time
+    private final MessageDigest digest;
 
     /**
-     * Creates a new PDFDocument.
+     * Creates a new PDFDocument with the default options. All objects are held in memory until {@link
+     * #write(OutputStream)} is called.
      */
     public PDFDocument() {
-        PDFIndirectObject.resetObjectNumber();
-        PDFIndirectObject indirectCatalog = createIndirectObject(catalog);
-        trailer.setRoot(indirectCatalog.getReference());
+        this(new PDFDocumentOptions());
+    }
+
+    /**
+     * Creates a new PDFDocument with the specified options. All objects are held in memory until {@link
+     * #write(OutputStream)} is called.
+     *
+     * @param options the options of the document
+     * @throws IllegalArgumentException if the options are not valid for the document
+     */
+    public PDFDocument(PDFDocumentOptions options) {
+        this(null, options);
+    }
+
+    /**
+     * Creates a new streaming PDFDocument with the specified options. Each page and its contents are written to the
+     * specified {@link OutputStream} as soon as the page is {@linkplain #completePage(PDFPage) complete}, and only
+     * their byte offsets are retained. The page tree, catalog, outline, fonts and info dictionary are written when
+     * {@link #write(OutputStream)} is called.
+     *
+     * @param pdf     the OutputStream to write to, {@code null} creates a document held in memory
+     * @param options the options of the document
+     * @throws IllegalArgumentException if the options are not valid for the document
+     */
+    public PDFDocument(OutputStream pdf, PDFDocumentOptions options) {
+        this(pdf, null, options);
+    }
+
+    private PDFDocument(OutputStream pdf, PDFIncrementalUpdate update, PDFDocumentOptions options) {
+        options.validate(pdf != null, update != null);
+        this.update = update;
+        this.options = new PDFDocumentOptions(options);
+        this.digest = options.isDeterministic() ? PDFFileIdentifier.createDigest() : null;
+        this.allocator = new ObjectNumberAllocator((update == null) ? 0 : update.getSize() - 1);
+        this.objectWriter = new PDFObjectWriter(this::createIndirectObject, pdf != null);
+        objectWriter.setCompressObjects(options.isCompressObjects());
+        objectWriter.setSerializationExecutor(options.getSerializationExecutor());
+        pageTree.setFanOut(options.getPageTreeFanOut());
+        this.streamingWriter = (pdf == null) ? null : new PDFStreamingWriter(pdf, objectWriter, digest);
+        if (update == null) {
+            trailer.setRoot(createIndirectObject(catalog).getReference());
+        } else {
+            trailer.setRoot(update.open(this, catalog, pageTree));
+        }
+    }
+
+    /**
+     * Creates a PDFDocument that is written as an incremental update of the existing PDF file read from the specified
+     * channel. Its pages are added after the pages of the file, and its outline items after the items of the file's
+     * outline. Its Information Dictionary replaces the one of the file. {@link #write(OutputStream)} must be called
+     * with a stream that appends to the file: only new and changed objects are written, followed by a cross reference
+     * section and a trailer that points at the file's last cross reference section. The existing bytes are never
+     * rewritten.
+     *
+     * <p>The file must use cross reference tables, as a document that does not compress objects writes. Fonts are
+     * added to the update even if the file already has them. An update is held in memory, and cannot be linearized,
+     * deterministic or compress objects.</p>
+     *
+     * @param existing the channel to read the existing file from, it is only read while this method runs
+     * @param options  the options of the update
+     * @return the PDFDocument
+     * @throws IOException              if there is an issue reading the file, or it does not use cross reference
+     *                                  tables
+     * @throws IllegalArgumentException if the options are not valid for an incremental update
+     * @see "ISO 32000-1:2008, 7.5.6"
+     */
+    public static PDFDocument append(SeekableByteChannel existing, PDFDocumentOptions options) throws IOException {
+        return new PDFDocument(null, new PDFIncrementalUpdate(existing), options);
+    }
+
+    /**
+     * Specifies if this document writes pages as soon as they are complete.
+     *
+     * @return true if the document is streaming
+     */
+    public boolean isStreaming() {
+        return streamingWriter != null;
+    }
+
+    /**
+     * Specifies if this document is written as an incremental update of an existing file.
+     *
+     * @return true if the document was created by {@link #append(SeekableByteChannel, PDFDocumentOptions)}
+     */
+    public boolean isIncrementalUpdate() {
+        return update != null;
+    }
+
+    /**
+     * Gets the number of pages in the document. For an incremental update, this includes the pages of the existing
+     * file.
+     *
+     * @return the number of pages
+     */
+    public int getPageCount() {
+        return pageTree.getCount();
     }
 
     /**
@@ -56,7 +165,8 @@ public class PDFDocument {
      */
     public void addInfo(PDFName key, PDFString value) {
         if (!trailer.hasInfo()) {
-            PDFIndirectObject indirectInfo = createIndirectObject(info);
+            PDFIndirectObject indirectInfo = (update == null) ? createIndirectObject(info)
+                    : update.createInfo(this, info);
             trailer.setInfo(indirectInfo.getReference());
         }
         info.put(key, value);
@@ -69,22 +179,74 @@ public class PDFDocument {
      * @return the new PDFPage
      */
     public PDFPage createPage(PDFRectangle pageSize) {
-        Reference pagesReference = (Reference) catalog.get(PDFCatalogDictionary.PAGES);
-        if (pagesReference == null) {
-            PDFIndirectObject indirectObject = createIndirectObject(pages);
-            pagesReference = indirectObject.getReference();
-            catalog.put(PDFCatalogDictionary.PAGES, pagesReference);
-        }
         PDFPage page = new PDFPage(this, pageSize);
-        page.setParent(pagesReference);
-        pages.addPage(page.getReference());
-
+        page.setParent(addToPageTree(page.getReference()));
         return page;
     }
 
+    /**
+     * Adds a page to the page tree, after the pages already in the document. The page must be a PDFPage of this
+     * document or a page dictionary that was copied into it.
+     *
+     * @param page the reference to the page
+     * @return the reference to the node that is the page's {@code Parent}
+     */
+    final Reference addToPageTree(Reference page) {
+        if (!catalog.containsKey(PDFCatalogDictionary.PAGES)) {
+            catalog.put(PDFCatalogDictionary.PAGES, pageTree.createRoot());
+        }
+        return pageTree.addPage(page);
+    }
+
+    /**
+     * Completes the page tree and gets the reference to the catalog, so the pages and outline of the document can be
+     * read by following the references from the catalog, as when the document is merged into another one.
+     *
+     * @return the reference to the catalog
+     */
+    final Reference completeCatalog() {
+        completePageTree();
+        return (Reference) trailer.getDictionary().get(PDFTrailer.ROOT);
+    }
+
+    /**
+     * Gets the Information Dictionary, whose entries are the ones added by {@link #addInfo(PDFName, PDFString)}.
+     *
+     * @return the Information Dictionary
+     */
+    final PDFDictionary getInfo() {
+        return info;
+    }
+
+    /**
+     * Gets a copy of the options of the document.
+     *
+     * @return the options
+     */
+    public PDFDocumentOptions getOptions() {
+        return new PDFDocumentOptions(options);
+    }
+
+    /**
+     * Gets the indirect Resources dictionary that new pages share, creating it for the first page that shares it.
+     *
+     * @return the shared resources, or {@code null} if pages do not share their resources
+     */
+    final PDFIndirectObject getSharedResources() {
+        if (!options.isSharedResources()) {
+            return null;
+        }
+        if (indirectResources == null) {
+            indirectResources = createIndirectObject(new PDFResources());
+        }
+        return indirectResources;
+    }
+
     /**
      * Adds a PDFFont to the document if it has not already been added. Returns a {@link Reference} to the {@link
-     * PDFIndirectObject} that wraps the font in the PDFDocument.
+     * PDFIndirectObject} that wraps the font in the PDFDocument. Fonts are shared instances, such as those of {@link
+     * com.justifiedsolutions.justpdf.pdf.font.PDFFontType1#getInstance}, so a font is found by its identity, without
+     * hashing its dictionary.
      *
      * @param font the font to add to the document
      * @return the reference to the font
@@ -94,6 +256,23 @@ public class PDFDocument {
         return indirectFont.getReference();
     }
 
+    /**
+     * Notifies the document that no more changes will be made to the specified {@link PDFPage}. If the document is
+     * {@linkplain #isStreaming() streaming}, the page and its contents are written as soon as the contents are ready,
+     * and then released from memory. Pages are always written in the order they are completed. Otherwise, the contents
+     * of the page are moved to the {@linkplain PDFDocumentOptions#setSpillStore spill store}, if there is one.
+     *
+     * @param page the completed page
+     * @throws IOException if there is an issue writing the page
+     */
+    public void completePage(PDFPage page) throws IOException {
+        if (isStreaming()) {
+            streamingWriter.completePage(page);
+        } else if (options.getSpillStore() != null) {
+            page.spillContents(options.getSpillStore());
+        }
+    }
+
     /**
      * Gets the {@link PDFOutlineDictionary} for the document.
      *
@@ -101,94 +280,122 @@ public class PDFDocument {
      */
     public PDFOutlineDictionary getOutline() {
         if (outline == null) {
-            outline = new PDFOutlineDictionary(this);
+            outline = (update == null) ? new PDFOutlineDictionary(this) : update.createOutline(this);
             catalog.put(PDFCatalogDictionary.OUTLINES, outline.getReference());
         }
         return outline;
     }
 
     /**
-     * Writes the PDF document to the specified {@link OutputStream}.
+     * Writes the PDF document to the specified {@link OutputStream}. If the document is {@linkplain #isStreaming()
+     * streaming}, only the objects that have not already been written are written, followed by the cross reference
+     * table and trailer. If objects are {@linkplain PDFDocumentOptions#isCompressObjects() compressed}, a cross
+     * reference stream is written instead of the table and trailer. A {@linkplain PDFDocumentOptions#isLinearized()
+     * linearized} document renumbers its objects in the order they are written. An {@linkplain #isIncrementalUpdate()
+     * incremental update} is written after the existing file, so pdf must append to it.
      *
      * @param pdf the OutputStream to write to
-     * @throws IOException if there is an issue writing the document
+     * @throws IOException              if there is an issue writing the document
+     * @throws IllegalArgumentException if the document is streaming and pdf is not the stream it was created with
      */
+    @SuppressWarnings("PMD.CloseResource") // the caller owns the stream, so the sink is flushed but not closed
     public void write(OutputStream pdf) throws IOException {
-        CountingOutputStream cos = new CountingOutputStream(pdf);
-        header.writeToPDF(cos);
-        for (PDFIndirectObject indirectObject : indirectObjects) {
-            indirectObject.setByteOffset(new PDFInteger(cos.getCounter()));
-            indirectObject.writeToPDF(cos);
-            cos.flush();
+        completePageTree();
+        if (options.isLinearized() && catalog.containsKey(PDFCatalogDictionary.PAGES)) {
+            writeLinearized(pdf);
+            return;
+        }
+        PDFByteSink out = getWriteSink(pdf);
+        if (update == null) {
+            objectWriter.placeAll(indirectObjects, out);
+            if (digest != null) {
+                out.flush();
+                trailer.setId(PDFFileIdentifier.fromDigest(digest));
+            }
+            objectWriter.writeXRef(trailer, indirectObjects, out);
+        } else {
+            update.write(trailer, indirectObjects, objectWriter, out);
         }
-        trailer.setTotalBytes(new PDFInteger(cos.getCounter()));
-        trailer.setSize(new PDFInteger(indirectObjects.size() + 1));
-        xrefTable.setIndirectObjects(indirectObjects);
-        xrefTable.writeToPDF(cos);
-        trailer.writeToPDF(cos);
+        out.flush();
     }
 
     /**
-     * All {@link PDFIndirectObject}s in a document must be created through this method.
+     * All {@link PDFIndirectObject}s in a document must be created through this method. Object numbers are allocated
+     * by the document's own {@link ObjectNumberAllocator}.
      *
      * @param object the object to wrap
      * @return the PDFIndirectObject
      */
     final PDFIndirectObject createIndirectObject(PDFObject object) {
-        PDFIndirectObject result = new PDFIndirectObject(object);
+        PDFIndirectObject result = new PDFIndirectObject(object, allocator);
         this.indirectObjects.add(result);
         return result;
     }
 
     /**
-     * An {@link OutputStream} that wraps the supplied OutputStream in order to count the number of bytes written at any
-     * point of time. Allows the document to determine byte offsets of specific objects in the document.
+     * Creates a {@link PDFIndirectObject} that replaces the object of the existing file with the specified object
+     * number in an incremental update.
+     *
+     * @param object       the object to wrap
+     * @param objectNumber the object number of the object it replaces
+     * @return the PDFIndirectObject
      */
-    private static class CountingOutputStream extends OutputStream {
-
-        private final OutputStream outputStream;
-        private int counter;
-
-        private CountingOutputStream(OutputStream outputStream) {
-            this.outputStream = outputStream;
-            this.counter = 0;
-        }
-
-        @Override
-        public void write(int b) throws IOException {
-            outputStream.write(b);
-            counter++;
-        }
+    final PDFIndirectObject createIndirectObject(PDFObject object, int objectNumber) {
+        PDFIndirectObject result = new PDFIndirectObject(object, objectNumber);
+        this.indirectObjects.add(result);
+        return result;
+    }
 
-        @Override
-        public void write(byte[] b) throws IOException {
-            outputStream.write(b);
-            counter += b.length;
+    /**
+     * Completes the page tree and points the catalog at its root, which completing may have replaced.
+     */
+    private void completePageTree() {
+        Reference pagesRoot = pageTree.complete();
+        if (pagesRoot != null) {
+            catalog.put(PDFCatalogDictionary.PAGES, pagesRoot);
         }
+    }
 
-        @Override
-        public void write(byte[] b, int off, int len) throws IOException {
-            outputStream.write(b, off, len);
-            counter += len;
-        }
+    /**
+     * Writes the document as a linearized file. The digest of a deterministic document is computed from its objects
+     * by the {@link PDFLinearizedWriter}, not from the bytes written.
+     *
+     * @param pdf the OutputStream to write to
+     * @throws IOException if there is an issue writing the document
+     */
+    @SuppressWarnings("PMD.CloseResource") // the caller owns the stream, so the sink is flushed but not closed
+    private void writeLinearized(OutputStream pdf) throws IOException {
+        PDFByteSink out = new PDFByteSink(pdf);
+        HEADER.writeToPDF(out);
+        new PDFLinearizedWriter(indirectObjects, trailer, digest).write(out);
+        out.flush();
+    }
 
-        @Override
-        public void flush() throws IOException {
-            outputStream.flush();
+    /**
+     * Gets the {@link PDFByteSink} that {@link #write(OutputStream)} writes to. A document held in memory gets a new
+     * sink, and the file header is written to it. The bytes written to the sink of a deterministic document are added
+     * to its digest. A streaming document writes its remaining completed pages and keeps its sink. An incremental
+     * update gets a sink that continues the existing file.
+     *
+     * @param pdf the OutputStream passed to write
+     * @return the sink
+     * @throws IOException if there is an issue writing the header
+     */
+    private PDFByteSink getWriteSink(OutputStream pdf) throws IOException {
+        if (isStreaming()) {
+            return streamingWriter.finish(pdf);
         }
-
-        @Override
-        public void close() throws IOException {
-            outputStream.close();
+        if (isIncrementalUpdate()) {
+            return update.openSink(pdf);
         }
-
-        /**
-         * Gets the number of bytes written to the wrapped {@link OutputStream}.
-         *
-         * @return the number of bytes written
-         */
-        public int getCounter() {
-            return counter;
+        PDFByteSink sink;
+        if (digest != null) {
+            digest.reset();
+            sink = new PDFByteSink(new DigestOutputStream(pdf, digest));
+        } else {
+            sink = new PDFByteSink(pdf);
         }
+        HEADER.writeToPDF(sink);
+        return sink;
     }
 }
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.doc;
+
+import com.justifiedsolutions.justpdf.pdf.object.PDFDictionary;
+import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject.Reference;
+import com.justifiedsolutions.justpdf.pdf.object.PDFObject;
+
+import java.io.IOException;
+import java.nio.channels.SeekableByteChannel;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Merges documents produced by justPDF into a target {@link PDFDocument} without laying them out again, for example
+ * documents that were generated in parallel. The pages of each merged document are added after the pages already in
+ * the target, and its outline items after the items of the target's outline.
+ *
+ * <p>Every object reachable from the pages and outline items of a merged document is copied into the target, where it
+ * gets a new object number. Objects are copied once, however many times they are referenced, and a font dictionary
+ * that does not reference other objects is only copied once for all the merged documents. The page tree, catalog and
+ * Information Dictionary of a merged document are not copied. Page attributes inherited from page tree nodes are not
+ * supported, as justPDF does not write them.</p>
+ *
+ * <p>A PDFDocumentMerger is not thread-safe.</p>
+ */
+public final class PDFDocumentMerger {
+
+    private final PDFDocument target;
+    private final Map<String, Reference> fonts = new HashMap<>();
+
+    /**
+     * Creates a new PDFDocumentMerger.
+     *
+     * @param target the document the other documents are merged into
+     * @throws NullPointerException if target is {@code null}
+     */
+    public PDFDocumentMerger(PDFDocument target) {
+        this.target = Objects.requireNonNull(target);
+    }
+
+    /**
+     * Merges a document held in memory. Its pages are completed, and its objects are shared with the target where they
+     * cannot be modified, such as page contents, so it must not be changed afterwards.
+     *
+     * @param source the document to merge
+     * @throws NullPointerException     if source is {@code null}
+     * @throws IllegalArgumentException if source is the target, or a streaming document whose pages have already
+     *                                  been written
+     */
+    public void merge(PDFDocument source) {
+        Objects.requireNonNull(source);
+        if (source.equals(target)) {
+            throw new IllegalArgumentException("A document cannot be merged into itself.");
+        }
+        if (source.isStreaming()) {
+            throw new IllegalArgumentException("A streaming document cannot be merged, as its pages have been written.");
+        }
+        try {
+            merge(reference -> reference.getIndirectObject().getObject(), source.completeCatalog());
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to merge the document.", e);
+        }
+    }
+
+    /**
+     * Merges the PDF file read from the specified channel. Only the objects that are merged are read. The file must use
+     * cross reference tables, as a document that does not compress objects writes.
+     *
+     * @param source the channel to read the file from, it is only read while this method runs
+     * @throws NullPointerException if source is {@code null}
+     * @throws IOException          if there is an issue reading the file, or it does not use cross reference tables
+     */
+    public void merge(SeekableByteChannel source) throws IOException {
+        PDFFileReader reader = new PDFFileReader(Objects.requireNonNull(source));
+        PDFObject catalog = reader.getTrailer().get(PDFTrailer.ROOT);
+        if (!(catalog instanceof Reference)) {
+            throw new IOException("The file has no catalog.");
+        }
+        merge(reference -> reader.readObject(reference.getIndirectObject().getNumber()),
+                (Reference) catalog);
+    }
+
+    /**
+     * Copies the pages and then the outline items of the document with the specified catalog.
+     */
+    private void merge(PDFObjectCopier.Resolver resolver, Reference catalogReference) throws IOException {
+        PDFObjectCopier copier = new PDFObjectCopier(target, resolver, fonts);
+        PDFDictionary catalog = resolver.resolveDictionary(catalogReference);
+        PDFObject pages = catalog.get(PDFCatalogDictionary.PAGES);
+        if (pages instanceof Reference) {
+            for (Reference page : PDFObjectCopier.collectPages(resolver, (Reference) pages)) {
+                copier.copyPage(page);
+            }
+        }
+        PDFObject outline = catalog.get(PDFCatalogDictionary.OUTLINES);
+        if (outline instanceof Reference) {
+            mergeOutline(copier, resolver.resolveDictionary((Reference) outline), (Reference) outline);
+        }
+    }
+
+    /**
+     * Appends the top-level items of an outline to the target's outline. The items' {@code Parent} is the target's
+     * outline.
+     */
+    private void mergeOutline(PDFObjectCopier copier, PDFDictionary outline, Reference outlineReference)
+            throws IOException {
+        PDFObject first = outline.get(PDFOutlineDictionary.FIRST);
+        PDFObject last = outline.get(PDFOutlineDictionary.LAST);
+        if (!(first instanceof Reference) || !(last instanceof Reference)) {
+            return;
+        }
+        PDFOutlineDictionary targetOutline = target.getOutline();
+        copier.putCopy(outlineReference, targetOutline.getReference());
+        Reference firstCopy = copier.copyReference((Reference) first);
+        Reference lastCopy = copier.copyReference((Reference) last);
+        copier.fillCopies();
+        targetOutline.appendItems(firstCopy, lastCopy, PDFOutlineDictionary.getCount(outline));
+    }
+}
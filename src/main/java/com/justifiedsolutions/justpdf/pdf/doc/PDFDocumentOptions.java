@@ -0,0 +1,253 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.doc;
+
+import com.justifiedsolutions.justpdf.pdf.object.PDFStreamStore;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Holds the settings that say how a {@link PDFDocument} is built and written. A PDFDocument takes a copy of its options
+ * when it is created, so changing the options afterwards does not change the document.
+ */
+public final class PDFDocumentOptions {
+
+    private boolean linearized;
+    private boolean compressObjects;
+    private boolean deterministic;
+    private boolean sharedResources;
+    private int pageTreeFanOut = PDFPageTree.DEFAULT_FAN_OUT;
+    private Executor compressionExecutor;
+    private Executor serializationExecutor;
+    private PDFStreamStore spillStore;
+
+    /**
+     * Creates a new PDFDocumentOptions with the default settings.
+     */
+    public PDFDocumentOptions() {
+        // the defaults are the initial values of the fields
+    }
+
+    /**
+     * Creates a new PDFDocumentOptions with the same settings as the specified options.
+     *
+     * @param other the options to copy
+     */
+    public PDFDocumentOptions(PDFDocumentOptions other) {
+        this.linearized = other.linearized;
+        this.compressObjects = other.compressObjects;
+        this.deterministic = other.deterministic;
+        this.sharedResources = other.sharedResources;
+        this.pageTreeFanOut = other.pageTreeFanOut;
+        this.compressionExecutor = other.compressionExecutor;
+        this.serializationExecutor = other.serializationExecutor;
+        this.spillStore = other.spillStore;
+    }
+
+    /**
+     * Specifies if the document is written as a linearized file.
+     *
+     * @return true if the document is linearized
+     */
+    public boolean isLinearized() {
+        return linearized;
+    }
+
+    /**
+     * Sets whether the document is written as a linearized file, also known as Fast Web View. The linearization
+     * parameter dictionary, the first page's cross reference section, its objects and the hint tables are written at
+     * the start of the file, so a viewer can display the first page before the rest of the file has arrived. Every
+     * object must be known before the first byte is written, so a linearized document cannot be streaming or an
+     * incremental update, and its objects cannot be compressed. A document without pages is written normally. The
+     * default is {@code false}.
+     *
+     * @param linearized true to linearize the document
+     * @see "ISO 32000-1:2008, Annex F"
+     */
+    public void setLinearized(boolean linearized) {
+        this.linearized = linearized;
+    }
+
+    /**
+     * Specifies if objects are compressed into Object Streams with a Cross Reference Stream.
+     *
+     * @return true if objects are compressed
+     */
+    public boolean isCompressObjects() {
+        return compressObjects;
+    }
+
+    /**
+     * Sets whether objects that are not streams are packed into compressed Object Streams, and a compressed Cross
+     * Reference Stream is written in place of the Cross Reference Table and trailer. This requires PDF 1.5 or later.
+     * A linearized document or an incremental update cannot compress objects. The default is {@code false}.
+     *
+     * @param compressObjects true to compress objects
+     * @see "ISO 32000-1:2008, 7.5.7 and 7.5.8"
+     */
+    public void setCompressObjects(boolean compressObjects) {
+        this.compressObjects = compressObjects;
+    }
+
+    /**
+     * Specifies if the trailer of the document gets a file identifier derived from its content.
+     *
+     * @return true if the document is deterministic
+     */
+    public boolean isDeterministic() {
+        return deterministic;
+    }
+
+    /**
+     * Sets whether the trailer of the document gets a file identifier, its {@code ID} entry, derived from its content:
+     * the SHA-256 digest of the bytes written before the cross reference section, or of the objects of a linearized
+     * document. The objects and dictionary entries of a document are always written in a stable order, so the same
+     * content gives byte-identical files, which can be cached and deduplicated by their digest. An incremental update
+     * cannot be deterministic. The default is {@code false}.
+     *
+     * @param deterministic true to derive a file identifier from the content
+     * @see "ISO 32000-1:2008, 14.4"
+     */
+    public void setDeterministic(boolean deterministic) {
+        this.deterministic = deterministic;
+    }
+
+    /**
+     * Specifies if the pages created in the document share one Resources dictionary.
+     *
+     * @return true if pages share their resources
+     */
+    public boolean isSharedResources() {
+        return sharedResources;
+    }
+
+    /**
+     * Sets whether the pages created in the document share one Resources dictionary. When they do, a single indirect
+     * Resources dictionary is written, and each page refers to it, instead of each page holding a copy of the same
+     * dictionary. The names of the resources are the same on every page that shares them, and the shared dictionary
+     * holds every resource that any of them uses. A page may name resources it does not use, so the pages never
+     * diverge. The default is {@code false}.
+     *
+     * @param sharedResources true to share one Resources dictionary between pages
+     * @see "ISO 32000-1:2008, 7.7.3.3 and 7.8.3"
+     */
+    public void setSharedResources(boolean sharedResources) {
+        this.sharedResources = sharedResources;
+    }
+
+    /**
+     * Gets the maximum number of kids of a node in the page tree.
+     *
+     * @return the fan-out
+     */
+    public int getPageTreeFanOut() {
+        return pageTreeFanOut;
+    }
+
+    /**
+     * Sets the maximum number of kids of a node in the page tree. The pages are grouped into leaf nodes, which are
+     * arranged in a balanced tree under the root when the document is written, so a viewer can find any page by
+     * visiting a few nodes. The default is {@code 32}.
+     *
+     * @param pageTreeFanOut the fan-out
+     * @throws IllegalArgumentException if pageTreeFanOut is less than 2
+     */
+    public void setPageTreeFanOut(int pageTreeFanOut) {
+        if (pageTreeFanOut < 2) {
+            throw new IllegalArgumentException("Fan-out must be at least 2.");
+        }
+        this.pageTreeFanOut = pageTreeFanOut;
+    }
+
+    /**
+     * Gets the {@link Executor} used to compress page contents.
+     *
+     * @return the executor or {@code null} if page contents are compressed on the calling thread
+     */
+    public Executor getCompressionExecutor() {
+        return compressionExecutor;
+    }
+
+    /**
+     * Sets the {@link Executor} used to compress page contents. When set, pages may be completed before their contents
+     * are compressed, and the contents are written in page order once they are ready. The document does not shut the
+     * executor down. The default is {@code null}, which compresses contents on the calling thread.
+     *
+     * @param compressionExecutor the executor or {@code null}
+     */
+    public void setCompressionExecutor(Executor compressionExecutor) {
+        this.compressionExecutor = compressionExecutor;
+    }
+
+    /**
+     * Gets the {@link Executor} the objects of the document are serialized on when it is written.
+     *
+     * @return the executor or {@code null} if objects are serialized on the calling thread
+     */
+    public Executor getSerializationExecutor() {
+        return serializationExecutor;
+    }
+
+    /**
+     * Sets the {@link Executor} the objects of the document are serialized on when it is written. The objects are
+     * serialized in parallel into separate buffers, whose sizes give the byte offsets of the objects, and the buffers
+     * are written in order. Unless objects are compressed, which writes the Object Streams first, the output is the
+     * same as without an executor. It does not apply to a linearized document or an incremental update. The document
+     * does not shut the executor down. The default is {@code null}, which serializes objects on the calling thread.
+     *
+     * @param serializationExecutor the executor or {@code null}
+     */
+    public void setSerializationExecutor(Executor serializationExecutor) {
+        this.serializationExecutor = serializationExecutor;
+    }
+
+    /**
+     * Gets the {@link PDFStreamStore} that the contents of completed pages are moved to.
+     *
+     * @return the store or {@code null} if the contents stay on the heap
+     */
+    public PDFStreamStore getSpillStore() {
+        return spillStore;
+    }
+
+    /**
+     * Sets the {@link PDFStreamStore} that the contents of pages are moved to when they are {@linkplain
+     * PDFDocument#completePage(PDFPage) completed}, so they are held off the heap until the document is written.
+     * Contents that are still being compressed by a {@linkplain #setCompressionExecutor(Executor) compression
+     * executor} are moved once they are ready. It does not apply to a {@linkplain PDFDocument#isStreaming() streaming}
+     * document, whose pages are written when they are completed. The document does not close the store, which must
+     * stay open until the last page is completed. The default is {@code null}, which keeps the contents on the heap.
+     *
+     * @param spillStore the store or {@code null}
+     */
+    public void setSpillStore(PDFStreamStore spillStore) {
+        this.spillStore = spillStore;
+    }
+
+    /**
+     * Checks that the options can be used together by a document that is streaming or an incremental update. The
+     * sections of a linearized file and an update list their objects in cross reference tables.
+     *
+     * @param streaming true if the document is streaming
+     * @param update    true if the document is an incremental update
+     * @throws IllegalArgumentException if the document cannot be linearized, compress objects or be deterministic
+     */
+    void validate(boolean streaming, boolean update) {
+        if (linearized && (streaming || compressObjects)) {
+            throw new IllegalArgumentException("A linearized document cannot be streaming or compress objects.");
+        }
+        if (update) {
+            validateUpdate();
+        }
+    }
+
+    private void validateUpdate() {
+        if (linearized || compressObjects || deterministic) {
+            throw new IllegalArgumentException(
+                    "An incremental update cannot be linearized, compress objects or be deterministic.");
+        }
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.doc;
+
+import com.justifiedsolutions.justpdf.pdf.object.PDFDictionary;
+import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject.Reference;
+import com.justifiedsolutions.justpdf.pdf.object.PDFName;
+import com.justifiedsolutions.justpdf.pdf.object.PDFObject;
+import com.justifiedsolutions.justpdf.pdf.object.PDFString;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Splits a {@link PDFDocument} into shards, separate PDF files that each hold a consecutive range of its pages, so no
+ * file has more than a maximum number of pages or bytes. Each shard is a complete document: it has its own copies of
+ * the objects its pages use, such as fonts, the Information Dictionary of the document, and an outline with the items
+ * of the document's outline that point at its pages. An item that points at a page of another shard is left out, and
+ * its children take its place.
+ *
+ * <p>The byte size of a shard is estimated from the serialized size of the objects its pages use, plus a cross
+ * reference entry for each of them. The page tree, outline, catalog and trailer of a shard are not counted, so the
+ * maximum should leave room for them. A page that is larger than the maximum on its own is put in a shard by
+ * itself.</p>
+ *
+ * <p>A PDFDocumentSplitter is thread-safe, but a document must only be split by one thread at a time.</p>
+ */
+public final class PDFDocumentSplitter {
+
+    private static final PDFObjectCopier.Resolver RESOLVER = reference -> reference.getIndirectObject().getObject();
+
+    private final int maxPages;
+    private final long maxBytes;
+
+    /**
+     * Creates a new PDFDocumentSplitter.
+     *
+     * @param maxPages the maximum number of pages in a shard, {@link Integer#MAX_VALUE} for no maximum
+     * @param maxBytes the maximum number of bytes in a shard, {@link Long#MAX_VALUE} for no maximum
+     * @throws IllegalArgumentException if maxPages or maxBytes is less than 1
+     */
+    public PDFDocumentSplitter(int maxPages, long maxBytes) {
+        if (maxPages < 1 || maxBytes < 1) {
+            throw new IllegalArgumentException("The maximum pages and bytes of a shard must be positive.");
+        }
+        this.maxPages = maxPages;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Splits the document into shards and writes each one to the stream opened for it. The ranges of pages of the
+     * shards are worked out first, then each shard is assembled and written as a separate task on the executor, so
+     * shards are written in parallel. The shards have the page tree fan-out, compressObjects, linearized and
+     * deterministic settings of the document. The document's pages are completed, and it must not be changed while it
+     * is being split.
+     *
+     * @param source   the document to split
+     * @param output   opens the stream for each shard
+     * @param executor the executor the shards are written on, or {@code null} to write them one after the other on the
+     *                 calling thread
+     * @return the number of shards, which is {@code 0} if the document has no pages
+     * @throws NullPointerException     if source or output is {@code null}
+     * @throws IllegalArgumentException if source is streaming or an incremental update, as its pages are not all held
+     *                                  in memory
+     * @throws IOException              if there is an issue writing a shard, or the thread is interrupted while
+     *                                  waiting for the shards to be written
+     */
+    public int write(PDFDocument source, Output output, Executor executor) throws IOException {
+        Objects.requireNonNull(output);
+        if (source.isStreaming() || source.isIncrementalUpdate()) {
+            throw new IllegalArgumentException("Only a document held in memory can be split.");
+        }
+        PDFDictionary catalog = RESOLVER.resolveDictionary(source.completeCatalog());
+        PDFObject pages = catalog.get(PDFCatalogDictionary.PAGES);
+        if (!(pages instanceof Reference)) {
+            return 0;
+        }
+        PDFObject outline = catalog.get(PDFCatalogDictionary.OUTLINES);
+        PDFObject firstItem = (outline instanceof Reference)
+                ? RESOLVER.resolveDictionary((Reference) outline).get(PDFOutlineDictionary.FIRST) : null;
+
+        List<List<Reference>> shards = new PDFShardPlanner(maxPages, maxBytes)
+                .plan(PDFObjectCopier.collectPages(RESOLVER, (Reference) pages));
+        if (executor == null) {
+            for (int index = 0; index < shards.size(); index++) {
+                writeShard(source, shards.get(index), firstItem, output, index);
+            }
+            return shards.size();
+        }
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (int index = 0; index < shards.size(); index++) {
+            List<Reference> shard = shards.get(index);
+            int shardIndex = index;
+            tasks.add(CompletableFuture.runAsync(() -> {
+                try {
+                    writeShard(source, shard, firstItem, output, shardIndex);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, executor));
+        }
+        await(CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])));
+        return shards.size();
+    }
+
+    /**
+     * Assembles a shard with the specified pages and writes it to the stream opened for it, which is then closed.
+     */
+    private static void writeShard(PDFDocument source, List<Reference> pages, PDFObject firstItem, Output output,
+                                   int index) throws IOException {
+        PDFDocumentOptions sourceOptions = source.getOptions();
+        PDFDocumentOptions options = new PDFDocumentOptions();
+        options.setPageTreeFanOut(sourceOptions.getPageTreeFanOut());
+        options.setCompressObjects(sourceOptions.isCompressObjects());
+        options.setLinearized(sourceOptions.isLinearized());
+        options.setDeterministic(sourceOptions.isDeterministic());
+        PDFDocument shard = new PDFDocument(options);
+        PDFDictionary info = source.getInfo();
+        for (PDFName key : info.keySet()) {
+            shard.addInfo(key, (PDFString) info.get(key));
+        }
+        PDFObjectCopier copier = new PDFObjectCopier(shard, RESOLVER, new HashMap<>());
+        for (Reference page : pages) {
+            copier.copyPage(page);
+        }
+        copyItems(shard, copier, firstItem, null);
+        try (OutputStream out = output.open(index)) {
+            shard.write(out);
+        }
+    }
+
+    /**
+     * Copies the items of the source outline that point at the pages of a shard, starting with the specified item and
+     * following its {@code Next} items. An item whose page is not in the shard is left out, and its children are
+     * copied in its place.
+     *
+     * @param shard     the shard
+     * @param copier    the copier that copied the pages of the shard
+     * @param firstItem the reference to the first item
+     * @param parent    the copied item that the items are copied under, or {@code null} to copy them as top-level
+     *                  items
+     */
+    private static void copyItems(PDFDocument shard, PDFObjectCopier copier, PDFObject firstItem,
+                                  PDFOutlineDictionary.Item parent) {
+        PDFObject next = firstItem;
+        while (next instanceof Reference) {
+            PDFDictionary item = (PDFDictionary) ((Reference) next).getIndirectObject().getObject();
+            Reference page = PDFOutlineDictionary.getDestinationPage(item);
+            Reference pageCopy = (page == null) ? null : copier.getCopy(page);
+            PDFOutlineDictionary.Item copy = parent;
+            if (pageCopy != null) {
+                copy = (parent == null) ? shard.getOutline().copyItem(item, pageCopy) : parent.copyChild(item, pageCopy);
+            }
+            copyItems(shard, copier, item.get(PDFOutlineDictionary.FIRST), copy);
+            next = item.get(PDFOutlineDictionary.NEXT);
+        }
+    }
+
+    /**
+     * Waits for every shard to be written.
+     *
+     * @param future the future that completes when every shard has been written
+     * @throws IOException if there was an issue writing a shard, or the thread was interrupted while waiting
+     */
+    private static void await(CompletableFuture<Void> future) throws IOException {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            InterruptedIOException exception = new InterruptedIOException("Interrupted waiting for shards.");
+            exception.initCause(e);
+            throw exception;
+        } catch (ExecutionException e) {
+            throw new IOException("Unable to write shards.", e);
+        }
+    }
+
+    /**
+     * Opens the stream that a shard is written to.
+     */
+    @FunctionalInterface
+    public interface Output {
+        /**
+         * Opens the stream for a shard. The stream is closed once the shard has been written. With an executor, it may
+         * be called on any of its threads.
+         *
+         * @param shard the index of the shard, starting at {@code 0}
+         * @return the stream
+         * @throws IOException if there is an issue opening the stream
+         */
+        OutputStream open(int shard) throws IOException;
+    }
+}
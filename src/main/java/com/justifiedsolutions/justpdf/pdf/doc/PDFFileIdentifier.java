@@ -0,0 +1,84 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.doc;
+
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
+import com.justifiedsolutions.justpdf.pdf.object.PDFObject;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * The file identifier of a document, the {@code ID} entry of its trailer. It is derived from the content of the file:
+ * it is the first 16 bytes of the SHA-256 digest of the bytes written before the cross reference section, so the same
+ * content always gets the same identifier. As the file is new, both of its byte strings are the same.
+ *
+ * @see "ISO 32000-1:2008, 14.4"
+ */
+final class PDFFileIdentifier implements PDFObject {
+
+    private static final int LENGTH = 16;
+    private static final HexFormat HEX = HexFormat.of().withUpperCase();
+
+    private final byte[] identifier;
+
+    private PDFFileIdentifier(byte[] identifier) {
+        this.identifier = identifier;
+    }
+
+    /**
+     * Creates the {@link MessageDigest} that the content of a file is digested with.
+     *
+     * @return a new SHA-256 digest
+     */
+    static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+
+    /**
+     * Creates the file identifier from the content that has been digested, and resets the digest.
+     *
+     * @param digest the digest of the content
+     * @return the file identifier
+     */
+    static PDFFileIdentifier fromDigest(MessageDigest digest) {
+        return new PDFFileIdentifier(Arrays.copyOf(digest.digest(), LENGTH));
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(identifier);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        PDFFileIdentifier that = (PDFFileIdentifier) o;
+        return Arrays.equals(identifier, that.identifier);
+    }
+
+    @Override
+    public void writeToPDF(PDFByteSink pdf) throws IOException {
+        String hex = HEX.formatHex(identifier);
+        pdf.writeAscii("[<");
+        pdf.writeAscii(hex);
+        pdf.writeAscii("> <");
+        pdf.writeAscii(hex);
+        pdf.writeAscii(">]");
+    }
+}
@@ -0,0 +1,300 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.doc;
+
+import com.justifiedsolutions.justpdf.pdf.object.PDFDictionary;
+import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject;
+import com.justifiedsolutions.justpdf.pdf.object.PDFInteger;
+import com.justifiedsolutions.justpdf.pdf.object.PDFName;
+import com.justifiedsolutions.justpdf.pdf.object.PDFNull;
+import com.justifiedsolutions.justpdf.pdf.object.PDFObject;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads objects from an existing PDF file through its cross reference tables. Only the parts of the file that are
+ * needed are read: the end of the file, the cross reference sections and the objects that are requested. Files that
+ * use cross reference streams or Object Streams are not supported.
+ *
+ * <p>A reference to an object of the file is a reference to a released {@link PDFIndirectObject} with the object
+ * number of that object. Every reference to the same object number is equal.</p>
+ *
+ * @see "ISO 32000-1:2008, 7.5"
+ */
+@SuppressWarnings("PMD.GodClass") // the reader parses each part of a file it reads
+final class PDFFileReader {
+
+    private static final int TAIL_LENGTH = 1024;
+    private static final int WINDOW_LENGTH = 4096;
+    private static final int ENTRY_LENGTH = PDFXRefTable.ENTRY_LENGTH;
+    private static final String START_XREF = "startxref";
+    private static final PDFName STREAM_LENGTH = PDFName.valueOf("Length");
+
+    private final SeekableByteChannel channel;
+    private final long length;
+    private final long startXRef;
+    private final List<long[]> subsections = new ArrayList<>();
+    private final Map<Integer, PDFIndirectObject> objects = new HashMap<>();
+    private final PDFDictionary trailer;
+
+    /**
+     * Creates a new PDFFileReader and reads the cross reference sections of the file, following the {@code Prev}
+     * entries of the trailers.
+     *
+     * @param channel the channel to read the file from
+     * @throws IOException if there is an issue reading the file, or it has no cross reference table
+     */
+    PDFFileReader(SeekableByteChannel channel) throws IOException {
+        this.channel = channel;
+        this.length = channel.size();
+        this.startXRef = readStartXRef();
+        this.trailer = readXRefSections();
+    }
+
+    /**
+     * Gets the length of the file in bytes.
+     *
+     * @return the length
+     */
+    long getLength() {
+        return length;
+    }
+
+    /**
+     * Gets the byte offset of the last cross reference section of the file.
+     *
+     * @return the byte offset
+     */
+    long getStartXRef() {
+        return startXRef;
+    }
+
+    /**
+     * Gets the trailer of the last cross reference section of the file.
+     *
+     * @return the trailer dictionary
+     */
+    PDFDictionary getTrailer() {
+        return trailer;
+    }
+
+    /**
+     * Reads the object with the specified object number. A stream is read as a {@link PDFRawStream}.
+     *
+     * @param objectNumber the object number
+     * @return the object
+     * @throws IOException if there is an issue reading the object, or it is not in use
+     */
+    PDFObject readObject(int objectNumber) throws IOException {
+        long offset = getObjectOffset(objectNumber);
+        return parse(offset, parser -> {
+            if (parser.readLong() != objectNumber || parser.readLong() != 0 || !parser.skipKeyword("obj")) {
+                throw new IOException("Object " + objectNumber + " is not at byte offset " + offset + ".");
+            }
+            PDFObject result = parser.readObject();
+            if (result instanceof PDFDictionary && parser.skipKeyword("stream")) {
+                return readStream((PDFDictionary) result, offset + parser.getPosition());
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Gets a long value from an integer object read from the file.
+     *
+     * @param value the integer object
+     * @return the value
+     * @throws IOException if the object is not an integer
+     */
+    static long getLong(PDFObject value) throws IOException {
+        if (value instanceof PDFInteger) {
+            return ((PDFInteger) value).getValue();
+        }
+        if (value instanceof PDFByteOffset) {
+            return ((PDFByteOffset) value).getValue();
+        }
+        throw new IOException("Expected an integer.");
+    }
+
+    /**
+     * Reads the data of a stream that starts after the end-of-line marker at the specified offset. A {@code Length}
+     * that is a reference is replaced by its value.
+     */
+    private PDFRawStream readStream(PDFDictionary dictionary, long offset) throws IOException {
+        PDFObject lengthObject = dictionary.get(STREAM_LENGTH);
+        if (lengthObject instanceof PDFIndirectObject.Reference) {
+            lengthObject = readObject(((PDFIndirectObject.Reference) lengthObject).getIndirectObject()
+                    .getNumber());
+        }
+        long dataLength = getLong(lengthObject);
+        byte[] eol = read(offset, (int) Math.min(2, length - offset));
+        long start = offset + ((eol[0] == '\r' && eol.length > 1 && eol[1] == '\n') ? 2 : 1);
+        if (dataLength < 0 || start + dataLength > length) {
+            throw new IOException("Invalid stream length " + dataLength + ".");
+        }
+        dictionary.put(STREAM_LENGTH, PDFInteger.valueOf((int) dataLength));
+        return new PDFRawStream(dictionary, read(start, (int) dataLength));
+    }
+
+    private long readStartXRef() throws IOException {
+        int tailLength = (int) Math.min(length, TAIL_LENGTH);
+        byte[] tail = read(length - tailLength, tailLength);
+        String text = new String(tail, StandardCharsets.ISO_8859_1);
+        int index = text.lastIndexOf(START_XREF);
+        if (index < 0) {
+            throw new IOException("The file does not end with a startxref.");
+        }
+        PDFObjectParser parser = new PDFObjectParser(tail, this::getReference);
+        parser.setPosition(index + START_XREF.length());
+        return parser.readLong();
+    }
+
+    private PDFDictionary readXRefSections() throws IOException {
+        PDFDictionary result = null;
+        Set<Long> visited = new HashSet<>();
+        long offset = startXRef;
+        while (offset >= 0) {
+            if (!visited.add(offset)) {
+                throw new IOException("The cross reference sections form a loop.");
+            }
+            PDFDictionary sectionTrailer = readXRefSection(offset);
+            if (result == null) {
+                result = sectionTrailer;
+            }
+            PDFObject prev = sectionTrailer.get(PDFTrailer.PREV);
+            offset = (prev == null) ? -1 : getLong(prev);
+        }
+        return result;
+    }
+
+    /**
+     * Reads the subsections of the cross reference table at the specified offset, and returns its trailer dictionary.
+     * Only the location of the entries of each subsection is retained.
+     */
+    private PDFDictionary readXRefSection(long offset) throws IOException {
+        long position = offset + parse(offset, parser -> {
+            if (!parser.skipKeyword("xref")) {
+                throw new IOException("There is no cross reference table at byte offset " + offset
+                        + ". Cross reference streams are not supported.");
+            }
+            return (long) parser.getPosition();
+        });
+        while (true) {
+            long start = position;
+            long[] subsection = parse(start, parser -> {
+                if (parser.skipKeyword("trailer")) {
+                    return null;
+                }
+                long first = parser.readLong();
+                long count = parser.readLong();
+                parser.skipWhitespace();
+                return new long[]{first, count, start + parser.getPosition()};
+            });
+            if (subsection == null) {
+                break;
+            }
+            subsections.add(subsection);
+            position = subsection[2] + (subsection[1] * ENTRY_LENGTH);
+        }
+        return parse(position, parser -> {
+            parser.skipKeyword("trailer");
+            PDFObject result = parser.readObject();
+            if (!(result instanceof PDFDictionary)) {
+                throw new IOException("The trailer at byte offset " + offset + " is not a dictionary.");
+            }
+            return (PDFDictionary) result;
+        });
+    }
+
+    /**
+     * Gets the byte offset of the object from the newest cross reference section that lists it.
+     */
+    private long getObjectOffset(int objectNumber) throws IOException {
+        for (long[] subsection : subsections) {
+            long index = objectNumber - subsection[0];
+            if (index >= 0 && index < subsection[1]) {
+                byte[] entry = read(subsection[2] + (index * ENTRY_LENGTH), ENTRY_LENGTH);
+                if (entry[17] != 'n') {
+                    break;
+                }
+                try {
+                    return Long.parseLong(new String(entry, 0, PDFXRefTable.OFFSET_DIGITS, StandardCharsets.US_ASCII));
+                } catch (NumberFormatException e) {
+                    throw new IOException("Invalid cross reference entry for object " + objectNumber + ".", e);
+                }
+            }
+        }
+        throw new IOException("Object " + objectNumber + " is not in use.");
+    }
+
+    private PDFIndirectObject.Reference getReference(int objectNumber) {
+        return objects.computeIfAbsent(objectNumber, number -> {
+            PDFIndirectObject result = new PDFIndirectObject(PDFNull.NULL, number);
+            result.release();
+            return result;
+        }).getReference();
+    }
+
+    /**
+     * Parses the file starting at the specified offset. If the parser runs out of bytes before the end of the file,
+     * it is tried again with twice as many.
+     */
+    private <T> T parse(long offset, Parse<T> parse) throws IOException {
+        if (offset < 0 || offset >= length) {
+            throw new IOException("Invalid byte offset " + offset + ".");
+        }
+        int windowLength = WINDOW_LENGTH;
+        while (true) {
+            byte[] window = read(offset, (int) Math.min(windowLength, length - offset));
+            try {
+                return parse.apply(new PDFObjectParser(window, this::getReference));
+            } catch (EOFException e) {
+                if (offset + window.length >= length) {
+                    throw e;
+                }
+                windowLength *= 2;
+            }
+        }
+    }
+
+    private byte[] read(long offset, int count) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(count);
+        channel.position(offset);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Unexpected end of file.");
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Parses an item from the bytes of the file.
+     *
+     * @param <T> the type of the item
+     */
+    @FunctionalInterface
+    private interface Parse<T> {
+        /**
+         * Parses the item.
+         *
+         * @param parser the parser positioned at the start of the item
+         * @return the item
+         * @throws IOException if the bytes are not the expected item
+         */
+        T apply(PDFObjectParser parser) throws IOException;
+    }
+}
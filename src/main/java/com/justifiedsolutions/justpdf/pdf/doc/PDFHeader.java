@@ -5,11 +5,10 @@
 
 package com.justifiedsolutions.justpdf.pdf.doc;
 
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
 import com.justifiedsolutions.justpdf.pdf.PDFWritable;
 
 import java.io.IOException;
-import java.io.OutputStream;
-import java.nio.charset.StandardCharsets;
 
 /**
  * Creates the file header for a PDF document. Specifies the document is compliant with version 1.7 of the PDF
@@ -19,10 +18,11 @@ import java.nio.charset.StandardCharsets;
  */
 final class PDFHeader implements PDFWritable {
 
+    private static final byte[] BINARY_COMMENT = {'%', (byte) 226, (byte) 227, (byte) 207, (byte) 211, '\n'};
+
     @Override
-    public void writeToPDF(OutputStream pdf) throws IOException {
-        pdf.write("%PDF-1.7\n".getBytes(StandardCharsets.US_ASCII));
-        byte[] bytes = {'%', (byte) 226, (byte) 227, (byte) 207, (byte) 211, '\n'};
-        pdf.write(bytes);
+    public void writeToPDF(PDFByteSink pdf) throws IOException {
+        pdf.writeAscii("%PDF-1.7\n");
+        pdf.write(BINARY_COMMENT);
     }
 }
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.doc;
+
+import com.justifiedsolutions.justpdf.pdf.object.PDFDictionary;
+import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject;
+import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject.Reference;
+import com.justifiedsolutions.justpdf.pdf.object.PDFInteger;
+import com.justifiedsolutions.justpdf.pdf.object.PDFName;
+import com.justifiedsolutions.justpdf.pdf.object.PDFObject;
+import com.justifiedsolutions.justpdf.pdf.object.PDFStream;
+
+import java.io.ByteArrayOutputStream;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Builds the primary hint stream of a linearized document, which holds the page offset hint table and the shared
+ * object hint table. The byte offsets of the objects must already be set, as if the hint stream were not in the file.
+ *
+ * <p>Every shared object is in a group of its own, and no MD5 signatures are written.</p>
+ *
+ * @see "ISO 32000-1:2008, F.4"
+ */
+final class PDFHintTables {
+
+    private static final PDFName SHARED_OBJECT_TABLE = PDFName.valueOf("S");
+
+    private final List<List<PDFIndirectObject>> pageSections;
+    private final List<List<PDFIndirectObject>> sharedReferences;
+    private final List<PDFIndirectObject> sharedSection;
+    private final ToLongFunction<PDFIndirectObject> lengths;
+
+    /**
+     * Creates a new PDFHintTables.
+     *
+     * @param pageSections     the objects of each page, in the order they are written, starting with the page object.
+     *                         The section of the first page holds every object the first page needs
+     * @param sharedReferences the objects each page references that are in the first page's section or in the shared
+     *                         object section. The list for the first page is empty
+     * @param sharedSection    the objects that are shared by more than one page, other than those of the first page
+     * @param lengths          the length in bytes of each object
+     */
+    PDFHintTables(List<List<PDFIndirectObject>> pageSections, List<List<PDFIndirectObject>> sharedReferences,
+                  List<PDFIndirectObject> sharedSection, ToLongFunction<PDFIndirectObject> lengths) {
+        this.pageSections = pageSections;
+        this.sharedReferences = sharedReferences;
+        this.sharedSection = sharedSection;
+        this.lengths = lengths;
+    }
+
+    /**
+     * Creates the hint stream.
+     *
+     * @return the hint stream
+     */
+    PDFStream toStream() {
+        BitWriter bits = new BitWriter();
+        writePageOffsetTable(bits);
+        int sharedObjectTableOffset = bits.size();
+        writeSharedObjectTable(bits);
+        PDFStream stream = new PDFStream(bits.toByteArray());
+        stream.put(SHARED_OBJECT_TABLE, PDFInteger.valueOf(sharedObjectTableOffset));
+        return stream;
+    }
+
+    /**
+     * Writes the page offset hint table. Each item of the per-page entries is written for every page before the next
+     * item, and starts on a byte boundary.
+     *
+     * @see "ISO 32000-1:2008, F.4.1"
+     */
+    private void writePageOffsetTable(BitWriter bits) {
+        int pageCount = pageSections.size();
+        long[] objectCounts = new long[pageCount];
+        long[] pageLengths = new long[pageCount];
+        long[] contentOffsets = new long[pageCount];
+        long[] contentLengths = new long[pageCount];
+        long[] sharedCounts = new long[pageCount];
+        Map<PDFIndirectObject, Integer> sharedIdentifiers = getSharedIdentifiers();
+        long greatestIdentifier = 0;
+        for (int index = 0; index < pageCount; index++) {
+            List<PDFIndirectObject> section = pageSections.get(index);
+            PDFIndirectObject page = section.get(0);
+            PDFIndirectObject last = section.get(section.size() - 1);
+            objectCounts[index] = section.size();
+            pageLengths[index] = last.getByteOffset() + lengths.applyAsLong(last) - page.getByteOffset();
+            PDFIndirectObject contents = getContents(page);
+            if (contents != null && section.contains(contents)) {
+                contentOffsets[index] = contents.getByteOffset() - page.getByteOffset();
+                contentLengths[index] = lengths.applyAsLong(contents);
+            }
+            sharedCounts[index] = sharedReferences.get(index).size();
+            for (PDFIndirectObject shared : sharedReferences.get(index)) {
+                greatestIdentifier = Math.max(greatestIdentifier, sharedIdentifiers.get(shared));
+            }
+        }
+
+        long leastObjectCount = min(objectCounts);
+        long leastPageLength = min(pageLengths);
+        long leastContentOffset = min(contentOffsets);
+        long leastContentLength = min(contentLengths);
+        int objectCountBits = getBitCount(max(objectCounts) - leastObjectCount);
+        int pageLengthBits = getBitCount(max(pageLengths) - leastPageLength);
+        int contentOffsetBits = getBitCount(max(contentOffsets) - leastContentOffset);
+        int contentLengthBits = getBitCount(max(contentLengths) - leastContentLength);
+        int sharedCountBits = getBitCount(max(sharedCounts));
+        int identifierBits = getBitCount(greatestIdentifier);
+
+        bits.write(leastObjectCount, 32);
+        bits.write(pageSections.get(0).get(0).getByteOffset(), 32);
+        bits.write(objectCountBits, 16);
+        bits.write(leastPageLength, 32);
+        bits.write(pageLengthBits, 16);
+        bits.write(leastContentOffset, 32);
+        bits.write(contentOffsetBits, 16);
+        bits.write(leastContentLength, 32);
+        bits.write(contentLengthBits, 16);
+        bits.write(sharedCountBits, 16);
+        bits.write(identifierBits, 16);
+        bits.write(0, 16);
+        bits.write(1, 16);
+
+        writeItem(bits, objectCounts, leastObjectCount, objectCountBits);
+        writeItem(bits, pageLengths, leastPageLength, pageLengthBits);
+        writeItem(bits, sharedCounts, 0, sharedCountBits);
+        for (List<PDFIndirectObject> references : sharedReferences) {
+            for (PDFIndirectObject shared : references) {
+                bits.write(sharedIdentifiers.get(shared), identifierBits);
+            }
+        }
+        bits.pad();
+        writeItem(bits, contentOffsets, leastContentOffset, contentOffsetBits);
+        writeItem(bits, contentLengths, leastContentLength, contentLengthBits);
+    }
+
+    /**
+     * Writes the shared object hint table. The first entries are the objects of the first page, followed by the objects
+     * of the shared object section.
+     *
+     * @see "ISO 32000-1:2008, F.4.2"
+     */
+    private void writeSharedObjectTable(BitWriter bits) {
+        List<PDFIndirectObject> firstPage = pageSections.get(0);
+        long[] groupLengths = new long[firstPage.size() + sharedSection.size()];
+        for (int index = 0; index < firstPage.size(); index++) {
+            groupLengths[index] = lengths.applyAsLong(firstPage.get(index));
+        }
+        for (int index = 0; index < sharedSection.size(); index++) {
+            groupLengths[firstPage.size() + index] = lengths.applyAsLong(sharedSection.get(index));
+        }
+        long leastGroupLength = min(groupLengths);
+        int groupLengthBits = getBitCount(max(groupLengths) - leastGroupLength);
+
+        if (sharedSection.isEmpty()) {
+            bits.write(0, 32);
+            bits.write(0, 32);
+        } else {
+            bits.write(sharedSection.get(0).getNumber(), 32);
+            bits.write(sharedSection.get(0).getByteOffset(), 32);
+        }
+        bits.write(firstPage.size(), 32);
+        bits.write(groupLengths.length, 32);
+        bits.write(0, 16);
+        bits.write(leastGroupLength, 32);
+        bits.write(groupLengthBits, 16);
+
+        writeItem(bits, groupLengths, leastGroupLength, groupLengthBits);
+        writeItem(bits, new long[groupLengths.length], 0, 1);
+    }
+
+    /**
+     * Gets the index of each object in the shared object hint table.
+     */
+    private Map<PDFIndirectObject, Integer> getSharedIdentifiers() {
+        Map<PDFIndirectObject, Integer> result = new IdentityHashMap<>();
+        List<PDFIndirectObject> firstPage = pageSections.get(0);
+        for (PDFIndirectObject object : firstPage) {
+            result.put(object, result.size());
+        }
+        for (PDFIndirectObject object : sharedSection) {
+            result.put(object, result.size());
+        }
+        return result;
+    }
+
+    /**
+     * Gets the content stream of the page, if it is a single indirect stream.
+     */
+    private static PDFIndirectObject getContents(PDFIndirectObject page) {
+        PDFObject contents = ((PDFDictionary) page.getObject()).get(PDFPage.CONTENTS_NAME);
+        return (contents instanceof Reference) ? ((Reference) contents).getIndirectObject() : null;
+    }
+
+    private static void writeItem(BitWriter bits, long[] values, long least, int bitCount) {
+        for (long value : values) {
+            bits.write(value - least, bitCount);
+        }
+        bits.pad();
+    }
+
+    private static int getBitCount(long value) {
+        return Long.SIZE - Long.numberOfLeadingZeros(value);
+    }
+
+    private static long min(long[] values) {
+        long result = Long.MAX_VALUE;
+        for (long value : values) {
+            result = Math.min(result, value);
+        }
+        return (values.length == 0) ? 0 : result;
+    }
+
+    private static long max(long[] values) {
+        long result = 0;
+        for (long value : values) {
+            result = Math.max(result, value);
+        }
+        return result;
+    }
+
+    /**
+     * Writes values of a fixed number of bits, most significant bit first.
+     */
+    private static final class BitWriter {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        private int current;
+        private int count;
+
+        void write(long value, int bitCount) {
+            for (int bit = bitCount - 1; bit >= 0; bit--) {
+                current = (current << 1) | (int) ((value >>> bit) & 1);
+                count++;
+                if (count == Byte.SIZE) {
+                    out.write(current);
+                    current = 0;
+                    count = 0;
+                }
+            }
+        }
+
+        /**
+         * Fills the rest of the current byte with zeros.
+         */
+        void pad() {
+            if (count > 0) {
+                write(0, Byte.SIZE - count);
+            }
+        }
+
+        int size() {
+            return out.size();
+        }
+
+        byte[] toByteArray() {
+            return out.toByteArray();
+        }
+    }
+}
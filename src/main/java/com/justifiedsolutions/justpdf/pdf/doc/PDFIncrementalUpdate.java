@@ -0,0 +1,257 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.doc;
+
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
+import com.justifiedsolutions.justpdf.pdf.object.PDFArray;
+import com.justifiedsolutions.justpdf.pdf.object.PDFDictionary;
+import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject;
+import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject.Reference;
+import com.justifiedsolutions.justpdf.pdf.object.PDFInteger;
+import com.justifiedsolutions.justpdf.pdf.object.PDFName;
+import com.justifiedsolutions.justpdf.pdf.object.PDFObject;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.SeekableByteChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An incremental update appended to an existing PDF file. The trailer, the catalog, the root of the page tree and the
+ * outline of the existing file are read when the update is created. The objects of the update that replace them keep
+ * their object numbers, and new objects are numbered after the last object of the file. Only new objects and changed
+ * objects are written after the existing bytes, followed by a cross reference section that lists them and a trailer
+ * that points at the previous cross reference section.
+ *
+ * @see "ISO 32000-1:2008, 7.5.6"
+ */
+final class PDFIncrementalUpdate {
+
+    private final long length;
+    private final long startXRef;
+    private final int size;
+    private final PDFDictionary trailer;
+    private final PDFDictionary catalog;
+    private final PDFDictionary pages;
+    private final PDFDictionary outline;
+    private final PDFDictionary lastOutlineItem;
+    private final Map<Integer, PDFDictionary> originals = new HashMap<>();
+
+    /**
+     * Creates a new PDFIncrementalUpdate for the file read from the specified channel.
+     *
+     * @param channel the channel to read the existing file from
+     * @throws IOException if there is an issue reading the file, or it does not have cross reference tables
+     */
+    PDFIncrementalUpdate(SeekableByteChannel channel) throws IOException {
+        PDFFileReader reader = new PDFFileReader(channel);
+        this.length = reader.getLength();
+        this.startXRef = reader.getStartXRef();
+        this.trailer = reader.getTrailer();
+        this.size = (int) PDFFileReader.getLong(trailer.get(PDFTrailer.SIZE));
+        this.catalog = readDictionary(reader, trailer.get(PDFTrailer.ROOT));
+        if (catalog == null) {
+            throw new IOException("The file has no catalog.");
+        }
+        this.pages = readDictionary(reader, catalog.get(PDFCatalogDictionary.PAGES));
+        this.outline = readDictionary(reader, catalog.get(PDFCatalogDictionary.OUTLINES));
+        this.lastOutlineItem = (outline == null) ? null
+                : readDictionary(reader, outline.get(PDFOutlineDictionary.LAST));
+    }
+
+    /**
+     * Gets the number of entries in the cross reference table of the existing file, which is one more than its last
+     * object number.
+     *
+     * @return the size of the existing file
+     */
+    int getSize() {
+        return size;
+    }
+
+    /**
+     * Copies the entries of the existing catalog into the specified one and the kids of the existing root page tree
+     * node into the page tree of the update, and wraps the catalog and root node in indirect objects with the object
+     * numbers of the existing ones.
+     *
+     * @param document   the document of the update
+     * @param newCatalog the catalog of the update
+     * @param pageTree   the page tree of the update
+     * @return the reference to the catalog
+     */
+    Reference open(PDFDocument document, PDFCatalogDictionary newCatalog, PDFPageTree pageTree) {
+        catalog.forEach(newCatalog::put);
+        if (pages != null) {
+            PDFObject kids = pages.get(PDFPages.KIDS_NAME);
+            PDFObject count = pages.get(PDFPages.COUNT_NAME);
+            PDFIndirectObject indirectPages = document.createIndirectObject(pageTree.getRoot(),
+                    getObjectNumber(catalog.get(PDFCatalogDictionary.PAGES)));
+            pageTree.openExisting(indirectPages, (kids instanceof PDFArray) ? (PDFArray) kids : new PDFArray(),
+                    (count instanceof PDFInteger) ? ((PDFInteger) count).getValue() : 0);
+            newCatalog.put(PDFCatalogDictionary.PAGES, indirectPages.getReference());
+        }
+        return document.createIndirectObject(newCatalog, getObjectNumber(trailer.get(PDFTrailer.ROOT)))
+                .getReference();
+    }
+
+    /**
+     * Creates the outline of the update. If the existing file has an outline, new items are added after its items.
+     *
+     * @param document the document of the update
+     * @return the outline
+     */
+    PDFOutlineDictionary createOutline(PDFDocument document) {
+        if (outline == null) {
+            return new PDFOutlineDictionary(document);
+        }
+        PDFIndirectObject indirectLastItem = null;
+        if (lastOutlineItem != null) {
+            indirectLastItem = document.createIndirectObject(copy(lastOutlineItem),
+                    getObjectNumber(outline.get(PDFOutlineDictionary.LAST)));
+        }
+        return new PDFOutlineDictionary(document, getObjectNumber(catalog.get(PDFCatalogDictionary.OUTLINES)),
+                outline, indirectLastItem);
+    }
+
+    /**
+     * Wraps the Information Dictionary of the update in an indirect object. If the existing file has one, it is
+     * replaced, so the update's dictionary takes its object number.
+     *
+     * @param document the document of the update
+     * @param info     the Information Dictionary of the update
+     * @return the indirect object
+     */
+    PDFIndirectObject createInfo(PDFDocument document, PDFInfoDictionary info) {
+        PDFObject existing = trailer.get(PDFTrailer.INFO);
+        if (existing instanceof Reference) {
+            return document.createIndirectObject(info, getObjectNumber(existing));
+        }
+        return document.createIndirectObject(info);
+    }
+
+    /**
+     * Creates the sink the update is written to. Its byte offsets continue from the end of the existing file, and the
+     * end-of-line marker that the file's {@code %%EOF} lacks is written first.
+     *
+     * @param pdf the stream that appends to the existing file
+     * @return the sink
+     * @throws IOException if there is an issue writing to the stream
+     */
+    PDFByteSink openSink(OutputStream pdf) throws IOException {
+        PDFByteSink sink = new PDFByteSink(pdf, PDFByteSink.DEFAULT_BUFFER_SIZE, length);
+        sink.write('\n');
+        return sink;
+    }
+
+    /**
+     * Writes the objects of the update that are new or changed, followed by a cross reference section that lists only
+     * those objects, and the trailer of the update. The trailer keeps the {@code Info} and {@code ID} entries of the
+     * existing file, unless the update has its own.
+     *
+     * @param updateTrailer   the trailer of the update
+     * @param documentObjects every indirect object of the update
+     * @param objectWriter    places the objects of the update
+     * @param out             the sink to write to
+     * @throws IOException if there is an issue writing the update
+     */
+    void write(PDFTrailer updateTrailer, List<PDFIndirectObject> documentObjects, PDFObjectWriter objectWriter,
+            PDFByteSink out) throws IOException {
+        for (PDFIndirectObject indirectObject : new ArrayList<>(documentObjects)) {
+            if (!objectWriter.isPlaced(indirectObject) && !isUnchanged(indirectObject)) {
+                objectWriter.place(indirectObject, out);
+            }
+        }
+        List<PDFIndirectObject> written = new ArrayList<>();
+        int lastObjectNumber = size - 1;
+        for (PDFIndirectObject indirectObject : documentObjects) {
+            if (indirectObject.getByteOffset() >= length) {
+                written.add(indirectObject);
+                lastObjectNumber = Math.max(lastObjectNumber, indirectObject.getNumber());
+            }
+        }
+        copyTrailerEntries(updateTrailer);
+        updateTrailer.setSize(PDFInteger.valueOf(lastObjectNumber + 1));
+        updateTrailer.setPrev(startXRef);
+        updateTrailer.setTotalBytes(out.getCount());
+        PDFXRefTable xrefTable = new PDFXRefTable();
+        xrefTable.setFreeEntry(written.isEmpty());
+        xrefTable.setIndirectObjects(written);
+        xrefTable.writeToPDF(out);
+        updateTrailer.writeToPDF(out);
+    }
+
+    /**
+     * Copies the {@code Info} and {@code ID} entries of the trailer of the existing file to the trailer of the update,
+     * unless the update has its own.
+     */
+    private void copyTrailerEntries(PDFTrailer updateTrailer) {
+        PDFObject existingInfo = trailer.get(PDFTrailer.INFO);
+        if (!updateTrailer.hasInfo() && existingInfo instanceof Reference) {
+            updateTrailer.setInfo((Reference) existingInfo);
+        }
+        PDFObject existingId = trailer.get(PDFTrailer.ID);
+        if (!updateTrailer.hasId() && existingId instanceof PDFArray) {
+            updateTrailer.setId((PDFArray) existingId);
+        }
+    }
+
+    /**
+     * Specifies if the object replaces an object of the existing file without changing it, so it does not need to be
+     * written.
+     */
+    private boolean isUnchanged(PDFIndirectObject indirectObject) {
+        PDFDictionary original = originals.get(indirectObject.getNumber());
+        PDFObject object = indirectObject.getObject();
+        if (original == null || !(object instanceof PDFDictionary)) {
+            return false;
+        }
+        PDFDictionary dictionary = (PDFDictionary) object;
+        if (!original.keySet().equals(dictionary.keySet())) {
+            return false;
+        }
+        for (PDFName key : original.keySet()) {
+            if (!original.get(key).equals(dictionary.get(key))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads the dictionary the specified reference points at, and retains a copy of it, so it can be compared with
+     * the object that replaces it.
+     *
+     * @return the dictionary, or {@code null} if there is no reference
+     */
+    private PDFDictionary readDictionary(PDFFileReader reader, PDFObject reference) throws IOException {
+        if (reference == null) {
+            return null;
+        }
+        if (!(reference instanceof Reference)) {
+            throw new IOException("Expected a reference.");
+        }
+        int objectNumber = getObjectNumber(reference);
+        PDFObject result = reader.readObject(objectNumber);
+        if (!(result instanceof PDFDictionary)) {
+            throw new IOException("Object " + objectNumber + " is not a dictionary.");
+        }
+        originals.put(objectNumber, copy((PDFDictionary) result));
+        return (PDFDictionary) result;
+    }
+
+    private static int getObjectNumber(PDFObject reference) {
+        return ((Reference) reference).getIndirectObject().getNumber();
+    }
+
+    private static PDFDictionary copy(PDFDictionary dictionary) {
+        PDFDictionary result = new PDFDictionary();
+        dictionary.forEach(result::put);
+        return result;
+    }
+}
@@ -16,13 +16,13 @@ import com.justifiedsolutions.justpdf.pdf.object.PDFObject;
  * @see "ISO 32000-1:2008, 14.3.3"
  */
 public final class PDFInfoDictionary extends PDFDictionary {
-    public static final PDFName TITLE = new PDFName("Title");
-    public static final PDFName AUTHOR = new PDFName("Author");
-    public static final PDFName SUBJECT = new PDFName("Subject");
-    public static final PDFName KEYWORDS = new PDFName("Keywords");
-    public static final PDFName CREATOR = new PDFName("Creator");
-    public static final PDFName PRODUCER = new PDFName("Producer");
-    public static final PDFName CREATION_DATE = new PDFName("CreationDate");
+    public static final PDFName TITLE = PDFName.valueOf("Title");
+    public static final PDFName AUTHOR = PDFName.valueOf("Author");
+    public static final PDFName SUBJECT = PDFName.valueOf("Subject");
+    public static final PDFName KEYWORDS = PDFName.valueOf("Keywords");
+    public static final PDFName CREATOR = PDFName.valueOf("Creator");
+    public static final PDFName PRODUCER = PDFName.valueOf("Producer");
+    public static final PDFName CREATION_DATE = PDFName.valueOf("CreationDate");
 
     @Override
     public void put(PDFName key, PDFObject value) {
@@ -0,0 +1,381 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.doc;
+
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
+import com.justifiedsolutions.justpdf.pdf.PDFWritable;
+import com.justifiedsolutions.justpdf.pdf.object.ObjectNumberAllocator;
+import com.justifiedsolutions.justpdf.pdf.object.PDFArray;
+import com.justifiedsolutions.justpdf.pdf.object.PDFDictionary;
+import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject;
+import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject.Reference;
+import com.justifiedsolutions.justpdf.pdf.object.PDFInteger;
+import com.justifiedsolutions.justpdf.pdf.object.PDFName;
+import com.justifiedsolutions.justpdf.pdf.object.PDFObject;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes the objects of a {@link PDFDocument} as a linearized file, so a viewer can display the first page before the
+ * rest of the file has arrived. The objects are renumbered and written in the order of Annex F: the linearization
+ * parameter dictionary, the first-page cross reference section and trailer, the catalog, the primary hint stream, the
+ * objects of the first page, the objects of each remaining page, the objects shared by more than one page, the
+ * remaining objects, and finally the main cross reference section and trailer.
+ *
+ * <p>Every object is measured before anything is written, so the byte offsets in the linearization parameter
+ * dictionary, the hint tables and both cross reference sections are known up front.</p>
+ *
+ * @see "ISO 32000-1:2008, Annex F"
+ */
+@SuppressWarnings("PMD.TooManyFields") // the fields hold the sections and offsets of the file as it is laid out
+final class PDFLinearizedWriter {
+
+    private static final PDFName LINEARIZED = PDFName.valueOf("Linearized");
+    private static final PDFName LENGTH = PDFName.valueOf("L");
+    private static final PDFName HINT_STREAM = PDFName.valueOf("H");
+    private static final PDFName FIRST_PAGE = PDFName.valueOf("O");
+    private static final PDFName END_OF_FIRST_PAGE = PDFName.valueOf("E");
+    private static final PDFName PAGE_COUNT = PDFName.valueOf("N");
+    private static final PDFName MAIN_XREF_ENTRIES = PDFName.valueOf("T");
+
+    private final List<PDFIndirectObject> indirectObjects;
+    private final PDFTrailer trailer;
+    private final PDFIndirectObject catalog;
+    private final Set<PDFIndirectObject> pageTree = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final List<List<PDFIndirectObject>> pageSections = new ArrayList<>();
+    private final List<List<PDFIndirectObject>> sharedReferences = new ArrayList<>();
+    private final List<PDFIndirectObject> sharedSection = new ArrayList<>();
+    private final List<PDFIndirectObject> body = new ArrayList<>();
+    private final Map<PDFIndirectObject, Long> lengths = new IdentityHashMap<>();
+    @SuppressWarnings("PMD.AvoidMessageDigestField") // a writer writes one document on one thread
+    private final MessageDigest digest;
+    private final PDFByteSink counter;
+    private int mainObjectCount;
+    private PDFIndirectObject linearization;
+    private PDFIndirectObject hint;
+    private long firstXRefOffset;
+    private long mainXRefOffset;
+
+    /**
+     * Creates a new PDFLinearizedWriter. The document must have at least one page and none of its objects may have
+     * been released.
+     *
+     * @param indirectObjects the indirect objects of the document
+     * @param trailer         the trailer of the document, which refers to the catalog and info dictionary
+     * @param digest          the digest that the renumbered objects are added to, to set the file identifier in the
+     *                        trailer, or {@code null} for no file identifier
+     */
+    PDFLinearizedWriter(List<PDFIndirectObject> indirectObjects, PDFTrailer trailer, MessageDigest digest) {
+        this.indirectObjects = indirectObjects;
+        this.trailer = trailer;
+        this.digest = digest;
+        this.counter = new PDFByteSink((digest == null) ? OutputStream.nullOutputStream()
+                : new DigestOutputStream(OutputStream.nullOutputStream(), digest));
+        this.catalog = ((Reference) trailer.getDictionary().get(PDFTrailer.ROOT)).getIndirectObject();
+    }
+
+    /**
+     * Writes the document to the sink, which must already hold the file header. The objects of the document are
+     * renumbered and keep their new numbers and byte offsets afterwards.
+     *
+     * @param out the sink to write to
+     * @throws IOException           if there is an issue writing the document
+     * @throws IllegalStateException if an object is not written at the byte offset it was laid out at
+     */
+    void write(PDFByteSink out) throws IOException {
+        partition();
+        renumber();
+        layout(out.getCount());
+
+        writeObject(linearization, out);
+        List<PDFIndirectObject> firstPageObjects = new ArrayList<>(pageSections.get(0));
+        firstPageObjects.add(catalog);
+        firstPageObjects.add(linearization);
+        firstPageObjects.add(hint);
+        PDFXRefTable firstXRef = new PDFXRefTable();
+        firstXRef.setFreeEntry(false);
+        firstXRef.setIndirectObjects(firstPageObjects);
+        firstXRef.writeToPDF(out);
+        createFirstTrailer().writeToPDF(out);
+        out.write('\n');
+
+        writeObject(catalog, out);
+        writeObject(hint, out);
+        for (PDFIndirectObject object : body) {
+            writeObject(object, out);
+        }
+        if (out.getCount() != mainXRefOffset) {
+            throw new IllegalStateException("The main cross reference section was not written where it was laid out.");
+        }
+        PDFXRefTable mainXRef = new PDFXRefTable();
+        mainXRef.setIndirectObjects(body.subList(pageSections.get(0).size(), body.size()));
+        mainXRef.writeToPDF(out);
+        createMainTrailer().writeToPDF(out);
+    }
+
+    /**
+     * Sorts the objects into the sections of a linearized file. Each page's section starts with the page object,
+     * followed by the objects only it references. The first page's section also holds the objects it shares with
+     * other pages. Objects shared by later pages go in the shared object section, and everything that is not
+     * referenced from a page, such as the page tree, outline and info dictionary, follows in its original order.
+     */
+    private void partition() {
+        List<PDFIndirectObject> pages = new ArrayList<>();
+        pageTree.add(catalog);
+        PDFObject pagesRoot = ((PDFDictionary) catalog.getObject()).get(PDFCatalogDictionary.PAGES);
+        collectPages(((Reference) pagesRoot).getIndirectObject(), pages);
+
+        Map<PDFIndirectObject, Integer> pageCounts = new IdentityHashMap<>();
+        List<List<PDFIndirectObject>> reachable = new ArrayList<>();
+        for (PDFIndirectObject page : pages) {
+            List<PDFIndirectObject> objects = new ArrayList<>();
+            collectReferences(page.getObject(), objects, Collections.newSetFromMap(new IdentityHashMap<>()));
+            for (PDFIndirectObject object : objects) {
+                pageCounts.merge(object, 1, Integer::sum);
+            }
+            reachable.add(objects);
+        }
+
+        List<PDFIndirectObject> firstPage = new ArrayList<>();
+        firstPage.add(pages.get(0));
+        firstPage.addAll(reachable.get(0));
+        pageSections.add(firstPage);
+        sharedReferences.add(List.of());
+        Set<PDFIndirectObject> assigned = Collections.newSetFromMap(new IdentityHashMap<>());
+        assigned.addAll(firstPage);
+        for (int index = 1; index < pages.size(); index++) {
+            List<PDFIndirectObject> section = new ArrayList<>();
+            List<PDFIndirectObject> shared = new ArrayList<>();
+            section.add(pages.get(index));
+            for (PDFIndirectObject object : reachable.get(index)) {
+                // an object of the first page is reached from at least two pages
+                (pageCounts.get(object) > 1 ? shared : section).add(object);
+            }
+            pageSections.add(section);
+            sharedReferences.add(shared);
+        }
+        for (int index = 1; index < pages.size(); index++) {
+            assigned.addAll(pageSections.get(index));
+        }
+        collectSections(assigned);
+    }
+
+    /**
+     * Collects the shared object section and then the objects of every section in the order they are written.
+     *
+     * @param assigned the objects that are in the section of a page
+     */
+    private void collectSections(Set<PDFIndirectObject> assigned) {
+        for (List<PDFIndirectObject> shared : sharedReferences) {
+            for (PDFIndirectObject object : shared) {
+                if (assigned.add(object)) {
+                    sharedSection.add(object);
+                }
+            }
+        }
+        for (List<PDFIndirectObject> section : pageSections) {
+            body.addAll(section);
+        }
+        body.addAll(sharedSection);
+        assigned.add(catalog);
+        for (PDFIndirectObject object : indirectObjects) {
+            if (!assigned.contains(object)) {
+                body.add(object);
+            }
+        }
+    }
+
+    /**
+     * Numbers the objects that are not part of the first page from {@code 1}, followed by the catalog, the objects of
+     * the first page, the linearization parameter dictionary and the hint stream, and then measures every object. With
+     * a digest, the file identifier is derived from the bytes of the objects that were measured.
+     *
+     * @throws IOException if there is an issue measuring an object
+     */
+    private void renumber() throws IOException {
+        List<PDFIndirectObject> firstPageSection = pageSections.get(0);
+        int number = 0;
+        for (PDFIndirectObject object : body.subList(firstPageSection.size(), body.size())) {
+            object.renumber(++number);
+        }
+        mainObjectCount = number;
+        catalog.renumber(++number);
+        for (PDFIndirectObject object : firstPageSection) {
+            object.renumber(++number);
+        }
+        linearization = createIndirectObject(new PDFDictionary(), ++number);
+        for (PDFIndirectObject object : indirectObjects) {
+            lengths.put(object, measure(object));
+        }
+        if (digest != null) {
+            counter.flush();
+            trailer.setId(PDFFileIdentifier.fromDigest(digest));
+        }
+    }
+
+    /**
+     * Sets the byte offset of every object. The lengths of the linearization parameter dictionary and the first-page
+     * trailer depend on the offsets they hold, which in turn depend on those lengths, so this repeats until the lengths
+     * no longer change.
+     *
+     * @param start the byte offset of the linearization parameter dictionary
+     * @throws IOException if there is an issue measuring an object
+     */
+    private void layout(long start) throws IOException {
+        linearization.setByteOffset(start);
+        long firstXRefLength = PDFXRefTable.getLength(mainObjectCount + 1, pageSections.get(0).size() + 3);
+        long linearizationLength = 0;
+        long firstTrailerLength = 0;
+        boolean changed = true;
+        while (changed) {
+            firstXRefOffset = start + linearizationLength;
+            long catalogOffset = firstXRefOffset + firstXRefLength + firstTrailerLength;
+            placeObjects(catalogOffset, 0);
+            hint = createIndirectObject(
+                    new PDFHintTables(pageSections, sharedReferences, sharedSection, lengths::get).toStream(),
+                    linearization.getNumber() + 1);
+            long hintLength = measure(hint);
+            mainXRefOffset = placeObjects(catalogOffset, hintLength);
+            hint.setByteOffset(catalogOffset + lengths.get(catalog));
+            setParameters(hintLength);
+
+            long newLinearizationLength = measure(linearization);
+            long newFirstTrailerLength = measure(createFirstTrailer()) + 1;
+            changed = newLinearizationLength != linearizationLength || newFirstTrailerLength != firstTrailerLength;
+            linearizationLength = newLinearizationLength;
+            firstTrailerLength = newFirstTrailerLength;
+        }
+    }
+
+    /**
+     * Walks the page tree in order, collecting the page objects.
+     */
+    private void collectPages(PDFIndirectObject node, List<PDFIndirectObject> pages) {
+        pageTree.add(node);
+        PDFDictionary dictionary = (PDFDictionary) node.getObject();
+        if (PDFPages.PAGES_NAME.equals(dictionary.get(PDFPages.TYPE_NAME))) {
+            PDFArray kids = (PDFArray) dictionary.get(PDFPages.KIDS_NAME);
+            for (int index = 0; index < kids.size(); index++) {
+                collectPages(((Reference) kids.get(index)).getIndirectObject(), pages);
+            }
+        } else {
+            pages.add(node);
+        }
+    }
+
+    /**
+     * Collects the indirect objects the object references, directly or through other objects, in the order they are
+     * found. The page tree, and so other pages, are not followed.
+     */
+    private void collectReferences(PDFObject object, List<PDFIndirectObject> result, Set<PDFIndirectObject> visited) {
+        if (object instanceof Reference) {
+            PDFIndirectObject target = ((Reference) object).getIndirectObject();
+            if (!pageTree.contains(target) && visited.add(target)) {
+                result.add(target);
+                collectReferences(target.getObject(), result, visited);
+            }
+        } else if (object instanceof PDFDictionary) {
+            ((PDFDictionary) object).forEach((key, value) -> collectReferences(value, result, visited));
+        } else if (object instanceof PDFArray) {
+            PDFArray array = (PDFArray) object;
+            for (int index = 0; index < array.size(); index++) {
+                collectReferences(array.get(index), result, visited);
+            }
+        }
+    }
+
+    /**
+     * Sets the byte offset of the catalog and each object after the hint stream.
+     *
+     * @param catalogOffset the byte offset of the catalog
+     * @param hintLength    the length of the hint stream, or {@code 0} to get the offsets used in the hint tables
+     * @return the byte offset of the main cross reference section
+     */
+    private long placeObjects(long catalogOffset, long hintLength) {
+        catalog.setByteOffset(catalogOffset);
+        long position = catalogOffset + lengths.get(catalog) + hintLength;
+        for (PDFIndirectObject object : body) {
+            object.setByteOffset(position);
+            position += lengths.get(object);
+        }
+        return position;
+    }
+
+    private void setParameters(long hintLength) throws IOException {
+        List<PDFIndirectObject> firstPageSection = pageSections.get(0);
+        PDFIndirectObject lastFirstPageObject = firstPageSection.get(firstPageSection.size() - 1);
+        PDFArray hintStream = new PDFArray();
+        hintStream.add(new PDFByteOffset(hint.getByteOffset()));
+        hintStream.add(new PDFByteOffset(hintLength));
+        long fileLength = mainXRefOffset + PDFXRefTable.getLength(0, mainObjectCount) + measure(createMainTrailer());
+        String mainXRefHeader = "xref\n0 " + (mainObjectCount + 1);
+
+        PDFDictionary parameters = (PDFDictionary) linearization.getObject();
+        parameters.put(LINEARIZED, PDFInteger.valueOf(1));
+        parameters.put(LENGTH, new PDFByteOffset(fileLength));
+        parameters.put(HINT_STREAM, hintStream);
+        parameters.put(FIRST_PAGE, firstPageSection.get(0).getObjectNumber());
+        parameters.put(END_OF_FIRST_PAGE, new PDFByteOffset(
+                lastFirstPageObject.getByteOffset() + lengths.get(lastFirstPageObject)));
+        parameters.put(PAGE_COUNT, PDFInteger.valueOf(pageSections.size()));
+        parameters.put(MAIN_XREF_ENTRIES, new PDFByteOffset(mainXRefOffset + mainXRefHeader.length()));
+    }
+
+    /**
+     * Creates the first-page trailer, which has the entries of the document's trailer, the size of the whole file and
+     * the offset of the main cross reference section.
+     */
+    private PDFTrailer createFirstTrailer() {
+        PDFTrailer result = new PDFTrailer();
+        trailer.getDictionary().forEach(result.getDictionary()::put);
+        result.setSize(PDFInteger.valueOf(linearization.getNumber() + 2));
+        result.setPrev(mainXRefOffset);
+        return result;
+    }
+
+    /**
+     * Creates the main trailer, which only needs the size of the main cross reference section. Its {@code startxref}
+     * points at the first-page cross reference section.
+     */
+    private PDFTrailer createMainTrailer() {
+        PDFTrailer result = new PDFTrailer();
+        result.setSize(PDFInteger.valueOf(mainObjectCount + 1));
+        result.setTotalBytes(firstXRefOffset);
+        return result;
+    }
+
+    private static PDFIndirectObject createIndirectObject(PDFObject object, int objectNumber) {
+        PDFIndirectObject result = new PDFIndirectObject(object, new ObjectNumberAllocator());
+        result.renumber(objectNumber);
+        return result;
+    }
+
+    private static void writeObject(PDFIndirectObject object, PDFByteSink out) throws IOException {
+        if (out.getCount() != object.getByteOffset()) {
+            throw new IllegalStateException("Object " + object.getNumber()
+                    + " was not written where it was laid out.");
+        }
+        object.writeToPDF(out);
+    }
+
+    /**
+     * Gets the number of bytes the object writes.
+     */
+    private long measure(PDFWritable object) throws IOException {
+        long before = counter.getCount();
+        object.writeToPDF(counter);
+        return counter.getCount() - before;
+    }
+}
@@ -0,0 +1,309 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.doc;
+
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
+import com.justifiedsolutions.justpdf.pdf.object.PDFArray;
+import com.justifiedsolutions.justpdf.pdf.object.PDFDictionary;
+import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject;
+import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject.Reference;
+import com.justifiedsolutions.justpdf.pdf.object.PDFName;
+import com.justifiedsolutions.justpdf.pdf.object.PDFObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Copies the pages of one document, and every object reachable from them, into a target {@link PDFDocument}, where
+ * each copied object gets a new object number. Objects are copied once, however many times they are referenced. The
+ * objects that are referenced are copied breadth-first, so a long chain of references, such as the items of an
+ * outline, does not nest calls.
+ */
+final class PDFObjectCopier {
+
+    private static final PDFName TYPE = PDFName.valueOf("Type");
+    private static final PDFName FONT = PDFName.valueOf("Font");
+
+    private final PDFDocument target;
+    private final Resolver resolver;
+    private final Map<String, Reference> fonts;
+    private final Map<PDFIndirectObject, Reference> copies = new IdentityHashMap<>();
+    private final Deque<PDFObject[]> unfilled = new ArrayDeque<>();
+
+    /**
+     * Creates a new PDFObjectCopier.
+     *
+     * @param target   the document the objects are copied into
+     * @param resolver gets the objects of the document they are copied from
+     * @param fonts    the copies of the font dictionaries that do not reference other objects, keyed by their bytes,
+     *                 which may be shared by several copiers into the same target
+     */
+    PDFObjectCopier(PDFDocument target, Resolver resolver, Map<String, Reference> fonts) {
+        this.target = target;
+        this.resolver = resolver;
+        this.fonts = fonts;
+    }
+
+    /**
+     * Specifies if the object is a dictionary of the specified type.
+     *
+     * @param object the object
+     * @param type   the type
+     * @return true if the object is a dictionary whose {@code Type} is type
+     */
+    static boolean hasType(PDFObject object, PDFName type) {
+        return object instanceof PDFDictionary && type.equals(((PDFDictionary) object).get(TYPE));
+    }
+
+    /**
+     * Gets the pages under a page tree node in order.
+     *
+     * @param resolver gets the nodes of the page tree
+     * @param root     the reference to the node
+     * @return the references to the pages
+     * @throws IOException if there is an issue reading a node
+     */
+    static List<Reference> collectPages(Resolver resolver, Reference root) throws IOException {
+        List<Reference> result = new ArrayList<>();
+        Deque<Reference> nodes = new ArrayDeque<>();
+        nodes.push(root);
+        while (!nodes.isEmpty()) {
+            Reference node = nodes.pop();
+            PDFDictionary dictionary = resolver.resolveDictionary(node);
+            if (!hasType(dictionary, PDFPages.PAGES_NAME)) {
+                result.add(node);
+                continue;
+            }
+            PDFObject kids = dictionary.get(PDFPages.KIDS_NAME);
+            if (kids instanceof PDFArray) {
+                PDFArray kidArray = (PDFArray) kids;
+                for (int index = kidArray.size() - 1; index >= 0; index--) {
+                    nodes.push((Reference) kidArray.get(index));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Copies a page, and the objects it references, and adds the copy to the page tree of the target after the pages
+     * already in it.
+     *
+     * @param page the reference to the page
+     * @return the reference to the copy
+     * @throws IOException if there is an issue reading an object
+     */
+    Reference copyPage(Reference page) throws IOException {
+        Reference copy = copyReference(page);
+        fillCopies();
+        PDFDictionary pageCopy = (PDFDictionary) copy.getIndirectObject().getObject();
+        pageCopy.put(PDFPage.PARENT_NAME, target.addToPageTree(copy));
+        return copy;
+    }
+
+    /**
+     * Gets the reference to the copy of an object that has already been copied.
+     *
+     * @param original the reference to the object
+     * @return the reference to the copy, or {@code null} if it has not been copied
+     */
+    Reference getCopy(Reference original) {
+        return copies.get(original.getIndirectObject());
+    }
+
+    /**
+     * Specifies that the object an original reference points at is not copied, and references to it are replaced by
+     * the specified reference of the target.
+     *
+     * @param original the reference to the object
+     * @param copy     the reference that replaces it
+     */
+    void putCopy(Reference original, Reference copy) {
+        copies.put(original.getIndirectObject(), copy);
+    }
+
+    private PDFObject resolveObject(Reference reference) throws IOException {
+        PDFObject result = resolver.resolve(reference);
+        if (result == null) {
+            throw new IOException("The object has already been written and released.");
+        }
+        return result;
+    }
+
+    /**
+     * Gets the reference to the copy of the object the reference points at. An object that has not been copied yet is
+     * wrapped in a new indirect object of the target right away, but its entries are only filled in by {@link
+     * #fillCopies()}.
+     *
+     * @param reference the reference
+     * @return the reference to the copy
+     * @throws IOException if there is an issue reading the object
+     */
+    Reference copyReference(Reference reference) throws IOException {
+        Reference result = copies.get(reference.getIndirectObject());
+        if (result != null) {
+            return result;
+        }
+        PDFObject original = resolveObject(reference);
+        String fontKey = null;
+        if (hasType(original, FONT) && !containsReference(original)) {
+            fontKey = getFontKey(original);
+            result = fonts.get(fontKey);
+        }
+        if (result == null) {
+            PDFObject copy = createEmptyCopy(original);
+            result = target.createIndirectObject(copy).getReference();
+            unfilled.add(new PDFObject[]{original, copy});
+            if (fontKey != null) {
+                fonts.put(fontKey, result);
+            }
+        }
+        copies.put(reference.getIndirectObject(), result);
+        return result;
+    }
+
+    /**
+     * Fills in the entries of the copies that were created empty, which may create more of them.
+     *
+     * @throws IOException if there is an issue reading an object
+     */
+    void fillCopies() throws IOException {
+        while (!unfilled.isEmpty()) {
+            PDFObject[] pair = unfilled.remove();
+            PDFObject original = pair[0];
+            PDFObject copy = pair[1];
+            if (original instanceof PDFRawStream) {
+                fillDictionary(((PDFRawStream) original).getDictionary(), ((PDFRawStream) copy).getDictionary());
+            } else if (original instanceof PDFDictionary) {
+                fillDictionary((PDFDictionary) original, (PDFDictionary) copy);
+            } else if (original instanceof PDFArray) {
+                fillArray((PDFArray) original, (PDFArray) copy);
+            }
+        }
+    }
+
+    private static PDFObject createEmptyCopy(PDFObject original) {
+        if (original instanceof PDFDictionary) {
+            return new PDFDictionary();
+        }
+        if (original instanceof PDFArray) {
+            return new PDFArray();
+        }
+        if (original instanceof PDFRawStream) {
+            return ((PDFRawStream) original).withDictionary(new PDFDictionary());
+        }
+        return original;
+    }
+
+    /**
+     * Copies the entries of a dictionary. The {@code Parent} of a page is left out, as the page gets a parent in the
+     * page tree of the target.
+     */
+    private void fillDictionary(PDFDictionary original, PDFDictionary copy) throws IOException {
+        boolean page = hasType(original, PDFPage.PAGE_NAME);
+        for (PDFName key : original.keySet()) {
+            if (!page || !PDFPage.PARENT_NAME.equals(key)) {
+                copy.put(key, copyValue(original.get(key)));
+            }
+        }
+    }
+
+    private void fillArray(PDFArray original, PDFArray copy) throws IOException {
+        for (int index = 0; index < original.size(); index++) {
+            copy.add(copyValue(original.get(index)));
+        }
+    }
+
+    /**
+     * Copies a value. Dictionaries and arrays are copied, as they may contain references, and any other direct object
+     * is shared, as it cannot change.
+     */
+    private PDFObject copyValue(PDFObject value) throws IOException {
+        if (value instanceof Reference) {
+            return copyReference((Reference) value);
+        }
+        if (value instanceof PDFDictionary) {
+            PDFDictionary result = new PDFDictionary();
+            fillDictionary((PDFDictionary) value, result);
+            return result;
+        }
+        if (value instanceof PDFArray) {
+            PDFArray result = new PDFArray();
+            fillArray((PDFArray) value, result);
+            return result;
+        }
+        return value;
+    }
+
+    /**
+     * Specifies if the object is, or contains, a reference.
+     */
+    private static boolean containsReference(PDFObject object) {
+        if (object instanceof Reference) {
+            return true;
+        }
+        if (object instanceof PDFDictionary) {
+            return ((PDFDictionary) object).values().stream().anyMatch(PDFObjectCopier::containsReference);
+        }
+        if (object instanceof PDFArray) {
+            PDFArray array = (PDFArray) object;
+            for (int index = 0; index < array.size(); index++) {
+                if (containsReference(array.get(index))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the bytes of a font dictionary, which identify it among the fonts of every copied document.
+     */
+    private static String getFontKey(PDFObject font) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (PDFByteSink sink = new PDFByteSink(bytes)) {
+            font.writeToPDF(sink);
+        }
+        return bytes.toString(StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Gets the object a reference of the document that objects are copied from points at.
+     */
+    @FunctionalInterface
+    interface Resolver {
+        /**
+         * Gets the object.
+         *
+         * @param reference the reference
+         * @return the object
+         * @throws IOException if there is an issue reading the object
+         */
+        PDFObject resolve(Reference reference) throws IOException;
+
+        /**
+         * Gets an object that must be a dictionary.
+         *
+         * @param reference the reference
+         * @return the dictionary
+         * @throws IOException if there is an issue reading the object, or it is not a dictionary
+         */
+        default PDFDictionary resolveDictionary(Reference reference) throws IOException {
+            PDFObject result = resolve(reference);
+            if (!(result instanceof PDFDictionary)) {
+                throw new IOException("Expected a dictionary.");
+            }
+            return (PDFDictionary) result;
+        }
+    }
+}
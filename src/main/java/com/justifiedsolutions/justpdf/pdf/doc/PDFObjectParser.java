@@ -0,0 +1,305 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.doc;
+
+import com.justifiedsolutions.justpdf.pdf.object.PDFArray;
+import com.justifiedsolutions.justpdf.pdf.object.PDFBoolean;
+import com.justifiedsolutions.justpdf.pdf.object.PDFDictionary;
+import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject;
+import com.justifiedsolutions.justpdf.pdf.object.PDFInteger;
+import com.justifiedsolutions.justpdf.pdf.object.PDFName;
+import com.justifiedsolutions.justpdf.pdf.object.PDFNull;
+import com.justifiedsolutions.justpdf.pdf.object.PDFObject;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.IntFunction;
+
+/**
+ * Parses the objects of an existing PDF file from a range of its bytes. It understands the syntax justPDF writes
+ * outside of streams: dictionaries, arrays, names, numbers, strings, booleans, null and references. Strings and real
+ * numbers are kept as {@link PDFRawObject}s, so they are written back exactly as they were read.
+ *
+ * <p>An {@link EOFException} is thrown if the bytes end before the object does, so the caller can try again with
+ * more of the file.</p>
+ *
+ * @see "ISO 32000-1:2008, 7.2 and 7.3"
+ */
+final class PDFObjectParser {
+
+    private final byte[] data;
+    private final IntFunction<PDFIndirectObject.Reference> references;
+    private int position;
+
+    /**
+     * Creates a new PDFObjectParser.
+     *
+     * @param data       the bytes to parse
+     * @param references gets the reference to the object with the specified object number
+     */
+    @SuppressWarnings("PMD.ArrayIsStoredDirectly") // the parser only reads the bytes, so copying them is wasted work
+    PDFObjectParser(byte[] data, IntFunction<PDFIndirectObject.Reference> references) {
+        this.data = data;
+        this.references = references;
+    }
+
+    /**
+     * Gets the index of the next byte to parse.
+     *
+     * @return the position
+     */
+    int getPosition() {
+        return position;
+    }
+
+    /**
+     * Sets the index of the next byte to parse.
+     *
+     * @param position the position
+     */
+    void setPosition(int position) {
+        this.position = position;
+    }
+
+    /**
+     * Reads the next object.
+     *
+     * @return the object
+     * @throws IOException if the bytes are not a supported object
+     */
+    PDFObject readObject() throws IOException {
+        skipWhitespace();
+        int start = position;
+        switch (peek()) {
+            case '/':
+                return readName();
+            case '[':
+                return readArray();
+            case '(':
+                skipLiteralString();
+                return new PDFRawObject(data, start, position - start);
+            case '<':
+                if (peek(1) == '<') {
+                    return readDictionary();
+                }
+                skipUntil('>');
+                return new PDFRawObject(data, start, position - start);
+            default:
+                return readNumberOrKeyword();
+        }
+    }
+
+    /**
+     * Reads the next token as a non-negative integer.
+     *
+     * @return the integer
+     * @throws IOException if the next token is not an integer
+     */
+    long readLong() throws IOException {
+        skipWhitespace();
+        int start = position;
+        long result = 0;
+        while (isDigit(peek())) {
+            result = (result * 10) + (data[position++] - '0');
+        }
+        if (position == start) {
+            throw new IOException("Expected an integer at " + start + ".");
+        }
+        return result;
+    }
+
+    /**
+     * Skips the next token if it is the specified keyword.
+     *
+     * @param keyword the keyword
+     * @return true if the keyword was skipped, false if the next token is something else
+     * @throws IOException if there are no more bytes
+     */
+    boolean skipKeyword(String keyword) throws IOException {
+        skipWhitespace();
+        int start = position;
+        boolean result = readToken().equals(keyword);
+        if (!result) {
+            position = start;
+        }
+        return result;
+    }
+
+    /**
+     * Skips white-space and comments.
+     *
+     * @throws IOException if there are no more bytes
+     */
+    void skipWhitespace() throws IOException {
+        while (true) {
+            int b = peek();
+            if (b == '%') {
+                while (b != '\n' && b != '\r') {
+                    position++;
+                    b = peek();
+                }
+            } else if (isWhitespace(b)) {
+                position++;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private PDFDictionary readDictionary() throws IOException {
+        PDFDictionary result = new PDFDictionary();
+        position += 2;
+        skipWhitespace();
+        while (peek() != '>') {
+            PDFObject key = readObject();
+            if (!(key instanceof PDFName)) {
+                throw new IOException("Expected a name at " + position + ".");
+            }
+            result.put((PDFName) key, readObject());
+            skipWhitespace();
+        }
+        if (peek(1) != '>') {
+            throw new IOException("Expected the end of a dictionary at " + position + ".");
+        }
+        position += 2;
+        return result;
+    }
+
+    private PDFArray readArray() throws IOException {
+        PDFArray result = new PDFArray();
+        position++;
+        skipWhitespace();
+        while (peek() != ']') {
+            result.add(readObject());
+            skipWhitespace();
+        }
+        position++;
+        return result;
+    }
+
+    private PDFName readName() throws IOException {
+        position++;
+        StringBuilder name = new StringBuilder();
+        while (isRegular(peek())) {
+            char c = (char) data[position++];
+            if (c == '#') {
+                c = (char) Integer.parseInt(new String(data, position, 2, StandardCharsets.US_ASCII), 16);
+                position += 2;
+            }
+            name.append(c);
+        }
+        return new PDFName(name.toString());
+    }
+
+    private PDFObject readNumberOrKeyword() throws IOException {
+        String token = readToken();
+        switch (token) {
+            case "true":
+                return PDFBoolean.TRUE;
+            case "false":
+                return PDFBoolean.FALSE;
+            case "null":
+                return PDFNull.NULL;
+            default:
+                break;
+        }
+        if (!token.matches("[+-]?[0-9]+")) {
+            if (token.matches("[+-]?[0-9]*\\.[0-9]*")) {
+                return new PDFRawObject(data, position - token.length(), token.length());
+            }
+            throw new IOException("Unsupported token '" + token + "' at " + (position - token.length()) + ".");
+        }
+        long value = Long.parseLong(token);
+        PDFIndirectObject.Reference reference = readReference(value);
+        if (reference != null) {
+            return reference;
+        }
+        return (value == (int) value) ? PDFInteger.valueOf((int) value) : new PDFByteOffset(value);
+    }
+
+    /**
+     * Reads the rest of a reference if the integer that was just read is the object number of one. Otherwise, the
+     * position is left after the integer.
+     */
+    private PDFIndirectObject.Reference readReference(long objectNumber) throws IOException {
+        int start = position;
+        long generationNumber = readGenerationNumber();
+        if (generationNumber < 0) {
+            position = start;
+            return null;
+        }
+        if (generationNumber != 0) {
+            throw new IOException("Objects with a generation number other than 0 are not supported.");
+        }
+        return references.apply((int) objectNumber);
+    }
+
+    /**
+     * Reads a generation number followed by the keyword R, or returns -1 if the next tokens are something else.
+     */
+    private long readGenerationNumber() throws IOException {
+        skipWhitespace();
+        if (!isDigit(peek())) {
+            return -1;
+        }
+        long result = readLong();
+        return skipKeyword("R") ? result : -1;
+    }
+
+    private void skipLiteralString() throws IOException {
+        int depth = 0;
+        do {
+            int b = peek();
+            position++;
+            if (b == '\\') {
+                position++;
+            } else if (b == '(') {
+                depth++;
+            } else if (b == ')') {
+                depth--;
+            }
+        } while (depth > 0);
+    }
+
+    private void skipUntil(int end) throws IOException {
+        while (peek() != end) {
+            position++;
+        }
+        position++;
+    }
+
+    private String readToken() throws IOException {
+        int start = position;
+        while (isRegular(peek())) {
+            position++;
+        }
+        return new String(data, start, position - start, StandardCharsets.US_ASCII);
+    }
+
+    private int peek() throws EOFException {
+        return peek(0);
+    }
+
+    private int peek(int ahead) throws EOFException {
+        if (position + ahead >= data.length) {
+            throw new EOFException("Unexpected end of data.");
+        }
+        return data[position + ahead] & 0xFF;
+    }
+
+    private static boolean isDigit(int b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static boolean isWhitespace(int b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\f' || b == 0;
+    }
+
+    private static boolean isRegular(int b) {
+        return !isWhitespace(b) && "()<>[]{}/%".indexOf(b) < 0;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.doc;
+
+import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject;
+
+import java.util.Collection;
+
+/**
+ * Indexes {@link PDFIndirectObject}s by object number. Each object is put in the slot of an array whose index is its
+ * object number, less the lowest object number, in a single pass. The objects are then found by number, and walked in
+ * order of object number, without sorting them, so writing the cross reference section of a document with a great many
+ * objects takes linear time. Object numbers that no object has leave their slots empty.
+ */
+final class PDFObjectRegistry {
+
+    private static final PDFIndirectObject[] EMPTY = new PDFIndirectObject[0];
+
+    private PDFIndirectObject[] slots = EMPTY;
+    private int firstObjectNumber = 1;
+
+    /**
+     * Sets the indirect objects, replacing any that were set before.
+     *
+     * @param indirectObjects the indirect objects, in any order
+     * @throws IllegalArgumentException if two of the objects have the same object number
+     */
+    void setIndirectObjects(Collection<PDFIndirectObject> indirectObjects) {
+        int first = Integer.MAX_VALUE;
+        int last = 0;
+        for (PDFIndirectObject indirectObject : indirectObjects) {
+            first = Math.min(first, indirectObject.getNumber());
+            last = Math.max(last, indirectObject.getNumber());
+        }
+        if (indirectObjects.isEmpty()) {
+            slots = EMPTY;
+            firstObjectNumber = 1;
+        } else {
+            slots = new PDFIndirectObject[last - first + 1];
+            firstObjectNumber = first;
+        }
+        for (PDFIndirectObject indirectObject : indirectObjects) {
+            int slot = indirectObject.getNumber() - firstObjectNumber;
+            if (slots[slot] != null) {
+                throw new IllegalArgumentException("Object number " + indirectObject.getNumber() + " is used twice.");
+            }
+            slots[slot] = indirectObject;
+        }
+    }
+
+    /**
+     * Gets the lowest object number. It is {@code 1} if there are no objects.
+     *
+     * @return the lowest object number
+     */
+    int getFirstObjectNumber() {
+        return firstObjectNumber;
+    }
+
+    /**
+     * Gets the highest object number. It is less than {@link #getFirstObjectNumber()} if there are no objects.
+     *
+     * @return the highest object number
+     */
+    int getLastObjectNumber() {
+        return firstObjectNumber + slots.length - 1;
+    }
+
+    /**
+     * Gets the indirect object with the specified object number.
+     *
+     * @param objectNumber the object number
+     * @return the indirect object, or {@code null} if no object has the number
+     */
+    PDFIndirectObject get(int objectNumber) {
+        int slot = objectNumber - firstObjectNumber;
+        return (slot >= 0 && slot < slots.length) ? slots[slot] : null;
+    }
+
+    /**
+     * Gets the object number after the run of consecutive object numbers that starts at the specified number, which is
+     * the number itself if no object has it.
+     *
+     * @param objectNumber the first object number of the run
+     * @return the first object number after the run
+     */
+    int getRunEnd(int objectNumber) {
+        int result = objectNumber;
+        while (get(result) != null) {
+            result++;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.doc;
+
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
+import com.justifiedsolutions.justpdf.pdf.filter.DeflateFilter;
+import com.justifiedsolutions.justpdf.pdf.filter.PDFFilter;
+import com.justifiedsolutions.justpdf.pdf.object.PDFArray;
+import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject;
+import com.justifiedsolutions.justpdf.pdf.object.PDFInteger;
+import com.justifiedsolutions.justpdf.pdf.object.PDFName;
+import com.justifiedsolutions.justpdf.pdf.object.PDFObject;
+import com.justifiedsolutions.justpdf.pdf.object.PDFStream;
+import com.justifiedsolutions.justpdf.pdf.object.PDFStreamBuffer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Collects the objects that are packed into a single compressed Object Stream in a PDF document. Only objects that are
+ * not streams, with a generation number of {@code 0}, may be added.
+ *
+ * @see "ISO 32000-1:2008, 7.5.7"
+ */
+final class PDFObjectStream {
+
+    static final int MAXIMUM_OBJECTS = 100;
+
+    static final PDFName TYPE = PDFName.valueOf("Type");
+    static final PDFName OBJ_STM = PDFName.valueOf("ObjStm");
+    static final PDFName N = PDFName.valueOf("N");
+    static final PDFName FIRST = PDFName.valueOf("First");
+
+    private final ByteArrayOutputStream header = new ByteArrayOutputStream();
+    private final PDFByteSink headerSink = new PDFByteSink(header);
+    private final ByteArrayOutputStream objects = new ByteArrayOutputStream();
+    private final PDFByteSink objectsSink = new PDFByteSink(objects);
+    private final List<PDFIndirectObject> members = new ArrayList<>();
+
+    /**
+     * Specifies if the {@link PDFIndirectObject} can be stored in an Object Stream.
+     *
+     * @param indirectObject the object to check
+     * @return true if the object can be compressed in an Object Stream
+     */
+    static boolean isCompressible(PDFIndirectObject indirectObject) {
+        PDFObject object = indirectObject.getObject();
+        return !(object instanceof PDFStream) && !(object instanceof PDFPendingStream)
+                && (indirectObject.getGeneration() == 0);
+    }
+
+    /**
+     * Serializes the object wrapped by the {@link PDFIndirectObject} into this Object Stream.
+     *
+     * @param indirectObject the object to add
+     * @throws IOException if there is an issue serializing the object
+     */
+    void add(PDFIndirectObject indirectObject) throws IOException {
+        headerSink.writeInt(indirectObject.getNumber());
+        headerSink.write(' ');
+        headerSink.writeLong(objectsSink.getCount());
+        headerSink.write(' ');
+        indirectObject.getObject().writeToPDF(objectsSink);
+        objectsSink.write('\n');
+        members.add(indirectObject);
+    }
+
+    /**
+     * Gets the objects in this Object Stream, in the order they were added. The index of an object in this list is
+     * its index in the Object Stream.
+     *
+     * @return the objects
+     */
+    List<PDFIndirectObject> getMembers() {
+        return Collections.unmodifiableList(members);
+    }
+
+    /**
+     * Specifies if the Object Stream has no objects.
+     *
+     * @return true if there are no objects
+     */
+    boolean isEmpty() {
+        return members.isEmpty();
+    }
+
+    /**
+     * Specifies if the Object Stream has reached its maximum number of objects.
+     *
+     * @return true if no more objects should be added
+     */
+    boolean isFull() {
+        return members.size() >= MAXIMUM_OBJECTS;
+    }
+
+    /**
+     * Creates the compressed {@link PDFStream} for the objects added so far.
+     *
+     * @return the stream
+     * @throws IOException if there is an issue flushing the serialized objects
+     */
+    PDFStream toStream() throws IOException {
+        headerSink.flush();
+        objectsSink.flush();
+        PDFFilter filter = new DeflateFilter();
+        PDFStreamBuffer data = new PDFStreamBuffer();
+        try (OutputStream out = filter.wrap(data)) {
+            header.writeTo(out);
+            objects.writeTo(out);
+        }
+        PDFStream stream = data.toStream();
+        PDFArray filters = new PDFArray();
+        filters.add(filter.getDecodeFilterName());
+        stream.addFilter(filters);
+        stream.put(TYPE, OBJ_STM);
+        stream.put(N, PDFInteger.valueOf(members.size()));
+        stream.put(FIRST, PDFInteger.valueOf(header.size()));
+        return stream;
+    }
+}
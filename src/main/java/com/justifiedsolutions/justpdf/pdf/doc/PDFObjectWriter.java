@@ -0,0 +1,210 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.doc;
+
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
+import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject;
+import com.justifiedsolutions.justpdf.pdf.object.PDFInteger;
+import com.justifiedsolutions.justpdf.pdf.object.PDFObject;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Places the {@link PDFIndirectObject}s of a {@link PDFDocument} in the file, and writes the cross reference section
+ * that lists them. If objects are compressed, the objects that can be stored in an Object Stream are packed into
+ * Object Streams, and a Cross Reference Stream is written in place of the Cross Reference Table and trailer.
+ *
+ * @see "ISO 32000-1:2008, 7.5.4 and 7.5.7"
+ */
+final class PDFObjectWriter {
+
+    private final Function<PDFObject, PDFIndirectObject> indirectObjects;
+    private final boolean releaseObjects;
+    private boolean compressObjects;
+    private PDFObjectStream objectStream = new PDFObjectStream();
+    private final PDFXRefStream xrefStream = new PDFXRefStream();
+    private PDFParallelSerializer parallelSerializer;
+
+    /**
+     * Creates a new PDFObjectWriter.
+     *
+     * @param indirectObjects creates the indirect objects for the Object Streams and Cross Reference Stream in the
+     *                        document
+     * @param releaseObjects  true to release each object once it is written, as a streaming document does
+     */
+    PDFObjectWriter(Function<PDFObject, PDFIndirectObject> indirectObjects, boolean releaseObjects) {
+        this.indirectObjects = indirectObjects;
+        this.releaseObjects = releaseObjects;
+    }
+
+    /**
+     * Specifies if objects are compressed into Object Streams with a Cross Reference Stream.
+     *
+     * @return true if objects are compressed
+     */
+    boolean isCompressObjects() {
+        return compressObjects;
+    }
+
+    /**
+     * Sets whether objects are compressed into Object Streams with a Cross Reference Stream.
+     *
+     * @param compressObjects true to compress objects
+     */
+    void setCompressObjects(boolean compressObjects) {
+        this.compressObjects = compressObjects;
+    }
+
+    /**
+     * Sets the {@link Executor} that {@link #placeAll(List, PDFByteSink)} serializes the objects it writes on. The
+     * default is {@code null}, which serializes them on the calling thread.
+     *
+     * @param executor the executor or {@code null}
+     */
+    void setSerializationExecutor(Executor executor) {
+        this.parallelSerializer = (executor == null) ? null : new PDFParallelSerializer(executor);
+    }
+
+    /**
+     * Specifies if the object has already been placed in the file: it was written and released, or it is in an Object
+     * Stream that was already written.
+     *
+     * @param indirectObject the object
+     * @return true if the object has already been placed
+     */
+    boolean isPlaced(PDFIndirectObject indirectObject) {
+        return indirectObject.isReleased() || xrefStream.isCompressed(indirectObject);
+    }
+
+    /**
+     * Places every object of the document that has not already been placed. With a serialization executor, the objects
+     * that are not stored in an Object Stream are written after the Object Streams, with all but the streams serialized
+     * in parallel.
+     *
+     * @param documentObjects every indirect object in the document
+     * @param out             the sink to write to
+     * @throws IOException if there is an issue writing the objects
+     */
+    void placeAll(List<PDFIndirectObject> documentObjects, PDFByteSink out) throws IOException {
+        List<PDFIndirectObject> remaining = new ArrayList<>(documentObjects);
+        List<PDFIndirectObject> parallel = new ArrayList<>();
+        for (PDFIndirectObject indirectObject : remaining) {
+            if (isPlaced(indirectObject)) {
+                continue;
+            }
+            if (parallelSerializer != null && !isStoredInObjectStream(indirectObject)) {
+                parallel.add(indirectObject);
+            } else {
+                place(indirectObject, out);
+            }
+        }
+        if (!parallel.isEmpty()) {
+            parallelSerializer.write(parallel, out);
+            if (releaseObjects) {
+                parallel.forEach(PDFIndirectObject::release);
+            }
+        }
+    }
+
+    /**
+     * Places the {@link PDFIndirectObject} in the document. If objects are compressed and the object can be stored in
+     * an Object Stream, it is added to the current Object Stream, which is written once it is full. Otherwise, the
+     * object is written at the current position of the sink.
+     *
+     * @param indirectObject the object to place
+     * @param out            the sink to write to
+     * @throws IOException if there is an issue writing the object
+     */
+    void place(PDFIndirectObject indirectObject, PDFByteSink out) throws IOException {
+        if (isStoredInObjectStream(indirectObject)) {
+            objectStream.add(indirectObject);
+            if (objectStream.isFull()) {
+                writeObjectStream(out);
+            }
+        } else {
+            write(indirectObject, out);
+        }
+    }
+
+    private boolean isStoredInObjectStream(PDFIndirectObject indirectObject) {
+        return compressObjects && PDFObjectStream.isCompressible(indirectObject);
+    }
+
+    /**
+     * Writes the cross reference section for the document, once every object has been placed. If objects are
+     * compressed, the current Object Stream is written first, followed by the Cross Reference Stream. Otherwise, the
+     * Cross Reference Table and the trailer are written, unless the file is too long for the byte offsets to fit in
+     * the entries of a table, in which case a Cross Reference Stream is written instead.
+     *
+     * @param trailer         the trailer of the document
+     * @param documentObjects every indirect object in the document
+     * @param out             the sink to write to
+     * @throws IOException if there is an issue writing the cross reference section
+     */
+    void writeXRef(PDFTrailer trailer, List<PDFIndirectObject> documentObjects, PDFByteSink out) throws IOException {
+        if (compressObjects || !PDFXRefTable.canList(out.getCount())) {
+            writeObjectStream(out);
+            PDFIndirectObject indirectXRefStream = indirectObjects.apply(xrefStream);
+            trailer.setSize(PDFInteger.valueOf(documentObjects.size() + 1));
+            xrefStream.setTrailer(trailer.getDictionary());
+            xrefStream.setIndirectObjects(documentObjects);
+            trailer.setTotalBytes(out.getCount());
+            write(indirectXRefStream, out);
+            trailer.writeStartXRef(out);
+        } else {
+            trailer.setTotalBytes(out.getCount());
+            trailer.setSize(PDFInteger.valueOf(documentObjects.size() + 1));
+            PDFXRefTable xrefTable = new PDFXRefTable();
+            xrefTable.setIndirectObjects(documentObjects);
+            xrefTable.writeToPDF(out);
+            trailer.writeToPDF(out);
+        }
+    }
+
+    /**
+     * Writes the current Object Stream, if it contains any objects, and starts a new one. When releasing objects, the
+     * objects in it are released.
+     *
+     * @param out the sink to write to
+     * @throws IOException if there is an issue writing the Object Stream
+     */
+    private void writeObjectStream(PDFByteSink out) throws IOException {
+        if (objectStream.isEmpty()) {
+            return;
+        }
+        PDFIndirectObject indirectObjectStream = indirectObjects.apply(objectStream.toStream());
+        List<PDFIndirectObject> members = objectStream.getMembers();
+        for (int index = 0; index < members.size(); index++) {
+            PDFIndirectObject member = members.get(index);
+            xrefStream.addCompressedObject(member, indirectObjectStream, index);
+            if (releaseObjects) {
+                member.release();
+            }
+        }
+        objectStream = new PDFObjectStream();
+        write(indirectObjectStream, out);
+    }
+
+    /**
+     * Writes the {@link PDFIndirectObject} at the current position of the sink. When releasing objects, the wrapped
+     * object is released once it is written.
+     *
+     * @param indirectObject the object to write
+     * @param out            the sink to write to
+     * @throws IOException if there is an issue writing the object
+     */
+    private void write(PDFIndirectObject indirectObject, PDFByteSink out) throws IOException {
+        indirectObject.setByteOffset(out.getCount());
+        indirectObject.writeToPDF(out);
+        if (releaseObjects) {
+            indirectObject.release();
+        }
+    }
+}
@@ -11,6 +11,7 @@ import com.justifiedsolutions.justpdf.pdf.object.PDFDocEncodedString;
 import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject;
 import com.justifiedsolutions.justpdf.pdf.object.PDFInteger;
 import com.justifiedsolutions.justpdf.pdf.object.PDFName;
+import com.justifiedsolutions.justpdf.pdf.object.PDFObject;
 import com.justifiedsolutions.justpdf.pdf.object.PDFReal;
 
 import java.util.Deque;
@@ -22,26 +23,27 @@ import java.util.LinkedList;
  * @see "ISO 32000-1:2008, 12.3.3"
  */
 public class PDFOutlineDictionary extends PDFDictionary {
-    private static final PDFName TYPE = new PDFName("Type");
-    private static final PDFName OUTLINES = new PDFName("Outlines");
+    private static final PDFName TYPE = PDFName.valueOf("Type");
+    private static final PDFName OUTLINES = PDFName.valueOf("Outlines");
 
-    private static final PDFName FIRST = new PDFName("First");
-    private static final PDFName LAST = new PDFName("Last");
-    private static final PDFName COUNT = new PDFName("Count");
+    static final PDFName FIRST = PDFName.valueOf("First");
+    static final PDFName LAST = PDFName.valueOf("Last");
+    static final PDFName COUNT = PDFName.valueOf("Count");
+    static final PDFName NEXT = PDFName.valueOf("Next");
 
-    private static final PDFName PARENT = new PDFName("Parent");
-    private static final PDFName PREV = new PDFName("Prev");
-    private static final PDFName NEXT = new PDFName("Next");
+    private static final PDFName PARENT = PDFName.valueOf("Parent");
+    private static final PDFName PREV = PDFName.valueOf("Prev");
 
-    private static final PDFName TITLE = new PDFName("Title");
-    private static final PDFName DEST = new PDFName("Dest");
+    private static final PDFName TITLE = PDFName.valueOf("Title");
+    private static final PDFName DEST = PDFName.valueOf("Dest");
 
-    private static final PDFName FIT = new PDFName("XYZ");
+    private static final PDFName FIT = PDFName.valueOf("XYZ");
     private static final float BREATHING_ROOM = 3f;
 
     private final PDFDocument document;
-    private final Deque<Item> items = new LinkedList<>();
     private final PDFIndirectObject.Reference reference;
+    private PDFIndirectObject.Reference lastItem;
+    private int count;
 
     /**
      * Creates a new PDFOutlineDictionary.
@@ -54,6 +56,25 @@ public class PDFOutlineDictionary extends PDFDictionary {
         put(TYPE, OUTLINES);
     }
 
+    /**
+     * Creates a PDFOutlineDictionary that continues the outline of an existing file that an incremental update is
+     * appended to. It replaces the existing outline dictionary, and new top-level items follow the existing ones.
+     *
+     * @param document         the document this outline belongs to
+     * @param objectNumber     the object number of the existing outline dictionary
+     * @param existing         the existing outline dictionary
+     * @param existingLastItem the last top-level item of the existing outline, which is rewritten to link to the new
+     *                         items, or {@code null} if the existing outline has no items
+     */
+    PDFOutlineDictionary(PDFDocument document, int objectNumber, PDFDictionary existing,
+                         PDFIndirectObject existingLastItem) {
+        this.document = document;
+        this.reference = this.document.createIndirectObject(this, objectNumber).getReference();
+        this.lastItem = (existingLastItem == null) ? null : existingLastItem.getReference();
+        existing.forEach(this::put);
+        this.count = getCount(existing);
+    }
+
     /**
      * Creates a new top-level item in the outline dictionary.
      *
@@ -64,20 +85,72 @@ public class PDFOutlineDictionary extends PDFDictionary {
      * @return the new item
      */
     public Item createItem(String title, PDFIndirectObject.Reference page, float top) {
-        Item result = new Item(title, page, top);
-        result.put(PARENT, this.reference);
+        return addItem(new Item(title, page, top));
+    }
+
+    /**
+     * Creates a new top-level item with the title and destination of an item of another outline, such as the outline
+     * of the document a shard is split from.
+     *
+     * @param original the item to copy
+     * @param page     the reference to the page the destination points at, which replaces the original page
+     * @return the new item
+     */
+    Item copyItem(PDFDictionary original, PDFIndirectObject.Reference page) {
+        return addItem(new Item(original, page));
+    }
+
+    private Item addItem(Item item) {
+        item.put(PARENT, this.reference);
+        appendItems(item.reference, item.reference, 1);
+        return item;
+    }
 
-        if (items.isEmpty()) {
-            put(FIRST, result.reference);
+    /**
+     * Gets the reference to the page that the destination of an outline item points at.
+     *
+     * @param item the outline item
+     * @return the reference to the page, or {@code null} if the item does not have a destination on a page
+     */
+    static PDFIndirectObject.Reference getDestinationPage(PDFDictionary item) {
+        PDFObject dest = item.get(DEST);
+        if (dest instanceof PDFArray && !((PDFArray) dest).isEmpty()
+                && ((PDFArray) dest).get(0) instanceof PDFIndirectObject.Reference) {
+            return (PDFIndirectObject.Reference) ((PDFArray) dest).get(0);
+        }
+        return null;
+    }
+
+    /**
+     * Appends a chain of top-level items that were created elsewhere, such as the items of a document that is merged
+     * into this one. The items must already have this dictionary as their {@code Parent} and be linked to each other.
+     *
+     * @param first     the reference to the first item of the chain
+     * @param last      the reference to the last item of the chain
+     * @param itemCount the number of visible items in the chain, as counted by the {@code Count} of an outline
+     */
+    void appendItems(PDFIndirectObject.Reference first, PDFIndirectObject.Reference last, int itemCount) {
+        if (lastItem == null) {
+            put(FIRST, first);
         } else {
-            Item last = items.getLast();
-            last.put(NEXT, result.reference);
-            result.put(PREV, last.reference);
+            ((PDFDictionary) lastItem.getIndirectObject().getObject()).put(NEXT, first);
+            ((PDFDictionary) first.getIndirectObject().getObject()).put(PREV, lastItem);
         }
-        items.add(result);
-        put(LAST, result.reference);
-        put(COUNT, new PDFInteger(items.size()));
-        return result;
+        lastItem = last;
+        count += itemCount;
+        put(LAST, last);
+        put(COUNT, PDFInteger.valueOf(count));
+    }
+
+    /**
+     * Gets the {@code Count} of an outline dictionary.
+     *
+     * @param outline the outline dictionary
+     * @return the count, or {@code 0} if it has none
+     */
+    static int getCount(PDFDictionary outline) {
+        PDFObject value = outline.get(COUNT);
+        return (value instanceof PDFInteger) ? ((PDFInteger) value).getValue() : 0;
     }
 
     /**
@@ -106,9 +179,21 @@ public class PDFOutlineDictionary extends PDFDictionary {
             PDFArray dest = new PDFArray();
             dest.add(page);
             dest.add(FIT);
-            dest.add(new PDFInteger(0));
-            dest.add(new PDFReal(top + BREATHING_ROOM));
-            dest.add(new PDFInteger(0));
+            dest.add(PDFInteger.valueOf(0));
+            dest.add(PDFReal.valueOf(top + BREATHING_ROOM));
+            dest.add(PDFInteger.valueOf(0));
+            put(DEST, dest);
+        }
+
+        private Item(PDFDictionary original, PDFIndirectObject.Reference page) {
+            reference = document.createIndirectObject(this).getReference();
+            put(TITLE, original.get(TITLE));
+            PDFArray originalDest = (PDFArray) original.get(DEST);
+            PDFArray dest = new PDFArray();
+            dest.add(page);
+            for (int index = 1; index < originalDest.size(); index++) {
+                dest.add(originalDest.get(index));
+            }
             put(DEST, dest);
         }
 
@@ -122,19 +207,34 @@ public class PDFOutlineDictionary extends PDFDictionary {
          * @return the new item
          */
         public Item createChild(String title, PDFIndirectObject.Reference page, float top) {
-            Item child = new Item(title, page, top);
+            return addChild(new Item(title, page, top));
+        }
+
+        /**
+         * Creates a child item with the title and destination of an item of another outline.
+         *
+         * @param original the item to copy
+         * @param page     the reference to the page the destination points at, which replaces the original page
+         * @return the new item
+         * @see PDFOutlineDictionary#copyItem(PDFDictionary, PDFIndirectObject.Reference)
+         */
+        Item copyChild(PDFDictionary original, PDFIndirectObject.Reference page) {
+            return addChild(new Item(original, page));
+        }
+
+        private Item addChild(Item child) {
             child.put(PARENT, reference);
 
             if (children.isEmpty()) {
-                put(FIRST, child);
+                put(FIRST, child.reference);
             } else {
                 Item last = children.getLast();
                 last.put(NEXT, child.reference);
                 child.put(PREV, last.reference);
             }
             children.add(child);
-            put(LAST, child);
-            put(COUNT, new PDFInteger(-1 * children.size()));
+            put(LAST, child.reference);
+            put(COUNT, PDFInteger.valueOf(-1 * children.size()));
             return child;
         }
     }
@@ -5,13 +5,17 @@
 
 package com.justifiedsolutions.justpdf.pdf.doc;
 
-import com.justifiedsolutions.justpdf.pdf.object.PDFArray;
+import com.justifiedsolutions.justpdf.pdf.font.PDFFont;
 import com.justifiedsolutions.justpdf.pdf.object.PDFDictionary;
 import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject;
 import com.justifiedsolutions.justpdf.pdf.object.PDFName;
 import com.justifiedsolutions.justpdf.pdf.object.PDFObject;
 import com.justifiedsolutions.justpdf.pdf.object.PDFRectangle;
 import com.justifiedsolutions.justpdf.pdf.object.PDFStream;
+import com.justifiedsolutions.justpdf.pdf.object.PDFStreamStore;
+
+import java.io.IOException;
+import java.util.concurrent.Future;
 
 /**
  * Models a page in a PDF document.
@@ -19,31 +23,41 @@ import com.justifiedsolutions.justpdf.pdf.object.PDFStream;
  * @see "ISO 32000-1:2008, 7.7.3.3"
  */
 public final class PDFPage {
-    public static final PDFName TYPE_NAME = new PDFName("Type");
-    public static final PDFName PAGE_NAME = new PDFName("Page");
-    public static final PDFName MEDIA_BOX_NAME = new PDFName("MediaBox");
-    public static final PDFName RESOURCES_NAME = new PDFName("Resources");
-    public static final PDFName CONTENTS_NAME = new PDFName("Contents");
-    public static final PDFName PARENT_NAME = new PDFName("Parent");
+    public static final PDFName TYPE_NAME = PDFName.valueOf("Type");
+    public static final PDFName PAGE_NAME = PDFName.valueOf("Page");
+    public static final PDFName MEDIA_BOX_NAME = PDFName.valueOf("MediaBox");
+    public static final PDFName RESOURCES_NAME = PDFName.valueOf("Resources");
+    public static final PDFName CONTENTS_NAME = PDFName.valueOf("Contents");
+    public static final PDFName PARENT_NAME = PDFName.valueOf("Parent");
 
-    private final Resources resources = new Resources();
+    private final PDFResources resources;
 
     private final PDFDictionary page = new PDFDictionary();
     private final PDFIndirectObject indirectPage;
+    private PDFIndirectObject indirectContents;
 
     private final PDFDocument document;
 
     /**
-     * Creates a new PDF Page. It sets the {@code Type} key in the dictionary.
+     * Creates a new PDF Page. It sets the {@code Type} key in the dictionary. The page has its own Resources
+     * dictionary, unless the document shares one between its pages, in which case the page refers to that.
      *
      * @param pageSize the size of the page
+     * @see PDFDocumentOptions#setSharedResources(boolean)
      */
     PDFPage(PDFDocument document, PDFRectangle pageSize) {
         this.document = document;
         this.indirectPage = this.document.createIndirectObject(page);
         page.put(TYPE_NAME, PAGE_NAME);
         page.put(MEDIA_BOX_NAME, pageSize);
-        page.put(RESOURCES_NAME, resources);
+        PDFIndirectObject sharedResources = document.getSharedResources();
+        if (sharedResources == null) {
+            resources = new PDFResources();
+            page.put(RESOURCES_NAME, resources);
+        } else {
+            resources = (PDFResources) sharedResources.getObject();
+            page.put(RESOURCES_NAME, sharedResources.getReference());
+        }
     }
 
     /**
@@ -53,8 +67,18 @@ public final class PDFPage {
      * @param contents the contents of the page
      */
     public void setContents(PDFStream contents) {
-        PDFIndirectObject indirectContents = document.createIndirectObject(contents);
-        page.put(CONTENTS_NAME, indirectContents.getReference());
+        setContentsObject(contents);
+    }
+
+    /**
+     * Sets the contents of the page to a stream that is still being created, for example by a compression {@link
+     * java.util.concurrent.Executor}. The page may be completed before the stream is. The document waits for the
+     * stream when it is written.
+     *
+     * @param contents the future contents of the page
+     */
+    public void setContents(Future<PDFStream> contents) {
+        setContentsObject(new PDFPendingStream(contents));
     }
 
     /**
@@ -64,7 +88,31 @@ public final class PDFPage {
      * @return the {@link PDFName} that identifies the reference on the page
      */
     public PDFName addFontReference(PDFIndirectObject.Reference reference) {
-        return resources.addFontReference(reference);
+        return addResource(PDFResourceType.FONT, reference);
+    }
+
+    /**
+     * Adds a font that is used on the page. The font is added to the document, if it is not already in it, and
+     * referenced from the page's resources.
+     *
+     * @param font the font
+     * @return the {@link PDFName} that identifies the font on the page
+     * @see PDFDocument#addFont(PDFFont)
+     */
+    public PDFName addFont(PDFFont font) {
+        return addResource(PDFResourceType.FONT, document.addFont(font));
+    }
+
+    /**
+     * Adds a reference to a resource of the specified type that is used on the page. A reference that has already been
+     * added gets the same name, which is looked up by the identity of the reference in constant time.
+     *
+     * @param type      the type of the resource
+     * @param reference the reference
+     * @return the {@link PDFName} that identifies the reference on the page
+     */
+    public PDFName addResource(PDFResourceType type, PDFIndirectObject.Reference reference) {
+        return resources.addResource(type, reference);
     }
 
     /**
@@ -77,58 +125,66 @@ public final class PDFPage {
     }
 
     /**
-     * Sets the reference to the {@code Parent} Pages node.
+     * Gets the {@link PDFIndirectObject} that wraps this page.
      *
-     * @param parent the reference
+     * @return the indirect page
      */
-    void setParent(PDFIndirectObject.Reference parent) {
-        page.put(PARENT_NAME, parent);
+    PDFIndirectObject getIndirectPage() {
+        return indirectPage;
+    }
+
+    /**
+     * Gets the {@link PDFIndirectObject} that wraps the contents of this page.
+     *
+     * @return the indirect contents or {@code null} if the contents have not been set
+     */
+    PDFIndirectObject getIndirectContents() {
+        return indirectContents;
     }
 
     /**
-     * Models Page Resources in a PDF document.
+     * Specifies if the contents of the page are ready to be written without waiting.
      *
-     * @see "ISO 32000-1:2008, 7.8.3"
+     * @return true if the contents are not pending
      */
-    private static class Resources extends PDFDictionary {
-        private static final PDFName FONT = new PDFName("Font");
-        private static final PDFName PROC_SET = new PDFName("ProcSet");
-
-        private Resources() {
-            PDFArray procSet = new PDFArray();
-            procSet.add(new PDFName("PDF"));
-            procSet.add(new PDFName("Text"));
-            procSet.add(new PDFName("ImageB"));
-            procSet.add(new PDFName("ImageC"));
-            procSet.add(new PDFName("ImageI"));
-            put(PROC_SET, procSet);
+    boolean isContentsReady() {
+        if (indirectContents == null || indirectContents.isReleased()) {
+            return true;
         }
+        PDFObject contents = indirectContents.getObject();
+        return !(contents instanceof PDFPendingStream) || ((PDFPendingStream) contents).isDone();
+    }
 
-        private PDFName addFontReference(PDFIndirectObject.Reference reference) {
-            PDFDictionary fonts = (PDFDictionary) get(FONT);
-            if (fonts == null) {
-                fonts = new PDFDictionary();
-                put(FONT, fonts);
-            }
-            PDFName refName;
-            if (!fonts.values().contains(reference)) {
-                int refIndex = fonts.size() + 1;
-                refName = new PDFName("F" + refIndex);
-                fonts.put(refName, reference);
-            } else {
-                refName = null;
-                for (PDFName key : fonts.keySet()) {
-                    PDFObject value = fonts.get(key);
-                    if (reference.equals(value)) {
-                        refName = key;
-                        break;
-                    }
-                }
-                if (refName == null) {
-                    throw new IllegalStateException("Font dictionary contains reference but cannot find it!");
-                }
-            }
-            return refName;
+    /**
+     * Moves the data of the contents of the page to the specified {@link PDFStreamStore}.
+     *
+     * @param store the store
+     * @throws IOException if there is an issue moving the data
+     * @see PDFPendingStream#spill(PDFStreamStore)
+     */
+    void spillContents(PDFStreamStore store) throws IOException {
+        if (indirectContents == null || indirectContents.isReleased()) {
+            return;
+        }
+        PDFObject contents = indirectContents.getObject();
+        if (contents instanceof PDFStream) {
+            store.spill((PDFStream) contents);
+        } else if (contents instanceof PDFPendingStream) {
+            ((PDFPendingStream) contents).spill(store);
         }
     }
+
+    private void setContentsObject(PDFObject contents) {
+        indirectContents = document.createIndirectObject(contents);
+        page.put(CONTENTS_NAME, indirectContents.getReference());
+    }
+
+    /**
+     * Sets the reference to the {@code Parent} Pages node.
+     *
+     * @param parent the reference
+     */
+    void setParent(PDFIndirectObject.Reference parent) {
+        page.put(PARENT_NAME, parent);
+    }
 }
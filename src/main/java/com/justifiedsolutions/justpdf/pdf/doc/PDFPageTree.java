@@ -0,0 +1,187 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.doc;
+
+import com.justifiedsolutions.justpdf.pdf.object.PDFArray;
+import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject;
+import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject.Reference;
+import com.justifiedsolutions.justpdf.pdf.object.PDFObject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Builds the page tree of a {@link PDFDocument}. Every page goes into a leaf node of up to fan-out pages. When the
+ * document is written, the leaves are grouped level by level into intermediate nodes of up to fan-out kids each, until
+ * the top level fits in the root, so every page is at the same depth and no node has more than fan-out kids. The
+ * {@code Count} of every node is set once. If the root already has fan-out kids, as the root of an existing file or a
+ * tree that was completed before may have, it becomes an intermediate node under a new root.
+ *
+ * <p>A page's parent is known as soon as it is added, so the page can be written before the tree is complete, as a
+ * streaming document does.</p>
+ *
+ * @see "ISO 32000-1:2008, 7.7.3.2"
+ */
+final class PDFPageTree {
+
+    /**
+     * The default maximum number of kids of a node.
+     */
+    static final int DEFAULT_FAN_OUT = 32;
+
+    private final Function<PDFObject, PDFIndirectObject> indirectObjects;
+    private PDFPages root = new PDFPages();
+    private final List<PDFIndirectObject> leaves = new ArrayList<>();
+    private Reference rootReference;
+    private PDFPages leaf;
+    private Reference leafReference;
+    private int fanOut = DEFAULT_FAN_OUT;
+    private int count;
+
+    /**
+     * Creates a new PDFPageTree.
+     *
+     * @param indirectObjects creates the indirect objects for the nodes in the document
+     */
+    PDFPageTree(Function<PDFObject, PDFIndirectObject> indirectObjects) {
+        this.indirectObjects = indirectObjects;
+    }
+
+    /**
+     * Gets the maximum number of kids of a node.
+     *
+     * @return the fan-out
+     */
+    int getFanOut() {
+        return fanOut;
+    }
+
+    /**
+     * Sets the maximum number of kids of a node. It applies to the pages added after it is set.
+     *
+     * @param fanOut the fan-out
+     * @throws IllegalArgumentException if fanOut is less than 2
+     */
+    void setFanOut(int fanOut) {
+        if (fanOut < 2) {
+            throw new IllegalArgumentException("Fan-out must be at least 2.");
+        }
+        this.fanOut = fanOut;
+    }
+
+    /**
+     * Gets the number of pages in the tree.
+     *
+     * @return the number of pages
+     */
+    int getCount() {
+        return count;
+    }
+
+    /**
+     * Wraps the root node in an indirect object.
+     *
+     * @return the reference to the root node
+     */
+    Reference createRoot() {
+        rootReference = indirectObjects.apply(root).getReference();
+        return rootReference;
+    }
+
+    /**
+     * Makes the tree continue the page tree of an existing file that an incremental update is appended to. The root
+     * node keeps the kids of the existing root node, which may be pages or intermediate nodes.
+     *
+     * @param indirectRoot  the indirect object that wraps the {@linkplain #getRoot() root node} with the object number
+     *                      of the existing root node
+     * @param existingKids  the kids of the existing root node
+     * @param existingCount the number of pages in the existing file
+     */
+    void openExisting(PDFIndirectObject indirectRoot, PDFArray existingKids, int existingCount) {
+        rootReference = indirectRoot.getReference();
+        root.addExistingKids(existingKids, existingCount);
+        count += existingCount;
+    }
+
+    /**
+     * Gets the root node. Completing the tree may replace it.
+     *
+     * @return the root node
+     */
+    PDFPages getRoot() {
+        return root;
+    }
+
+    /**
+     * Adds a page to the last leaf, which is created if it is full. The root must have been created or opened.
+     *
+     * @param page the reference to the page
+     * @return the reference to the leaf that is the page's parent
+     */
+    Reference addPage(Reference page) {
+        count++;
+        if (leaf == null || leaf.getKidCount() >= fanOut) {
+            leaf = new PDFPages();
+            PDFIndirectObject indirectLeaf = indirectObjects.apply(leaf);
+            leafReference = indirectLeaf.getReference();
+            leaves.add(indirectLeaf);
+        }
+        leaf.addPage(page);
+        return leafReference;
+    }
+
+    /**
+     * Completes the tree before the document is written. The leaves are grouped level by level into intermediate
+     * nodes until the remaining nodes fit in the root next to any kids it already has, and they are added to the root.
+     * If the root is already full, it is first pushed down under a new root. The {@code Count} of every node is set
+     * once.
+     *
+     * @return the reference to the root node, which the catalog must point at, or {@code null} if there is no root
+     */
+    Reference complete() {
+        List<PDFIndirectObject> level = new ArrayList<>(leaves);
+        leaves.clear();
+        leaf = null;
+        if (!level.isEmpty() && root.getKidCount() >= fanOut) {
+            pushDownRoot();
+        }
+        int rootCapacity = fanOut - root.getKidCount();
+        while (level.size() > rootCapacity) {
+            List<PDFIndirectObject> parents = new ArrayList<>();
+            for (int start = 0; start < level.size(); start += fanOut) {
+                PDFPages node = new PDFPages();
+                PDFIndirectObject indirectNode = indirectObjects.apply(node);
+                addKids(node, indirectNode.getReference(), level.subList(start, Math.min(start + fanOut, level.size())));
+                parents.add(indirectNode);
+            }
+            level = parents;
+        }
+        addKids(root, rootReference, level);
+        root.putCount();
+        return rootReference;
+    }
+
+    /**
+     * Makes the full root the only kid of a new root. The old root keeps its object number, so the {@code Parent} of
+     * its kids, which may already be written or be in an existing file, stays valid.
+     */
+    private void pushDownRoot() {
+        PDFIndirectObject oldRoot = rootReference.getIndirectObject();
+        root = new PDFPages();
+        rootReference = indirectObjects.apply(root).getReference();
+        addKids(root, rootReference, List.of(oldRoot));
+    }
+
+    private static void addKids(PDFPages node, Reference nodeReference, List<PDFIndirectObject> kids) {
+        for (PDFIndirectObject kid : kids) {
+            PDFPages kidNode = (PDFPages) kid.getObject();
+            kidNode.setParent(nodeReference);
+            kidNode.putCount();
+            node.addKid(kid.getReference(), kidNode.getCount());
+        }
+    }
+}
@@ -12,25 +12,28 @@ import com.justifiedsolutions.justpdf.pdf.object.PDFInteger;
 import com.justifiedsolutions.justpdf.pdf.object.PDFName;
 
 /**
- * Models a Page Tree Node in a PDF document.
+ * Models a Page Tree Node in a PDF document. The number of pages under the node is tracked as kids are added, but the
+ * {@code Count} entry is only updated when {@link #putCount()} is called, once the node is complete.
  *
  * @see "ISO 32000-1:2008, 7.7.3.2"
  */
 final class PDFPages extends PDFDictionary {
 
-    static final PDFName TYPE_NAME = new PDFName("Type");
-    static final PDFName PAGES_NAME = new PDFName("Pages");
-    static final PDFName COUNT_NAME = new PDFName("Count");
-    static final PDFName KIDS_NAME = new PDFName("Kids");
+    static final PDFName TYPE_NAME = PDFName.valueOf("Type");
+    static final PDFName PAGES_NAME = PDFName.valueOf("Pages");
+    static final PDFName COUNT_NAME = PDFName.valueOf("Count");
+    static final PDFName KIDS_NAME = PDFName.valueOf("Kids");
+    static final PDFName PARENT_NAME = PDFName.valueOf("Parent");
 
     private final PDFArray kids = new PDFArray();
+    private int count;
 
     /**
      * Creates a new PDFPages node.
      */
     PDFPages() {
         put(TYPE_NAME, PAGES_NAME);
-        put(COUNT_NAME, new PDFInteger(kids.size()));
+        put(COUNT_NAME, PDFInteger.valueOf(count));
         put(KIDS_NAME, kids);
     }
 
@@ -40,7 +43,65 @@ final class PDFPages extends PDFDictionary {
      * @param reference the reference
      */
     void addPage(PDFIndirectObject.Reference reference) {
+        addKid(reference, 1);
+    }
+
+    /**
+     * Adds a reference to a kid, which may be a PDFPage or another PDFPages node.
+     *
+     * @param reference the reference
+     * @param kidCount  the number of pages under the kid, {@code 1} for a page
+     */
+    void addKid(PDFIndirectObject.Reference reference, int kidCount) {
         kids.add(reference);
-        put(COUNT_NAME, new PDFInteger(kids.size()));
+        count += kidCount;
+    }
+
+    /**
+     * Adds the kids of the page tree node of an existing file that an incremental update is appended to. The kids may
+     * be pages or page tree nodes.
+     *
+     * @param existingKids  the kids of the existing node
+     * @param existingCount the number of pages under the existing node
+     */
+    void addExistingKids(PDFArray existingKids, int existingCount) {
+        for (int index = 0; index < existingKids.size(); index++) {
+            kids.add(existingKids.get(index));
+        }
+        count += existingCount;
+    }
+
+    /**
+     * Sets the reference to the {@code Parent} node. The root node has no parent.
+     *
+     * @param parent the reference
+     */
+    void setParent(PDFIndirectObject.Reference parent) {
+        put(PARENT_NAME, parent);
+    }
+
+    /**
+     * Updates the {@code Count} entry with the number of pages under this node.
+     */
+    void putCount() {
+        put(COUNT_NAME, PDFInteger.valueOf(count));
+    }
+
+    /**
+     * Gets the number of pages under this node.
+     *
+     * @return the number of pages
+     */
+    int getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the number of kids of this node.
+     *
+     * @return the number of kids
+     */
+    int getKidCount() {
+        return kids.size();
     }
 }
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.doc;
+
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
+import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject;
+import com.justifiedsolutions.justpdf.pdf.object.PDFObject;
+import com.justifiedsolutions.justpdf.pdf.object.PDFStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Serializes {@link PDFIndirectObject}s in parallel on an {@link Executor}. The objects are split into runs of
+ * consecutive objects, and each run is serialized into its own buffer, which records the offset of each object from
+ * the start of the buffer. The buffers are then written in order. The byte offset of an object is the number of bytes
+ * in the file before its buffer, which is the sum of the sizes of the buffers before it, plus its offset in its
+ * buffer, so the bytes written are the same as if the objects were serialized one after the other.
+ *
+ * <p>Streams are not copied into a buffer. They end a run and are written by the writing thread straight into the
+ * sink, so spilled or mapped data stays off the heap and large buffers still reach the channel. Only a few runs per
+ * thread of the executor are in flight at a time, so the buffers never hold more than a small part of the
+ * document.</p>
+ */
+final class PDFParallelSerializer {
+
+    /**
+     * The number of objects serialized by each task.
+     */
+    static final int OBJECTS_PER_TASK = 64;
+
+    /**
+     * The number of runs waiting to be written for each thread of the executor.
+     */
+    static final int RUNS_PER_THREAD = 2;
+
+    private final Executor executor;
+    private final int maxRunsInFlight;
+
+    /**
+     * Creates a new PDFParallelSerializer.
+     *
+     * @param executor the executor the objects are serialized on
+     */
+    PDFParallelSerializer(Executor executor) {
+        this.executor = Objects.requireNonNull(executor);
+        this.maxRunsInFlight = RUNS_PER_THREAD * getParallelism(executor);
+    }
+
+    /**
+     * Gets the maximum number of runs, including streams, that are waiting to be written.
+     *
+     * @return the maximum number of runs in flight
+     */
+    int getMaxRunsInFlight() {
+        return maxRunsInFlight;
+    }
+
+    /**
+     * Serializes the objects in parallel, then writes them in order and sets their byte offsets. Streams are written
+     * on the calling thread, in their place between the runs.
+     *
+     * @param objects the objects to write
+     * @param out     the sink to write to
+     * @throws IOException if there is an issue serializing or writing the objects
+     */
+    void write(List<PDFIndirectObject> objects, PDFByteSink out) throws IOException {
+        Deque<Future<SerializedRun>> pending = new ArrayDeque<>();
+        int next = 0;
+        while (next < objects.size() || !pending.isEmpty()) {
+            while (next < objects.size() && pending.size() < maxRunsInFlight) {
+                int end = next + 1;
+                if (isStream(objects.get(next))) {
+                    pending.add(CompletableFuture.completedFuture(new SerializedRun(objects.subList(next, end), null)));
+                } else {
+                    while (end < objects.size() && end - next < OBJECTS_PER_TASK && !isStream(objects.get(end))) {
+                        end++;
+                    }
+                    List<PDFIndirectObject> run = objects.subList(next, end);
+                    pending.add(CompletableFuture.supplyAsync(() -> serialize(run), executor));
+                }
+                next = end;
+            }
+            writeRun(await(pending.remove()), out);
+        }
+    }
+
+    /**
+     * Writes a serialized run, or the stream that takes the place of one.
+     */
+    private static void writeRun(SerializedRun run, PDFByteSink out) throws IOException {
+        if (run.bytes == null) {
+            PDFIndirectObject stream = run.objects.get(0);
+            stream.setByteOffset(out.getCount());
+            stream.writeToPDF(out);
+            return;
+        }
+        long start = out.getCount();
+        for (int index = 0; index < run.objects.size(); index++) {
+            run.objects.get(index).setByteOffset(start + run.offsets[index]);
+        }
+        run.bytes.writeTo(out);
+    }
+
+    /**
+     * Specifies if the object is a stream, which is written by the calling thread instead of being copied into a
+     * buffer. A released object is not, so serializing it fails in its run.
+     */
+    private static boolean isStream(PDFIndirectObject indirectObject) {
+        PDFObject object = indirectObject.getObject();
+        return object instanceof PDFStream || object instanceof PDFRawStream || object instanceof PDFPendingStream;
+    }
+
+    /**
+     * Gets the number of threads of the executor, or the number of processors if it does not say.
+     */
+    private static int getParallelism(Executor executor) {
+        if (executor instanceof ForkJoinPool) {
+            return ((ForkJoinPool) executor).getParallelism();
+        }
+        int processors = Runtime.getRuntime().availableProcessors();
+        if (executor instanceof ThreadPoolExecutor) {
+            return Math.max(1, Math.min(processors, ((ThreadPoolExecutor) executor).getMaximumPoolSize()));
+        }
+        return processors;
+    }
+
+    /**
+     * Serializes a run of objects into a new buffer.
+     *
+     * @param objects the objects to serialize
+     * @return the serialized run
+     * @throws UncheckedIOException if there is an issue serializing an object
+     */
+    private static SerializedRun serialize(List<PDFIndirectObject> objects) {
+        SerializedRun result = new SerializedRun(objects, new ByteArrayOutputStream());
+        try (PDFByteSink sink = new PDFByteSink(result.bytes)) {
+            for (int index = 0; index < objects.size(); index++) {
+                result.offsets[index] = sink.getCount();
+                objects.get(index).writeToPDF(sink);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return result;
+    }
+
+    /**
+     * Waits for a run to be serialized.
+     *
+     * @param future the future that completes with the run
+     * @return the serialized run
+     * @throws IOException if there was an issue serializing the run, or the thread was interrupted while waiting
+     */
+    private static SerializedRun await(Future<SerializedRun> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            InterruptedIOException exception = new InterruptedIOException("Interrupted waiting for objects.");
+            exception.initCause(e);
+            throw exception;
+        } catch (ExecutionException e) {
+            throw new IOException("Unable to serialize objects.", e);
+        }
+    }
+
+    /**
+     * The bytes of a run of serialized objects, and the offset of each object in them. A stream, which is written
+     * directly, is a run of one object without bytes.
+     */
+    private static final class SerializedRun {
+
+        private final List<PDFIndirectObject> objects;
+        private final long[] offsets;
+        private final ByteArrayOutputStream bytes;
+
+        SerializedRun(List<PDFIndirectObject> objects, ByteArrayOutputStream bytes) {
+            this.objects = objects;
+            this.offsets = new long[objects.size()];
+            this.bytes = bytes;
+        }
+    }
+}
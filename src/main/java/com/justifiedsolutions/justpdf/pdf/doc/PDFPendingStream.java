@@ -0,0 +1,94 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.doc;
+
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
+import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject;
+import com.justifiedsolutions.justpdf.pdf.object.PDFObject;
+import com.justifiedsolutions.justpdf.pdf.object.PDFStream;
+import com.justifiedsolutions.justpdf.pdf.object.PDFStreamStore;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * A placeholder for a {@link PDFStream} that is still being created on another thread, such as page contents that are
+ * being compressed. It allows the stream to be wrapped in a {@link PDFIndirectObject} and referenced before it is
+ * complete. Writing it waits for the stream.
+ */
+final class PDFPendingStream implements PDFObject {
+
+    private Future<PDFStream> stream;
+
+    /**
+     * Creates a new PDFPendingStream for the specified {@link Future}.
+     *
+     * @param stream the future that completes with the stream
+     */
+    PDFPendingStream(Future<PDFStream> stream) {
+        this.stream = Objects.requireNonNull(stream);
+    }
+
+    /**
+     * Specifies if the stream is complete, so writing it will not wait.
+     *
+     * @return true if the stream is complete
+     */
+    boolean isDone() {
+        return stream.isDone();
+    }
+
+    /**
+     * Waits for the stream to be complete and returns it.
+     *
+     * @return the stream
+     * @throws IOException if the stream could not be created, or the thread was interrupted while waiting
+     */
+    PDFStream getStream() throws IOException {
+        try {
+            return stream.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            InterruptedIOException exception = new InterruptedIOException("Interrupted waiting for a stream.");
+            exception.initCause(e);
+            throw exception;
+        } catch (ExecutionException e) {
+            throw new IOException("Unable to create stream.", e);
+        }
+    }
+
+    /**
+     * Moves the data of the stream to the specified {@link PDFStreamStore} once the stream is complete. If it is not
+     * complete yet, and it is created by a {@link CompletableFuture}, the data is moved on the thread that completes
+     * it. Otherwise, the data of a stream that is not complete stays on the heap.
+     *
+     * @param store the store
+     * @throws IOException if the stream is complete but could not be created, or there is an issue moving its data
+     */
+    void spill(PDFStreamStore store) throws IOException {
+        if (stream.isDone()) {
+            store.spill(getStream());
+        } else if (stream instanceof CompletableFuture) {
+            stream = ((CompletableFuture<PDFStream>) stream).thenApply(complete -> {
+                try {
+                    return store.spill(complete);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void writeToPDF(PDFByteSink pdf) throws IOException {
+        getStream().writeToPDF(pdf);
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.doc;
+
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
+import com.justifiedsolutions.justpdf.pdf.object.PDFObject;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * An object read from an existing PDF file that is written back exactly as it was read, such as a string or a real
+ * number. Its value is never interpreted.
+ */
+final class PDFRawObject implements PDFObject {
+
+    private final byte[] bytes;
+
+    /**
+     * Creates a new PDFRawObject from a copy of the specified bytes.
+     *
+     * @param bytes  the bytes the object was written with
+     * @param offset the index of the first byte of the object
+     * @param length the number of bytes in the object
+     */
+    PDFRawObject(byte[] bytes, int offset, int length) {
+        this.bytes = Arrays.copyOfRange(bytes, offset, offset + length);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bytes);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        PDFRawObject that = (PDFRawObject) o;
+        return Arrays.equals(bytes, that.bytes);
+    }
+
+    @Override
+    public void writeToPDF(PDFByteSink pdf) throws IOException {
+        pdf.write(bytes);
+    }
+}
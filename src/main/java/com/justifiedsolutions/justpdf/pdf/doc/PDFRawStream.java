@@ -0,0 +1,83 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.doc;
+
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
+import com.justifiedsolutions.justpdf.pdf.object.PDFDictionary;
+import com.justifiedsolutions.justpdf.pdf.object.PDFObject;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A stream read from an existing PDF file. Its dictionary is parsed, so the references in it can be followed, but its
+ * data is written back exactly as it was read, still encoded with its filters.
+ *
+ * @see "ISO 32000-1:2008, 7.3.8"
+ */
+final class PDFRawStream implements PDFObject {
+
+    private final PDFDictionary dictionary;
+    private final byte[] data;
+
+    /**
+     * Creates a new PDFRawStream.
+     *
+     * @param dictionary the stream dictionary, whose {@code Length} is the length of the data
+     * @param data       the encoded data of the stream, which must not be modified afterwards
+     */
+    @SuppressWarnings("PMD.ArrayIsStoredDirectly") // the data is read from the file for this stream only
+    PDFRawStream(PDFDictionary dictionary, byte[] data) {
+        this.dictionary = Objects.requireNonNull(dictionary);
+        this.data = Objects.requireNonNull(data);
+    }
+
+    /**
+     * Gets the stream dictionary.
+     *
+     * @return the dictionary
+     */
+    PDFDictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Creates a stream with the same data and the specified dictionary, such as a copy of the dictionary whose
+     * references point at the objects of another document.
+     *
+     * @param newDictionary the dictionary of the new stream
+     * @return the new stream
+     */
+    PDFRawStream withDictionary(PDFDictionary newDictionary) {
+        return new PDFRawStream(newDictionary, data);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * dictionary.hashCode() + Arrays.hashCode(data);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        PDFRawStream that = (PDFRawStream) o;
+        return dictionary.equals(that.dictionary) && Arrays.equals(data, that.data);
+    }
+
+    @Override
+    public void writeToPDF(PDFByteSink pdf) throws IOException {
+        dictionary.writeToPDF(pdf);
+        pdf.writeAscii("\nstream\n");
+        pdf.write(data);
+        pdf.writeAscii("\nendstream\n");
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.doc;
+
+import com.justifiedsolutions.justpdf.pdf.object.PDFName;
+
+/**
+ * Specifies the types of named resources a page's content stream can use. Each type has its own subdictionary of the
+ * Resources dictionary, and the names a page gives its resources of that type start with a prefix.
+ *
+ * @see "ISO 32000-1:2008, 7.8.3"
+ */
+public enum PDFResourceType {
+    FONT(PDFName.valueOf("Font"), "F"),
+    X_OBJECT(PDFName.valueOf("XObject"), "X"),
+    EXT_G_STATE(PDFName.valueOf("ExtGState"), "GS");
+
+    private final PDFName key;
+    private final String prefix;
+
+    PDFResourceType(PDFName key, String prefix) {
+        this.key = key;
+        this.prefix = prefix;
+    }
+
+    /**
+     * Gets the key of the subdictionary of the Resources dictionary that holds resources of this type.
+     *
+     * @return the key
+     */
+    public PDFName getKey() {
+        return key;
+    }
+
+    /**
+     * Gets the name of the resource of this type with the specified index on a page.
+     *
+     * @param index the index, starting at {@code 1}
+     * @return the name
+     */
+    PDFName getName(int index) {
+        return PDFName.valueOf(prefix + index);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.doc;
+
+import com.justifiedsolutions.justpdf.pdf.object.PDFArray;
+import com.justifiedsolutions.justpdf.pdf.object.PDFDictionary;
+import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject;
+import com.justifiedsolutions.justpdf.pdf.object.PDFName;
+
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Models Page Resources in a PDF document. The names of the resources of each type are kept in a map keyed by the
+ * identity of their references, alongside the subdictionary of that type. A Resources dictionary either belongs to a
+ * single {@link PDFPage}, or is shared by several pages of a {@link PDFDocument}.
+ *
+ * @see "ISO 32000-1:2008, 7.8.3"
+ */
+final class PDFResources extends PDFDictionary {
+    private static final PDFName PROC_SET = PDFName.valueOf("ProcSet");
+
+    private final Map<PDFResourceType, Map<PDFIndirectObject.Reference, PDFName>> names =
+            new EnumMap<>(PDFResourceType.class);
+
+    /**
+     * Creates a new Resources dictionary with the {@code ProcSet} entry and no resources.
+     */
+    PDFResources() {
+        PDFArray procSet = new PDFArray();
+        procSet.add(PDFName.valueOf("PDF"));
+        procSet.add(PDFName.valueOf("Text"));
+        procSet.add(PDFName.valueOf("ImageB"));
+        procSet.add(PDFName.valueOf("ImageC"));
+        procSet.add(PDFName.valueOf("ImageI"));
+        put(PROC_SET, procSet);
+    }
+
+    /**
+     * Adds a reference to a resource of the specified type. A reference that has already been added gets the same
+     * name.
+     *
+     * @param type      the type of the resource
+     * @param reference the reference
+     * @return the name that identifies the reference
+     */
+    PDFName addResource(PDFResourceType type, PDFIndirectObject.Reference reference) {
+        Map<PDFIndirectObject.Reference, PDFName> typeNames = names.get(type);
+        if (typeNames == null) {
+            typeNames = new IdentityHashMap<>();
+            names.put(type, typeNames);
+            put(type.getKey(), new PDFDictionary());
+        }
+        PDFName result = typeNames.get(reference);
+        if (result == null) {
+            result = type.getName(typeNames.size() + 1);
+            typeNames.put(reference, result);
+            ((PDFDictionary) get(type.getKey())).put(result, reference);
+        }
+        return result;
+    }
+}
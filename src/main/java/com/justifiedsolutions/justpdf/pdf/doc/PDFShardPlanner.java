@@ -0,0 +1,162 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.doc;
+
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
+import com.justifiedsolutions.justpdf.pdf.object.PDFArray;
+import com.justifiedsolutions.justpdf.pdf.object.PDFDictionary;
+import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject;
+import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject.Reference;
+import com.justifiedsolutions.justpdf.pdf.object.PDFObject;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Works out the ranges of pages of the shards a {@link PDFDocument} held in memory is split into. The byte size of a
+ * shard is estimated from the serialized size of the indirect objects its pages use, plus a cross reference entry for
+ * each of them. An object that several pages of a shard use, such as a font, is only counted once per shard.
+ *
+ * @see PDFDocumentSplitter
+ */
+final class PDFShardPlanner {
+
+    private static final int XREF_ENTRY_LENGTH = 20;
+
+    private final int maxPages;
+    private final long maxBytes;
+    private final Map<PDFIndirectObject, Long> sizes = new IdentityHashMap<>();
+
+    /**
+     * Creates a new PDFShardPlanner.
+     *
+     * @param maxPages the maximum number of pages in a shard
+     * @param maxBytes the maximum number of bytes in a shard, {@link Long#MAX_VALUE} for no maximum
+     */
+    PDFShardPlanner(int maxPages, long maxBytes) {
+        this.maxPages = maxPages;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Works out the pages of each shard. A page starts a new shard if the current shard already has the maximum number
+     * of pages, or if the objects the page uses that are not already in the current shard would take it over the
+     * maximum number of bytes.
+     *
+     * @param pages the pages of the document
+     * @return the pages of each shard
+     * @throws IOException if an object of a page has already been released
+     */
+    List<List<Reference>> plan(List<Reference> pages) throws IOException {
+        List<List<Reference>> result = new ArrayList<>();
+        List<Reference> shard = new ArrayList<>();
+        Set<PDFIndirectObject> shardObjects = Collections.newSetFromMap(new IdentityHashMap<>());
+        long shardBytes = 0;
+        for (Reference page : pages) {
+            Set<PDFIndirectObject> added = collectObjects(page, shardObjects);
+            long addedBytes = measure(added);
+            if (!shard.isEmpty() && (shard.size() == maxPages || shardBytes + addedBytes > maxBytes)) {
+                result.add(shard);
+                shard = new ArrayList<>();
+                shardObjects.clear();
+                shardBytes = 0;
+                added = collectObjects(page, shardObjects);
+                addedBytes = measure(added);
+            }
+            shard.add(page);
+            shardObjects.addAll(added);
+            shardBytes += addedBytes;
+        }
+        if (!shard.isEmpty()) {
+            result.add(shard);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the indirect objects that a page uses, including the page itself, that are not in the specified set. The
+     * {@code Parent} of the page is not followed.
+     */
+    private static Set<PDFIndirectObject> collectObjects(Reference page, Set<PDFIndirectObject> exclude)
+            throws IOException {
+        Set<PDFIndirectObject> result = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<PDFObject> values = new ArrayDeque<>();
+        values.push(page);
+        while (!values.isEmpty()) {
+            PDFObject value = values.pop();
+            if (value instanceof Reference) {
+                PDFIndirectObject object = ((Reference) value).getIndirectObject();
+                if (!exclude.contains(object) && result.add(object)) {
+                    values.push(resolve(object));
+                }
+            } else {
+                pushValues(value, values);
+            }
+        }
+        return result;
+    }
+
+    private static PDFObject resolve(PDFIndirectObject object) throws IOException {
+        PDFObject result = object.getObject();
+        if (result == null) {
+            throw new IOException("The object has already been written and released.");
+        }
+        return result;
+    }
+
+    /**
+     * Pushes the values that a direct object contains.
+     */
+    private static void pushValues(PDFObject value, Deque<PDFObject> values) {
+        if (value instanceof PDFRawStream) {
+            values.push(((PDFRawStream) value).getDictionary());
+        } else if (value instanceof PDFDictionary) {
+            PDFDictionary dictionary = (PDFDictionary) value;
+            boolean page = PDFObjectCopier.hasType(dictionary, PDFPage.PAGE_NAME);
+            dictionary.forEach((key, entry) -> {
+                if (!page || !PDFPage.PARENT_NAME.equals(key)) {
+                    values.push(entry);
+                }
+            });
+        } else if (value instanceof PDFArray) {
+            PDFArray array = (PDFArray) value;
+            for (int index = 0; index < array.size(); index++) {
+                values.push(array.get(index));
+            }
+        }
+    }
+
+    /**
+     * Gets the number of bytes the objects take up in a file, including their cross reference entries. The size of
+     * each object is only measured once. Nothing is measured if there is no maximum number of bytes.
+     */
+    private long measure(Set<PDFIndirectObject> objects) throws IOException {
+        if (maxBytes == Long.MAX_VALUE) {
+            return 0;
+        }
+        long result = 0;
+        for (PDFIndirectObject object : objects) {
+            Long size = sizes.get(object);
+            if (size == null) {
+                try (PDFByteSink sink = new PDFByteSink(OutputStream.nullOutputStream())) {
+                    object.writeToPDF(sink);
+                    size = sink.getCount() + XREF_ENTRY_LENGTH;
+                }
+                sizes.put(object, size);
+            }
+            result += size;
+        }
+        return result;
+    }
+}
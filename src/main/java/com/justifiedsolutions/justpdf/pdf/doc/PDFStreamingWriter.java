@@ -0,0 +1,110 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.doc;
+
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
+import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Writes the pages of a streaming {@link PDFDocument} to its {@link OutputStream} as soon as they are complete. Pages
+ * are written in the order they are completed, each one once its contents are ready.
+ */
+final class PDFStreamingWriter {
+
+    private static final PDFHeader HEADER = new PDFHeader();
+
+    private final OutputStream output;
+    private final PDFObjectWriter objectWriter;
+    private final Deque<PDFPage> completedPages = new ArrayDeque<>();
+    private PDFByteSink sink;
+    @SuppressWarnings("PMD.AvoidMessageDigestField") // a writer writes one document on one thread
+    private final MessageDigest digest;
+
+    /**
+     * Creates a new PDFStreamingWriter.
+     *
+     * @param output       the stream the document is written to
+     * @param objectWriter places the objects of the document
+     * @param digest       the digest that every byte written is added to, from the file header on, or {@code null}
+     */
+    PDFStreamingWriter(OutputStream output, PDFObjectWriter objectWriter, MessageDigest digest) {
+        this.output = output;
+        this.objectWriter = objectWriter;
+        this.digest = digest;
+    }
+
+    /**
+     * Adds a completed page, and writes the completed pages whose contents are ready.
+     *
+     * @param page the completed page
+     * @throws IOException if there is an issue writing the pages
+     */
+    void completePage(PDFPage page) throws IOException {
+        completedPages.add(page);
+        writeCompletedPages(false);
+    }
+
+    /**
+     * Writes every completed page, waiting for their contents, and gets the sink the rest of the document is written
+     * to.
+     *
+     * @param pdf the OutputStream the document is written to
+     * @return the sink
+     * @throws IOException              if there is an issue writing the pages
+     * @throws IllegalArgumentException if pdf is not the stream the document was created with
+     */
+    PDFByteSink finish(OutputStream pdf) throws IOException {
+        if (!output.equals(pdf)) {
+            throw new IllegalArgumentException("A streaming document must be written to the stream it was created with.");
+        }
+        writeCompletedPages(true);
+        return getSink();
+    }
+
+    /**
+     * Gets the sink. The file header is written the first time this is called.
+     *
+     * @return the sink
+     * @throws IOException if there is an issue writing the header
+     */
+    private PDFByteSink getSink() throws IOException {
+        if (sink == null) {
+            sink = new PDFByteSink((digest == null) ? output : new DigestOutputStream(output, digest));
+            HEADER.writeToPDF(sink);
+        }
+        return sink;
+    }
+
+    /**
+     * Writes the completed pages, in the order they were completed. Unless waiting, this stops at the first page whose
+     * contents are not ready.
+     *
+     * @param wait true to wait for the contents of every completed page
+     * @throws IOException if there is an issue writing the pages
+     */
+    private void writeCompletedPages(boolean wait) throws IOException {
+        boolean written = false;
+        while (!completedPages.isEmpty() && (wait || completedPages.peek().isContentsReady())) {
+            PDFPage page = completedPages.remove();
+            PDFIndirectObject indirectContents = page.getIndirectContents();
+            if (indirectContents != null) {
+                objectWriter.place(indirectContents, getSink());
+            }
+            objectWriter.place(page.getIndirectPage(), getSink());
+            written = true;
+        }
+        if (written) {
+            getSink().flush();
+        }
+    }
+}
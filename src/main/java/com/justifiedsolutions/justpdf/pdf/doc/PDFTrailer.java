@@ -5,28 +5,31 @@
 
 package com.justifiedsolutions.justpdf.pdf.doc;
 
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
+import com.justifiedsolutions.justpdf.pdf.PDFWritable;
+import com.justifiedsolutions.justpdf.pdf.object.PDFArray;
 import com.justifiedsolutions.justpdf.pdf.object.PDFDictionary;
 import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject;
 import com.justifiedsolutions.justpdf.pdf.object.PDFInteger;
 import com.justifiedsolutions.justpdf.pdf.object.PDFName;
 
 import java.io.IOException;
-import java.io.OutputStream;
-import java.nio.charset.StandardCharsets;
 
 /**
  * Models a trailer in a PDF document.
  *
  * @see "ISO 32000-1:2008, 7.5.5"
  */
-final class PDFTrailer {
+final class PDFTrailer implements PDFWritable {
 
-    private static final PDFName ROOT = new PDFName("Root");
-    private static final PDFName INFO = new PDFName("Info");
-    private static final PDFName SIZE = new PDFName("Size");
+    static final PDFName ROOT = PDFName.valueOf("Root");
+    static final PDFName INFO = PDFName.valueOf("Info");
+    static final PDFName SIZE = PDFName.valueOf("Size");
+    static final PDFName PREV = PDFName.valueOf("Prev");
+    static final PDFName ID = PDFName.valueOf("ID");
 
     private final PDFDictionary dictionary = new PDFDictionary();
-    private PDFInteger totalBytes;
+    private long totalBytes;
 
     /**
      * Sets the number of indirect objects in the file.
@@ -55,6 +58,35 @@ final class PDFTrailer {
         dictionary.put(INFO, info);
     }
 
+    /**
+     * Sets the byte offset of the previous cross reference section.
+     *
+     * @param prev the byte offset of the previous cross reference section
+     */
+    void setPrev(long prev) {
+        dictionary.put(PREV, new PDFByteOffset(prev));
+    }
+
+    /**
+     * Sets the file identifier.
+     *
+     * @param id the file identifier
+     */
+    void setId(PDFFileIdentifier id) {
+        dictionary.put(ID, id);
+    }
+
+    /**
+     * Sets the file identifier to the one read from the trailer of an existing file, which an incremental update of
+     * that file keeps.
+     *
+     * @param id the array of the two byte strings of the file identifier
+     * @see "ISO 32000-1:2008, 14.4"
+     */
+    void setId(PDFArray id) {
+        dictionary.put(ID, id);
+    }
+
     /**
      * Specifies if the PDFTrailer has an {@code Info} entry.
      *
@@ -64,26 +96,53 @@ final class PDFTrailer {
         return dictionary.containsKey(INFO);
     }
 
+    /**
+     * Specifies if the PDFTrailer has an {@code ID} entry.
+     *
+     * @return true if ID is in the dictionary
+     */
+    boolean hasId() {
+        return dictionary.containsKey(ID);
+    }
+
     /**
      * Sets the total number of bytes in the PDF prior to the Cross Reference Table.
      *
      * @param totalBytes the total number of bytes
      */
-    void setTotalBytes(PDFInteger totalBytes) {
+    void setTotalBytes(long totalBytes) {
         this.totalBytes = totalBytes;
     }
 
     /**
-     * Writes the PDF syntax to the specified {@link OutputStream}
+     * Gets the trailer dictionary. When a cross reference stream is used, its entries are written in the stream
+     * dictionary instead of a trailer.
      *
-     * @param pdf the OutputStream
-     * @throws IOException if there was an issue writing to the stream
+     * @return the trailer dictionary
      */
-    void writeToPDF(OutputStream pdf) throws IOException {
-        pdf.write("trailer\n".getBytes(StandardCharsets.US_ASCII));
+    PDFDictionary getDictionary() {
+        return dictionary;
+    }
+
+    @Override
+    public void writeToPDF(PDFByteSink pdf) throws IOException {
+        pdf.writeAscii("trailer\n");
         dictionary.writeToPDF(pdf);
-        pdf.write("\nstartxref\n".getBytes(StandardCharsets.US_ASCII));
-        totalBytes.writeToPDF(pdf);
-        pdf.write("\n%%EOF".getBytes(StandardCharsets.US_ASCII));
+        pdf.write('\n');
+        writeStartXRef(pdf);
+    }
+
+    /**
+     * Writes the {@code startxref} keyword, the offset of the cross reference section and the end-of-file marker. This
+     * is all that follows a cross reference stream.
+     *
+     * @param pdf the PDFByteSink
+     * @throws IOException if there was an issue writing to the stream
+     * @see "ISO 32000-1:2008, 7.5.8.1"
+     */
+    void writeStartXRef(PDFByteSink pdf) throws IOException {
+        pdf.writeAscii("startxref\n");
+        pdf.writeLong(totalBytes);
+        pdf.writeAscii("\n%%EOF");
     }
 }
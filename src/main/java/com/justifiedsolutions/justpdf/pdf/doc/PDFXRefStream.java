@@ -0,0 +1,175 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.doc;
+
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
+import com.justifiedsolutions.justpdf.pdf.filter.DeflateFilter;
+import com.justifiedsolutions.justpdf.pdf.filter.PDFFilter;
+import com.justifiedsolutions.justpdf.pdf.object.PDFArray;
+import com.justifiedsolutions.justpdf.pdf.object.PDFDictionary;
+import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject;
+import com.justifiedsolutions.justpdf.pdf.object.PDFInteger;
+import com.justifiedsolutions.justpdf.pdf.object.PDFName;
+import com.justifiedsolutions.justpdf.pdf.object.PDFObject;
+import com.justifiedsolutions.justpdf.pdf.object.PDFStream;
+import com.justifiedsolutions.justpdf.pdf.object.PDFStreamBuffer;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Models a Cross Reference Stream in a PDF document. This replaces both the {@link PDFXRefTable} and the trailer
+ * dictionary. The stream must be wrapped in its own {@link PDFIndirectObject}, and its byte offset must be set before it
+ * is written, since the stream contains an entry for itself.
+ *
+ * @see "ISO 32000-1:2008, 7.5.8"
+ */
+final class PDFXRefStream implements PDFObject {
+
+    static final PDFName TYPE = PDFName.valueOf("Type");
+    static final PDFName XREF = PDFName.valueOf("XRef");
+    static final PDFName W = PDFName.valueOf("W");
+
+    private static final int TYPE_FREE = 0;
+    private static final int TYPE_IN_USE = 1;
+    private static final int TYPE_COMPRESSED = 2;
+    private static final int FIELD_3_WIDTH = 2;
+
+    private final PDFObjectRegistry registry = new PDFObjectRegistry();
+    private int[] streamNumbers = new int[0];
+    private int[] streamIndexes = new int[0];
+    private PDFDictionary trailer = new PDFDictionary();
+
+    /**
+     * Sets the {@link PDFIndirectObject}s used in the document. This must include the indirect object that wraps this
+     * stream. They are indexed by object number in a single pass, so they do not need to be sorted.
+     *
+     * @param indirectObjects the indirect objects, in any order
+     * @throws IllegalArgumentException if two of the objects have the same object number
+     */
+    void setIndirectObjects(Collection<PDFIndirectObject> indirectObjects) {
+        registry.setIndirectObjects(indirectObjects);
+    }
+
+    /**
+     * Records that the {@link PDFIndirectObject} is stored in an Object Stream rather than at a byte offset.
+     *
+     * @param indirectObject the compressed object
+     * @param objectStream   the indirect object that wraps the Object Stream
+     * @param index          the index of the object within the Object Stream
+     */
+    void addCompressedObject(PDFIndirectObject indirectObject, PDFIndirectObject objectStream, int index) {
+        int objectNumber = indirectObject.getNumber();
+        if (objectNumber >= streamNumbers.length) {
+            int length = Math.max(objectNumber + 1, streamNumbers.length * 2);
+            streamNumbers = Arrays.copyOf(streamNumbers, length);
+            streamIndexes = Arrays.copyOf(streamIndexes, length);
+        }
+        streamNumbers[objectNumber] = objectStream.getNumber();
+        streamIndexes[objectNumber] = index;
+    }
+
+    /**
+     * Specifies if the {@link PDFIndirectObject} is stored in an Object Stream.
+     *
+     * @param indirectObject the object to check
+     * @return true if the object is compressed
+     */
+    boolean isCompressed(PDFIndirectObject indirectObject) {
+        return isCompressed(indirectObject.getNumber());
+    }
+
+    private boolean isCompressed(int objectNumber) {
+        return objectNumber < streamNumbers.length && streamNumbers[objectNumber] != 0;
+    }
+
+    /**
+     * Sets the trailer dictionary. Its entries are written in the stream dictionary.
+     *
+     * @param trailer the trailer dictionary
+     */
+    void setTrailer(PDFDictionary trailer) {
+        this.trailer = trailer;
+    }
+
+    @Override
+    public void writeToPDF(PDFByteSink pdf) throws IOException {
+        long maxField2 = 0;
+        for (int objectNumber = 1; objectNumber <= registry.getLastObjectNumber(); objectNumber++) {
+            maxField2 = Math.max(maxField2, getField2(objectNumber));
+        }
+        int field2Width = getWidth(maxField2);
+
+        PDFFilter filter = new DeflateFilter();
+        PDFStreamBuffer data = new PDFStreamBuffer();
+        try (PDFByteSink entries = new PDFByteSink(filter.wrap(data))) {
+            writeEntry(entries, TYPE_FREE, 0, field2Width, 65_535);
+            for (int objectNumber = 1; objectNumber <= registry.getLastObjectNumber(); objectNumber++) {
+                writeEntry(entries, objectNumber, field2Width);
+            }
+        }
+        PDFStream stream = data.toStream();
+        PDFArray filters = new PDFArray();
+        filters.add(filter.getDecodeFilterName());
+        stream.addFilter(filters);
+        trailer.forEach(stream::put);
+        stream.put(TYPE, XREF);
+        PDFArray widths = new PDFArray();
+        widths.add(PDFInteger.valueOf(1));
+        widths.add(PDFInteger.valueOf(field2Width));
+        widths.add(PDFInteger.valueOf(FIELD_3_WIDTH));
+        stream.put(W, widths);
+        stream.writeToPDF(pdf);
+    }
+
+    /**
+     * Gets the second field of the entry for an object number: the object number of the Object Stream a compressed
+     * object is stored in, or the byte offset of any other object.
+     */
+    private long getField2(int objectNumber) {
+        if (isCompressed(objectNumber)) {
+            return streamNumbers[objectNumber];
+        }
+        PDFIndirectObject indirectObject = registry.get(objectNumber);
+        return (indirectObject == null) ? 0 : indirectObject.getByteOffset();
+    }
+
+    /**
+     * Writes the entry for an object number. A number that no object has gets a free entry.
+     */
+    private void writeEntry(PDFByteSink entries, int objectNumber, int field2Width) throws IOException {
+        PDFIndirectObject indirectObject = registry.get(objectNumber);
+        if (isCompressed(objectNumber)) {
+            writeEntry(entries, TYPE_COMPRESSED, streamNumbers[objectNumber], field2Width, streamIndexes[objectNumber]);
+        } else if (indirectObject == null) {
+            writeEntry(entries, TYPE_FREE, 0, field2Width, 0);
+        } else {
+            writeEntry(entries, TYPE_IN_USE, indirectObject.getByteOffset(), field2Width,
+                    indirectObject.getGeneration());
+        }
+    }
+
+    private static int getWidth(long value) {
+        int width = 1;
+        long remaining = value >>> 8;
+        while (remaining != 0) {
+            width++;
+            remaining >>>= 8;
+        }
+        return width;
+    }
+
+    private static void writeEntry(PDFByteSink data, int type, long field2, int field2Width, int field3)
+            throws IOException {
+        data.write(type);
+        for (int shift = (field2Width - 1) * 8; shift >= 0; shift -= 8) {
+            data.write((int) (field2 >>> shift));
+        }
+        data.write(field3 >>> 8);
+        data.write(field3);
+    }
+}
@@ -5,71 +5,149 @@
 
 package com.justifiedsolutions.justpdf.pdf.doc;
 
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
 import com.justifiedsolutions.justpdf.pdf.PDFWritable;
 import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject;
 
 import java.io.IOException;
-import java.io.OutputStream;
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
 
 /**
- * Models the Cross Reference Table in a PDF document.
+ * Models the Cross Reference Table in a PDF document. Every entry is exactly {@value #ENTRY_LENGTH} bytes long, with a
+ * byte offset of {@value #OFFSET_DIGITS} digits, so a table cannot list an object that starts at or beyond
+ * {@value #OFFSET_LIMIT} bytes into the file.
  *
  * @see "ISO 32000-1:2008, 7.5.4"
  */
 final class PDFXRefTable implements PDFWritable {
 
-    private final List<PDFIndirectObject> indirectObjects = new ArrayList<>();
+    /**
+     * The length in bytes of each entry in the table.
+     */
+    static final int ENTRY_LENGTH = 20;
+
+    /**
+     * The number of digits of the byte offset at the start of each entry.
+     */
+    static final int OFFSET_DIGITS = 10;
+
+    /**
+     * The smallest byte offset that does not fit in an entry.
+     */
+    static final long OFFSET_LIMIT = 10_000_000_000L;
+
+    private final PDFObjectRegistry registry = new PDFObjectRegistry();
+    private boolean freeEntry = true;
 
     @Override
-    public void writeToPDF(OutputStream pdf) throws IOException {
-        String line = String.format("xref\n0 %d\n", indirectObjects.size() + 1);
-        pdf.write(line.getBytes(StandardCharsets.US_ASCII));
-        new PDFXrefTableEntry().writeToPDF(pdf);
-        for (PDFIndirectObject indirectObject : indirectObjects) {
-            new PDFXrefTableEntry(indirectObject).writeToPDF(pdf);
+    public void writeToPDF(PDFByteSink pdf) throws IOException {
+        pdf.writeAscii("xref\n");
+        int objectNumber = registry.getFirstObjectNumber();
+        if (freeEntry) {
+            objectNumber = writeSubsection(pdf, 0, (objectNumber == 1) ? registry.getRunEnd(1) : 1);
+        }
+        while (objectNumber <= registry.getLastObjectNumber()) {
+            int end = registry.getRunEnd(objectNumber);
+            objectNumber = (end == objectNumber) ? objectNumber + 1 : writeSubsection(pdf, objectNumber, end);
         }
     }
 
     /**
-     * Sets the list of {@link PDFIndirectObject}s used in the document.
+     * Sets the {@link PDFIndirectObject}s used in the document. They are indexed by object number in a single pass, so
+     * they do not need to be sorted.
      *
-     * @param indirectObjects the list of indirect objects
+     * @param indirectObjects the indirect objects, in any order
+     * @throws IllegalArgumentException if two of the objects have the same object number
      */
     void setIndirectObjects(Collection<PDFIndirectObject> indirectObjects) {
-        this.indirectObjects.clear();
-        this.indirectObjects.addAll(indirectObjects);
-        Collections.sort(this.indirectObjects);
+        registry.setIndirectObjects(indirectObjects);
     }
 
     /**
-     * Represents an entry in the Xref table.
+     * Sets whether the table starts with the free entry for object {@code 0}, which is the default. A table without it
+     * only lists the indirect objects, such as the first-page cross reference section of a linearized document or the
+     * cross reference section of an incremental update. Each run of consecutive object numbers is written as a
+     * subsection of its own.
+     *
+     * @param freeEntry true to write the free entry for object {@code 0}
+     * @see "ISO 32000-1:2008, 7.5.4 and F.3.4"
      */
-    private static class PDFXrefTableEntry implements PDFWritable {
-        private final int byteOffset;
-        private final int generationNumber;
-        private final char state;
+    void setFreeEntry(boolean freeEntry) {
+        this.freeEntry = freeEntry;
+    }
 
-        private PDFXrefTableEntry(PDFIndirectObject indirectObject) {
-            byteOffset = indirectObject.getByteOffset().getValue();
-            generationNumber = indirectObject.getGenerationNumber().getValue();
-            state = 'n';
-        }
+    /**
+     * Specifies if the table can list an object that starts at the specified byte offset.
+     *
+     * @param byteOffset the byte offset
+     * @return true if the byte offset is less than {@value #OFFSET_LIMIT}
+     */
+    static boolean canList(long byteOffset) {
+        return byteOffset < OFFSET_LIMIT;
+    }
+
+    /**
+     * Gets the number of bytes a table of a single subsection writes, so it can be laid out before the byte offsets of
+     * the objects are known. A subsection that starts at object {@code 0} has the free entry. The length is exact
+     * because a table never writes an entry longer than {@value #ENTRY_LENGTH} bytes.
+     *
+     * @param firstObjectNumber the object number of the first entry
+     * @param objectCount       the number of indirect objects in the table
+     * @return the length of the table in bytes
+     */
+    static long getLength(int firstObjectNumber, int objectCount) {
+        int entryCount = (firstObjectNumber == 0) ? objectCount + 1 : objectCount;
+        return "xref\n".length() + String.valueOf(firstObjectNumber).length() + 1
+                + String.valueOf(entryCount).length() + 1 + ((long) ENTRY_LENGTH * entryCount);
+    }
 
-        private PDFXrefTableEntry() {
-            this.byteOffset = 0;
-            this.generationNumber = 65_535;
-            this.state = 'f';
+    /**
+     * Writes the subsection for the run of object numbers from the specified number up to, but not including, the
+     * specified end. The subsection for object {@code 0} starts with the free entry.
+     *
+     * @param pdf               the sink to write to
+     * @param firstObjectNumber the object number of the first entry
+     * @param end               the object number after the last entry
+     * @return the end
+     * @throws IOException if there was an issue writing to the sink
+     */
+    private int writeSubsection(PDFByteSink pdf, int firstObjectNumber, int end) throws IOException {
+        pdf.writeInt(firstObjectNumber);
+        pdf.write(' ');
+        pdf.writeInt(end - firstObjectNumber);
+        pdf.write('\n');
+        if (firstObjectNumber == 0) {
+            writeEntry(pdf, 0, 65_535, 'f');
         }
+        for (int objectNumber = Math.max(firstObjectNumber, 1); objectNumber < end; objectNumber++) {
+            PDFIndirectObject indirectObject = registry.get(objectNumber);
+            writeEntry(pdf, indirectObject.getByteOffset(), indirectObject.getGeneration(), 'n');
+        }
+        return end;
+    }
 
-        @Override
-        public void writeToPDF(OutputStream pdf) throws IOException {
-            String entry = String.format("%010d %05d %c \n", byteOffset, generationNumber, state);
-            pdf.write(entry.getBytes(StandardCharsets.US_ASCII));
+    /**
+     * Writes a 20 byte entry in the Xref table.
+     *
+     * @param pdf              the sink to write to
+     * @param byteOffset       the byte offset of the object
+     * @param generationNumber the generation number of the object
+     * @param state            {@code n} for an object that is in use, {@code f} for a free entry
+     * @throws IOException if the byte offset does not fit in the entry, or there was an issue writing to the sink
+     */
+    private static void writeEntry(PDFByteSink pdf, long byteOffset, int generationNumber, char state)
+            throws IOException {
+        if (!canList(byteOffset)) {
+            throw new IOException("Byte offset " + byteOffset + " does not fit in a cross reference table entry of "
+                    + OFFSET_DIGITS + " digits. Use a cross reference stream for files of " + OFFSET_LIMIT
+                    + " bytes or more.");
         }
+        pdf.writePaddedLong(byteOffset, OFFSET_DIGITS);
+        pdf.write(' ');
+        pdf.writePaddedLong(generationNumber, 5);
+        pdf.write(' ');
+        pdf.write(state);
+        pdf.write(' ');
+        pdf.write('\n');
     }
 }
@@ -10,16 +10,61 @@ import com.justifiedsolutions.justpdf.pdf.object.PDFName;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.UncheckedIOException;
+import java.io.OutputStream;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
 import java.util.zip.DeflaterOutputStream;
 
 /**
  * A {@link PDFFilter} that applies the {@code Deflate} algorithm to the input.
  *
+ * <p>Creating a {@link Deflater} allocates native memory that is only released when it is ended or garbage collected,
+ * so idle {@code Deflater}s are kept in a bounded pool per compression level that is shared by all threads, including
+ * short-lived virtual threads. One is borrowed for the duration of a {@link #filter(byte[])} call or until the stream
+ * returned by {@link #wrap(OutputStream)} is closed, and reset when it is returned. A {@code Deflater} returned to a
+ * full pool is ended straight away.</p>
+ *
  * @see "ISO 32000-1:2008, 7.4.4"
  */
 public final class DeflateFilter implements PDFFilter {
-    private static final PDFName DECODE_NAME = new PDFName("FlateDecode");
+    private static final PDFName DECODE_NAME = PDFName.valueOf("FlateDecode");
+    private static final int BUFFER_SIZE = 8192;
+    private static final int POOL_SIZE = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+    private static final BlockingQueue<Deflater>[] POOLS = createPools();
+
+    private final int level;
+
+    /**
+     * Creates a new DeflateFilter that uses the default compression level.
+     */
+    public DeflateFilter() {
+        this(Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Creates a new DeflateFilter that uses the specified compression level.
+     *
+     * @param level the compression level, from {@link Deflater#NO_COMPRESSION} to {@link Deflater#BEST_COMPRESSION},
+     *              or {@link Deflater#DEFAULT_COMPRESSION}
+     * @throws IllegalArgumentException if the level is invalid
+     */
+    public DeflateFilter(int level) {
+        if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Invalid compression level: " + level);
+        }
+        this.level = level;
+    }
+
+    /**
+     * Gets the compression level.
+     *
+     * @return the compression level
+     */
+    public int getLevel() {
+        return level;
+    }
 
     @Override
     public PDFName getDecodeFilterName() {
@@ -31,16 +76,106 @@ public final class DeflateFilter implements PDFFilter {
         return null;
     }
 
+    @Override
+    public OutputStream wrap(OutputStream out) {
+        return new PooledDeflaterOutputStream(out, level);
+    }
+
     @Override
     public byte[] filter(byte[] input) {
+        Deflater deflater = borrowDeflater(level);
+        byte[] buffer = new byte[BUFFER_SIZE];
+        ByteArrayOutputStream output = new ByteArrayOutputStream(Math.max(input.length / 4, 32));
         try {
-            ByteArrayOutputStream output = new ByteArrayOutputStream();
-            DeflaterOutputStream deflater = new DeflaterOutputStream(output);
-            deflater.write(input);
+            deflater.setInput(input);
             deflater.finish();
-            return output.toByteArray();
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buffer);
+                output.write(buffer, 0, length);
+            }
+        } finally {
+            returnDeflater(level, deflater);
+        }
+        return output.toByteArray();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        DeflateFilter that = (DeflateFilter) o;
+        return level == that.level;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(level);
+    }
+
+    /**
+     * Gets the number of idle {@link Deflater}s in the pool for the specified level.
+     *
+     * @param level the compression level
+     * @return the number of pooled deflaters
+     */
+    static int getPoolSize(int level) {
+        return POOLS[level - Deflater.DEFAULT_COMPRESSION].size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BlockingQueue<Deflater>[] createPools() {
+        BlockingQueue<Deflater>[] result = new BlockingQueue[Deflater.BEST_COMPRESSION + 2];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = new ArrayBlockingQueue<>(POOL_SIZE);
+        }
+        return result;
+    }
+
+    /**
+     * Takes an idle {@link Deflater} for the level from the shared pool, or creates a new one if there is none.
+     */
+    private static Deflater borrowDeflater(int level) {
+        Deflater deflater = POOLS[level - Deflater.DEFAULT_COMPRESSION].poll();
+        return (deflater == null) ? new Deflater(level) : deflater;
+    }
+
+    /**
+     * Resets the {@link Deflater} and puts it back in the shared pool, or ends it if the pool is full, so its native
+     * memory is released without waiting for the garbage collector.
+     */
+    private static void returnDeflater(int level, Deflater deflater) {
+        deflater.reset();
+        if (!POOLS[level - Deflater.DEFAULT_COMPRESSION].offer(deflater)) {
+            deflater.end();
+        }
+    }
+
+    /**
+     * A {@link DeflaterOutputStream} that returns its pooled {@link Deflater} when it is closed.
+     */
+    private static final class PooledDeflaterOutputStream extends DeflaterOutputStream {
+        private final int level;
+        private boolean returned;
+
+        PooledDeflaterOutputStream(OutputStream out, int level) {
+            super(out, borrowDeflater(level), BUFFER_SIZE);
+            this.level = level;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (!returned) {
+                    returned = true;
+                    returnDeflater(level, def);
+                }
+            }
         }
     }
 }
@@ -8,6 +8,11 @@ package com.justifiedsolutions.justpdf.pdf.filter;
 import com.justifiedsolutions.justpdf.pdf.object.PDFDictionary;
 import com.justifiedsolutions.justpdf.pdf.object.PDFName;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
 /**
  * Represents an {@code filter} for a content stream in a PDF document.
  *
@@ -29,11 +34,28 @@ public interface PDFFilter {
      */
     PDFDictionary getDecodeFilterParams();
 
+    /**
+     * Wraps the specified {@link OutputStream} in one that applies the filter to the bytes written to it and writes the
+     * output to the specified stream. Closing the returned stream completes the output and closes the specified stream.
+     *
+     * @param out the stream the output of the filter is written to
+     * @return the stream to write the input of the filter to
+     */
+    OutputStream wrap(OutputStream out);
+
     /**
      * Applies the filter to the input.
      *
      * @param input the input for the filter
      * @return the output of the filter
      */
-    byte[] filter(byte[] input);
+    default byte[] filter(byte[] input) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (OutputStream filtered = wrap(output)) {
+            filtered.write(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toByteArray();
+    }
 }
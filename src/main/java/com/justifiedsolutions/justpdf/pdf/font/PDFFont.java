@@ -14,10 +14,10 @@ import com.justifiedsolutions.justpdf.pdf.object.PDFName;
  * @see "ISO 32000-1:2008, 9.6"
  */
 public abstract class PDFFont extends PDFDictionary {
-    static final PDFName TYPE = new PDFName("Type");
-    static final PDFName FONT = new PDFName("Font");
-    static final PDFName SUBTYPE = new PDFName("Subtype");
-    static final PDFName BASE_FONT = new PDFName("BaseFont");
+    static final PDFName TYPE = PDFName.valueOf("Type");
+    static final PDFName FONT = PDFName.valueOf("Font");
+    static final PDFName SUBTYPE = PDFName.valueOf("Subtype");
+    static final PDFName BASE_FONT = PDFName.valueOf("BaseFont");
 
     /**
      * Creates a new PDFFont.
@@ -34,6 +34,20 @@ public abstract class PDFFont extends PDFDictionary {
      */
     public abstract int getCharacterWidth(int character);
 
+    /**
+     * Gets the widths of the characters with the codes {@code 0} to {@code 255}, in 1/1000 of text space, indexed by
+     * character code. The returned array is a copy, which may be changed by the caller.
+     *
+     * @return the widths
+     */
+    public short[] getCharacterWidths() {
+        short[] result = new short[256];
+        for (int character = 0; character < result.length; character++) {
+            result[character] = (short) getCharacterWidth(character);
+        }
+        return result;
+    }
+
     /**
      * Gets the minimum leading for the font. Measured in 1/1000 of text space.
      *
@@ -19,17 +19,17 @@ import java.util.Objects;
  * @see "ISO 32000-1:2008, 9.8"
  */
 public final class PDFFontDescriptor extends PDFDictionary {
-    static final PDFName TYPE = new PDFName("Type");
-    static final PDFName FONT_DESCRIPTOR = new PDFName("FontDescriptor");
-    static final PDFName FONT_NAME = new PDFName("FontName");
-    static final PDFName FLAGS = new PDFName("Flags");
-    static final PDFName FONT_BBOX = new PDFName("FontBBox");
-    static final PDFName ITALIC_ANGLE = new PDFName("ItalicAngle");
-    static final PDFName ASCENT = new PDFName("Ascent");
-    static final PDFName DESCENT = new PDFName("Descent");
-    static final PDFName CAP_HEIGHT = new PDFName("CapHeight");
-    static final PDFName STEM_V = new PDFName("StemV");
-    static final PDFName STEM_H = new PDFName("StemH");
+    static final PDFName TYPE = PDFName.valueOf("Type");
+    static final PDFName FONT_DESCRIPTOR = PDFName.valueOf("FontDescriptor");
+    static final PDFName FONT_NAME = PDFName.valueOf("FontName");
+    static final PDFName FLAGS = PDFName.valueOf("Flags");
+    static final PDFName FONT_BBOX = PDFName.valueOf("FontBBox");
+    static final PDFName ITALIC_ANGLE = PDFName.valueOf("ItalicAngle");
+    static final PDFName ASCENT = PDFName.valueOf("Ascent");
+    static final PDFName DESCENT = PDFName.valueOf("Descent");
+    static final PDFName CAP_HEIGHT = PDFName.valueOf("CapHeight");
+    static final PDFName STEM_V = PDFName.valueOf("StemV");
+    static final PDFName STEM_H = PDFName.valueOf("StemH");
 
     /**
      * Creates a new Font Descriptor.
@@ -38,7 +38,7 @@ public final class PDFFontDescriptor extends PDFDictionary {
      */
     PDFFontDescriptor(int flags) {
         put(TYPE, FONT_DESCRIPTOR);
-        put(FLAGS, new PDFInteger(flags));
+        put(FLAGS, PDFInteger.valueOf(flags));
     }
 
     /**
@@ -70,7 +70,7 @@ public final class PDFFontDescriptor extends PDFDictionary {
     private void parseStringValue(String line) {
         String value = parseSingleValue(line);
         if (value != null) {
-            put(PDFFontDescriptor.FONT_NAME, new PDFName(value));
+            put(PDFFontDescriptor.FONT_NAME, PDFName.valueOf(value));
         }
     }
 
@@ -78,7 +78,7 @@ public final class PDFFontDescriptor extends PDFDictionary {
         String value = parseSingleValue(line);
         if (value != null) {
             float result = Float.parseFloat(value);
-            put(key, new PDFReal(result));
+            put(key, PDFReal.valueOf(result));
         }
     }
 
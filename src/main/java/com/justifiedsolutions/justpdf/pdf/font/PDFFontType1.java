@@ -5,39 +5,42 @@
 
 package com.justifiedsolutions.justpdf.pdf.font;
 
-import com.justifiedsolutions.justpdf.pdf.object.PDFArray;
-import com.justifiedsolutions.justpdf.pdf.object.PDFInteger;
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
 import com.justifiedsolutions.justpdf.pdf.object.PDFName;
 import com.justifiedsolutions.justpdf.pdf.object.PDFObject;
 import com.justifiedsolutions.justpdf.pdf.object.PDFReal;
 import com.justifiedsolutions.justpdf.pdf.object.PDFRectangle;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.EnumMap;
-import java.util.HashMap;
 import java.util.Map;
 
 /**
- * Models a Type 1 Font in a PDF document.
+ * Models a Type 1 Font in a PDF document. There is a single instance of each of the standard 14 fonts, which is shared
+ * by every document, so its dictionary is serialized once when it is created, and the same bytes are written for it in
+ * each document. The dictionary cannot be changed afterwards.
  *
  * @see "ISO 32000-1:2008, 9.6.2"
  */
 public final class PDFFontType1 extends PDFFont {
 
-    static final PDFName TYPE1 = new PDFName("Type1");
-    static final PDFName ENCODING = new PDFName("Encoding");
-    static final PDFName WIN_ANSI_ENCODING = new PDFName("WinAnsiEncoding");
-    private static final Map<FontName, PDFFontType1> CACHE = new EnumMap<>(FontName.class);
+    static final PDFName TYPE1 = PDFName.valueOf("Type1");
+    static final PDFName ENCODING = PDFName.valueOf("Encoding");
+    static final PDFName WIN_ANSI_ENCODING = PDFName.valueOf("WinAnsiEncoding");
+    private static final Map<FontName, PDFFontType1> CACHE = Collections.synchronizedMap(new EnumMap<>(FontName.class));
     private static final int FLAG_NON_SYMBOLIC = 32;
 
     private final PDFFontDescriptor descriptor;
+    private final byte[] serialized;
 
-    private final Map<Integer, Integer> characterWidths = new HashMap<>();
+    private final short[] characterWidths = new short[256];
     private float minimumLeading;
 
     /**
@@ -48,12 +51,13 @@ public final class PDFFontType1 extends PDFFont {
      */
     private PDFFontType1(FontName fontName) {
         put(SUBTYPE, TYPE1);
-        put(BASE_FONT, new PDFName(fontName.baseFont));
+        put(BASE_FONT, PDFName.valueOf(fontName.baseFont));
         if ((fontName.flags & FLAG_NON_SYMBOLIC) == FLAG_NON_SYMBOLIC) {
             put(ENCODING, WIN_ANSI_ENCODING);
         }
         descriptor = new PDFFontDescriptor(fontName.flags);
         readFontMetrics(fontName.baseFont);
+        serialized = serialize();
     }
 
     /**
@@ -66,10 +70,37 @@ public final class PDFFontType1 extends PDFFont {
         return CACHE.computeIfAbsent(fontName, PDFFontType1::new);
     }
 
+    @Override
+    public void put(PDFName key, PDFObject value) {
+        checkNotShared();
+        super.put(key, value);
+    }
+
+    @Override
+    public void remove(PDFName key) {
+        checkNotShared();
+        super.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        checkNotShared();
+        super.clear();
+    }
+
+    @Override
+    public void writeToPDF(PDFByteSink pdf) throws IOException {
+        pdf.write(serialized, 0, serialized.length);
+    }
+
     @Override
     public int getCharacterWidth(int character) {
-        Integer width = characterWidths.get(character);
-        return (width != null) ? width : 0;
+        return (character >= 0 && character < characterWidths.length) ? characterWidths[character] : 0;
+    }
+
+    @Override
+    public short[] getCharacterWidths() {
+        return characterWidths.clone();
     }
 
     @Override
@@ -77,6 +108,25 @@ public final class PDFFontType1 extends PDFFont {
         return minimumLeading;
     }
 
+    /**
+     * Throws an exception once the font has been created, as it is shared by every document.
+     */
+    private void checkNotShared() {
+        if (serialized != null) {
+            throw new UnsupportedOperationException("A standard 14 font is shared, so it cannot be changed.");
+        }
+    }
+
+    private byte[] serialize() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (PDFByteSink sink = new PDFByteSink(bytes)) {
+            super.writeToPDF(sink);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to serialize font.", e);
+        }
+        return bytes.toByteArray();
+    }
+
     private void readFontMetrics(String fontName) {
         String location = String.format("/afm/%s.afm", fontName);
         InputStream is = PDFFontType1.class.getResourceAsStream(location);
@@ -90,22 +140,14 @@ public final class PDFFontType1 extends PDFFont {
             determineMinimumLeading();
 
             int lastChar = 0;
-            PDFArray widths = new PDFArray();
-
-            boolean firstLine = true;
             line = reader.readLine();
             while ((line != null) && !line.contains("EndCharMetrics")) {
                 int character = parseCharacter(line);
-                if (character < lastChar) {
+                if (character < lastChar || character >= characterWidths.length) {
                     break;
                 }
-                int width = parseWidth(line);
-                if (firstLine) {
-                    firstLine = false;
-                }
                 lastChar = character;
-                widths.add(new PDFInteger(width));
-                characterWidths.put(character, width);
+                characterWidths[character] = (short) parseWidth(line);
                 line = reader.readLine();
             }
         } catch (IOException e) {
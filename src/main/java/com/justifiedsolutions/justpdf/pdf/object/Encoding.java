@@ -5,7 +5,11 @@
 
 package com.justifiedsolutions.justpdf.pdf.object;
 
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
+
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -36,18 +40,38 @@ public abstract class Encoding {
      */
     public byte[] encodeString(String text) {
         ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try {
+            PDFByteSink sink = new PDFByteSink(result);
+            encodeString(text, sink);
+            sink.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return result.toByteArray();
+    }
 
-        for (char character : text.toCharArray()) {
+    /**
+     * Encodes the specified text directly into the {@link PDFByteSink}.
+     *
+     * @param text the text to encode
+     * @param sink the sink to write the encoded bytes to
+     * @throws IOException if there is an issue writing to the sink
+     */
+    public void encodeString(String text, PDFByteSink sink) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            char character = text.charAt(i);
             if (character < getMinCharacter() || (character > getMaxCharacter() && character < 256)) {
-                result.writeBytes(escapeValue(character));
+                if (ESCAPED_CHARACTERS.contains(character)) {
+                    sink.write('\\');
+                }
+                sink.write(character);
             } else {
                 Integer charCode = getEncodingMap().get(character);
                 if (charCode != null) {
-                    result.write(charCode);
+                    sink.write(charCode);
                 }
             }
         }
-        return result.toByteArray();
     }
 
     /**
@@ -70,14 +94,4 @@ public abstract class Encoding {
      * @return the encoding map
      */
     protected abstract Map<Character, Integer> getEncodingMap();
-
-    private byte[] escapeValue(char c) {
-        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
-        if (ESCAPED_CHARACTERS.contains(c)) {
-            bytes.write('\\');
-        }
-        bytes.write(c);
-        return bytes.toByteArray();
-    }
-
 }
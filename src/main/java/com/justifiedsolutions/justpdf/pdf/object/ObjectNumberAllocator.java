@@ -0,0 +1,53 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.object;
+
+/**
+ * Allocates the object numbers for the {@link PDFIndirectObject}s in a single PDF document. Object numbers start at
+ * {@code 1} and are allocated sequentially. Each document owns its own allocator, so documents can be created on
+ * different threads at the same time. An allocator itself is not thread safe.
+ *
+ * @see "ISO 32000-1:2008, 7.3.10"
+ */
+public final class ObjectNumberAllocator {
+
+    private int lastObjectNumber;
+
+    /**
+     * Creates a new ObjectNumberAllocator that starts at {@code 1}.
+     */
+    public ObjectNumberAllocator() {
+        this(0);
+    }
+
+    /**
+     * Creates a new ObjectNumberAllocator that continues after the specified object number, such as the last object
+     * number of an existing file that an incremental update is appended to.
+     *
+     * @param lastObjectNumber the last object number already in use
+     */
+    public ObjectNumberAllocator(int lastObjectNumber) {
+        this.lastObjectNumber = lastObjectNumber;
+    }
+
+    /**
+     * Allocates the next object number.
+     *
+     * @return the object number
+     */
+    public int next() {
+        return ++lastObjectNumber;
+    }
+
+    /**
+     * Gets the last object number that was allocated.
+     *
+     * @return the last object number, {@code 0} if none have been allocated
+     */
+    public int getLastObjectNumber() {
+        return lastObjectNumber;
+    }
+}
@@ -5,8 +5,9 @@
 
 package com.justifiedsolutions.justpdf.pdf.object;
 
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
+
 import java.io.IOException;
-import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -101,7 +102,7 @@ public class PDFArray implements PDFObject {
     }
 
     @Override
-    public void writeToPDF(OutputStream pdf) throws IOException {
+    public void writeToPDF(PDFByteSink pdf) throws IOException {
         pdf.write('[');
         pdf.write(' ');
         for (PDFObject obj : objects) {
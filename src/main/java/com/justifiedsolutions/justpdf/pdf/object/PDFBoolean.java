@@ -5,9 +5,9 @@
 
 package com.justifiedsolutions.justpdf.pdf.object;
 
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
+
 import java.io.IOException;
-import java.io.OutputStream;
-import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 
 /**
@@ -51,7 +51,7 @@ public final class PDFBoolean implements PDFObject {
     }
 
     @Override
-    public void writeToPDF(OutputStream pdf) throws IOException {
-        pdf.write(String.valueOf(value).getBytes(StandardCharsets.US_ASCII));
+    public void writeToPDF(PDFByteSink pdf) throws IOException {
+        pdf.writeAscii(value ? "true" : "false");
     }
 }
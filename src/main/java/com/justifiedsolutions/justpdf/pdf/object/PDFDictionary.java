@@ -5,18 +5,41 @@
 
 package com.justifiedsolutions.justpdf.pdf.object;
 
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
+
 import java.io.IOException;
-import java.io.OutputStream;
-import java.util.*;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
 
 /**
- * Represents a {@code dictionary object} in a PDF document.
+ * Represents a {@code dictionary object} in a PDF document. Most dictionaries have only a few entries, so they are kept
+ * in a pair of arrays sorted by key, which are searched by bisection and written in key order without allocating. Once
+ * a dictionary has more than {@value #SMALL_SIZE} entries, they are moved to a {@link TreeMap}.
  *
  * @see "ISO 32000-1:2008, 7.3.7"
  */
 public class PDFDictionary implements PDFObject {
 
-    private final Map<PDFName, PDFObject> dictionary = new HashMap<>();
+    private static final int SMALL_SIZE = 16;
+    private static final PDFName[] NO_KEYS = new PDFName[0];
+    private static final PDFObject[] NO_VALUES = new PDFObject[0];
+
+    private PDFName[] sortedKeys = NO_KEYS;
+    private PDFObject[] sortedValues = NO_VALUES;
+    private int count;
+    private Map<PDFName, PDFObject> dictionary;
+    private Set<PDFName> keyView;
+    private Collection<PDFObject> valueView;
 
     /**
      * Gets the number of entries in the dictionary.
@@ -24,7 +47,7 @@ public class PDFDictionary implements PDFObject {
      * @return the number of entries
      */
     public int size() {
-        return dictionary.size();
+        return (dictionary == null) ? count : dictionary.size();
     }
 
     /**
@@ -33,7 +56,7 @@ public class PDFDictionary implements PDFObject {
      * @return true if size() == 0, false otherwise
      */
     public boolean isEmpty() {
-        return dictionary.isEmpty();
+        return size() == 0;
     }
 
     /**
@@ -43,7 +66,7 @@ public class PDFDictionary implements PDFObject {
      * @return true if the key exists in the dictionary, false otherwise
      */
     public boolean containsKey(PDFName key) {
-        return dictionary.containsKey(key);
+        return (dictionary == null) ? indexOf(key) >= 0 : dictionary.containsKey(key);
     }
 
     /**
@@ -54,7 +77,11 @@ public class PDFDictionary implements PDFObject {
      * @return the associated value or {@code null}
      */
     public PDFObject get(PDFName key) {
-        return dictionary.get(key);
+        if (dictionary != null) {
+            return dictionary.get(key);
+        }
+        int index = indexOf(key);
+        return (index < 0) ? null : sortedValues[index];
     }
 
     /**
@@ -65,7 +92,38 @@ public class PDFDictionary implements PDFObject {
      * @param value the new value
      */
     public void put(PDFName key, PDFObject value) {
-        dictionary.put(key, value);
+        Objects.requireNonNull(key);
+        if (dictionary != null) {
+            dictionary.put(key, value);
+            return;
+        }
+        int index = indexOf(key);
+        if (index >= 0) {
+            sortedValues[index] = value;
+            return;
+        }
+        if (count == SMALL_SIZE) {
+            dictionary = new TreeMap<>();
+            for (int i = 0; i < count; i++) {
+                dictionary.put(sortedKeys[i], sortedValues[i]);
+            }
+            dictionary.put(key, value);
+            sortedKeys = NO_KEYS;
+            sortedValues = NO_VALUES;
+            count = 0;
+            return;
+        }
+        if (count == sortedKeys.length) {
+            int capacity = Math.min(SMALL_SIZE, Math.max(4, count * 2));
+            sortedKeys = Arrays.copyOf(sortedKeys, capacity);
+            sortedValues = Arrays.copyOf(sortedValues, capacity);
+        }
+        int insertion = -(index + 1);
+        System.arraycopy(sortedKeys, insertion, sortedKeys, insertion + 1, count - insertion);
+        System.arraycopy(sortedValues, insertion, sortedValues, insertion + 1, count - insertion);
+        sortedKeys[insertion] = key;
+        sortedValues[insertion] = value;
+        count++;
     }
 
     /**
@@ -74,37 +132,80 @@ public class PDFDictionary implements PDFObject {
      * @param key the key to remove
      */
     public void remove(PDFName key) {
-        dictionary.remove(key);
+        if (dictionary != null) {
+            dictionary.remove(key);
+            return;
+        }
+        int index = indexOf(key);
+        if (index >= 0) {
+            System.arraycopy(sortedKeys, index + 1, sortedKeys, index, count - index - 1);
+            System.arraycopy(sortedValues, index + 1, sortedValues, index, count - index - 1);
+            count--;
+            sortedKeys[count] = null;
+            sortedValues[count] = null;
+        }
     }
 
     /**
      * Empties the dictionary.
      */
     public void clear() {
-        dictionary.clear();
+        sortedKeys = NO_KEYS;
+        sortedValues = NO_VALUES;
+        count = 0;
+        dictionary = null;
     }
 
     /**
-     * Gets the set of keys for the dictionary.
+     * Gets a read-only view of the keys of the dictionary, in order. The view reflects later changes to the dictionary.
      *
      * @return the key set
      */
     public Set<PDFName> keySet() {
-        return dictionary.keySet();
+        if (keyView == null) {
+            keyView = new KeyView();
+        }
+        return keyView;
     }
 
     /**
-     * Gets the collection of values for the dictionary
+     * Gets a read-only view of the values of the dictionary, in the order of their keys. The view reflects later changes
+     * to the dictionary.
      *
      * @return the values
      */
     public Collection<PDFObject> values() {
-        return dictionary.values();
+        if (valueView == null) {
+            valueView = new ValueView();
+        }
+        return valueView;
+    }
+
+    /**
+     * Performs the specified action for each entry of the dictionary, in the order of the keys.
+     *
+     * @param action the action to perform
+     */
+    public void forEach(BiConsumer<? super PDFName, ? super PDFObject> action) {
+        if (dictionary != null) {
+            dictionary.forEach(action);
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            action.accept(sortedKeys[i], sortedValues[i]);
+        }
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(dictionary);
+        if (dictionary != null) {
+            return Objects.hash(dictionary);
+        }
+        int result = 0;
+        for (int i = 0; i < count; i++) {
+            result += sortedKeys[i].hashCode() ^ Objects.hashCode(sortedValues[i]);
+        }
+        return 31 + result;
     }
 
     @Override
@@ -116,21 +217,120 @@ public class PDFDictionary implements PDFObject {
             return false;
         }
         PDFDictionary that = (PDFDictionary) o;
-        return dictionary.equals(that.dictionary);
+        if (dictionary != null && that.dictionary != null) {
+            return dictionary.equals(that.dictionary);
+        }
+        return size() == that.size() && containsEntries(that);
     }
 
     @Override
-    public void writeToPDF(OutputStream pdf) throws IOException {
+    public void writeToPDF(PDFByteSink pdf) throws IOException {
         pdf.write('<');
         pdf.write('<');
-        SortedSet<PDFName> keys = new TreeSet<>(dictionary.keySet());
-        for (PDFName key : keys) {
-            PDFObject value = dictionary.get(key);
-            key.writeToPDF(pdf);
-            pdf.write(' ');
-            value.writeToPDF(pdf);
+        if (dictionary == null) {
+            for (int i = 0; i < count; i++) {
+                sortedKeys[i].writeToPDF(pdf);
+                pdf.write(' ');
+                sortedValues[i].writeToPDF(pdf);
+            }
+        } else {
+            for (Map.Entry<PDFName, PDFObject> entry : dictionary.entrySet()) {
+                entry.getKey().writeToPDF(pdf);
+                pdf.write(' ');
+                entry.getValue().writeToPDF(pdf);
+            }
         }
         pdf.write('>');
         pdf.write('>');
     }
+
+    /**
+     * Specifies if every entry of this dictionary is also in the specified dictionary.
+     */
+    private boolean containsEntries(PDFDictionary that) {
+        for (PDFName key : keySet()) {
+            if (!that.containsKey(key) || !Objects.equals(get(key), that.get(key))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the specified key in the sorted keys of a small dictionary.
+     *
+     * @return the index of the key, or {@code -(insertion point) - 1} if it is not in the dictionary
+     */
+    private int indexOf(PDFName key) {
+        return Arrays.binarySearch(sortedKeys, 0, count, key);
+    }
+
+    /**
+     * Iterates over the keys or values of a small dictionary.
+     */
+    private final class ArrayIterator<T> implements Iterator<T> {
+
+        private final T[] elements;
+        private int index;
+
+        private ArrayIterator(T[] elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < count;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return elements[index++];
+        }
+    }
+
+    /**
+     * The read-only view returned by {@link #keySet()}.
+     */
+    private final class KeyView extends AbstractSet<PDFName> {
+
+        @Override
+        public int size() {
+            return PDFDictionary.this.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return (o instanceof PDFName) && containsKey((PDFName) o);
+        }
+
+        @Override
+        public Iterator<PDFName> iterator() {
+            if (dictionary != null) {
+                return Collections.unmodifiableSet(dictionary.keySet()).iterator();
+            }
+            return new ArrayIterator<>(sortedKeys);
+        }
+    }
+
+    /**
+     * The read-only view returned by {@link #values()}.
+     */
+    private final class ValueView extends AbstractCollection<PDFObject> {
+
+        @Override
+        public int size() {
+            return PDFDictionary.this.size();
+        }
+
+        @Override
+        public Iterator<PDFObject> iterator() {
+            if (dictionary != null) {
+                return Collections.unmodifiableCollection(dictionary.values()).iterator();
+            }
+            return new ArrayIterator<>(sortedValues);
+        }
+    }
 }
@@ -27,7 +27,7 @@ public class PDFDocEncodedString extends PDFString {
     }
 
     @Override
-    protected byte[] encode() {
-        return PDF_DOC_ENCODING.encodeString(getValue());
+    protected Encoding getEncoding() {
+        return PDF_DOC_ENCODING;
     }
 }
\ No newline at end of file
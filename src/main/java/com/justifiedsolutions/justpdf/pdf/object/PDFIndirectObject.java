@@ -5,45 +5,53 @@
 
 package com.justifiedsolutions.justpdf.pdf.object;
 
-import java.io.ByteArrayOutputStream;
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
+
 import java.io.IOException;
-import java.io.OutputStream;
-import java.nio.charset.StandardCharsets;
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Represents an {@code indirect object} in a PDF document.
+ * Represents an {@code indirect object} in a PDF document. The object number and byte offset are held as primitives,
+ * so a document with a great many objects does not hold a boxed number for each of them. A {@link Reference} is a
+ * handle that only points back at its indirect object. It is created the first time the object is referenced, so
+ * objects that are never referenced, such as Object Streams, do not have one. Two indirect objects are equal if they
+ * have the same object and generation numbers, as are two references.
  *
  * @see "ISO 32000-1:2008, 7.3.10"
  */
 public final class PDFIndirectObject implements PDFObject, Comparable<PDFIndirectObject> {
 
-    private static final AtomicInteger LAST_USED_OBJECT_NUMBER = new AtomicInteger(0);
-
-    private final PDFInteger objectNumber;
-    private final PDFInteger generationNumber;
-    private final PDFObject object;
-    private final Reference reference;
-    private PDFInteger byteOffset;
+    private int objectNumber;
+    private final int generationNumber;
+    private Reference reference;
+    private PDFObject object;
+    private long byteOffset = -1;
 
     /**
-     * Creates the PDFIndirectObject that points at the specified {@link PDFObject}.
+     * Creates the PDFIndirectObject that points at the specified {@link PDFObject}. The object number is taken from the
+     * specified {@link ObjectNumberAllocator}, which is owned by the document the object belongs to.
      *
-     * @param object the referenced object
+     * @param object    the referenced object
+     * @param allocator the allocator for the document's object numbers
      */
-    public PDFIndirectObject(PDFObject object) {
-        this.objectNumber = new PDFInteger(LAST_USED_OBJECT_NUMBER.addAndGet(1));
-        this.generationNumber = new PDFInteger(0);
+    public PDFIndirectObject(PDFObject object, ObjectNumberAllocator allocator) {
+        this.objectNumber = allocator.next();
+        this.generationNumber = 0;
         this.object = Objects.requireNonNull(object);
-        this.reference = new Reference();
     }
 
     /**
-     * Resets the counter used to generate the object number.
+     * Creates the PDFIndirectObject that points at the specified {@link PDFObject} with an object number that was not
+     * allocated by the document, such as the number of an object of an existing file that is replaced by an
+     * incremental update.
+     *
+     * @param object       the referenced object
+     * @param objectNumber the object number
      */
-    public static void resetObjectNumber() {
-        LAST_USED_OBJECT_NUMBER.set(0);
+    public PDFIndirectObject(PDFObject object, int objectNumber) {
+        this.objectNumber = objectNumber;
+        this.generationNumber = 0;
+        this.object = Objects.requireNonNull(object);
     }
 
     /**
@@ -52,15 +60,44 @@ public final class PDFIndirectObject implements PDFObject, Comparable<PDFIndirec
      * @return the object number
      */
     public PDFInteger getObjectNumber() {
+        return PDFInteger.valueOf(objectNumber);
+    }
+
+    /**
+     * Gets the unique object number as an {@code int}, without creating a {@link PDFInteger}.
+     *
+     * @return the object number
+     */
+    public int getNumber() {
         return objectNumber;
     }
 
+    /**
+     * Changes the object number. This is only used while the document is being written, to put the object numbers in
+     * the order the objects are written, such as for a linearized document. Every {@link Reference} to the object is
+     * written with the new number.
+     *
+     * @param objectNumber the new object number
+     */
+    public void renumber(int objectNumber) {
+        this.objectNumber = objectNumber;
+    }
+
     /**
      * Gets the generation number. This is {@code 0} unless the PDF was updated.
      *
      * @return the generation number
      */
     public PDFInteger getGenerationNumber() {
+        return PDFInteger.valueOf(generationNumber);
+    }
+
+    /**
+     * Gets the generation number as an {@code int}, without creating a {@link PDFInteger}.
+     *
+     * @return the generation number
+     */
+    public int getGeneration() {
         return generationNumber;
     }
 
@@ -73,27 +110,61 @@ public final class PDFIndirectObject implements PDFObject, Comparable<PDFIndirec
         return object;
     }
 
-    public PDFInteger getByteOffset() {
+    /**
+     * Releases the referenced object after it has been written to the document. The object number, generation number
+     * and byte offset are retained so the indirect object can still be referenced and listed in the cross reference
+     * table.
+     */
+    public void release() {
+        this.object = null;
+    }
+
+    /**
+     * Specifies if the referenced object has been released.
+     *
+     * @return true if {@link #release()} has been called
+     */
+    public boolean isReleased() {
+        return object == null;
+    }
+
+    /**
+     * Gets the byte offset of the object from the beginning of the PDF document.
+     *
+     * @return the byte offset, or {@code -1} if the object has not been written
+     */
+    public long getByteOffset() {
         return byteOffset;
     }
 
-    public void setByteOffset(PDFInteger byteOffset) {
+    /**
+     * Sets the byte offset of the object from the beginning of the PDF document. Offsets are {@code long}s, so documents
+     * larger than 2 GB have a valid cross reference section.
+     *
+     * @param byteOffset the byte offset
+     */
+    public void setByteOffset(long byteOffset) {
         this.byteOffset = byteOffset;
     }
 
     /**
      * Gets the reference to the {@link PDFIndirectObject}. This should be used anywhere in the PDF document that
-     * references the original object.
+     * references the original object. The reference is created by the first call, and every call returns the same
+     * reference.
      *
      * @return the indirect object reference
      */
     public Reference getReference() {
+        if (reference == null) {
+            reference = new Reference();
+        }
         return reference;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(objectNumber, generationNumber, object);
+        // the referenced object may be a large dictionary or stream, so only the numbers are compared
+        return 31 * objectNumber + generationNumber;
     }
 
     @Override
@@ -105,9 +176,7 @@ public final class PDFIndirectObject implements PDFObject, Comparable<PDFIndirec
             return false;
         }
         PDFIndirectObject that = (PDFIndirectObject) o;
-        return objectNumber.equals(that.objectNumber) &&
-                generationNumber.equals(that.generationNumber) &&
-                object.equals(that.object);
+        return objectNumber == that.objectNumber && generationNumber == that.generationNumber;
     }
 
     @Override
@@ -115,22 +184,23 @@ public final class PDFIndirectObject implements PDFObject, Comparable<PDFIndirec
         if (o == null) {
             return -1;
         }
-        return this.objectNumber.compareTo(o.objectNumber);
+        return Integer.compare(this.objectNumber, o.objectNumber);
     }
 
     @Override
-    public void writeToPDF(OutputStream pdf) throws IOException {
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        objectNumber.writeToPDF(out);
-        out.write(' ');
-        generationNumber.writeToPDF(out);
-        out.write(" obj\n".getBytes(StandardCharsets.US_ASCII));
-        object.writeToPDF(out);
-        if (out.toByteArray()[out.size() - 1] != 10) {
-            out.write('\n');
+    public void writeToPDF(PDFByteSink pdf) throws IOException {
+        if (isReleased()) {
+            throw new IllegalStateException("Indirect object has already been written and released.");
+        }
+        pdf.writeInt(objectNumber);
+        pdf.write(' ');
+        pdf.writeInt(generationNumber);
+        pdf.writeAscii(" obj\n");
+        object.writeToPDF(pdf);
+        if (pdf.getLastByte() != '\n') {
+            pdf.write('\n');
         }
-        out.write("endobj\n\n".getBytes(StandardCharsets.US_ASCII));
-        out.writeTo(pdf);
+        pdf.writeAscii("endobj\n\n");
     }
 
     /**
@@ -145,7 +215,7 @@ public final class PDFIndirectObject implements PDFObject, Comparable<PDFIndirec
 
         @Override
         public int hashCode() {
-            return Objects.hash(objectNumber, generationNumber);
+            return 31 * objectNumber + generationNumber;
         }
 
         @Override
@@ -157,24 +227,33 @@ public final class PDFIndirectObject implements PDFObject, Comparable<PDFIndirec
                 return false;
             }
             Reference other = (Reference) o;
-            return objectNumber.equals(other.getObjectNumber()) &&
-                    generationNumber.equals(other.getGenerationNumber());
+            return objectNumber == other.getObjectNumber() &&
+                    generationNumber == other.getGenerationNumber();
         }
 
         @Override
-        public void writeToPDF(OutputStream pdf) throws IOException {
-            objectNumber.writeToPDF(pdf);
+        public void writeToPDF(PDFByteSink pdf) throws IOException {
+            pdf.writeInt(objectNumber);
             pdf.write(' ');
-            generationNumber.writeToPDF(pdf);
+            pdf.writeInt(generationNumber);
             pdf.write(' ');
             pdf.write('R');
         }
 
-        private PDFInteger getObjectNumber() {
+        /**
+         * Gets the {@link PDFIndirectObject} this reference points at.
+         *
+         * @return the indirect object
+         */
+        public PDFIndirectObject getIndirectObject() {
+            return PDFIndirectObject.this;
+        }
+
+        private int getObjectNumber() {
             return objectNumber;
         }
 
-        private PDFInteger getGenerationNumber() {
+        private int getGenerationNumber() {
             return generationNumber;
         }
     }
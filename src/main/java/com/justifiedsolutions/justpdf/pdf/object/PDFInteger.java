@@ -5,18 +5,29 @@
 
 package com.justifiedsolutions.justpdf.pdf.object;
 
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
+
 import java.io.IOException;
-import java.io.OutputStream;
-import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 
 /**
- * Represents a {@code integer object} inside a PDF document.
+ * Represents a {@code integer object} inside a PDF document. PDFIntegers are immutable, so {@link #valueOf(int)} shares
+ * a single instance of each of the small values that are used most often, such as counts and operands.
  *
  * @see "ISO 32000-1:2008, 7.3.3"
  */
 public final class PDFInteger implements PDFObject, Comparable<PDFInteger> {
 
+    private static final int CACHE_LOW = -128;
+    private static final int CACHE_HIGH = 1023;
+    private static final PDFInteger[] CACHE = new PDFInteger[CACHE_HIGH - CACHE_LOW + 1];
+
+    static {
+        for (int i = 0; i < CACHE.length; i++) {
+            CACHE[i] = new PDFInteger(CACHE_LOW + i);
+        }
+    }
+
     private final int value;
 
     /**
@@ -28,6 +39,20 @@ public final class PDFInteger implements PDFObject, Comparable<PDFInteger> {
         this.value = value;
     }
 
+    /**
+     * Gets a PDFInteger representing the specified int value. Values from {@code -128} to {@code 1023} are shared
+     * instances.
+     *
+     * @param value the int value
+     * @return the PDFInteger
+     */
+    public static PDFInteger valueOf(int value) {
+        if (value >= CACHE_LOW && value <= CACHE_HIGH) {
+            return CACHE[value - CACHE_LOW];
+        }
+        return new PDFInteger(value);
+    }
+
     /**
      * Returns the value of the PDFInteger as a Java {@code int}.
      *
@@ -63,7 +88,7 @@ public final class PDFInteger implements PDFObject, Comparable<PDFInteger> {
     }
 
     @Override
-    public void writeToPDF(OutputStream pdf) throws IOException {
-        pdf.write(String.valueOf(value).getBytes(StandardCharsets.US_ASCII));
+    public void writeToPDF(PDFByteSink pdf) throws IOException {
+        pdf.writeInt(value);
     }
 }
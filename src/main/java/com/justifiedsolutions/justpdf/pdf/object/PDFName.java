@@ -5,19 +5,28 @@
 
 package com.justifiedsolutions.justpdf.pdf.object;
 
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
+
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
- * Represents a {@code name object} in a PDF document.
+ * Represents a {@code name object} in a PDF document. A PDFName encodes itself when it is created, so writing it copies
+ * its bytes. The names used in the code, such as the keys of standard dictionaries, are shared instances from {@link
+ * #valueOf(String)}.
  *
  * @see "ISO 32000-1:2008, 7.3.5"
  */
 public final class PDFName implements PDFObject, Comparable<PDFName> {
 
+    private static final ConcurrentMap<String, PDFName> POOL = new ConcurrentHashMap<>();
+
     private final String value;
+    private final byte[] encoded;
 
     /**
      * Creates a new PDFName representing the specified name.
@@ -26,6 +35,19 @@ public final class PDFName implements PDFObject, Comparable<PDFName> {
      */
     public PDFName(String value) {
         this.value = Objects.requireNonNull(value);
+        this.encoded = encode(value);
+    }
+
+    /**
+     * Gets the shared PDFName representing the specified name, creating it the first time. Shared names are never
+     * released, so this is meant for the names that are known to the code, and not for names read from a file.
+     *
+     * @param value the specified name
+     * @return the shared PDFName
+     */
+    public static PDFName valueOf(String value) {
+        PDFName result = POOL.get(value);
+        return (result == null) ? POOL.computeIfAbsent(value, PDFName::new) : result;
     }
 
     @Override
@@ -56,19 +78,28 @@ public final class PDFName implements PDFObject, Comparable<PDFName> {
     }
 
     @Override
-    public void writeToPDF(OutputStream pdf) throws IOException {
-        pdf.write('/');
-        for (char c : value.toCharArray()) {
-            String encoded = encodeChar(c);
-            pdf.write(encoded.getBytes(StandardCharsets.US_ASCII));
-        }
+    public void writeToPDF(PDFByteSink pdf) throws IOException {
+        pdf.write(encoded, 0, encoded.length);
     }
 
-    private String encodeChar(char c) {
-        String result = String.valueOf(c);
-        if (c < 33 || c > 126 || c == 35) {
-            result = "#" + Integer.toHexString(c);
+    /**
+     * Encodes the specified name, including the leading solidus. Characters outside of the regular printable range,
+     * and the number sign, are encoded as a number sign followed by their hexadecimal code.
+     *
+     * @see com.justifiedsolutions.justpdf.pdf.PDFByteSink#writeName(String)
+     */
+    private static byte[] encode(String value) {
+        ByteArrayOutputStream result = new ByteArrayOutputStream(value.length() + 1);
+        result.write('/');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 33 || c > 126 || c == '#') {
+                result.write('#');
+                result.writeBytes(Integer.toHexString(c).getBytes(StandardCharsets.US_ASCII));
+            } else {
+                result.write(c);
+            }
         }
-        return result;
+        return result.toByteArray();
     }
 }
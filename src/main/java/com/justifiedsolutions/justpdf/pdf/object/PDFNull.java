@@ -5,9 +5,9 @@
 
 package com.justifiedsolutions.justpdf.pdf.object;
 
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
+
 import java.io.IOException;
-import java.io.OutputStream;
-import java.nio.charset.StandardCharsets;
 
 /**
  * Represents a {@code null object} in a PDF document.
@@ -25,7 +25,7 @@ public final class PDFNull implements PDFObject {
     }
 
     @Override
-    public void writeToPDF(OutputStream pdf) throws IOException {
-        pdf.write("null".getBytes(StandardCharsets.US_ASCII));
+    public void writeToPDF(PDFByteSink pdf) throws IOException {
+        pdf.writeAscii("null");
     }
 }
@@ -5,20 +5,29 @@
 
 package com.justifiedsolutions.justpdf.pdf.object;
 
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
+
 import java.io.IOException;
-import java.io.OutputStream;
-import java.math.RoundingMode;
-import java.nio.charset.StandardCharsets;
-import java.text.DecimalFormat;
 import java.util.Objects;
 
 /**
- * Represents a {@code real object} inside a PDF document.
+ * Represents a {@code real object} inside a PDF document. PDFReals are immutable, so {@link #valueOf(float)} shares a
+ * single instance of each of the whole numbers that are used most often, such as {@code 0} and {@code 1}.
  *
  * @see "ISO 32000-1:2008, 7.3.3"
  */
 public final class PDFReal implements PDFObject {
 
+    private static final int CACHE_LOW = -128;
+    private static final int CACHE_HIGH = 1023;
+    private static final PDFReal[] CACHE = new PDFReal[CACHE_HIGH - CACHE_LOW + 1];
+
+    static {
+        for (int i = 0; i < CACHE.length; i++) {
+            CACHE[i] = new PDFReal(CACHE_LOW + i);
+        }
+    }
+
     private final float value;
 
     /**
@@ -30,6 +39,22 @@ public final class PDFReal implements PDFObject {
         this.value = value;
     }
 
+    /**
+     * Gets a PDFReal representing the specified float value. The whole numbers from {@code -128} to {@code 1023} are
+     * shared instances.
+     *
+     * @param value the float value
+     * @return the PDFReal
+     */
+    public static PDFReal valueOf(float value) {
+        int whole = (int) value;
+        if (whole == value && whole >= CACHE_LOW && whole <= CACHE_HIGH
+                && (whole != 0 || Float.floatToRawIntBits(value) == 0)) {
+            return CACHE[whole - CACHE_LOW];
+        }
+        return new PDFReal(value);
+    }
+
     /**
      * Trucates the specified floating-point value to 5 decimal places as specified in the PDF specification.
      *
@@ -68,15 +93,7 @@ public final class PDFReal implements PDFObject {
     }
 
     @Override
-    public void writeToPDF(OutputStream pdf) throws IOException {
-        DecimalFormat df = new DecimalFormat("#");
-        df.setMinimumFractionDigits(0);
-        df.setMaximumFractionDigits(5);
-        df.setMinimumIntegerDigits(0);
-        df.setDecimalSeparatorAlwaysShown(false);
-        df.setRoundingMode(RoundingMode.HALF_UP);
-
-        String strValue = df.format(value);
-        pdf.write(strValue.getBytes(StandardCharsets.US_ASCII));
+    public void writeToPDF(PDFByteSink pdf) throws IOException {
+        pdf.writeFixedPointFloat(value);
     }
 }
@@ -5,20 +5,22 @@
 
 package com.justifiedsolutions.justpdf.pdf.object;
 
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
+
 import java.io.IOException;
-import java.io.OutputStream;
 import java.util.Objects;
 
 /**
- * Represents a {@code rectangle object} in a PDF document.
+ * Represents a {@code rectangle object} in a PDF document. The coordinates are held as {@code float}s, and written
+ * without creating a {@link PDFReal} for each of them.
  *
  * @see "ISO 32000-1:2008, 7.9.5"
  */
 public final class PDFRectangle implements PDFObject {
-    private final PDFReal llx;
-    private final PDFReal lly;
-    private final PDFReal urx;
-    private final PDFReal ury;
+    private final float llx;
+    private final float lly;
+    private final float urx;
+    private final float ury;
 
     /**
      * Creates a rectangle given the x,y coordinates for the lower left and upper right corners of the rectangle.
@@ -29,10 +31,7 @@ public final class PDFRectangle implements PDFObject {
      * @param ury upper right y
      */
     public PDFRectangle(PDFReal llx, PDFReal lly, PDFReal urx, PDFReal ury) {
-        this.llx = Objects.requireNonNull(llx);
-        this.lly = Objects.requireNonNull(lly);
-        this.urx = Objects.requireNonNull(urx);
-        this.ury = Objects.requireNonNull(ury);
+        this(llx.getValue(), lly.getValue(), urx.getValue(), ury.getValue());
     }
 
     /**
@@ -44,10 +43,10 @@ public final class PDFRectangle implements PDFObject {
      * @param ury upper right y
      */
     public PDFRectangle(float llx, float lly, float urx, float ury) {
-        this.llx = new PDFReal(llx);
-        this.lly = new PDFReal(lly);
-        this.urx = new PDFReal(urx);
-        this.ury = new PDFReal(ury);
+        this.llx = llx;
+        this.lly = lly;
+        this.urx = urx;
+        this.ury = ury;
     }
 
     /**
@@ -56,7 +55,7 @@ public final class PDFRectangle implements PDFObject {
      * @return llx
      */
     public PDFReal getLLx() {
-        return llx;
+        return PDFReal.valueOf(llx);
     }
 
     /**
@@ -65,7 +64,7 @@ public final class PDFRectangle implements PDFObject {
      * @return lly
      */
     public PDFReal getLLy() {
-        return lly;
+        return PDFReal.valueOf(lly);
     }
 
     /**
@@ -74,7 +73,7 @@ public final class PDFRectangle implements PDFObject {
      * @return urx
      */
     public PDFReal getURx() {
-        return urx;
+        return PDFReal.valueOf(urx);
     }
 
     /**
@@ -83,7 +82,7 @@ public final class PDFRectangle implements PDFObject {
      * @return ury
      */
     public PDFReal getURy() {
-        return ury;
+        return PDFReal.valueOf(ury);
     }
 
     /**
@@ -92,8 +91,7 @@ public final class PDFRectangle implements PDFObject {
      * @return the width
      */
     public PDFReal getWidth() {
-        float width = Math.max(llx.getValue(), urx.getValue()) - Math.min(llx.getValue(), urx.getValue());
-        return new PDFReal(width);
+        return PDFReal.valueOf(Math.abs(urx - llx));
     }
 
     /**
@@ -102,8 +100,7 @@ public final class PDFRectangle implements PDFObject {
      * @return the height
      */
     public PDFReal getHeight() {
-        float height = Math.max(lly.getValue(), ury.getValue()) - Math.min(lly.getValue(), ury.getValue());
-        return new PDFReal(height);
+        return PDFReal.valueOf(Math.abs(ury - lly));
     }
 
     @Override
@@ -120,19 +117,24 @@ public final class PDFRectangle implements PDFObject {
             return false;
         }
         PDFRectangle that = (PDFRectangle) o;
-        return llx.equals(that.llx) &&
-                lly.equals(that.lly) &&
-                urx.equals(that.urx) &&
-                ury.equals(that.ury);
+        return Float.compare(llx, that.llx) == 0 &&
+                Float.compare(lly, that.lly) == 0 &&
+                Float.compare(urx, that.urx) == 0 &&
+                Float.compare(ury, that.ury) == 0;
     }
 
     @Override
-    public void writeToPDF(OutputStream pdf) throws IOException {
-        PDFArray array = new PDFArray();
-        array.add(llx);
-        array.add(lly);
-        array.add(urx);
-        array.add(ury);
-        array.writeToPDF(pdf);
+    public void writeToPDF(PDFByteSink pdf) throws IOException {
+        pdf.write('[');
+        pdf.write(' ');
+        pdf.writeFixedPointFloat(llx);
+        pdf.write(' ');
+        pdf.writeFixedPointFloat(lly);
+        pdf.write(' ');
+        pdf.writeFixedPointFloat(urx);
+        pdf.write(' ');
+        pdf.writeFixedPointFloat(ury);
+        pdf.write(' ');
+        pdf.write(']');
     }
 }
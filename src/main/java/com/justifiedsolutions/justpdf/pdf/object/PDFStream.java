@@ -5,33 +5,70 @@
 
 package com.justifiedsolutions.justpdf.pdf.object;
 
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
+
 import java.io.IOException;
-import java.io.OutputStream;
-import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Objects;
 
 /**
- * Represents a {@code stream object} in a PDF document.
+ * Represents a {@code stream object} in a PDF document. The data of the stream is held in a {@link ByteBuffer}, which
+ * is usually backed by an array on the heap, but may also be a direct or mapped buffer, for example once the stream has
+ * been moved to a {@link PDFStreamStore}.
  *
  * @see "ISO 32000-1:2008, 7.3.8"
  */
 public final class PDFStream implements PDFObject {
 
-    private static final PDFName FILTER = new PDFName("Filter");
-    private static final PDFName DECODE_PARMS = new PDFName("DecodeParms");
+    private static final PDFName LENGTH = PDFName.valueOf("Length");
+    private static final PDFName FILTER = PDFName.valueOf("Filter");
+    private static final PDFName DECODE_PARMS = PDFName.valueOf("DecodeParms");
     private final PDFDictionary dictionary = new PDFDictionary();
-    private final byte[] data;
+    private ByteBuffer data;
 
     /**
-     * Creates a new PDFStream object that encompasses the specified data
+     * Creates a new PDFStream object that encompasses a copy of the specified data
      *
      * @param data the data for the stream
      */
     public PDFStream(byte[] data) {
-        Objects.requireNonNull(data);
-        this.data = Arrays.copyOf(data, data.length);
-        dictionary.put(new PDFName("Length"), new PDFInteger(data.length));
+        this(Arrays.copyOf(data, data.length), data.length);
+    }
+
+    /**
+     * Creates a new PDFStream object that takes ownership of the first {@code length} bytes of the specified array,
+     * without copying it. The array must not be modified afterwards.
+     *
+     * @param data   the array that holds the data for the stream
+     * @param length the number of bytes of data
+     * @see PDFStreamBuffer#toStream()
+     */
+    PDFStream(byte[] data, int length) {
+        this(ByteBuffer.wrap(data, 0, length));
+    }
+
+    /**
+     * Creates a new PDFStream object that takes ownership of the remaining bytes of the specified {@link ByteBuffer},
+     * without copying them. The buffer may be a heap, direct or mapped buffer. Its bytes must not be modified
+     * afterwards, but its position and limit may be.
+     *
+     * @param data the buffer that holds the data for the stream
+     */
+    public PDFStream(ByteBuffer data) {
+        this.data = data.slice();
+        dictionary.put(LENGTH, PDFInteger.valueOf(this.data.limit()));
+    }
+
+    /**
+     * Adds an entry to the stream dictionary. This is used for entries that are specific to the type of stream, such as
+     * {@code Type}.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    public void put(PDFName key, PDFObject value) {
+        dictionary.put(key, value);
     }
 
     /**
@@ -63,8 +100,11 @@ public final class PDFStream implements PDFObject {
 
     @Override
     public int hashCode() {
+        ByteBuffer bytes = data;
         int result = Objects.hash(dictionary);
-        result = 31 * result + Arrays.hashCode(data);
+        for (int i = 0; i < bytes.limit(); i++) {
+            result = 31 * result + bytes.get(i);
+        }
         return result;
     }
 
@@ -77,16 +117,35 @@ public final class PDFStream implements PDFObject {
             return false;
         }
         PDFStream pdfStream = (PDFStream) o;
-        return dictionary.equals(pdfStream.dictionary) &&
-                Arrays.equals(data, pdfStream.data);
+        return dictionary.equals(pdfStream.dictionary) && data.equals(pdfStream.data);
     }
 
     @Override
-    public void writeToPDF(OutputStream pdf) throws IOException {
+    public void writeToPDF(PDFByteSink pdf) throws IOException {
         dictionary.writeToPDF(pdf);
-        pdf.write("\nstream\n".getBytes(StandardCharsets.US_ASCII));
+        pdf.writeAscii("\nstream\n");
         pdf.write(data);
-        pdf.write("\nendstream\n".getBytes(StandardCharsets.US_ASCII));
+        pdf.writeAscii("\nendstream\n");
+    }
+
+    /**
+     * Gets the data of the stream. The returned buffer has its own position and limit, but shares the bytes of the
+     * stream, which must not be modified.
+     *
+     * @return the data
+     */
+    ByteBuffer getData() {
+        return data.duplicate();
+    }
+
+    /**
+     * Replaces the data of the stream with a buffer that holds the same bytes somewhere else.
+     *
+     * @param data the buffer that holds the data for the stream
+     * @see PDFStreamStore#spill(PDFStream)
+     */
+    void setData(ByteBuffer data) {
+        this.data = data.slice();
     }
 
     /**
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.object;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+/**
+ * An {@link java.io.OutputStream} that collects the data of a {@link PDFStream}. Unlike {@link
+ * ByteArrayOutputStream#toByteArray()}, {@link #toStream()} hands the buffer to the new stream without copying it,
+ * unless more than half of it is unused, in which case the data is copied into a buffer of the exact size. The data
+ * is usually written through one or more {@link com.justifiedsolutions.justpdf.pdf.filter.PDFFilter}s, so the
+ * unencoded data is never held in memory.
+ */
+public final class PDFStreamBuffer extends ByteArrayOutputStream {
+
+    /**
+     * Creates a new PDFStreamBuffer.
+     */
+    public PDFStreamBuffer() {
+        super();
+    }
+
+    /**
+     * Creates a new PDFStreamBuffer with the specified initial capacity.
+     *
+     * @param size the initial capacity
+     * @throws IllegalArgumentException if size is negative
+     */
+    public PDFStreamBuffer(int size) {
+        super(size);
+    }
+
+    /**
+     * Creates a {@link PDFStream} from the data written so far. The stream takes ownership of the buffer, or of a
+     * trimmed copy of it if more than half of the buffer is unused, and this PDFStreamBuffer is reset to an empty
+     * buffer.
+     *
+     * @return the stream
+     */
+    public synchronized PDFStream toStream() {
+        byte[] data = (count < buf.length / 2) ? Arrays.copyOf(buf, count) : buf;
+        PDFStream stream = new PDFStream(data, count);
+        buf = new byte[0];
+        count = 0;
+        return stream;
+    }
+}
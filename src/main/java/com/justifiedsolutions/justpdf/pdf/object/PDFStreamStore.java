@@ -0,0 +1,155 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.object;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Holds the data of {@link PDFStream}s off the Java heap until they are written, so the completed pages of a large
+ * document do not fill the heap. The data is either copied to direct memory, or appended to a temporary file that is
+ * mapped into memory, so the operating system can page it out. A stream that has been spilled is written exactly as it
+ * would have been from the heap.
+ *
+ * <p>The temporary file is mapped in segments of {@value #SEGMENT_SIZE} bytes, each mapped once, and every stream gets
+ * a slice of the segment it is appended to, so a document with many pages needs few mappings. A stream that does not
+ * fit in what is left of the current segment starts a new one, and a stream larger than a segment gets a segment of
+ * its own size.</p>
+ *
+ * <p>The data stays valid after the store is closed, but a store that is closed cannot spill any more streams. The
+ * temporary file is deleted when the store is closed. A PDFStreamStore is thread-safe.</p>
+ */
+public final class PDFStreamStore implements Closeable {
+
+    /**
+     * The default size of the segments of the temporary file.
+     */
+    static final int SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private final FileChannel file;
+    private final int segmentSize;
+    private MappedByteBuffer segment;
+    private long mappedSize;
+    private int segmentCount;
+    private long size;
+    private boolean closed;
+
+    private PDFStreamStore(FileChannel file, int segmentSize) {
+        this.file = file;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Creates a PDFStreamStore that holds the data of streams in direct memory.
+     *
+     * @return the store
+     */
+    public static PDFStreamStore direct() {
+        return new PDFStreamStore(null, 0);
+    }
+
+    /**
+     * Creates a PDFStreamStore that holds the data of streams in a memory-mapped temporary file in the specified
+     * directory.
+     *
+     * @param directory the directory to create the temporary file in
+     * @return the store
+     * @throws IOException if there is an issue creating the temporary file
+     */
+    public static PDFStreamStore mapped(Path directory) throws IOException {
+        return mapped(directory, SEGMENT_SIZE);
+    }
+
+    /**
+     * Creates a PDFStreamStore that holds the data of streams in a memory-mapped temporary file in the specified
+     * directory, which is mapped in segments of the specified size.
+     *
+     * @param directory   the directory to create the temporary file in
+     * @param segmentSize the number of bytes in each segment
+     * @return the store
+     * @throws IOException if there is an issue creating the temporary file
+     */
+    static PDFStreamStore mapped(Path directory, int segmentSize) throws IOException {
+        Path path = Files.createTempFile(directory, "justpdf", ".tmp");
+        return new PDFStreamStore(FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.DELETE_ON_CLOSE), segmentSize);
+    }
+
+    /**
+     * Moves the data of the specified stream to this store. The data of a stream that is already held off the heap is
+     * not moved again.
+     *
+     * @param stream the stream
+     * @return the stream
+     * @throws IOException           if there is an issue mapping a segment of the temporary file
+     * @throws IllegalStateException if the store has been closed
+     */
+    public synchronized PDFStream spill(PDFStream stream) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("The store has been closed.");
+        }
+        ByteBuffer data = stream.getData();
+        if (data.isDirect()) {
+            return stream;
+        }
+        int length = data.remaining();
+        if (file == null) {
+            stream.setData(ByteBuffer.allocateDirect(length).put(data).flip());
+        } else {
+            stream.setData(append(data, length));
+        }
+        size += length;
+        return stream;
+    }
+
+    /**
+     * Gets the number of segments of the temporary file that have been mapped.
+     *
+     * @return the number of segments
+     */
+    synchronized int getSegmentCount() {
+        return segmentCount;
+    }
+
+    /**
+     * Appends the data to the current segment, mapping a new one if it does not fit.
+     *
+     * @return a read-only slice of the segment that holds the data
+     */
+    private ByteBuffer append(ByteBuffer data, int length) throws IOException {
+        if (segment == null || segment.remaining() < length) {
+            segment = file.map(FileChannel.MapMode.READ_WRITE, mappedSize, Math.max(segmentSize, length));
+            mappedSize += segment.capacity();
+            segmentCount++;
+        }
+        int offset = segment.position();
+        segment.put(data);
+        return segment.slice(offset, length).asReadOnlyBuffer();
+    }
+
+    /**
+     * Gets the number of bytes of data held by this store.
+     *
+     * @return the number of bytes
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        closed = true;
+        if (file != null) {
+            file.close();
+        }
+    }
+}
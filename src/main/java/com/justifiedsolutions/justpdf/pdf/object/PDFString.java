@@ -5,8 +5,9 @@
 
 package com.justifiedsolutions.justpdf.pdf.object;
 
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
+
 import java.io.IOException;
-import java.io.OutputStream;
 import java.util.Objects;
 
 /**
@@ -39,9 +40,9 @@ public class PDFString implements PDFObject {
     }
 
     @Override
-    public void writeToPDF(OutputStream pdf) throws IOException {
+    public void writeToPDF(PDFByteSink pdf) throws IOException {
         pdf.write('(');
-        pdf.write(encode());
+        getEncoding().encodeString(getValue(), pdf);
         pdf.write(')');
     }
 
@@ -63,11 +64,11 @@ public class PDFString implements PDFObject {
     }
 
     /**
-     * Encodes the value into a byte array.
+     * Gets the {@link Encoding} used to write the value.
      *
-     * @return the encoded value
+     * @return the encoding
      */
-    protected byte[] encode() {
-        return WIN_ANSI_ENCODING.encodeString(getValue());
+    protected Encoding getEncoding() {
+        return WIN_ANSI_ENCODING;
     }
 }
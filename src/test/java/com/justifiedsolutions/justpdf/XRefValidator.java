@@ -0,0 +1,266 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Test helper that checks the cross reference table, or cross reference stream, of a PDF points at the objects it
+ * claims to.
+ */
+public final class XRefValidator {
+
+    private static final Pattern OBJECT_HEADER = Pattern.compile("(\\d+) 0 obj\n");
+
+    private XRefValidator() {
+    }
+
+    /**
+     * Validates that {@code startxref} points at the cross reference table and that every in-use entry in the table
+     * points at the start of the matching {@code obj} keyword.
+     *
+     * @param pdf the bytes of the PDF
+     * @return the number of entries in the cross reference table, including the free entry for object 0
+     */
+    public static int validate(byte[] pdf) {
+        String text = new String(pdf, StandardCharsets.ISO_8859_1);
+        assertTrue(text.startsWith("%PDF-"), "missing header");
+        assertTrue(text.endsWith("%%EOF"), "missing %%EOF");
+
+        int startXRefIndex = text.lastIndexOf("startxref\n");
+        assertTrue(startXRefIndex > 0, "missing startxref");
+        int xrefOffset = Integer.parseInt(text.substring(startXRefIndex + 10, text.indexOf('\n', startXRefIndex + 10)));
+        if (!text.startsWith("xref\n", xrefOffset)) {
+            return validateXRefStream(pdf, text, xrefOffset);
+        }
+        return validateTable(text, xrefOffset);
+    }
+
+    /**
+     * Validates that a linearized PDF starts with a valid linearization parameter dictionary, followed by the
+     * first-page cross reference section, and that both cross reference sections point at the objects they claim to.
+     *
+     * @param pdf the bytes of the PDF
+     * @return the number of pages in the PDF
+     */
+    public static int validateLinearized(byte[] pdf) {
+        String text = new String(pdf, StandardCharsets.ISO_8859_1);
+        assertTrue(text.endsWith("%%EOF"), "missing %%EOF");
+        int headerEnd = text.indexOf('\n', text.indexOf('\n') + 1) + 1;
+        Matcher header = OBJECT_HEADER.matcher(text);
+        assertTrue(header.find(headerEnd) && header.start() == headerEnd, "missing linearization parameter dictionary");
+        int dictionaryEnd = text.indexOf(">>", headerEnd) + 2;
+        String parameters = text.substring(headerEnd, dictionaryEnd);
+        assertTrue(parameters.contains("/Linearized 1"), "first object is not a linearization parameter dictionary");
+        assertEquals(pdf.length, getLong(parameters, "L"), "/L is not the length of the file");
+
+        int firstXRefOffset = text.indexOf("xref\n", dictionaryEnd);
+        assertTrue(text.substring(dictionaryEnd, firstXRefOffset).matches("\\s*endobj\\s*"),
+                "first-page cross reference section must follow the linearization parameter dictionary");
+        int size = validateTable(text, firstXRefOffset);
+        String firstTrailer = text.substring(firstXRefOffset, text.indexOf("%%EOF", firstXRefOffset));
+        assertEquals(size, getInteger(firstTrailer, "Size"), "first-page trailer has the wrong /Size");
+        assertTrue(firstTrailer.endsWith("startxref\n0\n"), "first-page trailer must end with startxref 0");
+        int mainXRefOffset = (int) getLong(firstTrailer, "Prev");
+        int mainSize = validateTable(text, mainXRefOffset);
+        assertTrue(text.startsWith("xref\n" + mainSize + " ", firstXRefOffset),
+                "first-page cross reference section must start after the main section");
+        assertEquals(text.indexOf('\n', mainXRefOffset + 5), getLong(parameters, "T"), "/T is wrong");
+        assertTrue(text.endsWith("startxref\n" + firstXRefOffset + "\n%%EOF"), "startxref must point at the first page");
+
+        Matcher hint = Pattern.compile("/H \\[ (\\d+) (\\d+) \\]").matcher(parameters);
+        assertTrue(hint.find(), "missing /H");
+        int hintOffset = Integer.parseInt(hint.group(1));
+        int hintLength = Integer.parseInt(hint.group(2));
+        assertTrue(text.startsWith("endobj\n\n", hintOffset - 8), "hint stream must follow an object");
+        assertTrue(text.startsWith((size - 1) + " 0 obj\n", hintOffset), "/H does not point at the hint stream");
+        int firstPageOffset = hintOffset + hintLength;
+        String firstPage = getInteger(parameters, "O") + " 0 obj\n";
+        assertTrue(text.startsWith(firstPage, firstPageOffset), "first page must follow the hint stream");
+        assertTrue(Pattern.compile("/Type /Page\\b").matcher(
+                text.substring(firstPageOffset, text.indexOf("endobj", firstPageOffset))).find(), "/O is not a page");
+        long endOfFirstPage = getLong(parameters, "E");
+        assertTrue(OBJECT_HEADER.matcher(text).region((int) endOfFirstPage, text.length()).lookingAt(),
+                "/E does not point at the end of an object");
+        return getInteger(parameters, "N");
+    }
+
+    /**
+     * Validates a PDF that was updated incrementally. Every cross reference section, from the one {@code startxref}
+     * points at back through the {@code Prev} entries of the trailers, must point at the objects it claims to, and each
+     * section must come after the section it updates.
+     *
+     * @param pdf the bytes of the PDF
+     * @return the number of cross reference sections
+     */
+    public static int validateUpdated(byte[] pdf) {
+        String text = new String(pdf, StandardCharsets.ISO_8859_1);
+        assertTrue(text.startsWith("%PDF-"), "missing header");
+        assertTrue(text.endsWith("%%EOF"), "missing %%EOF");
+        int startXRefIndex = text.lastIndexOf("startxref\n");
+        int xrefOffset = Integer.parseInt(text.substring(startXRefIndex + 10, text.indexOf('\n', startXRefIndex + 10)));
+        int sections = 0;
+        while (true) {
+            validateTable(text, xrefOffset);
+            sections++;
+            int trailerStart = text.indexOf("trailer\n", xrefOffset);
+            String trailer = text.substring(trailerStart, text.indexOf("startxref", trailerStart));
+            Matcher prev = Pattern.compile("/Prev (\\d+)").matcher(trailer);
+            if (!prev.find()) {
+                return sections;
+            }
+            int prevOffset = Integer.parseInt(prev.group(1));
+            assertTrue(prevOffset < xrefOffset, "/Prev must point at an earlier cross reference section");
+            xrefOffset = prevOffset;
+        }
+    }
+
+    /**
+     * Validates a cross reference table, which may have several subsections. If a subsection starts at object 0, its
+     * first entry must be free.
+     *
+     * @return the object number after the last entry of the last subsection
+     */
+    private static int validateTable(String text, int xrefOffset) {
+        assertTrue(text.startsWith("xref\n", xrefOffset), "missing xref at " + xrefOffset);
+        int lineStart = xrefOffset + 5;
+        int size;
+        do {
+            int lineEnd = text.indexOf('\n', lineStart);
+            String[] subsection = text.substring(lineStart, lineEnd).split(" ");
+            int first = Integer.parseInt(subsection[0]);
+            size = first + Integer.parseInt(subsection[1]);
+
+            int entryStart = lineEnd + 1;
+            if (first == 0) {
+                assertTrue(text.startsWith("0000000000 65535 f \n", entryStart), "bad free entry");
+            }
+            for (int objectNumber = Math.max(first, 1); objectNumber < size; objectNumber++) {
+                int offset = entryStart + ((objectNumber - first) * 20);
+                String entry = text.substring(offset, offset + 20);
+                if (entry.charAt(17) != 'n') {
+                    fail("unexpected xref entry for object " + objectNumber + ": " + entry);
+                }
+                int byteOffset = Integer.parseInt(entry.substring(0, 10));
+                String expected = objectNumber + " 0 obj\n";
+                assertTrue(text.startsWith(expected, byteOffset),
+                        "xref entry for object " + objectNumber + " does not point at the object");
+            }
+            lineStart = entryStart + ((size - first) * 20);
+        } while (Character.isDigit(text.charAt(lineStart)));
+        assertTrue(text.startsWith("trailer\n", lineStart), "missing trailer");
+        return size;
+    }
+
+    /**
+     * Validates a cross reference stream. Entries for objects stored in object streams must point at an object stream
+     * that lists the object at the specified index.
+     */
+    private static int validateXRefStream(byte[] pdf, String text, int xrefOffset) {
+        Matcher header = OBJECT_HEADER.matcher(text);
+        assertTrue(header.find(xrefOffset) && header.start() == xrefOffset, "startxref does not point at an object");
+        String dictionary = getDictionary(text, xrefOffset);
+        assertTrue(dictionary.contains("/Type /XRef"), "startxref does not point at an xref stream");
+        int size = getInteger(dictionary, "Size");
+        Matcher w = Pattern.compile("/W \\[ 1 (\\d+) (\\d+) \\]").matcher(dictionary);
+        assertTrue(w.find(), "missing /W");
+        int width2 = Integer.parseInt(w.group(1));
+        int width3 = Integer.parseInt(w.group(2));
+        int entryWidth = 1 + width2 + width3;
+
+        byte[] entries = getStreamData(pdf, text, xrefOffset);
+        assertEquals(size * entryWidth, entries.length);
+        assertEquals(0, entries[0], "object 0 must be free");
+        for (int objectNumber = 1; objectNumber < size; objectNumber++) {
+            int start = objectNumber * entryWidth;
+            int type = entries[start];
+            long field2 = readNumber(entries, start + 1, width2);
+            long field3 = readNumber(entries, start + 1 + width2, width3);
+            if (type == 1) {
+                assertTrue(text.startsWith(objectNumber + " 0 obj\n", (int) field2),
+                        "xref entry for object " + objectNumber + " does not point at the object");
+            } else if (type == 2) {
+                int streamStart = getObjectOffset((int) field2, entries, entryWidth, width2);
+                String streamDictionary = getDictionary(text, streamStart);
+                assertTrue(streamDictionary.contains("/Type /ObjStm"), "object " + field2 + " is not an object stream");
+                String objects = new String(getStreamData(pdf, text, streamStart), StandardCharsets.ISO_8859_1);
+                String[] pairs = objects.substring(0, getInteger(streamDictionary, "First")).trim().split(" ");
+                assertEquals(String.valueOf(objectNumber), pairs[(int) field3 * 2],
+                        "object stream " + field2 + " does not contain object " + objectNumber);
+            } else {
+                fail("unexpected xref stream entry type for object " + objectNumber + ": " + type);
+            }
+        }
+        return size;
+    }
+
+    private static int getObjectOffset(int objectNumber, byte[] entries, int entryWidth, int width2) {
+        int start = objectNumber * entryWidth;
+        assertEquals(1, entries[start], "object stream " + objectNumber + " must be uncompressed");
+        return (int) readNumber(entries, start + 1, width2);
+    }
+
+    private static long readNumber(byte[] data, int offset, int width) {
+        long result = 0;
+        for (int i = 0; i < width; i++) {
+            result = (result << 8) | (data[offset + i] & 0xFF);
+        }
+        return result;
+    }
+
+    private static String getDictionary(String text, int objectOffset) {
+        int start = text.indexOf("<<", objectOffset);
+        int end = text.indexOf(">>\nstream\n", start);
+        assertTrue(end > start, "object at " + objectOffset + " is not a stream");
+        return text.substring(start, end + 2);
+    }
+
+    private static int getInteger(String dictionary, String key) {
+        Matcher matcher = Pattern.compile("/" + key + " (\\d+)").matcher(dictionary);
+        assertTrue(matcher.find(), "missing /" + key);
+        return Integer.parseInt(matcher.group(1));
+    }
+
+    private static long getLong(String dictionary, String key) {
+        Matcher matcher = Pattern.compile("/" + key + " (\\d+)").matcher(dictionary);
+        assertTrue(matcher.find(), "missing /" + key);
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private static byte[] getStreamData(byte[] pdf, String text, int objectOffset) {
+        String dictionary = getDictionary(text, objectOffset);
+        int dataStart = text.indexOf(">>\nstream\n", objectOffset) + 10;
+        int length = getInteger(dictionary, "Length");
+        assertTrue(text.startsWith("\nendstream", dataStart + length), "bad stream length");
+        Inflater inflater = new Inflater();
+        inflater.setInput(pdf, dataStart, length);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        try {
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && inflater.needsInput()) {
+                    fail("truncated stream at " + objectOffset);
+                }
+                out.write(buffer, 0, count);
+            }
+        } catch (DataFormatException e) {
+            fail("unable to inflate stream at " + objectOffset, e);
+        } finally {
+            inflater.end();
+        }
+        return out.toByteArray();
+    }
+}
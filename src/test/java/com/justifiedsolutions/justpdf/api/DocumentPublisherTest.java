@@ -0,0 +1,182 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.api;
+
+import com.justifiedsolutions.justpdf.XRefValidator;
+import com.justifiedsolutions.justpdf.api.content.Paragraph;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DocumentPublisherTest {
+
+    private static final Object COMPLETE = new Object();
+
+    private Document document;
+
+    @BeforeEach
+    void setup() throws DocumentException {
+        document = new Document(PageSize.LETTER, new Margin(10, 10, 10, 10));
+        for (int i = 0; i < 400; i++) {
+            document.add(new Paragraph("Paragraph " + i));
+        }
+    }
+
+    @Test
+    void publish() throws DocumentException, IOException, InterruptedException {
+        document.getWriteOptions().setStreaming(true);
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        document.write(expected);
+
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        document.publish().subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+        byte[] actual = subscriber.readAll();
+
+        assertEquals(expected.size(), actual.length);
+        assertEquals(XRefValidator.validate(expected.toByteArray()), XRefValidator.validate(actual));
+    }
+
+    @Test
+    void publishLinearized() throws DocumentException, IOException, InterruptedException {
+        document.getWriteOptions().setLinearized(true);
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        document.write(expected);
+
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        document.publish().subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(expected.size(), subscriber.readAll().length);
+    }
+
+    @Test
+    void demand() throws InterruptedException {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        document.publish().subscribe(subscriber);
+        subscriber.subscription.request(2);
+        assertInstanceOf(ByteBuffer.class, subscriber.signals.poll(10, TimeUnit.SECONDS));
+        assertInstanceOf(ByteBuffer.class, subscriber.signals.poll(10, TimeUnit.SECONDS));
+        assertNull(subscriber.signals.poll(200, TimeUnit.MILLISECONDS), "no chunk may be published without demand");
+
+        subscriber.subscription.request(1);
+        ByteBuffer chunk = (ByteBuffer) subscriber.signals.poll(10, TimeUnit.SECONDS);
+        assertNotNull(chunk);
+        assertTrue(chunk.remaining() <= DocumentPublisher.CHUNK_SIZE);
+        assertNull(subscriber.signals.poll(200, TimeUnit.MILLISECONDS));
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        subscriber.subscription.request(Long.MAX_VALUE);
+        Object signal;
+        do {
+            signal = subscriber.signals.poll(10, TimeUnit.SECONDS);
+        } while (signal instanceof ByteBuffer);
+        assertEquals(COMPLETE, signal);
+    }
+
+    @Test
+    void cancel() throws InterruptedException {
+        Thread[] layoutThread = new Thread[1];
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        document.publish(runnable -> {
+            layoutThread[0] = new Thread(runnable);
+            layoutThread[0].start();
+        }).subscribe(subscriber);
+        subscriber.subscription.request(1);
+        assertInstanceOf(ByteBuffer.class, subscriber.signals.poll(10, TimeUnit.SECONDS));
+
+        subscriber.subscription.cancel();
+        layoutThread[0].join(10_000);
+        assertTrue(subscriber.signals.isEmpty(), "nothing is signalled after cancelling");
+    }
+
+    @Test
+    void requestNotPositive() throws InterruptedException {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        document.publish().subscribe(subscriber);
+        subscriber.subscription.request(0);
+        assertInstanceOf(IllegalArgumentException.class, subscriber.signals.poll(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void layoutFailure() throws InterruptedException {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        new Document(PageSize.LETTER, new Margin(10, 10, 10, 10)).publish().subscribe(subscriber);
+        subscriber.subscription.request(1);
+        assertInstanceOf(IllegalStateException.class, subscriber.signals.poll(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void rejected() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        document.publish(runnable -> {
+            throw new RejectedExecutionException();
+        }).subscribe(subscriber);
+        assertInstanceOf(RejectedExecutionException.class, subscriber.signals.poll());
+    }
+
+    @Test
+    void publishNPE() {
+        assertThrows(NullPointerException.class, () -> document.publish(null));
+        assertThrows(NullPointerException.class, () -> document.publish().subscribe(null));
+    }
+
+    /**
+     * Records every signal in a queue, with {@link #COMPLETE} for {@code onComplete}.
+     */
+    private static final class RecordingSubscriber implements Flow.Subscriber<ByteBuffer> {
+
+        private final BlockingQueue<Object> signals = new LinkedBlockingQueue<>();
+        private Flow.Subscription subscription;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(ByteBuffer item) {
+            signals.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            signals.add(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            signals.add(COMPLETE);
+        }
+
+        private byte[] readAll() throws InterruptedException {
+            ByteArrayOutputStream result = new ByteArrayOutputStream();
+            Object signal = signals.poll(10, TimeUnit.SECONDS);
+            while (signal instanceof ByteBuffer) {
+                ByteBuffer chunk = (ByteBuffer) signal;
+                result.write(chunk.array(), chunk.position(), chunk.remaining());
+                signal = signals.poll(10, TimeUnit.SECONDS);
+            }
+            assertEquals(COMPLETE, signal);
+            return result.toByteArray();
+        }
+    }
+}
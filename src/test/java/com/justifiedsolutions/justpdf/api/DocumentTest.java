@@ -5,16 +5,44 @@
 
 package com.justifiedsolutions.justpdf.api;
 
+import com.justifiedsolutions.justpdf.XRefValidator;
 import com.justifiedsolutions.justpdf.api.content.Chunk;
 import com.justifiedsolutions.justpdf.api.content.Paragraph;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class DocumentTest {
 
@@ -88,4 +116,377 @@ class DocumentTest {
         document.setFooter(footer);
         assertSame(footer, document.getFooter());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getWriteOptions() {
+        WriteOptions options = document.getWriteOptions();
+        assertSame(options, document.getWriteOptions());
+        options.setStreaming(true);
+        assertTrue(document.getWriteOptions().isStreaming());
+    }
+
+    @Test
+    void writeStreaming() throws DocumentException, IOException {
+        for (int i = 0; i < 200; i++) {
+            document.add(new Paragraph("Paragraph " + i));
+        }
+        ByteArrayOutputStream buffered = new ByteArrayOutputStream();
+        document.write(buffered);
+
+        document.getWriteOptions().setStreaming(true);
+        ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+        document.write(streamed);
+
+        assertEquals(XRefValidator.validate(buffered.toByteArray()), XRefValidator.validate(streamed.toByteArray()));
+    }
+
+    @Test
+    void writeCompressObjects() throws DocumentException, IOException {
+        for (int i = 0; i < 200; i++) {
+            document.add(new Paragraph("Paragraph " + i));
+        }
+        ByteArrayOutputStream uncompressed = new ByteArrayOutputStream();
+        document.write(uncompressed);
+
+        document.getWriteOptions().setCompressObjects(true);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        document.write(compressed);
+
+        XRefValidator.validate(compressed.toByteArray());
+        assertTrue(compressed.size() < uncompressed.size());
+    }
+
+    @Test
+    void writeLinearized() throws DocumentException, IOException {
+        for (int i = 0; i < 200; i++) {
+            document.add(new Paragraph("Paragraph " + i));
+        }
+        ByteArrayOutputStream normal = new ByteArrayOutputStream();
+        document.write(normal);
+
+        document.getWriteOptions().setLinearized(true);
+        document.getWriteOptions().setStreaming(true);
+        document.getWriteOptions().setCompressObjects(true);
+        ByteArrayOutputStream linearized = new ByteArrayOutputStream();
+        document.write(linearized);
+
+        int pageCount = XRefValidator.validateLinearized(linearized.toByteArray());
+        assertTrue(pageCount > 1);
+        assertEquals(pageCount, normal.toString(StandardCharsets.ISO_8859_1).split("/Type /Page\\b").length - 1);
+    }
+
+    @Test
+    void append(@TempDir Path directory) throws DocumentException, IOException {
+        for (int i = 0; i < 200; i++) {
+            document.add(new Paragraph("Paragraph " + i));
+        }
+        Path path = directory.resolve("append.pdf");
+        try (OutputStream out = Files.newOutputStream(path)) {
+            document.write(out);
+        }
+        byte[] original = Files.readAllBytes(path);
+
+        Document update = new Document(PageSize.LETTER, new Margin(10, 10, 10, 10));
+        for (int i = 200; i < 400; i++) {
+            update.add(new Paragraph("Paragraph " + i));
+        }
+        update.getWriteOptions().setCompressObjects(true);
+        update.getWriteOptions().setLinearized(true);
+        update.append(path);
+
+        byte[] actual = Files.readAllBytes(path);
+        assertArrayEquals(original, Arrays.copyOf(actual, original.length));
+        assertEquals(2, XRefValidator.validateUpdated(actual));
+        int originalPages = new String(original, StandardCharsets.ISO_8859_1).split("/Type /Page\\b").length - 1;
+        int pages = new String(actual, StandardCharsets.ISO_8859_1).split("/Type /Page\\b").length - 1;
+        assertTrue(pages > originalPages);
+        String updateText = new String(actual, original.length, actual.length - original.length,
+                StandardCharsets.ISO_8859_1);
+        assertTrue(updateText.contains("/Count " + pages + "/Kids"));
+    }
+
+    @Test
+    void writeChannel(@TempDir Path directory) throws DocumentException, IOException {
+        for (int i = 0; i < 200; i++) {
+            document.add(new Paragraph("Paragraph " + i));
+        }
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        document.write(expected);
+
+        ByteArrayOutputStream channelBytes = new ByteArrayOutputStream();
+        try (WritableByteChannel channel = Channels.newChannel(channelBytes)) {
+            document.write(channel);
+            assertTrue(channel.isOpen());
+        }
+
+        Path path = directory.resolve("write.pdf");
+        Files.write(path, new byte[expected.size() * 2]);
+        document.write(path);
+
+        document.getWriteOptions().setStreaming(true);
+        ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+        document.write(Channels.newChannel(streamed));
+
+        int expectedSize = XRefValidator.validate(expected.toByteArray());
+        assertEquals(expectedSize, XRefValidator.validate(channelBytes.toByteArray()));
+        assertEquals(expected.size(), channelBytes.size());
+        byte[] file = Files.readAllBytes(path);
+        assertEquals(expectedSize, XRefValidator.validate(file));
+        assertEquals(expected.size(), file.length, "an existing file must be truncated");
+        assertEquals(expectedSize, XRefValidator.validate(streamed.toByteArray()));
+    }
+
+    @Test
+    void writeChannelNPE() {
+        assertThrows(NullPointerException.class, () -> document.write((WritableByteChannel) null));
+        assertThrows(NullPointerException.class, () -> document.write((Path) null));
+        assertThrows(NullPointerException.class, () -> document.write((OutputStream) null));
+    }
+
+    @Test
+    void appendNPE() {
+        assertThrows(NullPointerException.class, () -> document.append(null));
+    }
+
+    @Test
+    void writeCompressionExecutor() throws DocumentException, IOException {
+        for (int i = 0; i < 200; i++) {
+            document.add(new Paragraph("Paragraph " + i));
+        }
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        document.write(expected);
+
+        document.getWriteOptions().setCompressionExecutor(ForkJoinPool.commonPool());
+        ByteArrayOutputStream buffered = new ByteArrayOutputStream();
+        document.write(buffered);
+        document.getWriteOptions().setStreaming(true);
+        ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+        document.write(streamed);
+
+        int expectedSize = XRefValidator.validate(expected.toByteArray());
+        assertEquals(expectedSize, XRefValidator.validate(buffered.toByteArray()));
+        assertEquals(expectedSize, XRefValidator.validate(streamed.toByteArray()));
+        assertEquals(expected.size(), buffered.size());
+        assertEquals(expected.size(), streamed.size());
+    }
+
+    @Test
+    void writeSerializationExecutor() throws DocumentException, IOException {
+        for (int i = 0; i < 2000; i++) {
+            document.add(new Paragraph("Paragraph " + i));
+        }
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        document.write(expected);
+
+        document.getWriteOptions().setSerializationExecutor(ForkJoinPool.commonPool());
+        ByteArrayOutputStream buffered = new ByteArrayOutputStream();
+        document.write(buffered);
+        document.getWriteOptions().setStreaming(true);
+        ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+        document.write(streamed);
+
+        int expectedSize = XRefValidator.validate(expected.toByteArray());
+        assertEquals(expectedSize, XRefValidator.validate(buffered.toByteArray()));
+        assertEquals(expectedSize, XRefValidator.validate(streamed.toByteArray()));
+        assertEquals(expected.size(), buffered.size());
+    }
+
+    @Test
+    void writeShards(@TempDir Path directory) throws DocumentException, IOException {
+        for (int i = 0; i < 500; i++) {
+            document.add(new Paragraph("Paragraph " + i));
+        }
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        document.write(expected);
+        int expectedPages = expected.toString(StandardCharsets.ISO_8859_1).split("/Type /Page\\b").length - 1;
+
+        document.getWriteOptions().setStreaming(true);
+        int shards = document.writeShards(3, Long.MAX_VALUE, shard -> directory.resolve(shard + ".pdf"),
+                ForkJoinPool.commonPool());
+        assertEquals((expectedPages + 2) / 3, shards);
+        int pages = 0;
+        for (int shard = 0; shard < shards; shard++) {
+            byte[] actual = Files.readAllBytes(directory.resolve(shard + ".pdf"));
+            XRefValidator.validate(actual);
+            int shardPages = new String(actual, StandardCharsets.ISO_8859_1).split("/Type /Page\\b").length - 1;
+            assertTrue(shardPages <= 3);
+            pages += shardPages;
+        }
+        assertEquals(expectedPages, pages);
+        assertThrows(NullPointerException.class, () -> document.writeShards(1, 1, null, null));
+    }
+
+    @Test
+    void writeSpillMode(@TempDir Path directory) throws DocumentException, IOException {
+        // the creation date must not change between the writes that are compared
+        document.getWriteOptions().setClock(Clock.fixed(Instant.EPOCH, ZoneOffset.UTC));
+        for (int i = 0; i < 200; i++) {
+            document.add(new Paragraph("Paragraph " + i));
+        }
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        document.write(expected);
+
+        Path spillDirectory = Files.createDirectory(directory.resolve("spill"));
+        document.getWriteOptions().setSpillDirectory(spillDirectory);
+        document.getWriteOptions().setCompressionExecutor(ForkJoinPool.commonPool());
+        for (SpillMode mode : SpillMode.values()) {
+            document.getWriteOptions().setSpillMode(mode);
+            Path pdf = directory.resolve(mode + ".pdf");
+            document.write(pdf);
+            assertArrayEquals(expected.toByteArray(), Files.readAllBytes(pdf), mode.toString());
+
+            ByteArrayOutputStream buffered = new ByteArrayOutputStream();
+            document.write(buffered);
+            assertArrayEquals(expected.toByteArray(), buffered.toByteArray(), mode.toString());
+        }
+        // the temporary file is deleted once the document has been written
+        try (var files = Files.list(spillDirectory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void writeSpillModeMissingDirectory(@TempDir Path directory) throws DocumentException {
+        document.add(new Paragraph("Paragraph"));
+        document.getWriteOptions().setSpillMode(SpillMode.MAPPED);
+        document.getWriteOptions().setSpillDirectory(directory.resolve("missing"));
+        DocumentException exception = assertThrows(DocumentException.class,
+                () -> document.write(new ByteArrayOutputStream()));
+        assertInstanceOf(IOException.class, exception.getCause());
+    }
+
+    @Test
+    void writeSharedResources() throws DocumentException, IOException {
+        for (int i = 0; i < 200; i++) {
+            document.add(new Paragraph("Paragraph " + i));
+        }
+        ByteArrayOutputStream own = new ByteArrayOutputStream();
+        document.write(own);
+        int expectedSize = XRefValidator.validate(own.toByteArray());
+
+        document.getWriteOptions().setSharedResources(true);
+        ByteArrayOutputStream shared = new ByteArrayOutputStream();
+        document.write(shared);
+        document.getWriteOptions().setStreaming(true);
+        ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+        document.write(streamed);
+        document.getWriteOptions().setLinearized(true);
+        ByteArrayOutputStream linearized = new ByteArrayOutputStream();
+        document.write(linearized);
+
+        int pages = own.toString(StandardCharsets.ISO_8859_1).split("/ProcSet").length - 1;
+        assertTrue(pages > 1);
+        assertEquals(expectedSize + 1, XRefValidator.validate(shared.toByteArray()));
+        assertEquals(expectedSize + 1, XRefValidator.validate(streamed.toByteArray()));
+        assertEquals(pages, XRefValidator.validateLinearized(linearized.toByteArray()));
+        assertTrue(shared.size() < own.size());
+        for (ByteArrayOutputStream out : List.of(shared, streamed, linearized)) {
+            assertEquals(1, out.toString(StandardCharsets.ISO_8859_1).split("/ProcSet").length - 1);
+        }
+    }
+
+    @Test
+    void writePageTreeFanOut() throws DocumentException, IOException {
+        for (int i = 0; i < 200; i++) {
+            document.add(new Paragraph("Paragraph " + i));
+        }
+        ByteArrayOutputStream flat = new ByteArrayOutputStream();
+        document.getWriteOptions().setPageTreeFanOut(Integer.MAX_VALUE);
+        document.write(flat);
+
+        ByteArrayOutputStream tree = new ByteArrayOutputStream();
+        document.getWriteOptions().setPageTreeFanOut(2);
+        document.write(tree);
+
+        assertTrue(XRefValidator.validate(tree.toByteArray()) > XRefValidator.validate(flat.toByteArray()));
+    }
+
+    @Test
+    void writeCompressionProfile() throws DocumentException, IOException {
+        for (int i = 0; i < 200; i++) {
+            document.add(new Paragraph("Paragraph " + i));
+        }
+        ByteArrayOutputStream balanced = new ByteArrayOutputStream();
+        document.write(balanced);
+
+        document.getWriteOptions().setCompressionProfile(CompressionProfile.NONE);
+        ByteArrayOutputStream none = new ByteArrayOutputStream();
+        document.write(none);
+
+        document.getWriteOptions().setCompressionProfile(CompressionProfile.BALANCED);
+        document.getWriteOptions().setCompressionThreshold(Integer.MAX_VALUE);
+        ByteArrayOutputStream threshold = new ByteArrayOutputStream();
+        document.write(threshold);
+
+        int expectedSize = XRefValidator.validate(balanced.toByteArray());
+        assertEquals(expectedSize, XRefValidator.validate(none.toByteArray()));
+        assertEquals(none.size(), threshold.size());
+        assertTrue(balanced.size() < none.size());
+    }
+
+    @Test
+    void writeDeterministic() throws Exception {
+        for (int variant = 0; variant < 4; variant++) {
+            int settings = variant;
+            String expected = digest(createDeterministic(settings));
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<String>> digests = new ArrayList<>();
+                for (int i = 0; i < 8; i++) {
+                    digests.add(executor.submit(() -> digest(createDeterministic(settings))));
+                }
+                for (Future<String> digest : digests) {
+                    assertEquals(expected, digest.get(), "variant " + settings);
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    @Test
+    void writeDeterministicContent() throws DocumentException, IOException {
+        Document other = createDeterministic(0);
+        other.add(new Paragraph("One more"));
+        assertFalse(digest(createDeterministic(0)).equals(digest(other)));
+
+        Document later = createDeterministic(0);
+        later.getWriteOptions().setClock(Clock.fixed(Instant.EPOCH.plusSeconds(1), ZoneOffset.UTC));
+        assertFalse(digest(createDeterministic(0)).equals(digest(later)));
+    }
+
+    /**
+     * Creates a deterministic document with a fixed clock whose settings depend on the variant: 0 is held in memory, 1
+     * is streaming, 2 compresses objects and 3 is linearized.
+     */
+    private static Document createDeterministic(int variant) throws DocumentException {
+        Document result = new Document(PageSize.LETTER, new Margin(10, 10, 10, 10));
+        result.getWriteOptions().setDeterministic(true);
+        result.getWriteOptions().setClock(Clock.fixed(Instant.EPOCH, ZoneOffset.UTC));
+        result.setMetadata(Metadata.TITLE, "Deterministic");
+        result.getWriteOptions().setStreaming(variant == 1);
+        result.getWriteOptions().setCompressObjects(variant == 2);
+        result.getWriteOptions().setLinearized(variant == 3);
+        result.getWriteOptions().setCompressionExecutor(ForkJoinPool.commonPool());
+        result.getWriteOptions().setSerializationExecutor(ForkJoinPool.commonPool());
+        for (int i = 0; i < 300; i++) {
+            result.add(new Paragraph("Paragraph " + i));
+        }
+        return result;
+    }
+
+    /**
+     * Writes the document, checks it has a file identifier, and gets the SHA-256 digest of its bytes.
+     */
+    private static String digest(Document doc) throws DocumentException, IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        doc.write(out);
+        byte[] bytes = out.toByteArray();
+        assertTrue(new String(bytes, StandardCharsets.ISO_8859_1).contains("/ID [<"));
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
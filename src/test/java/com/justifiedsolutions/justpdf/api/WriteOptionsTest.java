@@ -0,0 +1,131 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.api;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WriteOptionsTest {
+
+    private WriteOptions options;
+
+    @BeforeEach
+    void setup() {
+        options = new WriteOptions();
+    }
+
+    @Test
+    void setStreaming() {
+        assertFalse(options.isStreaming());
+        options.setStreaming(true);
+        assertTrue(options.isStreaming());
+    }
+
+    @Test
+    void setCompressObjects() {
+        assertFalse(options.isCompressObjects());
+        options.setCompressObjects(true);
+        assertTrue(options.isCompressObjects());
+    }
+
+    @Test
+    void setLinearized() {
+        assertFalse(options.isLinearized());
+        options.setLinearized(true);
+        assertTrue(options.isLinearized());
+    }
+
+    @Test
+    void setCompressionExecutor() {
+        assertNull(options.getCompressionExecutor());
+        Executor executor = ForkJoinPool.commonPool();
+        options.setCompressionExecutor(executor);
+        assertSame(executor, options.getCompressionExecutor());
+    }
+
+    @Test
+    void setSerializationExecutor() {
+        assertNull(options.getSerializationExecutor());
+        Executor executor = ForkJoinPool.commonPool();
+        options.setSerializationExecutor(executor);
+        assertSame(executor, options.getSerializationExecutor());
+    }
+
+    @Test
+    void setCompressionProfile() {
+        assertEquals(CompressionProfile.BALANCED, options.getCompressionProfile());
+        options.setCompressionProfile(CompressionProfile.SMALLEST);
+        assertEquals(CompressionProfile.SMALLEST, options.getCompressionProfile());
+        assertThrows(NullPointerException.class, () -> options.setCompressionProfile(null));
+    }
+
+    @Test
+    void setCompressionThreshold() {
+        assertEquals(0, options.getCompressionThreshold());
+        options.setCompressionThreshold(1024);
+        assertEquals(1024, options.getCompressionThreshold());
+        assertThrows(IllegalArgumentException.class, () -> options.setCompressionThreshold(-1));
+    }
+
+    @Test
+    void setPageTreeFanOut() {
+        assertEquals(32, options.getPageTreeFanOut());
+        options.setPageTreeFanOut(8);
+        assertEquals(8, options.getPageTreeFanOut());
+        assertThrows(IllegalArgumentException.class, () -> options.setPageTreeFanOut(1));
+    }
+
+    @Test
+    void setSharedResources() {
+        assertFalse(options.isSharedResources());
+        options.setSharedResources(true);
+        assertTrue(options.isSharedResources());
+    }
+
+    @Test
+    void setSpillMode(@TempDir Path directory) {
+        assertEquals(SpillMode.NONE, options.getSpillMode());
+        options.setSpillMode(SpillMode.MAPPED);
+        assertEquals(SpillMode.MAPPED, options.getSpillMode());
+        assertThrows(NullPointerException.class, () -> options.setSpillMode(null));
+
+        assertEquals(Path.of(System.getProperty("java.io.tmpdir")), options.getSpillDirectory());
+        options.setSpillDirectory(directory);
+        assertEquals(directory, options.getSpillDirectory());
+        assertThrows(NullPointerException.class, () -> options.setSpillDirectory(null));
+    }
+
+    @Test
+    void setDeterministic() {
+        assertFalse(options.isDeterministic());
+        options.setDeterministic(true);
+        assertTrue(options.isDeterministic());
+    }
+
+    @Test
+    void setClock() {
+        assertEquals(Clock.systemDefaultZone(), options.getClock());
+        Clock clock = Clock.fixed(Instant.EPOCH, ZoneOffset.UTC);
+        options.setClock(clock);
+        assertSame(clock, options.getClock());
+        assertThrows(NullPointerException.class, () -> options.setClock(null));
+    }
+}
@@ -20,6 +20,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class PDFFontWrapperTest {
 
@@ -103,6 +104,19 @@ class PDFFontWrapperTest {
         assertEquals(expected, wrapper.getStringWidth("cat"), .00001);
     }
 
+    @Test
+    void measure() {
+        PDFFontWrapper wrapper = PDFFontWrapper.getInstance(new PDFFont(PDFFont.FontName.HELVETICA, 10f));
+        StringBuilder text = new StringBuilder("A cat, Wally");
+        assertEquals(wrapper.getStringWidth("cat"), wrapper.measure(text, 2, 5), .00001);
+        assertEquals(wrapper.getStringWidth(text.toString()), wrapper.measure(text, 0, text.length()), .00001);
+        assertEquals(6.67f, wrapper.measure(text, 0, 1), .00001);
+        assertEquals(0f, wrapper.measure(text, 3, 3));
+        assertEquals(0f, wrapper.getCharacterWidth('\u20AC'));
+        assertThrows(IndexOutOfBoundsException.class, () -> wrapper.measure(text, 5, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> wrapper.measure(text, 0, 13));
+    }
+
     @Test
     void getColorSpaceOperatorRGB() {
         PDFReal zero = new PDFReal(0);
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChannelOutputStreamTest {
+
+    @Test
+    void constructorNPE() {
+        assertThrows(NullPointerException.class, () -> new ChannelOutputStream(null));
+    }
+
+    @Test
+    void write() throws IOException {
+        RecordingChannel channel = new RecordingChannel();
+        byte[] large = new byte[ChannelOutputStream.BUFFER_SIZE * 3 + 17];
+        new Random(42).nextBytes(large);
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        try (ChannelOutputStream out = new ChannelOutputStream(channel)) {
+            out.write('a');
+            out.write(large);
+            out.write(large, 5, 10);
+            out.flush();
+            assertEquals(1 + large.length + 10, channel.bytes.size());
+            out.write('b');
+        }
+        expected.write('a');
+        expected.write(large);
+        expected.write(large, 5, 10);
+        expected.write('b');
+
+        assertArrayEquals(expected.toByteArray(), channel.bytes.toByteArray());
+        assertTrue(channel.open, "closing the stream must not close the channel");
+        assertEquals(0, channel.heapWrites);
+        assertTrue(channel.largestWrite <= ChannelOutputStream.BUFFER_SIZE);
+    }
+
+    @Test
+    void writeByteBuffer() throws IOException {
+        RecordingChannel channel = new RecordingChannel();
+        byte[] large = new byte[ChannelOutputStream.BUFFER_SIZE * 2 + 3];
+        new Random(42).nextBytes(large);
+        ByteBuffer direct = ByteBuffer.allocateDirect(large.length).put(large).flip();
+        ByteBuffer small = ByteBuffer.allocateDirect(10).put(large, 0, 10).flip();
+        try (ChannelOutputStream out = new ChannelOutputStream(channel)) {
+            out.write('a');
+            out.write(direct);
+            assertEquals(0, direct.position());
+            out.write(small);
+            out.write(ByteBuffer.wrap(large, 5, 10));
+        }
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        expected.write('a');
+        expected.write(large);
+        expected.write(large, 0, 10);
+        expected.write(large, 5, 10);
+
+        assertArrayEquals(expected.toByteArray(), channel.bytes.toByteArray());
+        assertEquals(0, channel.heapWrites);
+        // the large direct buffer is written to the channel as it is
+        assertEquals(large.length, channel.largestWrite);
+    }
+
+    @Test
+    void writeClosed() throws IOException {
+        ChannelOutputStream out = new ChannelOutputStream(new RecordingChannel());
+        out.close();
+        out.close();
+        assertThrows(IOException.class, () -> out.write('a'));
+        assertThrows(IOException.class, () -> out.write(new byte[1], 0, 1));
+        assertThrows(IOException.class, out::flush);
+        assertThrows(IOException.class, () -> out.write(ByteBuffer.allocate(1)));
+    }
+
+    @Test
+    void writeInvalidRange() throws IOException {
+        try (ChannelOutputStream out = new ChannelOutputStream(new RecordingChannel())) {
+            assertThrows(IndexOutOfBoundsException.class, () -> out.write(new byte[4], 2, 3));
+        }
+    }
+
+    @Test
+    void writePartialChannel() throws IOException {
+        RecordingChannel channel = new RecordingChannel();
+        channel.maximumWrite = 7;
+        byte[] data = new byte[100];
+        new Random(7).nextBytes(data);
+        try (ChannelOutputStream out = new ChannelOutputStream(channel)) {
+            out.write(data);
+        }
+        assertArrayEquals(data, channel.bytes.toByteArray());
+    }
+
+    /**
+     * Records the bytes written to it, and the kind of buffers they were written from.
+     */
+    private static final class RecordingChannel implements WritableByteChannel {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private boolean open = true;
+        private int heapWrites;
+        private int largestWrite;
+        private int maximumWrite = Integer.MAX_VALUE;
+
+        @Override
+        public int write(ByteBuffer src) {
+            if (!src.isDirect()) {
+                heapWrites++;
+            }
+            largestWrite = Math.max(largestWrite, src.remaining());
+            int length = Math.min(src.remaining(), maximumWrite);
+            for (int i = 0; i < length; i++) {
+                bytes.write(src.get());
+            }
+            return length;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+        }
+    }
+}
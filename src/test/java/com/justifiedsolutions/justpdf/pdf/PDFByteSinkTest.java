@@ -0,0 +1,203 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PDFByteSinkTest {
+
+    @Test
+    void constructorInvalidBufferSize() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThrows(IllegalArgumentException.class, () -> new PDFByteSink(out, 0));
+        assertThrows(NullPointerException.class, () -> new PDFByteSink(null));
+    }
+
+    @Test
+    void constructorCount() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PDFByteSink sink = new PDFByteSink(out, PDFByteSink.DEFAULT_BUFFER_SIZE, 3_000_000_000L);
+        sink.writeAscii("abc");
+        assertEquals(3_000_000_003L, sink.getCount());
+        sink.flush();
+        assertEquals("abc", out.toString(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void writeAcrossBuffer() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PDFByteSink sink = new PDFByteSink(out, 4);
+        sink.writeAscii("abc");
+        sink.write("defgh".getBytes(StandardCharsets.US_ASCII));
+        sink.write("ij".getBytes(StandardCharsets.US_ASCII));
+        sink.write('k');
+        assertEquals(11, sink.getCount());
+        assertEquals('k', sink.getLastByte());
+        sink.flush();
+        assertEquals("abcdefghijk", out.toString(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void writeByteBuffer() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PDFByteSink sink = new PDFByteSink(out, 4);
+        sink.writeAscii("a");
+        ByteBuffer direct = ByteBuffer.allocateDirect(8).put("xbcdefgh".getBytes(StandardCharsets.US_ASCII));
+        direct.position(1);
+        sink.write(direct);
+        assertEquals(1, direct.position());
+        sink.write(ByteBuffer.wrap("xij".getBytes(StandardCharsets.US_ASCII), 1, 2));
+        sink.write(ByteBuffer.allocateDirect(0));
+        assertEquals(10, sink.getCount());
+        assertEquals('j', sink.getLastByte());
+        sink.flush();
+        assertEquals("abcdefghij", out.toString(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void writeByteBufferToChannel() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        List<Integer> writes = new ArrayList<>();
+        WritableByteChannel channel = new WritableByteChannel() {
+            @Override
+            public int write(ByteBuffer src) {
+                int length = src.remaining();
+                writes.add(length);
+                for (int i = 0; i < length; i++) {
+                    bytes.write(src.get());
+                }
+                return length;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+                // the channel belongs to the test
+            }
+        };
+        byte[] large = new byte[ChannelOutputStream.BUFFER_SIZE * 2];
+        Arrays.fill(large, (byte) 'x');
+        large[large.length - 1] = 'y';
+        ByteBuffer direct = ByteBuffer.allocateDirect(large.length).put(large).flip();
+        try (PDFByteSink sink = new PDFByteSink(new ChannelOutputStream(channel))) {
+            sink.writeAscii("a");
+            sink.write(direct);
+            assertEquals(0, direct.position());
+            assertEquals(1 + large.length, sink.getCount());
+            assertEquals('y', sink.getLastByte());
+            sink.writeAscii("b");
+        }
+
+        assertEquals(List.of(1, large.length, 1), writes);
+        byte[] actual = bytes.toByteArray();
+        assertEquals('a', actual[0]);
+        assertArrayEquals(large, Arrays.copyOfRange(actual, 1, 1 + large.length));
+        assertEquals('b', actual[actual.length - 1]);
+    }
+
+    @Test
+    void getLastByte() throws IOException {
+        PDFByteSink sink = new PDFByteSink(new ByteArrayOutputStream());
+        assertEquals(-1, sink.getLastByte());
+        sink.write(new byte[]{'a', (byte) 0xE2});
+        assertEquals(0xE2, sink.getLastByte());
+        sink.write(new byte[0]);
+        assertEquals(0xE2, sink.getLastByte());
+    }
+
+    @Test
+    void writeAscii() throws IOException {
+        assertEquals("A?B", write(sink -> sink.writeAscii("AéB")));
+    }
+
+    @Test
+    void writeInt() throws IOException {
+        assertEquals("0", write(sink -> sink.writeInt(0)));
+        assertEquals("42", write(sink -> sink.writeInt(42)));
+        assertEquals("-42", write(sink -> sink.writeInt(-42)));
+        assertEquals(String.valueOf(Integer.MIN_VALUE), write(sink -> sink.writeInt(Integer.MIN_VALUE)));
+        assertEquals(String.valueOf(Integer.MAX_VALUE), write(sink -> sink.writeInt(Integer.MAX_VALUE)));
+        assertEquals(String.valueOf(Long.MIN_VALUE), write(sink -> sink.writeLong(Long.MIN_VALUE)));
+    }
+
+    @Test
+    void writePaddedLong() throws IOException {
+        assertEquals("0000000042", write(sink -> sink.writePaddedLong(42, 10)));
+        assertEquals("65535", write(sink -> sink.writePaddedLong(65_535, 5)));
+        assertEquals("123456", write(sink -> sink.writePaddedLong(123_456, 5)));
+    }
+
+    @Test
+    void writeName() throws IOException {
+        assertEquals("/Name", write(sink -> sink.writeName("Name")));
+        assertEquals("/A#20B#23C#9", write(sink -> sink.writeName("A B#C\t")));
+        assertEquals("/#e9#2260", write(sink -> sink.writeName("é≠")));
+    }
+
+    @Test
+    void writeFixedPointFloat() throws IOException {
+        float[] values = {0f, -0f, .5f, -.5f, 1f, -1f, .000001f, -.000001f, .000005f, .015625f, .999995f, 3.14f,
+                12345.678f, 100_000f, 1e13f, -1e13f, Float.MAX_VALUE, Float.MIN_VALUE, Float.NaN,
+                Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY};
+        for (float value : values) {
+            assertFixedPointFloat(value);
+        }
+    }
+
+    @Test
+    void writeFixedPointFloatRandom() throws IOException {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            assertFixedPointFloat(Float.intBitsToFloat(random.nextInt()));
+            assertFixedPointFloat((random.nextFloat() - .5f) * 2_000f);
+            assertFixedPointFloat(random.nextInt(1_000_000) / 64f);
+        }
+    }
+
+    private static void assertFixedPointFloat(float value) throws IOException {
+        DecimalFormat df = new DecimalFormat("#");
+        df.setMinimumFractionDigits(0);
+        df.setMaximumFractionDigits(5);
+        df.setMinimumIntegerDigits(0);
+        df.setDecimalSeparatorAlwaysShown(false);
+        df.setRoundingMode(RoundingMode.HALF_UP);
+        String expected = new String(df.format(value).getBytes(StandardCharsets.US_ASCII), StandardCharsets.US_ASCII);
+        assertEquals(expected, write(sink -> sink.writeFixedPointFloat(value)), "value: " + value);
+    }
+
+    private static String write(SinkWriter writer) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PDFByteSink sink = new PDFByteSink(out);
+        writer.write(sink);
+        sink.flush();
+        return out.toString(StandardCharsets.US_ASCII);
+    }
+
+    @FunctionalInterface
+    private interface SinkWriter {
+        void write(PDFByteSink sink) throws IOException;
+    }
+}
@@ -5,12 +5,21 @@
 
 package com.justifiedsolutions.justpdf.pdf.contents;
 
+import com.justifiedsolutions.justpdf.pdf.filter.DeflateFilter;
 import com.justifiedsolutions.justpdf.pdf.object.PDFReal;
+import com.justifiedsolutions.justpdf.pdf.object.PDFRectangle;
+import com.justifiedsolutions.justpdf.pdf.object.PDFStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -55,4 +64,55 @@ class PDFContentStreamBuilderTest {
         builder.addOperator(new SetLeading(new PDFReal(14)));
         assertNotNull(builder.getStream());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getStreamExecutor() throws Exception {
+        builder.addFilter(new DeflateFilter());
+        builder.addOperator(new SetLineWidth(new PDFReal(.5f)));
+        builder.addOperator(new CreateRectangularPath(new PDFRectangle(70, 718, 235, 740)));
+        builder.addOperator(new StrokePath());
+
+        List<Runnable> tasks = new ArrayList<>();
+        CompletableFuture<PDFStream> actual = builder.getStream(tasks::add);
+        assertFalse(actual.isDone());
+        assertEquals(1, tasks.size());
+        tasks.get(0).run();
+        assertEquals(builder.getStream(), actual.get());
+    }
+
+    @Test
+    void getStreamExecutorIncomplete() {
+        builder.addOperator(new PushGraphicsState());
+        assertThrows(IllegalStateException.class, () -> builder.getStream(Runnable::run));
+    }
+
+    @Test
+    void setFilterThreshold() throws Exception {
+        PDFContentStreamBuilder unfiltered = new PDFContentStreamBuilder();
+        unfiltered.addOperator(new SetLineWidth(new PDFReal(.5f)));
+        PDFStream expected = unfiltered.getStream();
+
+        builder.addFilter(new DeflateFilter());
+        builder.addOperator(new SetLineWidth(new PDFReal(.5f)));
+        assertNotEquals(expected, builder.getStream());
+        builder.setFilterThreshold(100);
+        assertEquals(expected, builder.getStream());
+        assertEquals(expected, builder.getStream(Runnable::run).get());
+        builder.setFilterThreshold(4);
+        assertNotEquals(expected, builder.getStream());
+    }
+
+    @Test
+    void setFilterThresholdFiltersSerializedContent() throws Exception {
+        PDFContentStreamBuilder filtered = new PDFContentStreamBuilder();
+        filtered.addFilter(new DeflateFilter());
+        filtered.addOperator(new SetLineWidth(new PDFReal(.5f)));
+        PDFStream expected = filtered.getStream();
+
+        builder.addFilter(new DeflateFilter());
+        builder.addOperator(new SetLineWidth(new PDFReal(.5f)));
+        builder.setFilterThreshold(1);
+        assertEquals(expected, builder.getStream());
+        assertEquals(expected, builder.getStream(Runnable::run).get());
+    }
+}
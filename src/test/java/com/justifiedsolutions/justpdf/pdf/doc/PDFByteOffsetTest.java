@@ -0,0 +1,37 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.doc;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class PDFByteOffsetTest {
+
+    @Test
+    void getValue() {
+        assertEquals(5_000_000_000L, new PDFByteOffset(5_000_000_000L).getValue());
+    }
+
+    @Test
+    void equalsHashCode() {
+        assertEquals(new PDFByteOffset(42), new PDFByteOffset(42));
+        assertEquals(new PDFByteOffset(42).hashCode(), new PDFByteOffset(42).hashCode());
+        assertNotEquals(new PDFByteOffset(42), new PDFByteOffset(43));
+    }
+
+    @Test
+    void writeToPDF() throws IOException {
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        new PDFByteOffset(5_000_000_000L).writeToPDF(actual);
+        assertEquals("5000000000", actual.toString(StandardCharsets.US_ASCII));
+    }
+}
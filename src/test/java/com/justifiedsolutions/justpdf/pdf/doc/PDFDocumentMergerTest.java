@@ -0,0 +1,231 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.doc;
+
+import com.justifiedsolutions.justpdf.XRefValidator;
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
+import com.justifiedsolutions.justpdf.pdf.contents.BeginText;
+import com.justifiedsolutions.justpdf.pdf.contents.EndText;
+import com.justifiedsolutions.justpdf.pdf.contents.PDFContentStreamBuilder;
+import com.justifiedsolutions.justpdf.pdf.contents.PositionText;
+import com.justifiedsolutions.justpdf.pdf.contents.SetFont;
+import com.justifiedsolutions.justpdf.pdf.contents.ShowText;
+import com.justifiedsolutions.justpdf.pdf.filter.DeflateFilter;
+import com.justifiedsolutions.justpdf.pdf.font.PDFFontType1;
+import com.justifiedsolutions.justpdf.pdf.object.PDFArray;
+import com.justifiedsolutions.justpdf.pdf.object.PDFDictionary;
+import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject.Reference;
+import com.justifiedsolutions.justpdf.pdf.object.PDFInteger;
+import com.justifiedsolutions.justpdf.pdf.object.PDFName;
+import com.justifiedsolutions.justpdf.pdf.object.PDFObject;
+import com.justifiedsolutions.justpdf.pdf.object.PDFReal;
+import com.justifiedsolutions.justpdf.pdf.object.PDFRectangle;
+import com.justifiedsolutions.justpdf.pdf.object.PDFString;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PDFDocumentMergerTest {
+
+    private static final PDFName TITLE = new PDFName("Title");
+    private static final PDFName NEXT = new PDFName("Next");
+
+    @Test
+    void mergeDocuments(@TempDir Path directory) throws IOException {
+        PDFDocument target = new PDFDocument();
+        PDFDocumentMerger merger = new PDFDocumentMerger(target);
+        merger.merge(createDocument("A", 3, false));
+        merger.merge(createDocument("B", 40, false));
+        assertEquals(43, target.getPageCount());
+
+        Path path = write(target, directory.resolve("merged.pdf"));
+        String text = verify(path, titles("A", 3, "B", 40));
+        // the two documents share one font
+        assertEquals(1, count(text, "/Type /Font"));
+    }
+
+    @Test
+    void mergeFiles(@TempDir Path directory) throws IOException {
+        Path first = write(createDocument("A", 2, true), directory.resolve("a.pdf"));
+        Path second = write(createDocument("B", 35, true), directory.resolve("b.pdf"));
+
+        PDFDocument target = createDocument("T", 1, false);
+        PDFDocumentMerger merger = new PDFDocumentMerger(target);
+        try (SeekableByteChannel channel = Files.newByteChannel(first)) {
+            merger.merge(channel);
+        }
+        try (SeekableByteChannel channel = Files.newByteChannel(second)) {
+            merger.merge(channel);
+        }
+        merger.merge(createDocument("C", 1, false));
+
+        Path path = write(target, directory.resolve("merged.pdf"));
+        String text = verify(path, titles("T", 1, "A", 2, "B", 35, "C", 1));
+        // the target's own font is not shared with the merged documents
+        assertEquals(2, count(text, "/Type /Font"));
+        // the compressed contents of the files are copied as they are
+        assertEquals(37, count(text, "/Filter [ /FlateDecode ]"));
+    }
+
+    @Test
+    void mergeNoOutline(@TempDir Path directory) throws IOException {
+        PDFDocument source = new PDFDocument();
+        source.createPage(new PDFRectangle(0, 0, 612, 792));
+        Path file = write(source, directory.resolve("source.pdf"));
+
+        PDFDocument target = new PDFDocument();
+        PDFDocumentMerger merger = new PDFDocumentMerger(target);
+        try (SeekableByteChannel channel = Files.newByteChannel(file)) {
+            merger.merge(channel);
+        }
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        target.write(actual);
+        XRefValidator.validate(actual.toByteArray());
+        assertEquals(1, target.getPageCount());
+        assertFalse(actual.toString(StandardCharsets.ISO_8859_1).contains("/Outlines"));
+    }
+
+    @Test
+    void mergeInvalid() {
+        PDFDocument target = new PDFDocument();
+        PDFDocumentMerger merger = new PDFDocumentMerger(target);
+        assertThrows(NullPointerException.class, () -> new PDFDocumentMerger(null));
+        assertThrows(NullPointerException.class, () -> merger.merge((PDFDocument) null));
+        assertThrows(NullPointerException.class, () -> merger.merge((SeekableByteChannel) null));
+        assertThrows(IllegalArgumentException.class, () -> merger.merge(target));
+        PDFDocument streaming = new PDFDocument(new ByteArrayOutputStream(), new PDFDocumentOptions());
+        assertThrows(IllegalArgumentException.class, () -> merger.merge(streaming));
+    }
+
+    /**
+     * Creates a document whose pages show the name of the document and the page number, with an outline item for
+     * each page.
+     */
+    private static PDFDocument createDocument(String name, int pages, boolean compress) throws IOException {
+        PDFDocumentOptions options = new PDFDocumentOptions();
+        options.setPageTreeFanOut(4);
+        PDFDocument doc = new PDFDocument(options);
+        Reference font = doc.addFont(PDFFontType1.getInstance(PDFFontType1.FontName.HELVETICA));
+        for (int i = 0; i < pages; i++) {
+            PDFPage page = doc.createPage(new PDFRectangle(0, 0, 612, 792));
+            PDFName fontName = page.addFontReference(font);
+            PDFContentStreamBuilder builder = new PDFContentStreamBuilder();
+            if (compress) {
+                builder.addFilter(new DeflateFilter());
+            }
+            builder.addOperator(new BeginText());
+            builder.addOperator(new SetFont(fontName, new PDFReal(12)));
+            builder.addOperator(new PositionText(new PDFReal(72), new PDFReal(720)));
+            builder.addOperator(new ShowText(new PDFString(name + " " + i)));
+            builder.addOperator(new EndText());
+            page.setContents(builder.getStream());
+            doc.getOutline().createItem(name + " " + i, page.getReference(), 720);
+        }
+        return doc;
+    }
+
+    private static Path write(PDFDocument doc, Path path) throws IOException {
+        try (OutputStream out = Files.newOutputStream(path)) {
+            doc.write(out);
+        }
+        return path;
+    }
+
+    /**
+     * Validates the merged file, and checks that the pages are in a valid page tree and that the outline items are
+     * linked in the order of the documents and point at the pages in order.
+     */
+    private static String verify(Path path, List<String> expectedTitles) throws IOException {
+        int pageCount = expectedTitles.size();
+        byte[] bytes = Files.readAllBytes(path);
+        XRefValidator.validate(bytes);
+        try (SeekableByteChannel channel = Files.newByteChannel(path)) {
+            PDFFileReader reader = new PDFFileReader(channel);
+            PDFDictionary catalog = read(reader, reader.getTrailer().get(PDFTrailer.ROOT));
+            PDFDictionary pages = read(reader, catalog.get(PDFCatalogDictionary.PAGES));
+            assertEquals(new PDFInteger(pageCount), pages.get(PDFPages.COUNT_NAME));
+            List<Reference> pageReferences = new ArrayList<>();
+            collectPages(reader, (Reference) catalog.get(PDFCatalogDictionary.PAGES), pageReferences);
+            assertEquals(pageCount, pageReferences.size());
+
+            PDFDictionary outline = read(reader, catalog.get(PDFCatalogDictionary.OUTLINES));
+            assertEquals(new PDFInteger(pageCount), outline.get(PDFOutlineDictionary.COUNT));
+            List<String> titles = new ArrayList<>();
+            PDFObject item = outline.get(PDFOutlineDictionary.FIRST);
+            int index = 0;
+            while (item != null) {
+                PDFDictionary itemDictionary = read(reader, item);
+                titles.add(serialize(itemDictionary.get(TITLE)));
+                PDFArray dest = (PDFArray) itemDictionary.get(new PDFName("Dest"));
+                assertEquals(pageReferences.get(index++), dest.get(0));
+                item = itemDictionary.get(NEXT);
+            }
+            assertEquals(expectedTitles, titles);
+        }
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Gets the titles of the outline items of the documents with the specified names and page counts.
+     */
+    private static List<String> titles(Object... namesAndPages) {
+        List<String> result = new ArrayList<>();
+        for (int index = 0; index < namesAndPages.length; index += 2) {
+            for (int page = 0; page < (Integer) namesAndPages[index + 1]; page++) {
+                result.add("(" + namesAndPages[index] + " " + page + ")");
+            }
+        }
+        return result;
+    }
+
+    private static String serialize(PDFObject object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (PDFByteSink sink = new PDFByteSink(bytes)) {
+            object.writeToPDF(sink);
+        }
+        return bytes.toString(StandardCharsets.ISO_8859_1);
+    }
+
+    private static void collectPages(PDFFileReader reader, Reference node, List<Reference> pages) throws IOException {
+        PDFDictionary dictionary = read(reader, node);
+        if (PDFPage.PAGE_NAME.equals(dictionary.get(PDFPage.TYPE_NAME))) {
+            assertTrue(dictionary.get(PDFPage.PARENT_NAME) instanceof Reference);
+            pages.add(node);
+            return;
+        }
+        PDFArray kids = (PDFArray) dictionary.get(PDFPages.KIDS_NAME);
+        for (int index = 0; index < kids.size(); index++) {
+            collectPages(reader, (Reference) kids.get(index), pages);
+        }
+    }
+
+    private static PDFDictionary read(PDFFileReader reader, PDFObject reference) throws IOException {
+        return (PDFDictionary) reader.readObject(((Reference) reference).getIndirectObject().getObjectNumber()
+                .getValue());
+    }
+
+    private static int count(String text, String value) {
+        int result = 0;
+        for (int index = text.indexOf(value); index >= 0; index = text.indexOf(value, index + 1)) {
+            result++;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.doc;
+
+import com.justifiedsolutions.justpdf.pdf.object.PDFStreamStore;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PDFDocumentOptionsTest {
+
+    private final PDFDocumentOptions options = new PDFDocumentOptions();
+
+    @Test
+    void defaults() {
+        assertFalse(options.isLinearized());
+        assertFalse(options.isCompressObjects());
+        assertFalse(options.isDeterministic());
+        assertFalse(options.isSharedResources());
+        assertEquals(PDFPageTree.DEFAULT_FAN_OUT, options.getPageTreeFanOut());
+        assertNull(options.getCompressionExecutor());
+        assertNull(options.getSerializationExecutor());
+        assertNull(options.getSpillStore());
+    }
+
+    @Test
+    void setPageTreeFanOut() {
+        options.setPageTreeFanOut(2);
+        assertEquals(2, options.getPageTreeFanOut());
+        assertThrows(IllegalArgumentException.class, () -> options.setPageTreeFanOut(1));
+    }
+
+    @Test
+    void copy() throws IOException {
+        Executor executor = ForkJoinPool.commonPool();
+        try (PDFStreamStore store = PDFStreamStore.direct()) {
+            options.setLinearized(true);
+            options.setCompressObjects(true);
+            options.setDeterministic(true);
+            options.setSharedResources(true);
+            options.setPageTreeFanOut(4);
+            options.setCompressionExecutor(executor);
+            options.setSerializationExecutor(executor);
+            options.setSpillStore(store);
+
+            PDFDocumentOptions copy = new PDFDocumentOptions(options);
+            assertTrue(copy.isLinearized());
+            assertTrue(copy.isCompressObjects());
+            assertTrue(copy.isDeterministic());
+            assertTrue(copy.isSharedResources());
+            assertEquals(4, copy.getPageTreeFanOut());
+            assertSame(executor, copy.getCompressionExecutor());
+            assertSame(executor, copy.getSerializationExecutor());
+            assertSame(store, copy.getSpillStore());
+
+            options.setPageTreeFanOut(2);
+            assertEquals(4, copy.getPageTreeFanOut());
+        }
+    }
+
+    @Test
+    void documentCopiesOptions() {
+        options.setSharedResources(true);
+        PDFDocument doc = new PDFDocument(options);
+        options.setSharedResources(false);
+        assertTrue(doc.getOptions().isSharedResources());
+        doc.getOptions().setSharedResources(false);
+        assertTrue(doc.getOptions().isSharedResources());
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.doc;
+
+import com.justifiedsolutions.justpdf.XRefValidator;
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
+import com.justifiedsolutions.justpdf.pdf.contents.BeginText;
+import com.justifiedsolutions.justpdf.pdf.contents.EndText;
+import com.justifiedsolutions.justpdf.pdf.contents.PDFContentStreamBuilder;
+import com.justifiedsolutions.justpdf.pdf.contents.PositionText;
+import com.justifiedsolutions.justpdf.pdf.contents.SetFont;
+import com.justifiedsolutions.justpdf.pdf.contents.ShowText;
+import com.justifiedsolutions.justpdf.pdf.font.PDFFontType1;
+import com.justifiedsolutions.justpdf.pdf.object.PDFDictionary;
+import com.justifiedsolutions.justpdf.pdf.object.PDFDocEncodedString;
+import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject.Reference;
+import com.justifiedsolutions.justpdf.pdf.object.PDFInteger;
+import com.justifiedsolutions.justpdf.pdf.object.PDFName;
+import com.justifiedsolutions.justpdf.pdf.object.PDFObject;
+import com.justifiedsolutions.justpdf.pdf.object.PDFReal;
+import com.justifiedsolutions.justpdf.pdf.object.PDFRectangle;
+import com.justifiedsolutions.justpdf.pdf.object.PDFString;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PDFDocumentSplitterTest {
+
+    private static final PDFName TITLE = new PDFName("Title");
+
+    @Test
+    void writeByPages(@TempDir Path directory) throws IOException {
+        PDFDocument source = createDocument(12, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            int shards = new PDFDocumentSplitter(5, Long.MAX_VALUE).write(source,
+                    shard -> Files.newOutputStream(directory.resolve(shard + ".pdf")), executor);
+            assertEquals(3, shards);
+        } finally {
+            executor.shutdown();
+        }
+        // the chapters start on pages 0, 4 and 8, and each page has a section under its chapter
+        assertEquals(List.of("(Chapter 0)", "  (Section 0)", "  (Section 1)", "  (Section 2)", "  (Section 3)",
+                "(Chapter 4)", "  (Section 4)"), verify(directory.resolve("0.pdf"), 5));
+        assertEquals(List.of("(Section 5)", "(Section 6)", "(Section 7)", "(Chapter 8)", "  (Section 8)",
+                "  (Section 9)"), verify(directory.resolve("1.pdf"), 5));
+        assertEquals(List.of("(Section 10)", "(Section 11)"), verify(directory.resolve("2.pdf"), 2));
+    }
+
+    @Test
+    void writeByBytes() throws IOException {
+        PDFDocument source = createDocument(10, 2000);
+        List<ByteArrayOutputStream> outputs = new ArrayList<>();
+        int shards = new PDFDocumentSplitter(Integer.MAX_VALUE, 7000).write(source, shard -> {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            outputs.add(out);
+            return out;
+        }, null);
+
+        assertEquals(outputs.size(), shards);
+        assertTrue(shards > 2);
+        int pages = 0;
+        for (ByteArrayOutputStream out : outputs) {
+            byte[] bytes = out.toByteArray();
+            XRefValidator.validate(bytes);
+            // the page tree, outline, catalog and trailer are not counted
+            assertTrue(bytes.length < 7000 + 2000, "shard of " + bytes.length + " bytes");
+            String text = out.toString(StandardCharsets.ISO_8859_1);
+            pages += text.split("/Type /Page\\b").length - 1;
+            // each shard has its own copy of the font and of the Information Dictionary
+            assertTrue(text.contains("/Type /Font"));
+            assertTrue(text.contains("/Title (Split)"));
+        }
+        assertEquals(10, pages);
+    }
+
+    @Test
+    void writeLargePage() throws IOException {
+        PDFDocument source = createDocument(3, 5000);
+        List<ByteArrayOutputStream> outputs = new ArrayList<>();
+        int shards = new PDFDocumentSplitter(Integer.MAX_VALUE, 100).write(source, shard -> {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            outputs.add(out);
+            return out;
+        }, null);
+        assertEquals(3, shards);
+        for (ByteArrayOutputStream out : outputs) {
+            assertEquals(1, out.toString(StandardCharsets.ISO_8859_1).split("/Type /Page\\b").length - 1);
+        }
+    }
+
+    @Test
+    void writeNoOutline() throws IOException {
+        PDFDocument source = new PDFDocument();
+        source.createPage(new PDFRectangle(0, 0, 612, 792));
+        source.createPage(new PDFRectangle(0, 0, 612, 792));
+        List<ByteArrayOutputStream> outputs = new ArrayList<>();
+        assertEquals(2, new PDFDocumentSplitter(1, Long.MAX_VALUE).write(source, shard -> {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            outputs.add(out);
+            return out;
+        }, null));
+        for (ByteArrayOutputStream out : outputs) {
+            XRefValidator.validate(out.toByteArray());
+            assertFalse(out.toString(StandardCharsets.ISO_8859_1).contains("/Outlines"));
+        }
+    }
+
+    @Test
+    void writeNoPages() throws IOException {
+        assertEquals(0, new PDFDocumentSplitter(1, 1).write(new PDFDocument(), shard -> {
+            throw new IOException("no shard");
+        }, null));
+    }
+
+    @Test
+    void writeFailure() throws IOException {
+        PDFDocument source = createDocument(4, 0);
+        PDFDocumentSplitter splitter = new PDFDocumentSplitter(1, Long.MAX_VALUE);
+        IOException exception = assertThrows(IOException.class, () -> splitter.write(source, shard -> {
+            throw new IOException("unable to open");
+        }, Runnable::run));
+        Throwable cause = exception;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        assertEquals("unable to open", cause.getMessage());
+    }
+
+    @Test
+    void invalid() {
+        assertThrows(IllegalArgumentException.class, () -> new PDFDocumentSplitter(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new PDFDocumentSplitter(1, 0));
+        PDFDocumentSplitter splitter = new PDFDocumentSplitter(1, 1);
+        assertThrows(NullPointerException.class, () -> splitter.write(null, shard -> null, null));
+        assertThrows(NullPointerException.class, () -> splitter.write(new PDFDocument(), null, null));
+        PDFDocument streaming = new PDFDocument(new ByteArrayOutputStream(), new PDFDocumentOptions());
+        assertThrows(IllegalArgumentException.class, () -> splitter.write(streaming, shard -> null, null));
+    }
+
+    /**
+     * Creates a document whose pages show the page number, followed by the specified number of bytes of padding. A
+     * chapter starts every four pages, and each page has a section in the outline under its chapter.
+     */
+    private static PDFDocument createDocument(int pages, int padding) throws IOException {
+        PDFDocument doc = new PDFDocument();
+        doc.addInfo(PDFInfoDictionary.TITLE, new PDFDocEncodedString("Split"));
+        Reference font = doc.addFont(PDFFontType1.getInstance(PDFFontType1.FontName.HELVETICA));
+        PDFOutlineDictionary.Item chapter = null;
+        for (int i = 0; i < pages; i++) {
+            PDFPage page = doc.createPage(new PDFRectangle(0, 0, 612, 792));
+            PDFName fontName = page.addFontReference(font);
+            PDFContentStreamBuilder builder = new PDFContentStreamBuilder();
+            builder.addOperator(new BeginText());
+            builder.addOperator(new SetFont(fontName, new PDFReal(12)));
+            builder.addOperator(new PositionText(new PDFReal(72), new PDFReal(720)));
+            builder.addOperator(new ShowText(new PDFString("Page " + i + " " + "x".repeat(padding))));
+            builder.addOperator(new EndText());
+            page.setContents(builder.getStream());
+            if (i % 4 == 0) {
+                chapter = doc.getOutline().createItem("Chapter " + i, page.getReference(), 720);
+            }
+            chapter.createChild("Section " + i, page.getReference(), 700);
+        }
+        return doc;
+    }
+
+    /**
+     * Validates a shard, checks that it has the specified number of pages, and gets the titles of its outline items,
+     * indented by their level.
+     */
+    private static List<String> verify(Path path, int pageCount) throws IOException {
+        XRefValidator.validate(Files.readAllBytes(path));
+        List<String> result = new ArrayList<>();
+        try (SeekableByteChannel channel = Files.newByteChannel(path)) {
+            PDFFileReader reader = new PDFFileReader(channel);
+            PDFDictionary catalog = read(reader, reader.getTrailer().get(PDFTrailer.ROOT));
+            PDFDictionary pages = read(reader, catalog.get(PDFCatalogDictionary.PAGES));
+            assertEquals(new PDFInteger(pageCount), pages.get(PDFPages.COUNT_NAME));
+            PDFDictionary outline = read(reader, catalog.get(PDFCatalogDictionary.OUTLINES));
+            collectTitles(reader, outline.get(PDFOutlineDictionary.FIRST), "", result);
+        }
+        return result;
+    }
+
+    private static void collectTitles(PDFFileReader reader, PDFObject first, String indent, List<String> titles)
+            throws IOException {
+        PDFObject item = first;
+        while (item != null) {
+            PDFDictionary itemDictionary = read(reader, item);
+            titles.add(indent + serialize(itemDictionary.get(TITLE)));
+            collectTitles(reader, itemDictionary.get(PDFOutlineDictionary.FIRST), indent + "  ", titles);
+            item = itemDictionary.get(PDFOutlineDictionary.NEXT);
+        }
+    }
+
+    private static String serialize(PDFObject object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (PDFByteSink sink = new PDFByteSink(bytes)) {
+            object.writeToPDF(sink);
+        }
+        return bytes.toString(StandardCharsets.ISO_8859_1);
+    }
+
+    private static PDFDictionary read(PDFFileReader reader, PDFObject reference) throws IOException {
+        return (PDFDictionary) reader.readObject(((Reference) reference).getIndirectObject().getObjectNumber()
+                .getValue());
+    }
+}
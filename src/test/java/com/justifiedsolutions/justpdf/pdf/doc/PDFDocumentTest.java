@@ -5,6 +5,7 @@
 
 package com.justifiedsolutions.justpdf.pdf.doc;
 
+import com.justifiedsolutions.justpdf.XRefValidator;
 import com.justifiedsolutions.justpdf.pdf.contents.BeginText;
 import com.justifiedsolutions.justpdf.pdf.contents.CreateRectangularPath;
 import com.justifiedsolutions.justpdf.pdf.contents.EndText;
@@ -23,18 +24,38 @@ import com.justifiedsolutions.justpdf.pdf.object.PDFDate;
 import com.justifiedsolutions.justpdf.pdf.object.PDFDocEncodedString;
 import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject;
 import com.justifiedsolutions.justpdf.pdf.object.PDFName;
+import com.justifiedsolutions.justpdf.pdf.object.PDFObject;
 import com.justifiedsolutions.justpdf.pdf.object.PDFReal;
 import com.justifiedsolutions.justpdf.pdf.object.PDFRectangle;
-import com.justifiedsolutions.justpdf.pdf.object.PDFStream;
 import com.justifiedsolutions.justpdf.pdf.object.PDFString;
+import com.justifiedsolutions.justpdf.pdf.object.PDFStream;
+import com.justifiedsolutions.justpdf.pdf.object.PDFStreamStore;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class PDFDocumentTest {
@@ -43,6 +64,643 @@ class PDFDocumentTest {
     void write() throws IOException {
         ByteArrayOutputStream actual = new ByteArrayOutputStream();
         PDFDocument doc = new PDFDocument();
+        PDFFont font = populate(doc);
+
+        assertTrue(font instanceof PDFFontType1);
+
+        doc.write(actual);
+        XRefValidator.validate(actual.toByteArray());
+
+        String targetDirectoryName = System.getProperty("TargetDirectory");
+        File targetDirectory = new File(targetDirectoryName);
+        File testOutputDirectory = new File(targetDirectory, "test-output");
+        if (testOutputDirectory.isDirectory() || testOutputDirectory.mkdirs()) {
+            File outputFile = new File(testOutputDirectory, "PDFDocumentTest.pdf");
+            try (OutputStream pdf = Files.newOutputStream(outputFile.toPath())) {
+                actual.writeTo(pdf);
+            }
+        }
+    }
+
+    @Test
+    void writeStreaming() throws IOException {
+        ByteArrayOutputStream buffered = new ByteArrayOutputStream();
+        PDFDocument bufferedDoc = new PDFDocument();
+        populate(bufferedDoc);
+        bufferedDoc.write(buffered);
+
+        ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+        PDFDocument streamingDoc = new PDFDocument(streamed, new PDFDocumentOptions());
+        assertTrue(streamingDoc.isStreaming());
+        populate(streamingDoc);
+        assertTrue(streamed.size() > 0);
+        streamingDoc.write(streamed);
+
+        int expectedSize = XRefValidator.validate(buffered.toByteArray());
+        assertEquals(expectedSize, XRefValidator.validate(streamed.toByteArray()));
+        assertEquals(buffered.size(), streamed.size());
+    }
+
+    @Test
+    void writePageTree() throws IOException {
+        ByteArrayOutputStream flat = new ByteArrayOutputStream();
+        PDFDocument flatDoc = new PDFDocument();
+        assertEquals(32, flatDoc.getOptions().getPageTreeFanOut());
+        populate(flatDoc);
+        populate(flatDoc);
+        flatDoc.write(flat);
+
+        ByteArrayOutputStream buffered = new ByteArrayOutputStream();
+        PDFDocumentOptions bufferedOptions = new PDFDocumentOptions();
+        bufferedOptions.setPageTreeFanOut(2);
+        PDFDocument bufferedDoc = new PDFDocument(bufferedOptions);
+        assertEquals(2, bufferedDoc.getOptions().getPageTreeFanOut());
+        populate(bufferedDoc);
+        populate(bufferedDoc);
+        bufferedDoc.write(buffered);
+
+        ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+        PDFDocumentOptions streamingOptions = new PDFDocumentOptions();
+        streamingOptions.setPageTreeFanOut(2);
+        PDFDocument streamingDoc = new PDFDocument(streamed, streamingOptions);
+        populate(streamingDoc);
+        populate(streamingDoc);
+        streamingDoc.write(streamed);
+
+        ByteArrayOutputStream linearized = new ByteArrayOutputStream();
+        PDFDocumentOptions linearizedOptions = new PDFDocumentOptions();
+        linearizedOptions.setPageTreeFanOut(2);
+        linearizedOptions.setLinearized(true);
+        PDFDocument linearizedDoc = new PDFDocument(linearizedOptions);
+        populate(linearizedDoc);
+        populate(linearizedDoc);
+        linearizedDoc.write(linearized);
+
+        // four leaves of two pages and two intermediate nodes, in place of the single leaf
+        int expectedSize = XRefValidator.validate(flat.toByteArray()) + 5;
+        assertEquals(expectedSize, XRefValidator.validate(buffered.toByteArray()));
+        assertEquals(expectedSize, XRefValidator.validate(streamed.toByteArray()));
+        assertEquals(buffered.size(), streamed.size());
+        assertEquals(8, XRefValidator.validateLinearized(linearized.toByteArray()));
+        String text = buffered.toString(StandardCharsets.ISO_8859_1);
+        assertTrue(text.contains("<</Count 8/Kids [ "));
+        // the leaves, and two intermediate nodes with two leaves each
+        Pattern leaf = Pattern.compile("<</Count 2/Kids \\[ \\d+ 0 R \\d+ 0 R ]/Parent ");
+        assertEquals(4, leaf.matcher(text).results().count());
+        Pattern node = Pattern.compile("<</Count 4/Kids \\[ \\d+ 0 R \\d+ 0 R ]/Parent ");
+        assertEquals(2, node.matcher(text).results().count());
+        assertTrue(Pattern.compile("<</Count 8/Kids \\[ \\d+ 0 R \\d+ 0 R ]").matcher(text).find());
+    }
+
+    @Test
+    void writeCompressed() throws IOException {
+        ByteArrayOutputStream uncompressed = new ByteArrayOutputStream();
+        PDFDocument uncompressedDoc = new PDFDocument();
+        populate(uncompressedDoc);
+        uncompressedDoc.write(uncompressed);
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        PDFDocumentOptions compressedOptions = new PDFDocumentOptions();
+        compressedOptions.setCompressObjects(true);
+        PDFDocument compressedDoc = new PDFDocument(compressedOptions);
+        assertTrue(compressedDoc.getOptions().isCompressObjects());
+        populate(compressedDoc);
+        compressedDoc.write(compressed);
+
+        String text = compressed.toString(StandardCharsets.ISO_8859_1);
+        assertFalse(text.contains("trailer\n"));
+        assertTrue(text.contains("/Type /ObjStm"));
+        // one extra object for the object stream and one for the cross reference stream
+        assertEquals(XRefValidator.validate(uncompressed.toByteArray()) + 2,
+                XRefValidator.validate(compressed.toByteArray()));
+        assertTrue(compressed.size() < uncompressed.size());
+    }
+
+    @Test
+    void writeCompressedStreaming() throws IOException {
+        ByteArrayOutputStream buffered = new ByteArrayOutputStream();
+        PDFDocumentOptions bufferedOptions = new PDFDocumentOptions();
+        bufferedOptions.setCompressObjects(true);
+        PDFDocument bufferedDoc = new PDFDocument(bufferedOptions);
+        populate(bufferedDoc);
+        bufferedDoc.write(buffered);
+
+        ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+        PDFDocumentOptions streamingOptions = new PDFDocumentOptions();
+        streamingOptions.setCompressObjects(true);
+        PDFDocument streamingDoc = new PDFDocument(streamed, streamingOptions);
+        populate(streamingDoc);
+        streamingDoc.write(streamed);
+
+        assertEquals(XRefValidator.validate(buffered.toByteArray()), XRefValidator.validate(streamed.toByteArray()));
+    }
+
+    @Test
+    void completePageReleasesPage() throws IOException {
+        PDFDocument doc = new PDFDocument(new ByteArrayOutputStream(), new PDFDocumentOptions());
+        PDFPage page = doc.createPage(new PDFRectangle(0, 0, 612, 792));
+        PDFContentStreamBuilder builder = new PDFContentStreamBuilder();
+        builder.addOperator(new SetLineWidth(new PDFReal(.5f)));
+        page.setContents(builder.getStream());
+        doc.completePage(page);
+
+        assertTrue(page.getIndirectPage().isReleased());
+        assertTrue(page.getIndirectContents().isReleased());
+        assertTrue(page.getIndirectPage().getByteOffset() > 0);
+    }
+
+    @Test
+    void completePageNotStreaming() throws IOException {
+        PDFDocument doc = new PDFDocument();
+        assertFalse(doc.isStreaming());
+        PDFPage page = doc.createPage(new PDFRectangle(0, 0, 612, 792));
+        doc.completePage(page);
+        assertFalse(page.getIndirectPage().isReleased());
+    }
+
+    @Test
+    void writeStreamingWrongStream() {
+        PDFDocument doc = new PDFDocument(new ByteArrayOutputStream(), new PDFDocumentOptions());
+        ByteArrayOutputStream other = new ByteArrayOutputStream();
+        assertThrows(IllegalArgumentException.class, () -> doc.write(other));
+    }
+
+    @Test
+    void writeCompressionExecutor() throws IOException {
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        PDFDocument expectedDoc = new PDFDocument();
+        populate(expectedDoc);
+        expectedDoc.write(expected);
+
+        List<Runnable> tasks = new ArrayList<>();
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        PDFDocumentOptions options = new PDFDocumentOptions();
+        options.setCompressionExecutor(tasks::add);
+        PDFDocument doc = new PDFDocument(options);
+        populate(doc);
+        assertEquals(4, tasks.size());
+        tasks.forEach(Runnable::run);
+        doc.write(actual);
+
+        XRefValidator.validate(actual.toByteArray());
+        assertEquals(expected.size(), actual.size());
+    }
+
+    @Test
+    void writeSpillStore(@TempDir Path tempDir) throws IOException {
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        PDFDocument expectedDoc = new PDFDocument();
+        populate(expectedDoc);
+        expectedDoc.write(expected);
+
+        try (PDFStreamStore direct = PDFStreamStore.direct(); PDFStreamStore mapped = PDFStreamStore.mapped(tempDir)) {
+            ByteArrayOutputStream actual = new ByteArrayOutputStream();
+            PDFDocumentOptions options = new PDFDocumentOptions();
+            options.setSpillStore(direct);
+            PDFDocument doc = new PDFDocument(options);
+            assertEquals(direct, doc.getOptions().getSpillStore());
+            populate(doc);
+            assertTrue(direct.getSize() > 0);
+            doc.write(actual);
+            XRefValidator.validate(actual.toByteArray());
+            assertEquals(expected.size(), actual.size());
+
+            List<Runnable> tasks = new ArrayList<>();
+            actual.reset();
+            options.setCompressionExecutor(tasks::add);
+            options.setSpillStore(mapped);
+            doc = new PDFDocument(options);
+            populate(doc);
+            assertEquals(0, mapped.getSize());
+            tasks.forEach(Runnable::run);
+            assertEquals(direct.getSize(), mapped.getSize());
+            doc.write(actual);
+            XRefValidator.validate(actual.toByteArray());
+            assertEquals(expected.size(), actual.size());
+        }
+    }
+
+    @Test
+    void writeSerializationExecutor() throws IOException {
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        PDFDocument expectedDoc = new PDFDocument();
+        populate(expectedDoc);
+        expectedDoc.write(expected);
+
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        PDFDocumentOptions options = new PDFDocumentOptions();
+        options.setSerializationExecutor(ForkJoinPool.commonPool());
+        PDFDocument doc = new PDFDocument(options);
+        populate(doc);
+        doc.write(actual);
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        PDFDocumentOptions compressedOptions = new PDFDocumentOptions();
+        compressedOptions.setCompressObjects(true);
+        compressedOptions.setSerializationExecutor(ForkJoinPool.commonPool());
+        PDFDocument compressedDoc = new PDFDocument(compressedOptions);
+        populate(compressedDoc);
+        compressedDoc.write(compressed);
+
+        int expectedSize = XRefValidator.validate(expected.toByteArray());
+        assertEquals(expectedSize, XRefValidator.validate(actual.toByteArray()));
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expectedSize + 2, XRefValidator.validate(compressed.toByteArray()));
+    }
+
+    @Test
+    void writeCompressionExecutorStreaming() throws IOException {
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        PDFDocument expectedDoc = new PDFDocument(expected, new PDFDocumentOptions());
+        populate(expectedDoc);
+        expectedDoc.write(expected);
+
+        List<Runnable> tasks = new ArrayList<>();
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        PDFDocumentOptions options = new PDFDocumentOptions();
+        options.setCompressionExecutor(tasks::add);
+        PDFDocument doc = new PDFDocument(actual, options);
+        populate(doc);
+        int headerSize = actual.size();
+
+        // the second page is ready before the first, so neither can be written yet
+        tasks.get(1).run();
+        doc.completePage(doc.createPage(new PDFRectangle(0, 0, 612, 792)));
+        assertEquals(headerSize, actual.size());
+
+        tasks.get(0).run();
+        tasks.get(3).run();
+        tasks.get(2).run();
+        doc.write(actual);
+
+        assertEquals(XRefValidator.validate(expected.toByteArray()) + 1, XRefValidator.validate(actual.toByteArray()));
+    }
+
+    @Test
+    void writeLinearized() throws IOException {
+        ByteArrayOutputStream normal = new ByteArrayOutputStream();
+        PDFDocument normalDoc = new PDFDocument();
+        populate(normalDoc);
+        normalDoc.write(normal);
+
+        ByteArrayOutputStream linearized = new ByteArrayOutputStream();
+        PDFDocumentOptions linearizedOptions = new PDFDocumentOptions();
+        linearizedOptions.setLinearized(true);
+        PDFDocument linearizedDoc = new PDFDocument(linearizedOptions);
+        assertTrue(linearizedDoc.getOptions().isLinearized());
+        populate(linearizedDoc);
+        linearizedDoc.write(linearized);
+
+        assertEquals(4, XRefValidator.validateLinearized(linearized.toByteArray()));
+        Matcher size = Pattern.compile("/Size (\\d+)").matcher(linearized.toString(StandardCharsets.ISO_8859_1));
+        assertTrue(size.find());
+        // one extra object for the linearization parameter dictionary and one for the hint stream
+        assertEquals(XRefValidator.validate(normal.toByteArray()) + 2, Integer.parseInt(size.group(1)));
+    }
+
+    @Test
+    void writeLinearizedSharedObjects() throws IOException {
+        PDFDocumentOptions options = new PDFDocumentOptions();
+        options.setLinearized(true);
+        PDFDocument doc = new PDFDocument(options);
+        PDFIndirectObject.Reference helvetica =
+                doc.addFont(PDFFontType1.getInstance(PDFFontType1.FontName.HELVETICA));
+        PDFIndirectObject.Reference courier = doc.addFont(PDFFontType1.getInstance(PDFFontType1.FontName.COURIER));
+        addPage(doc, helvetica);
+        addPage(doc, courier);
+        addPage(doc, courier);
+        addPage(doc, helvetica);
+        doc.getOutline();
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        doc.write(actual);
+
+        assertEquals(4, XRefValidator.validateLinearized(actual.toByteArray()));
+        String text = actual.toString(StandardCharsets.ISO_8859_1);
+        List<Integer> pages = new ArrayList<>();
+        Matcher page = Pattern.compile("/Type /Page\\b").matcher(text);
+        while (page.find()) {
+            pages.add(page.start());
+        }
+        assertEquals(4, pages.size());
+        int helveticaOffset = text.indexOf("/BaseFont /Helvetica");
+        assertTrue(helveticaOffset > pages.get(0) && helveticaOffset < pages.get(1), "first page font must be in the first page");
+        assertTrue(text.indexOf("/BaseFont /Courier") > pages.get(3), "shared font must follow the last page");
+        assertTrue(text.indexOf("/Type /Pages") > text.indexOf("/BaseFont /Courier"));
+    }
+
+    @Test
+    void writeLinearizedWithoutPages() throws IOException {
+        PDFDocumentOptions options = new PDFDocumentOptions();
+        options.setLinearized(true);
+        PDFDocument doc = new PDFDocument(options);
+        doc.addInfo(PDFInfoDictionary.TITLE, new PDFDocEncodedString("Empty"));
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        doc.write(actual);
+
+        assertEquals(3, XRefValidator.validate(actual.toByteArray()));
+        assertFalse(actual.toString(StandardCharsets.ISO_8859_1).contains("/Linearized"));
+    }
+
+    @Test
+    void linearizedStreaming() {
+        PDFDocumentOptions options = new PDFDocumentOptions();
+        options.setLinearized(true);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThrows(IllegalArgumentException.class, () -> new PDFDocument(out, options));
+        assertFalse(new PDFDocument(out, new PDFDocumentOptions()).getOptions().isLinearized());
+    }
+
+    @Test
+    void linearizedCompressObjects() {
+        PDFDocumentOptions options = new PDFDocumentOptions();
+        options.setLinearized(true);
+        options.setCompressObjects(true);
+        assertThrows(IllegalArgumentException.class, () -> new PDFDocument(options));
+    }
+
+    @Test
+    void writeDeterministic() throws IOException {
+        byte[] first = writeDeterministic(2, false);
+        Matcher id = Pattern.compile("/ID \\[<([0-9A-F]{32})> <\\1>]").matcher(new String(first,
+                StandardCharsets.ISO_8859_1));
+        assertTrue(id.find());
+        assertArrayEquals(first, writeDeterministic(2, false));
+        assertFalse(new String(writeDeterministic(3, false), StandardCharsets.ISO_8859_1).contains(id.group(1)));
+
+        byte[] linearized = writeDeterministic(2, true);
+        assertEquals(2, XRefValidator.validateLinearized(linearized));
+        assertTrue(new String(linearized, StandardCharsets.ISO_8859_1).contains("/ID [<"));
+        assertArrayEquals(linearized, writeDeterministic(2, true));
+
+        PDFDocument doc = new PDFDocument();
+        populate(doc);
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        doc.write(actual);
+        assertFalse(actual.toString(StandardCharsets.ISO_8859_1).contains("/ID"));
+    }
+
+    @Test
+    void writeDeterministicStreaming() throws IOException {
+        ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+        PDFDocumentOptions options = new PDFDocumentOptions();
+        options.setDeterministic(true);
+        PDFDocument doc = new PDFDocument(streamed, options);
+        assertTrue(doc.getOptions().isDeterministic());
+        addDeterministicPages(doc, 2);
+        doc.write(streamed);
+
+        XRefValidator.validate(streamed.toByteArray());
+        assertArrayEquals(writeDeterministic(2, false), streamed.toByteArray());
+    }
+
+    @Test
+    void deterministicUpdate(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("append.pdf");
+        Files.write(path, writeDeterministic(1, false));
+        PDFDocumentOptions options = new PDFDocumentOptions();
+        options.setDeterministic(true);
+        assertThrows(IllegalArgumentException.class, () -> openUpdate(path, options));
+        assertFalse(openUpdate(path).getOptions().isDeterministic());
+    }
+
+    @Test
+    void appendDeterministic(@TempDir Path directory) throws IOException {
+        byte[] original = writeDeterministic(1, false);
+        Path originalPath = directory.resolve("original.pdf");
+        Files.write(originalPath, original);
+        Path path = directory.resolve("append.pdf");
+        Files.write(path, original);
+        PDFDocument update = openUpdate(path);
+        addPage(update, update.addFont(PDFFontType1.getInstance(PDFFontType1.FontName.COURIER)));
+        writeUpdate(update, path);
+
+        byte[] actual = Files.readAllBytes(path);
+        assertEquals(2, XRefValidator.validateUpdated(actual));
+        String updateText = new String(actual, original.length, actual.length - original.length,
+                StandardCharsets.ISO_8859_1);
+        assertTrue(updateText.contains("/ID "), "the update must keep the file identifier");
+        try (SeekableByteChannel originalChannel = Files.newByteChannel(originalPath);
+                SeekableByteChannel updatedChannel = Files.newByteChannel(path)) {
+            PDFObject originalId = new PDFFileReader(originalChannel).getTrailer().get(PDFTrailer.ID);
+            assertNotNull(originalId);
+            assertEquals(originalId, new PDFFileReader(updatedChannel).getTrailer().get(PDFTrailer.ID));
+        }
+    }
+
+    private static byte[] writeDeterministic(int pages, boolean linearized) throws IOException {
+        PDFDocumentOptions options = new PDFDocumentOptions();
+        options.setDeterministic(true);
+        options.setLinearized(linearized);
+        PDFDocument doc = new PDFDocument(options);
+        addDeterministicPages(doc, pages);
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        doc.write(actual);
+        XRefValidator.validate(actual.toByteArray());
+        return actual.toByteArray();
+    }
+
+    private static void addDeterministicPages(PDFDocument doc, int pages) throws IOException {
+        doc.addInfo(PDFInfoDictionary.TITLE, new PDFDocEncodedString("Deterministic"));
+        PDFIndirectObject.Reference font = doc.addFont(PDFFontType1.getInstance(PDFFontType1.FontName.HELVETICA));
+        for (int i = 0; i < pages; i++) {
+            addPage(doc, font);
+        }
+    }
+
+    @Test
+    void append(@TempDir Path directory) throws IOException {
+        ByteArrayOutputStream original = new ByteArrayOutputStream();
+        PDFDocument doc = new PDFDocument();
+        populate(doc);
+        doc.write(original);
+        Path path = directory.resolve("append.pdf");
+        Files.write(path, original.toByteArray());
+
+        PDFDocument update = openUpdate(path);
+        assertTrue(update.isIncrementalUpdate());
+        assertEquals(4, update.getPageCount());
+        addPage(update, update.addFont(PDFFontType1.getInstance(PDFFontType1.FontName.COURIER)));
+        assertEquals(5, update.getPageCount());
+        writeUpdate(update, path);
+
+        byte[] actual = Files.readAllBytes(path);
+        assertArrayEquals(original.toByteArray(), Arrays.copyOf(actual, original.size()));
+        assertEquals(2, XRefValidator.validateUpdated(actual));
+        String originalText = original.toString(StandardCharsets.ISO_8859_1);
+        String updateText = new String(actual, original.size(), actual.length - original.size(),
+                StandardCharsets.ISO_8859_1);
+        assertTrue(updateText.startsWith("\n"));
+        assertTrue(updateText.contains("/Count 5"));
+        assertTrue(updateText.contains("/Prev " + originalText.substring(originalText.lastIndexOf("startxref\n") + 10,
+                originalText.lastIndexOf("\n%%EOF"))));
+        assertFalse(updateText.contains("/Type /Catalog"), "the unchanged catalog must not be written again");
+        assertFalse(updateText.contains("/Title"), "the unchanged info dictionary must not be written again");
+        assertTrue(updateText.contains("/Info "));
+        Matcher size = Pattern.compile("/Size (\\d+)").matcher(updateText);
+        assertTrue(size.find());
+        // the new page, its contents, its font and the leaf that holds it
+        assertEquals(XRefValidator.validate(original.toByteArray()) + 4, Integer.parseInt(size.group(1)));
+    }
+
+    @Test
+    void appendTwice(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("append.pdf");
+        try (OutputStream out = Files.newOutputStream(path)) {
+            PDFDocument doc = new PDFDocument();
+            populate(doc);
+            doc.write(out);
+        }
+        for (int i = 0; i < 2; i++) {
+            PDFDocument update = openUpdate(path);
+            update.addInfo(PDFInfoDictionary.TITLE, new PDFDocEncodedString("Update " + i));
+            addPage(update, update.addFont(PDFFontType1.getInstance(PDFFontType1.FontName.COURIER)));
+            writeUpdate(update, path);
+        }
+
+        byte[] actual = Files.readAllBytes(path);
+        assertEquals(3, XRefValidator.validateUpdated(actual));
+        assertEquals(6, openUpdate(path).getPageCount());
+        String text = new String(actual, StandardCharsets.ISO_8859_1);
+        String lastUpdate = text.substring(text.lastIndexOf("%%EOF", text.length() - 6));
+        assertTrue(lastUpdate.contains("/Title (Update 1)"));
+        Matcher info = Pattern.compile("/Info (\\d+) 0 R").matcher(text);
+        assertTrue(info.find());
+        String infoReference = info.group();
+        while (info.find()) {
+            assertEquals(infoReference, info.group(), "the info dictionary must keep its object number");
+        }
+    }
+
+    @Test
+    void appendOutline(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("append.pdf");
+        try (OutputStream out = Files.newOutputStream(path)) {
+            PDFDocument doc = new PDFDocument();
+            PDFPage page = doc.createPage(new PDFRectangle(0, 0, 612, 792));
+            doc.getOutline().createItem("First", page.getReference(), 720);
+            doc.getOutline().createItem("Second", page.getReference(), 360);
+            doc.write(out);
+        }
+        PDFDocument update = openUpdate(path);
+        PDFPage page = update.createPage(new PDFRectangle(0, 0, 612, 792));
+        update.getOutline().createItem("Third", page.getReference(), 720);
+        writeUpdate(update, path);
+
+        byte[] actual = Files.readAllBytes(path);
+        assertEquals(2, XRefValidator.validateUpdated(actual));
+        String text = new String(actual, StandardCharsets.ISO_8859_1);
+        String updateText = text.substring(text.indexOf("%%EOF"));
+        Matcher second = Pattern.compile("(\\d+) 0 obj\n<<[^\\n]*/Title \\(Second\\)").matcher(updateText);
+        assertTrue(second.find(), "the last existing item must be written again");
+        Matcher third = Pattern.compile("(\\d+) 0 obj\n<<[^\\n]*/Title \\(Third\\)").matcher(updateText);
+        assertTrue(third.find());
+        assertTrue(second.group().contains("/Next " + third.group(1) + " 0 R"));
+        assertTrue(third.group().contains("/Prev " + second.group(1) + " 0 R"));
+        assertTrue(updateText.contains("/Count 3"));
+        assertTrue(updateText.contains("/Last " + third.group(1) + " 0 R"));
+    }
+
+    @Test
+    void appendCompressedFile(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("append.pdf");
+        try (OutputStream out = Files.newOutputStream(path)) {
+            PDFDocumentOptions options = new PDFDocumentOptions();
+            options.setCompressObjects(true);
+            PDFDocument doc = new PDFDocument(options);
+            populate(doc);
+            doc.write(out);
+        }
+        assertThrows(IOException.class, () -> openUpdate(path));
+    }
+
+    @Test
+    void appendSettings(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("append.pdf");
+        try (OutputStream out = Files.newOutputStream(path)) {
+            PDFDocument doc = new PDFDocument();
+            populate(doc);
+            doc.write(out);
+        }
+        assertFalse(openUpdate(path).isStreaming());
+        PDFDocumentOptions linearized = new PDFDocumentOptions();
+        linearized.setLinearized(true);
+        assertThrows(IllegalArgumentException.class, () -> openUpdate(path, linearized));
+        PDFDocumentOptions compressed = new PDFDocumentOptions();
+        compressed.setCompressObjects(true);
+        assertThrows(IllegalArgumentException.class, () -> openUpdate(path, compressed));
+        assertFalse(new PDFDocument().isIncrementalUpdate());
+    }
+
+    @Test
+    void appendPageTree(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("append.pdf");
+        PDFDocumentOptions options = new PDFDocumentOptions();
+        options.setPageTreeFanOut(2);
+        try (OutputStream out = Files.newOutputStream(path)) {
+            PDFDocument doc = new PDFDocument(options);
+            populate(doc);
+            populate(doc);
+            doc.write(out);
+        }
+        PDFDocument update = openUpdate(path, options);
+        PDFIndirectObject.Reference fontReference = update.addFont(
+                PDFFontType1.getInstance(PDFFontType1.FontName.COURIER));
+        for (int i = 0; i < 5; i++) {
+            addPage(update, fontReference);
+        }
+        assertEquals(13, update.getPageCount());
+        writeUpdate(update, path);
+
+        byte[] actual = Files.readAllBytes(path);
+        assertEquals(2, XRefValidator.validateUpdated(actual));
+        assertEquals(13, openUpdate(path).getPageCount());
+        String text = new String(actual, StandardCharsets.ISO_8859_1);
+        String updateText = text.substring(text.indexOf("%%EOF"));
+        // the existing root is full, so it keeps its object number under a new root, next to a node over the new leaves
+        Matcher root = Pattern.compile("(\\d+) 0 obj\n<</Count 13/Kids \\[ (\\d+) 0 R \\d+ 0 R ]/Type /Pages>>")
+                .matcher(updateText);
+        assertTrue(root.find());
+        assertTrue(updateText.contains(root.group(2) + " 0 obj\n<</Count 8/Kids [ "));
+        assertTrue(updateText.contains("/Parent " + root.group(1) + " 0 R/Type /Pages>>"));
+        assertTrue(updateText.contains("/Pages " + root.group(1) + " 0 R"));
+    }
+
+    @Test
+    void writeLargerThan2GB() throws IOException {
+        SparseOutputStream out = new SparseOutputStream();
+        PDFDocument doc = new PDFDocument(out, new PDFDocumentOptions());
+        PDFStream contents = new PDFStream(new byte[64 * 1024 * 1024]);
+        while (out.getCount() <= Integer.MAX_VALUE) {
+            PDFPage page = doc.createPage(new PDFRectangle(0, 0, 612, 792));
+            page.setContents(contents);
+            doc.completePage(page);
+        }
+        doc.write(out);
+
+        String tail = out.getTail();
+        Matcher startXRef = Pattern.compile("startxref\n(\\d+)\n%%EOF$").matcher(tail);
+        assertTrue(startXRef.find());
+        long xrefOffset = Long.parseLong(startXRef.group(1));
+        assertTrue(xrefOffset > Integer.MAX_VALUE);
+        assertEquals("xref\n", out.read(xrefOffset, 5));
+
+        Matcher entry = Pattern.compile("(\\d{10}) 00000 n \n").matcher(tail);
+        int objectNumber = 0;
+        long lastOffset = 0;
+        while (entry.find()) {
+            objectNumber++;
+            long offset = Long.parseLong(entry.group(1));
+            String header = objectNumber + " 0 obj\n";
+            assertEquals(header, out.read(offset, header.length()));
+            lastOffset = Math.max(lastOffset, offset);
+        }
+        Matcher size = Pattern.compile("/Size (\\d+)").matcher(tail);
+        assertTrue(size.find());
+        assertEquals(Integer.parseInt(size.group(1)) - 1, objectNumber);
+        assertTrue(lastOffset > Integer.MAX_VALUE);
+    }
+
+    private PDFFont populate(PDFDocument doc) throws IOException {
         doc.addInfo(PDFInfoDictionary.AUTHOR, new PDFDocEncodedString("Jason Burgess"));
         doc.addInfo(PDFInfoDictionary.TITLE, new PDFDocEncodedString("jspdf Test Document"));
         doc.addInfo(PDFInfoDictionary.CREATION_DATE, new PDFDate());
@@ -65,22 +723,92 @@ class PDFDocumentTest {
             builder.addOperator(new MoveToNextLine());
             builder.addOperator(new ShowText(new PDFString("Nice to see you!")));
             builder.addOperator(new EndText());
-            PDFStream contentStream = builder.getStream();
-            page.setContents(contentStream);
+            if (doc.getOptions().getCompressionExecutor() != null) {
+                page.setContents(builder.getStream(doc.getOptions().getCompressionExecutor()));
+            } else {
+                page.setContents(builder.getStream());
+            }
+            doc.completePage(page);
         }
+        return font;
+    }
 
-        assertTrue(font instanceof PDFFontType1);
+    private static PDFDocument openUpdate(Path path) throws IOException {
+        return openUpdate(path, new PDFDocumentOptions());
+    }
 
-        doc.write(actual);
+    private static PDFDocument openUpdate(Path path, PDFDocumentOptions options) throws IOException {
+        try (SeekableByteChannel channel = Files.newByteChannel(path)) {
+            return PDFDocument.append(channel, options);
+        }
+    }
 
-        String targetDirectoryName = System.getProperty("TargetDirectory");
-        File targetDirectory = new File(targetDirectoryName);
-        File testOutputDirectory = new File(targetDirectory, "test-output");
-        if (testOutputDirectory.isDirectory() || testOutputDirectory.mkdirs()) {
-            File outputFile = new File(testOutputDirectory, "PDFDocumentTest.pdf");
-            try (OutputStream pdf = Files.newOutputStream(outputFile.toPath())) {
-                actual.writeTo(pdf);
+    private static void writeUpdate(PDFDocument update, Path path) throws IOException {
+        try (OutputStream out = Files.newOutputStream(path, StandardOpenOption.APPEND)) {
+            update.write(out);
+        }
+    }
+
+    private static void addPage(PDFDocument doc, PDFIndirectObject.Reference fontReference) throws IOException {
+        PDFPage page = doc.createPage(new PDFRectangle(0, 0, 612, 792));
+        PDFName fontName = page.addFontReference(fontReference);
+        PDFContentStreamBuilder builder = new PDFContentStreamBuilder();
+        builder.addOperator(new BeginText());
+        builder.addOperator(new SetFont(fontName, new PDFReal(12)));
+        builder.addOperator(new PositionText(new PDFReal(72), new PDFReal(720)));
+        builder.addOperator(new ShowText(new PDFString("Hello World")));
+        builder.addOperator(new EndText());
+        page.setContents(builder.getStream());
+    }
+
+    /**
+     * Discards the large writes of stream data and keeps everything else, along with its offset.
+     */
+    private static final class SparseOutputStream extends OutputStream {
+        private static final int LARGE_WRITE = 1024 * 1024;
+        private final TreeMap<Long, byte[]> chunks = new TreeMap<>();
+        private long count;
+        private long tailOffset;
+
+        long getCount() {
+            return count;
+        }
+
+        @Override
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            if (len < LARGE_WRITE) {
+                chunks.put(count, Arrays.copyOfRange(b, off, off + len));
+            } else {
+                tailOffset = count + len;
+            }
+            count += len;
+        }
+
+        String read(long offset, int length) {
+            ByteArrayOutputStream result = new ByteArrayOutputStream();
+            long position = offset;
+            while (result.size() < length) {
+                Map.Entry<Long, byte[]> chunk = chunks.floorEntry(position);
+                int start = (int) (position - chunk.getKey());
+                int available = Math.min(length - result.size(), chunk.getValue().length - start);
+                if (available <= 0) {
+                    break;
+                }
+                result.write(chunk.getValue(), start, available);
+                position += available;
             }
+            return result.toString(StandardCharsets.US_ASCII);
+        }
+
+        String getTail() {
+            ByteArrayOutputStream tail = new ByteArrayOutputStream();
+            chunks.tailMap(tailOffset).values().forEach(tail::writeBytes);
+            return tail.toString(StandardCharsets.US_ASCII);
         }
     }
-}
\ No newline at end of file
+}
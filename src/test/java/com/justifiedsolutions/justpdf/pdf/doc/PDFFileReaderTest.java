@@ -0,0 +1,112 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.doc;
+
+import com.justifiedsolutions.justpdf.pdf.object.PDFArray;
+import com.justifiedsolutions.justpdf.pdf.object.PDFDictionary;
+import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject;
+import com.justifiedsolutions.justpdf.pdf.object.PDFInteger;
+import com.justifiedsolutions.justpdf.pdf.object.PDFName;
+import com.justifiedsolutions.justpdf.pdf.object.PDFObject;
+import com.justifiedsolutions.justpdf.pdf.object.PDFRectangle;
+import com.justifiedsolutions.justpdf.pdf.object.PDFStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PDFFileReaderTest {
+
+    @Test
+    void readObject(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("reader.pdf");
+        try (OutputStream out = Files.newOutputStream(path)) {
+            // a page tree with a single leaf
+            PDFDocumentOptions options = new PDFDocumentOptions();
+            options.setPageTreeFanOut(1_000);
+            PDFDocument doc = new PDFDocument(options);
+            for (int i = 0; i < 1_000; i++) {
+                PDFPage page = doc.createPage(new PDFRectangle(0, 0, 612, 792));
+                page.setContents(new PDFStream(new byte[10]));
+            }
+            doc.write(out);
+        }
+        String text = Files.readString(path, StandardCharsets.ISO_8859_1);
+
+        try (SeekableByteChannel channel = Files.newByteChannel(path)) {
+            PDFFileReader reader = new PDFFileReader(channel);
+            assertEquals(Files.size(path), reader.getLength());
+            assertEquals(text.lastIndexOf("\nxref\n") + 1, reader.getStartXRef());
+            PDFDictionary trailer = reader.getTrailer();
+            assertEquals(new PDFInteger(2_004), trailer.get(PDFTrailer.SIZE));
+
+            PDFDictionary catalog = (PDFDictionary) readReference(reader, trailer.get(PDFTrailer.ROOT));
+            assertEquals(PDFCatalogDictionary.CATALOG, catalog.get(PDFCatalogDictionary.TYPE));
+            PDFDictionary pages = (PDFDictionary) readReference(reader, catalog.get(PDFCatalogDictionary.PAGES));
+            assertEquals(new PDFInteger(1_000), pages.get(PDFPages.COUNT_NAME));
+            PDFArray rootKids = (PDFArray) pages.get(PDFPages.KIDS_NAME);
+            assertEquals(1, rootKids.size());
+            // the Kids array is larger than the first window that is read
+            PDFDictionary leaf = (PDFDictionary) readReference(reader, rootKids.get(0));
+            PDFArray kids = (PDFArray) leaf.get(PDFPages.KIDS_NAME);
+            assertEquals(1_000, kids.size());
+            PDFDictionary lastPage = (PDFDictionary) readReference(reader, kids.get(999));
+            assertEquals(PDFPage.PAGE_NAME, lastPage.get(PDFPage.TYPE_NAME));
+            assertSame(((PDFIndirectObject.Reference) lastPage.get(PDFPage.PARENT_NAME)).getIndirectObject(),
+                    ((PDFIndirectObject.Reference) rootKids.get(0)).getIndirectObject());
+
+            assertThrows(IOException.class, () -> reader.readObject(2_004));
+            assertThrows(IOException.class, () -> reader.readObject(0));
+        }
+    }
+
+    @Test
+    void readXRefStream(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("reader.pdf");
+        try (OutputStream out = Files.newOutputStream(path)) {
+            PDFDocumentOptions options = new PDFDocumentOptions();
+            options.setCompressObjects(true);
+            PDFDocument doc = new PDFDocument(options);
+            doc.createPage(new PDFRectangle(0, 0, 612, 792));
+            doc.write(out);
+        }
+        try (SeekableByteChannel channel = Files.newByteChannel(path)) {
+            IOException e = assertThrows(IOException.class, () -> new PDFFileReader(channel));
+            assertTrue(e.getMessage().contains("Cross reference streams are not supported."));
+        }
+    }
+
+    @Test
+    void readNotPDF(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("reader.pdf");
+        Files.writeString(path, "Not a PDF");
+        try (SeekableByteChannel channel = Files.newByteChannel(path)) {
+            assertThrows(IOException.class, () -> new PDFFileReader(channel));
+        }
+    }
+
+    @Test
+    void getLong() throws IOException {
+        assertEquals(12, PDFFileReader.getLong(new PDFInteger(12)));
+        assertEquals(3_000_000_000L, PDFFileReader.getLong(new PDFByteOffset(3_000_000_000L)));
+        assertThrows(IOException.class, () -> PDFFileReader.getLong(new PDFName("Size")));
+    }
+
+    private static PDFObject readReference(PDFFileReader reader, PDFObject reference) throws IOException {
+        return reader.readObject(((PDFIndirectObject.Reference) reference).getIndirectObject().getObjectNumber()
+                .getValue());
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.doc;
+
+import com.justifiedsolutions.justpdf.pdf.object.ObjectNumberAllocator;
+import com.justifiedsolutions.justpdf.pdf.object.PDFDictionary;
+import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject;
+import com.justifiedsolutions.justpdf.pdf.object.PDFNull;
+import com.justifiedsolutions.justpdf.pdf.object.PDFStream;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PDFHintTablesTest {
+
+    private final ObjectNumberAllocator allocator = new ObjectNumberAllocator();
+    private final Map<PDFIndirectObject, Long> lengths = new IdentityHashMap<>();
+    private long position = 1_000;
+
+    @Test
+    void toStream() throws IOException {
+        PDFIndirectObject firstPage = createPage();
+        PDFIndirectObject firstContents = createObject(100);
+        setContents(firstPage, firstContents);
+        PDFIndirectObject firstFont = createObject(30);
+        PDFIndirectObject secondPage = createPage();
+        PDFIndirectObject secondContents = createObject(200);
+        setContents(secondPage, secondContents);
+        PDFIndirectObject sharedFont = createObject(40);
+
+        PDFHintTables hintTables = new PDFHintTables(
+                List.of(List.of(firstPage, firstContents, firstFont), List.of(secondPage, secondContents)),
+                List.of(List.of(), List.of(firstFont, sharedFont)), List.of(sharedFont), lengths::get);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PDFStream stream = hintTables.toStream();
+        stream.writeToPDF(output);
+        String text = output.toString(StandardCharsets.ISO_8859_1);
+        Matcher sharedTable = Pattern.compile("/S (\\d+)").matcher(text);
+        assertTrue(sharedTable.find());
+        byte[] bytes = output.toByteArray();
+        int dataStart = text.indexOf("stream\n") + 7;
+        BitReader bits = new BitReader(Arrays.copyOfRange(bytes, dataStart, text.indexOf("\nendstream")));
+
+        // page offset hint table header
+        assertEquals(2, bits.read(32));
+        assertEquals(firstPage.getByteOffset(), bits.read(32));
+        assertEquals(1, bits.read(16));
+        assertEquals(180, bits.read(32));
+        int pageLengthBits = (int) bits.read(16);
+        assertEquals(7, pageLengthBits);
+        assertEquals(50, bits.read(32));
+        assertEquals(0, bits.read(16));
+        assertEquals(100, bits.read(32));
+        assertEquals(7, bits.read(16));
+        assertEquals(2, bits.read(16));
+        assertEquals(2, bits.read(16));
+        assertEquals(0, bits.read(16));
+        assertEquals(1, bits.read(16));
+        // object counts, page lengths and shared object counts
+        assertEquals(1, bits.read(1));
+        assertEquals(0, bits.read(1));
+        bits.pad();
+        assertEquals(0, bits.read(pageLengthBits));
+        assertEquals(70, bits.read(pageLengthBits));
+        bits.pad();
+        assertEquals(0, bits.read(2));
+        assertEquals(2, bits.read(2));
+        bits.pad();
+        // shared object identifiers of the second page
+        assertEquals(2, bits.read(2));
+        assertEquals(3, bits.read(2));
+        bits.pad();
+        bits.skipTo(Integer.parseInt(sharedTable.group(1)));
+
+        // shared object hint table header
+        assertEquals(sharedFont.getObjectNumber().getValue(), bits.read(32));
+        assertEquals(sharedFont.getByteOffset(), bits.read(32));
+        assertEquals(3, bits.read(32));
+        assertEquals(4, bits.read(32));
+        assertEquals(0, bits.read(16));
+        assertEquals(30, bits.read(32));
+    }
+
+    private PDFIndirectObject createPage() {
+        PDFIndirectObject result = new PDFIndirectObject(new PDFDictionary(), allocator);
+        place(result, 50);
+        return result;
+    }
+
+    private PDFIndirectObject createObject(long length) {
+        PDFIndirectObject result = new PDFIndirectObject(PDFNull.NULL, allocator);
+        place(result, length);
+        return result;
+    }
+
+    private void place(PDFIndirectObject object, long length) {
+        object.setByteOffset(position);
+        lengths.put(object, length);
+        position += length;
+    }
+
+    private static void setContents(PDFIndirectObject page, PDFIndirectObject contents) {
+        ((PDFDictionary) page.getObject()).put(PDFPage.CONTENTS_NAME, contents.getReference());
+    }
+
+    private static final class BitReader {
+        private final byte[] data;
+        private int position;
+
+        BitReader(byte[] data) {
+            this.data = data;
+        }
+
+        long read(int bitCount) {
+            long result = 0;
+            for (int i = 0; i < bitCount; i++) {
+                int bit = (data[position / 8] >>> (7 - (position % 8))) & 1;
+                result = (result << 1) | bit;
+                position++;
+            }
+            return result;
+        }
+
+        void pad() {
+            position = (position + 7) / 8 * 8;
+        }
+
+        void skipTo(int offset) {
+            position = offset * 8;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.doc;
+
+import com.justifiedsolutions.justpdf.pdf.object.PDFArray;
+import com.justifiedsolutions.justpdf.pdf.object.PDFBoolean;
+import com.justifiedsolutions.justpdf.pdf.object.PDFDictionary;
+import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject;
+import com.justifiedsolutions.justpdf.pdf.object.PDFInteger;
+import com.justifiedsolutions.justpdf.pdf.object.PDFName;
+import com.justifiedsolutions.justpdf.pdf.object.PDFNull;
+import com.justifiedsolutions.justpdf.pdf.object.PDFObject;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PDFObjectParserTest {
+
+    @Test
+    void readObjectDictionary() throws IOException {
+        String text = "<</Closed false/Count 2/Empty null/Key#20Name <48656C6C6F>/Kids [ 4 0 R 7 0 R ]"
+                + "/MediaBox [ 0 0 612 792.5 ]/Open true/Prev 3000000000/Title (Ledger \\(v1\\))>>";
+        PDFObject actual = parse(text).readObject();
+
+        assertTrue(actual instanceof PDFDictionary);
+        PDFDictionary dictionary = (PDFDictionary) actual;
+        assertEquals(new PDFInteger(2), dictionary.get(new PDFName("Count")));
+        PDFArray kids = (PDFArray) dictionary.get(new PDFName("Kids"));
+        assertEquals(2, kids.size());
+        assertEquals(new PDFIndirectObject(PDFNull.NULL, 7).getReference(), kids.get(1));
+        assertEquals(PDFBoolean.TRUE, dictionary.get(new PDFName("Open")));
+        assertEquals(PDFBoolean.FALSE, dictionary.get(new PDFName("Closed")));
+        assertEquals(PDFNull.NULL, dictionary.get(new PDFName("Empty")));
+        assertEquals(new PDFByteOffset(3_000_000_000L), dictionary.get(new PDFName("Prev")));
+        assertTrue(dictionary.containsKey(new PDFName("Key Name")));
+        assertEquals(text, write(actual));
+    }
+
+    @Test
+    void readObjectWhitespaceAndComments() throws IOException {
+        PDFObjectParser parser = parse("  % comment\n<< /Size\r\n12 >>\n[1 2]");
+        PDFDictionary dictionary = (PDFDictionary) parser.readObject();
+        assertEquals(new PDFInteger(12), dictionary.get(new PDFName("Size")));
+        assertEquals(2, ((PDFArray) parser.readObject()).size());
+    }
+
+    @Test
+    void readObjectNestedString() throws IOException {
+        PDFObjectParser parser = parse("(a (nested) \\) string) 5/Name");
+        assertEquals("(a (nested) \\) string)", write(parser.readObject()));
+        assertEquals(new PDFInteger(5), parser.readObject());
+    }
+
+    @Test
+    void readObjectIntegerNotReference() throws IOException {
+        PDFObjectParser parser = parse("[ 1 2 3 ]");
+        PDFArray array = (PDFArray) parser.readObject();
+        assertEquals(3, array.size());
+        assertEquals(new PDFInteger(3), array.get(2));
+    }
+
+    @Test
+    void readObjectInvalid() {
+        assertThrows(IOException.class, () -> parse("<</Key value>>").readObject());
+        assertThrows(IOException.class, () -> parse("<<1 2>>").readObject());
+        assertThrows(IOException.class, () -> parse("[ 4 1 R ]").readObject());
+        assertThrows(EOFException.class, () -> parse("<</Kids [ 4 0 R").readObject());
+        assertThrows(EOFException.class, () -> parse("(unterminated").readObject());
+    }
+
+    @Test
+    void readLong() throws IOException {
+        PDFObjectParser parser = parse("xref\n0 12\n");
+        assertFalse(parser.skipKeyword("trailer"));
+        assertTrue(parser.skipKeyword("xref"));
+        assertEquals(0, parser.readLong());
+        assertEquals(12, parser.readLong());
+        assertEquals(9, parser.getPosition());
+        assertThrows(EOFException.class, parser::readLong);
+        assertThrows(IOException.class, () -> parse("obj 1").readLong());
+    }
+
+    private static PDFObjectParser parse(String text) {
+        return new PDFObjectParser(text.getBytes(StandardCharsets.ISO_8859_1),
+                objectNumber -> new PDFIndirectObject(PDFNull.NULL, objectNumber).getReference());
+    }
+
+    private static String write(PDFObject object) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        object.writeToPDF(out);
+        return out.toString(StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.doc;
+
+import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject;
+import com.justifiedsolutions.justpdf.pdf.object.PDFNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PDFObjectRegistryTest {
+
+    @Test
+    void setIndirectObjects() {
+        List<PDFIndirectObject> indirectObjects = new ArrayList<>();
+        for (int objectNumber : new int[]{9, 3, 8, 4}) {
+            indirectObjects.add(new PDFIndirectObject(PDFNull.NULL, objectNumber));
+        }
+        PDFObjectRegistry registry = new PDFObjectRegistry();
+        registry.setIndirectObjects(indirectObjects);
+
+        assertEquals(3, registry.getFirstObjectNumber());
+        assertEquals(9, registry.getLastObjectNumber());
+        assertSame(indirectObjects.get(1), registry.get(3));
+        assertSame(indirectObjects.get(0), registry.get(9));
+        assertNull(registry.get(5));
+        assertNull(registry.get(2));
+        assertNull(registry.get(10));
+        assertEquals(5, registry.getRunEnd(3));
+        assertEquals(5, registry.getRunEnd(5));
+        assertEquals(10, registry.getRunEnd(8));
+    }
+
+    @Test
+    void setIndirectObjectsEmpty() {
+        PDFObjectRegistry registry = new PDFObjectRegistry();
+        registry.setIndirectObjects(List.of(new PDFIndirectObject(PDFNull.NULL, 7)));
+        registry.setIndirectObjects(List.of());
+
+        assertEquals(1, registry.getFirstObjectNumber());
+        assertEquals(0, registry.getLastObjectNumber());
+        assertNull(registry.get(7));
+        assertEquals(1, registry.getRunEnd(1));
+    }
+
+    @Test
+    void setIndirectObjectsDuplicate() {
+        PDFObjectRegistry registry = new PDFObjectRegistry();
+        List<PDFIndirectObject> indirectObjects = List.of(new PDFIndirectObject(PDFNull.NULL, 2),
+                new PDFIndirectObject(PDFNull.NULL, 2));
+        assertThrows(IllegalArgumentException.class, () -> registry.setIndirectObjects(indirectObjects));
+    }
+}
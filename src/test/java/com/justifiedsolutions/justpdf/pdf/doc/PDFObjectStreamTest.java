@@ -0,0 +1,91 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.doc;
+
+import com.justifiedsolutions.justpdf.pdf.object.ObjectNumberAllocator;
+import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject;
+import com.justifiedsolutions.justpdf.pdf.object.PDFInteger;
+import com.justifiedsolutions.justpdf.pdf.object.PDFName;
+import com.justifiedsolutions.justpdf.pdf.object.PDFNull;
+import com.justifiedsolutions.justpdf.pdf.object.PDFStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PDFObjectStreamTest {
+
+    private ObjectNumberAllocator allocator;
+
+    @BeforeEach
+    void reset() {
+        allocator = new ObjectNumberAllocator();
+    }
+
+    @Test
+    void isCompressible() {
+        assertTrue(PDFObjectStream.isCompressible(new PDFIndirectObject(PDFNull.NULL, allocator)));
+        PDFStream stream = new PDFStream(new byte[0]);
+        assertFalse(PDFObjectStream.isCompressible(new PDFIndirectObject(stream, allocator)));
+    }
+
+    @Test
+    void add() throws IOException {
+        PDFObjectStream objectStream = new PDFObjectStream();
+        assertTrue(objectStream.isEmpty());
+        PDFIndirectObject first = new PDFIndirectObject(new PDFInteger(42), allocator);
+        PDFIndirectObject second = new PDFIndirectObject(new PDFName("Name"), allocator);
+        objectStream.add(first);
+        objectStream.add(second);
+
+        assertFalse(objectStream.isEmpty());
+        assertFalse(objectStream.isFull());
+        assertEquals(2, objectStream.getMembers().size());
+        assertSame(first, objectStream.getMembers().get(0));
+        assertSame(second, objectStream.getMembers().get(1));
+    }
+
+    @Test
+    void isFull() throws IOException {
+        PDFObjectStream objectStream = new PDFObjectStream();
+        for (int i = 0; i < PDFObjectStream.MAXIMUM_OBJECTS; i++) {
+            assertFalse(objectStream.isFull());
+            objectStream.add(new PDFIndirectObject(PDFNull.NULL, allocator));
+        }
+        assertTrue(objectStream.isFull());
+    }
+
+    @Test
+    void toStream() throws IOException, DataFormatException {
+        PDFObjectStream objectStream = new PDFObjectStream();
+        objectStream.add(new PDFIndirectObject(new PDFInteger(42), allocator));
+        objectStream.add(new PDFIndirectObject(new PDFName("Name"), allocator));
+
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        objectStream.toStream().writeToPDF(actual);
+        String text = actual.toString(StandardCharsets.ISO_8859_1);
+        assertTrue(text.startsWith("<</Filter [ /FlateDecode ]/First 8/Length "));
+        assertTrue(text.contains("/N 2/Type /ObjStm>>\nstream\n"));
+
+        int start = text.indexOf("stream\n") + 7;
+        int end = text.lastIndexOf("\nendstream");
+        Inflater inflater = new Inflater();
+        inflater.setInput(actual.toByteArray(), start, end - start);
+        byte[] data = new byte[64];
+        int length = inflater.inflate(data);
+        inflater.end();
+        assertEquals("1 0 2 3 42\n/Name\n", new String(data, 0, length, StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.doc;
+
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
+import com.justifiedsolutions.justpdf.pdf.object.ObjectNumberAllocator;
+import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject;
+import com.justifiedsolutions.justpdf.pdf.object.PDFNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PDFObjectWriterTest {
+
+    private ObjectNumberAllocator allocator;
+    private PDFObjectWriter writer;
+
+    @BeforeEach
+    void reset() {
+        allocator = new ObjectNumberAllocator();
+        writer = new PDFObjectWriter(object -> new PDFIndirectObject(object, allocator), false);
+    }
+
+    @Test
+    void writeXRefTable() throws IOException {
+        PDFIndirectObject indirectObject = new PDFIndirectObject(PDFNull.NULL, allocator);
+        indirectObject.setByteOffset(PDFXRefTable.OFFSET_LIMIT - 1);
+
+        String actual = writeXRef(indirectObject, PDFXRefTable.OFFSET_LIMIT - 1);
+
+        assertTrue(actual.startsWith("xref\n"));
+    }
+
+    @Test
+    void writeXRefStreamForLargeFile() throws IOException {
+        PDFIndirectObject indirectObject = new PDFIndirectObject(PDFNull.NULL, allocator);
+        indirectObject.setByteOffset(PDFXRefTable.OFFSET_LIMIT);
+
+        String actual = writeXRef(indirectObject, PDFXRefTable.OFFSET_LIMIT);
+
+        assertFalse(actual.startsWith("xref\n"));
+        assertTrue(actual.contains("/Type /XRef"));
+        assertTrue(actual.endsWith("startxref\n" + PDFXRefTable.OFFSET_LIMIT + "\n%%EOF"));
+    }
+
+    private String writeXRef(PDFIndirectObject indirectObject, long fileLength) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (PDFByteSink sink = new PDFByteSink(out, 1024, fileLength)) {
+            writer.writeXRef(new PDFTrailer(), List.of(indirectObject), sink);
+        }
+        return out.toString(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.doc;
+
+import com.justifiedsolutions.justpdf.pdf.font.PDFFont;
+import com.justifiedsolutions.justpdf.pdf.font.PDFFontType1;
+import com.justifiedsolutions.justpdf.pdf.object.PDFDictionary;
+import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject.Reference;
+import com.justifiedsolutions.justpdf.pdf.object.PDFName;
+import com.justifiedsolutions.justpdf.pdf.object.PDFObject;
+import com.justifiedsolutions.justpdf.pdf.object.PDFRectangle;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PDFPageTest {
+
+    @Test
+    void addFont() {
+        PDFDocument doc = new PDFDocument();
+        PDFPage page = doc.createPage(new PDFRectangle(0, 0, 612, 792));
+        PDFFont helvetica = PDFFontType1.getInstance(PDFFontType1.FontName.HELVETICA);
+        PDFFont courier = PDFFontType1.getInstance(PDFFontType1.FontName.COURIER);
+
+        assertEquals(new PDFName("F1"), page.addFont(helvetica));
+        assertEquals(new PDFName("F2"), page.addFont(courier));
+        assertEquals(new PDFName("F1"), page.addFont(helvetica));
+        assertEquals(new PDFName("F2"), page.addFontReference(doc.addFont(courier)));
+
+        PDFPage other = doc.createPage(new PDFRectangle(0, 0, 612, 792));
+        assertEquals(new PDFName("F1"), other.addFont(courier));
+        PDFDictionary fonts = getResources(page, PDFResourceType.FONT);
+        assertEquals(2, fonts.size());
+        assertSame(doc.addFont(helvetica), fonts.get(new PDFName("F1")));
+        assertSame(doc.addFont(courier), fonts.get(new PDFName("F2")));
+        assertEquals(1, getResources(other, PDFResourceType.FONT).size());
+    }
+
+    @Test
+    void addResource() {
+        PDFDocument doc = new PDFDocument();
+        PDFPage page = doc.createPage(new PDFRectangle(0, 0, 612, 792));
+        Reference image = doc.createIndirectObject(new PDFDictionary()).getReference();
+        Reference state = doc.createIndirectObject(new PDFDictionary()).getReference();
+
+        assertEquals(new PDFName("X1"), page.addResource(PDFResourceType.X_OBJECT, image));
+        assertEquals(new PDFName("GS1"), page.addResource(PDFResourceType.EXT_G_STATE, state));
+        assertEquals(new PDFName("X1"), page.addResource(PDFResourceType.X_OBJECT, image));
+        assertEquals(new PDFName("X2"), page.addResource(PDFResourceType.X_OBJECT, state));
+
+        PDFDictionary images = getResources(page, PDFResourceType.X_OBJECT);
+        assertEquals(2, images.size());
+        assertSame(image, images.get(new PDFName("X1")));
+        assertSame(state, images.get(new PDFName("X2")));
+        assertSame(state, getResources(page, PDFResourceType.EXT_G_STATE).get(new PDFName("GS1")));
+        assertNull(getResources(page, PDFResourceType.FONT));
+    }
+
+    @Test
+    void sharedResources() {
+        PDFPage own = new PDFDocument().createPage(new PDFRectangle(0, 0, 612, 792));
+        PDFDocumentOptions options = new PDFDocumentOptions();
+        options.setSharedResources(true);
+        PDFDocument doc = new PDFDocument(options);
+        PDFPage first = doc.createPage(new PDFRectangle(0, 0, 612, 792));
+        PDFPage second = doc.createPage(new PDFRectangle(0, 0, 612, 792));
+        PDFFont helvetica = PDFFontType1.getInstance(PDFFontType1.FontName.HELVETICA);
+        PDFFont courier = PDFFontType1.getInstance(PDFFontType1.FontName.COURIER);
+
+        assertEquals(new PDFName("F1"), first.addFont(helvetica));
+        assertEquals(new PDFName("F2"), second.addFont(courier));
+        assertEquals(new PDFName("F1"), second.addFont(helvetica));
+        assertEquals(new PDFName("F1"), own.addFont(courier));
+
+        PDFObject resources = getPage(first).get(PDFPage.RESOURCES_NAME);
+        assertTrue(resources instanceof Reference);
+        assertSame(resources, getPage(second).get(PDFPage.RESOURCES_NAME));
+        assertEquals(2, getResources(first, PDFResourceType.FONT).size());
+        assertEquals(1, getResources(own, PDFResourceType.FONT).size());
+        assertTrue(getPage(own).get(PDFPage.RESOURCES_NAME) instanceof PDFDictionary);
+    }
+
+    private static PDFDictionary getPage(PDFPage page) {
+        return (PDFDictionary) page.getIndirectPage().getObject();
+    }
+
+    private static PDFDictionary getResources(PDFPage page, PDFResourceType type) {
+        PDFObject resources = getPage(page).get(PDFPage.RESOURCES_NAME);
+        if (resources instanceof Reference) {
+            resources = ((Reference) resources).getIndirectObject().getObject();
+        }
+        return (PDFDictionary) ((PDFDictionary) resources).get(type.getKey());
+    }
+}
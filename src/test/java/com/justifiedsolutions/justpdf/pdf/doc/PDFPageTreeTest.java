@@ -0,0 +1,217 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.doc;
+
+import com.justifiedsolutions.justpdf.pdf.object.ObjectNumberAllocator;
+import com.justifiedsolutions.justpdf.pdf.object.PDFArray;
+import com.justifiedsolutions.justpdf.pdf.object.PDFBoolean;
+import com.justifiedsolutions.justpdf.pdf.object.PDFDictionary;
+import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject;
+import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject.Reference;
+import com.justifiedsolutions.justpdf.pdf.object.PDFInteger;
+import com.justifiedsolutions.justpdf.pdf.object.PDFObject;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PDFPageTreeTest {
+
+    private final ObjectNumberAllocator allocator = new ObjectNumberAllocator();
+    private final List<PDFIndirectObject> created = new ArrayList<>();
+    private final PDFPageTree tree = new PDFPageTree(this::createIndirectObject);
+
+    @Test
+    void setFanOut() {
+        assertEquals(PDFPageTree.DEFAULT_FAN_OUT, tree.getFanOut());
+        tree.setFanOut(2);
+        assertEquals(2, tree.getFanOut());
+        assertThrows(IllegalArgumentException.class, () -> tree.setFanOut(1));
+    }
+
+    @Test
+    void singleLeaf() {
+        Reference root = tree.createRoot();
+        List<Reference> pages = addPages(tree, PDFPageTree.DEFAULT_FAN_OUT);
+        tree.complete();
+
+        // the root and the leaf
+        assertEquals(2, created.size());
+        assertEquals(PDFPageTree.DEFAULT_FAN_OUT, tree.getCount());
+        PDFArray kids = (PDFArray) tree.getRoot().get(PDFPages.KIDS_NAME);
+        assertEquals(1, kids.size());
+        Reference leaf = (Reference) kids.get(0);
+        for (Reference page : pages) {
+            assertEquals(leaf, getParent(page));
+        }
+        assertEquals(root, ((PDFPages) leaf.getIndirectObject().getObject()).get(PDFPages.PARENT_NAME));
+        assertEquals(new PDFInteger(PDFPageTree.DEFAULT_FAN_OUT), tree.getRoot().get(PDFPages.COUNT_NAME));
+    }
+
+    @Test
+    void balanced() {
+        tree.setFanOut(3);
+        Reference root = tree.createRoot();
+        List<Reference> pages = addPages(tree, 100);
+        assertEquals(100, tree.getCount());
+        tree.complete();
+
+        assertEquals(100, tree.getCount());
+        // the root, 34 leaves, 12 and then 4 intermediate nodes, and 2 nodes under the root
+        assertEquals(1 + 34 + 12 + 4 + 2, created.size());
+        List<Reference> actual = new ArrayList<>();
+        Set<Integer> pageDepths = new HashSet<>();
+        assertEquals(100, walk(tree, root, null, 0, actual, pageDepths));
+        assertEquals(pages, actual);
+        assertEquals(Set.of(5), pageDepths);
+    }
+
+    @Test
+    void balancedForEveryPageCount() {
+        for (int fanOut = 2; fanOut <= 4; fanOut++) {
+            for (int pageCount = 1; pageCount <= 70; pageCount++) {
+                PDFPageTree pageTree = new PDFPageTree(this::createIndirectObject);
+                pageTree.setFanOut(fanOut);
+                Reference root = pageTree.createRoot();
+                List<Reference> pages = addPages(pageTree, pageCount);
+                pageTree.complete();
+
+                List<Reference> actual = new ArrayList<>();
+                Set<Integer> pageDepths = new HashSet<>();
+                assertEquals(pageCount, walk(pageTree, root, null, 0, actual, pageDepths));
+                assertEquals(pages, actual);
+                assertEquals(1, pageDepths.size(), "every page must be at the same depth");
+                int leafCount = (pageCount + fanOut - 1) / fanOut;
+                int depth = 2;
+                for (int nodes = leafCount; nodes > fanOut; nodes = (nodes + fanOut - 1) / fanOut) {
+                    depth++;
+                }
+                assertEquals(Set.of(depth), pageDepths);
+            }
+        }
+    }
+
+    @Test
+    void openExisting() {
+        PDFIndirectObject existingNode = new PDFIndirectObject(PDFBoolean.TRUE, allocator);
+        PDFArray existingKids = new PDFArray();
+        existingKids.add(existingNode.getReference());
+        PDFIndirectObject indirectRoot = new PDFIndirectObject(tree.getRoot(), allocator);
+        tree.setFanOut(4);
+        tree.openExisting(indirectRoot, existingKids, 40);
+
+        List<Reference> pages = addPages(tree, 5);
+        tree.complete();
+
+        assertEquals(45, tree.getCount());
+        assertEquals(new PDFInteger(45), tree.getRoot().get(PDFPages.COUNT_NAME));
+        PDFArray kids = (PDFArray) tree.getRoot().get(PDFPages.KIDS_NAME);
+        assertEquals(3, kids.size());
+        assertEquals(existingNode.getReference(), kids.get(0));
+        PDFIndirectObject firstLeaf = getParent(pages.get(0)).getIndirectObject();
+        assertEquals(indirectRoot.getReference(), ((PDFPages) firstLeaf.getObject()).get(PDFPages.PARENT_NAME));
+        assertEquals(new PDFInteger(4), ((PDFPages) firstLeaf.getObject()).get(PDFPages.COUNT_NAME));
+        PDFIndirectObject leaf = getParent(pages.get(4)).getIndirectObject();
+        assertEquals(indirectRoot.getReference(), ((PDFPages) leaf.getObject()).get(PDFPages.PARENT_NAME));
+        assertEquals(new PDFInteger(1), ((PDFPages) leaf.getObject()).get(PDFPages.COUNT_NAME));
+    }
+
+    @Test
+    void openExistingFullRoot() {
+        PDFArray existingKids = new PDFArray();
+        for (int i = 0; i < 4; i++) {
+            existingKids.add(new PDFIndirectObject(PDFBoolean.TRUE, allocator).getReference());
+        }
+        PDFIndirectObject indirectRoot = new PDFIndirectObject(tree.getRoot(), allocator);
+        PDFPages existingRoot = tree.getRoot();
+        tree.setFanOut(4);
+        tree.openExisting(indirectRoot, existingKids, 40);
+
+        List<Reference> pages = addPages(tree, 5);
+        Reference root = tree.complete();
+
+        assertNotEquals(indirectRoot.getReference(), root);
+        assertSame(tree.getRoot(), root.getIndirectObject().getObject());
+        assertEquals(new PDFInteger(45), tree.getRoot().get(PDFPages.COUNT_NAME));
+        PDFArray kids = (PDFArray) tree.getRoot().get(PDFPages.KIDS_NAME);
+        assertEquals(3, kids.size());
+        assertEquals(indirectRoot.getReference(), kids.get(0));
+        assertEquals(root, existingRoot.get(PDFPages.PARENT_NAME));
+        assertEquals(existingKids, existingRoot.get(PDFPages.KIDS_NAME));
+        assertEquals(new PDFInteger(40), existingRoot.get(PDFPages.COUNT_NAME));
+        assertEquals(root, ((PDFPages) getParent(pages.get(0)).getIndirectObject().getObject())
+                .get(PDFPages.PARENT_NAME));
+    }
+
+    @Test
+    void addPagesAfterComplete() {
+        tree.setFanOut(2);
+        Reference first = tree.createRoot();
+        List<Reference> pages = addPages(tree, 4);
+        assertEquals(first, tree.complete());
+        pages.addAll(addPages(tree, 3));
+        Reference root = tree.complete();
+
+        assertNotEquals(first, root);
+        List<Reference> actual = new ArrayList<>();
+        assertEquals(7, walk(tree, root, null, 0, actual, new HashSet<>()));
+        assertEquals(pages, actual);
+    }
+
+    private PDFIndirectObject createIndirectObject(PDFObject object) {
+        PDFIndirectObject result = new PDFIndirectObject(object, allocator);
+        created.add(result);
+        return result;
+    }
+
+    private List<Reference> addPages(PDFPageTree pageTree, int count) {
+        List<Reference> result = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            PDFDictionary page = new PDFDictionary();
+            Reference reference = new PDFIndirectObject(page, allocator).getReference();
+            page.put(PDFPage.PARENT_NAME, pageTree.addPage(reference));
+            result.add(reference);
+        }
+        return result;
+    }
+
+    private static Reference getParent(Reference page) {
+        return (Reference) ((PDFDictionary) page.getIndirectObject().getObject()).get(PDFPage.PARENT_NAME);
+    }
+
+    /**
+     * Walks the tree checking the parent, count and number of kids of each node, and returns the number of pages under
+     * the node.
+     */
+    private static int walk(PDFPageTree pageTree, Reference node, Reference parent, int depth, List<Reference> pages,
+            Set<Integer> pageDepths) {
+        PDFObject object = node.getIndirectObject().getObject();
+        if (!(object instanceof PDFPages)) {
+            assertEquals(parent, getParent(node));
+            pages.add(node);
+            pageDepths.add(depth);
+            return 1;
+        }
+        PDFPages pagesNode = (PDFPages) object;
+        assertEquals(parent, pagesNode.get(PDFPages.PARENT_NAME));
+        PDFArray kids = (PDFArray) pagesNode.get(PDFPages.KIDS_NAME);
+        assertTrue(kids.size() <= pageTree.getFanOut());
+        int count = 0;
+        for (int index = 0; index < kids.size(); index++) {
+            count += walk(pageTree, (Reference) kids.get(index), node, depth + 1, pages, pageDepths);
+        }
+        assertEquals(new PDFInteger(count), pagesNode.get(PDFPages.COUNT_NAME));
+        return count;
+    }
+}
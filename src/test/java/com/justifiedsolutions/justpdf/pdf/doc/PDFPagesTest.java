@@ -7,6 +7,7 @@ package com.justifiedsolutions.justpdf.pdf.doc;
 
 import com.justifiedsolutions.justpdf.pdf.object.PDFArray;
 import com.justifiedsolutions.justpdf.pdf.object.PDFBoolean;
+import com.justifiedsolutions.justpdf.pdf.object.ObjectNumberAllocator;
 import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject;
 import com.justifiedsolutions.justpdf.pdf.object.PDFInteger;
 import com.justifiedsolutions.justpdf.pdf.object.PDFObject;
@@ -16,6 +17,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class PDFPagesTest {
 
+    private final ObjectNumberAllocator allocator = new ObjectNumberAllocator();
+
     @Test
     void addPage() {
         PDFPages pages = new PDFPages();
@@ -27,14 +30,58 @@ class PDFPagesTest {
         assertEquals(new PDFInteger(0), count);
         assertEquals(new PDFArray(), kids);
 
-        PDFIndirectObject kid = new PDFIndirectObject(PDFBoolean.TRUE);
+        PDFIndirectObject kid = new PDFIndirectObject(PDFBoolean.TRUE, allocator);
         pages.addPage(kid.getReference());
 
+        // the Count entry is only updated once the node is complete
+        assertEquals(new PDFInteger(0), pages.get(PDFPages.COUNT_NAME));
+        pages.putCount();
         count = pages.get(PDFPages.COUNT_NAME);
         kids = pages.get(PDFPages.KIDS_NAME);
         assertEquals(new PDFInteger(1), count);
         PDFArray kidsArray = new PDFArray();
         kidsArray.add(kid.getReference());
         assertEquals(kidsArray, kids);
+        assertEquals(1, pages.getCount());
+        assertEquals(1, pages.getKidCount());
+    }
+
+    @Test
+    void addKid() {
+        PDFIndirectObject parent = new PDFIndirectObject(PDFBoolean.TRUE, allocator);
+        PDFIndirectObject node = new PDFIndirectObject(PDFBoolean.TRUE, allocator);
+        PDFPages pages = new PDFPages();
+        pages.setParent(parent.getReference());
+        pages.addKid(node.getReference(), 32);
+        pages.addPage(node.getReference());
+        pages.putCount();
+
+        assertEquals(33, pages.getCount());
+        assertEquals(2, pages.getKidCount());
+        assertEquals(new PDFInteger(33), pages.get(PDFPages.COUNT_NAME));
+        assertEquals(parent.getReference(), pages.get(PDFPages.PARENT_NAME));
+    }
+
+    @Test
+    void addExistingKids() {
+        PDFIndirectObject existingNode = new PDFIndirectObject(PDFBoolean.TRUE, allocator);
+        PDFIndirectObject existingPage = new PDFIndirectObject(PDFBoolean.TRUE, allocator);
+        PDFArray existingKids = new PDFArray();
+        existingKids.add(existingNode.getReference());
+        existingKids.add(existingPage.getReference());
+        PDFPages pages = new PDFPages();
+        pages.addExistingKids(existingKids, 11);
+
+        PDFIndirectObject kid = new PDFIndirectObject(PDFBoolean.TRUE, allocator);
+        pages.addPage(kid.getReference());
+        pages.putCount();
+
+        assertEquals(12, pages.getCount());
+        assertEquals(new PDFInteger(12), pages.get(PDFPages.COUNT_NAME));
+        PDFArray kidsArray = new PDFArray();
+        kidsArray.add(existingNode.getReference());
+        kidsArray.add(existingPage.getReference());
+        kidsArray.add(kid.getReference());
+        assertEquals(kidsArray, pages.get(PDFPages.KIDS_NAME));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.doc;
+
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
+import com.justifiedsolutions.justpdf.pdf.object.ObjectNumberAllocator;
+import com.justifiedsolutions.justpdf.pdf.object.PDFArray;
+import com.justifiedsolutions.justpdf.pdf.object.PDFDictionary;
+import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject;
+import com.justifiedsolutions.justpdf.pdf.object.PDFInteger;
+import com.justifiedsolutions.justpdf.pdf.object.PDFName;
+import com.justifiedsolutions.justpdf.pdf.object.PDFStream;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PDFParallelSerializerTest {
+
+    private final PDFParallelSerializer serializer = new PDFParallelSerializer(ForkJoinPool.commonPool());
+
+    @Test
+    void write() throws IOException {
+        List<PDFIndirectObject> objects = createObjects(5 * PDFParallelSerializer.OBJECTS_PER_TASK + 7);
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        PDFByteSink expectedSink = new PDFByteSink(expected);
+        expectedSink.writeAscii("%PDF-1.7\n");
+        long[] expectedOffsets = new long[objects.size()];
+        for (int index = 0; index < objects.size(); index++) {
+            expectedOffsets[index] = expectedSink.getCount();
+            objects.get(index).writeToPDF(expectedSink);
+        }
+        expectedSink.flush();
+
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        PDFByteSink actualSink = new PDFByteSink(actual);
+        actualSink.writeAscii("%PDF-1.7\n");
+        serializer.write(objects, actualSink);
+        actualSink.flush();
+
+        assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+        assertEquals(expected.size(), actualSink.getCount());
+        for (int index = 0; index < objects.size(); index++) {
+            assertEquals(expectedOffsets[index], objects.get(index).getByteOffset());
+        }
+    }
+
+    @Test
+    void writeStreamsOnCallingThread() throws IOException {
+        List<PDFIndirectObject> objects = createObjects(3 * PDFParallelSerializer.OBJECTS_PER_TASK);
+        ObjectNumberAllocator allocator = new ObjectNumberAllocator();
+        for (int index = 10; index < objects.size(); index += 20) {
+            objects.add(index, new PDFIndirectObject(new PDFStream(new byte[]{1, 2, 3}), allocator));
+        }
+        List<Runnable> tasks = new ArrayList<>();
+        PDFParallelSerializer directSerializer = new PDFParallelSerializer(task -> {
+            tasks.add(task);
+            task.run();
+        });
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        PDFByteSink expectedSink = new PDFByteSink(expected);
+        for (PDFIndirectObject object : objects) {
+            object.writeToPDF(expectedSink);
+        }
+        expectedSink.flush();
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        PDFByteSink actualSink = new PDFByteSink(actual);
+        directSerializer.write(objects, actualSink);
+        actualSink.flush();
+
+        assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+        // the ten streams split the other objects into eleven runs, and are not serialized by a task
+        assertEquals(11, tasks.size());
+    }
+
+    @Test
+    void writeBoundsRunsInFlight() throws IOException {
+        List<PDFIndirectObject> objects = createObjects(20 * PDFParallelSerializer.OBJECTS_PER_TASK);
+        AtomicInteger submitted = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new LinkedBlockingQueue<>()) {
+            @Override
+            public void execute(Runnable command) {
+                long written = objects.stream().filter(object -> object.getByteOffset() >= 0).count();
+                int inFlight = submitted.incrementAndGet() - (int) (written / PDFParallelSerializer.OBJECTS_PER_TASK);
+                maxInFlight.accumulateAndGet(inFlight, Math::max);
+                super.execute(command);
+            }
+        };
+        try {
+            PDFParallelSerializer boundedSerializer = new PDFParallelSerializer(executor);
+            assertEquals(PDFParallelSerializer.RUNS_PER_THREAD, boundedSerializer.getMaxRunsInFlight());
+            ByteArrayOutputStream actual = new ByteArrayOutputStream();
+            boundedSerializer.write(objects, new PDFByteSink(actual));
+
+            assertEquals(20, submitted.get());
+            assertEquals(PDFParallelSerializer.RUNS_PER_THREAD, maxInFlight.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void writeEmpty() throws IOException {
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        PDFByteSink sink = new PDFByteSink(actual);
+        serializer.write(List.of(), sink);
+        assertEquals(0, sink.getCount());
+    }
+
+    @Test
+    void writeFailure() {
+        List<PDFIndirectObject> objects = createObjects(2 * PDFParallelSerializer.OBJECTS_PER_TASK);
+        objects.get(PDFParallelSerializer.OBJECTS_PER_TASK + 1).release();
+        PDFByteSink sink = new PDFByteSink(new ByteArrayOutputStream());
+        IOException exception = assertThrows(IOException.class, () -> serializer.write(objects, sink));
+        assertInstanceOf(IllegalStateException.class, exception.getCause().getCause());
+    }
+
+    private static List<PDFIndirectObject> createObjects(int count) {
+        ObjectNumberAllocator allocator = new ObjectNumberAllocator();
+        List<PDFIndirectObject> result = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            PDFDictionary dictionary = new PDFDictionary();
+            dictionary.put(new PDFName("Index"), new PDFInteger(i));
+            PDFArray array = new PDFArray();
+            for (int j = 0; j < i % 10; j++) {
+                array.add(new PDFName("Item" + j));
+            }
+            dictionary.put(new PDFName("Items"), array);
+            result.add(new PDFIndirectObject(dictionary, allocator));
+        }
+        return result;
+    }
+}
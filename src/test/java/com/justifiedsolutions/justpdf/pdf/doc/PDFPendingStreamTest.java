@@ -0,0 +1,51 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.doc;
+
+import com.justifiedsolutions.justpdf.pdf.object.PDFStream;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PDFPendingStreamTest {
+
+    @Test
+    void writeToPDF() throws IOException {
+        PDFStream stream = new PDFStream("data".getBytes(StandardCharsets.US_ASCII));
+        CompletableFuture<PDFStream> future = new CompletableFuture<>();
+        PDFPendingStream pending = new PDFPendingStream(future);
+        assertFalse(pending.isDone());
+        future.complete(stream);
+        assertTrue(pending.isDone());
+        assertSame(stream, pending.getStream());
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        stream.writeToPDF(expected);
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        pending.writeToPDF(actual);
+        assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+    }
+
+    @Test
+    void writeToPDFFailed() {
+        CompletableFuture<PDFStream> future = new CompletableFuture<>();
+        future.completeExceptionally(new UncheckedIOException(new IOException("failed")));
+        PDFPendingStream pending = new PDFPendingStream(future);
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        IOException exception = assertThrows(IOException.class, () -> pending.writeToPDF(actual));
+        assertTrue(exception.getCause().getCause() instanceof UncheckedIOException);
+    }
+}
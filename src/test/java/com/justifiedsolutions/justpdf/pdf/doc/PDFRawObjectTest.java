@@ -0,0 +1,37 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.doc;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class PDFRawObjectTest {
+
+    private static final byte[] BYTES = "[ (Hello) 1.5 ]".getBytes(StandardCharsets.US_ASCII);
+
+    @Test
+    void writeToPDF() throws IOException {
+        PDFRawObject string = new PDFRawObject(BYTES, 2, 7);
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        string.writeToPDF(actual);
+        assertEquals("(Hello)", actual.toString(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void equalsHashCode() {
+        PDFRawObject real = new PDFRawObject(BYTES, 10, 3);
+        PDFRawObject same = new PDFRawObject("1.5".getBytes(StandardCharsets.US_ASCII), 0, 3);
+        assertEquals(real, same);
+        assertEquals(real.hashCode(), same.hashCode());
+        assertNotEquals(real, new PDFRawObject(BYTES, 2, 7));
+    }
+}
@@ -5,6 +5,8 @@
 
 package com.justifiedsolutions.justpdf.pdf.doc;
 
+import com.justifiedsolutions.justpdf.pdf.object.ObjectNumberAllocator;
+import com.justifiedsolutions.justpdf.pdf.object.PDFArray;
 import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject;
 import com.justifiedsolutions.justpdf.pdf.object.PDFInteger;
 import com.justifiedsolutions.justpdf.pdf.object.PDFNull;
@@ -15,28 +17,40 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class PDFTrailerTest {
 
+    private final ObjectNumberAllocator allocator = new ObjectNumberAllocator();
+
     @Test
     void hasInfo() {
         PDFTrailer trailer = new PDFTrailer();
         assertFalse(trailer.hasInfo());
 
-        PDFIndirectObject indirectObject = new PDFIndirectObject(PDFNull.NULL);
+        PDFIndirectObject indirectObject = new PDFIndirectObject(PDFNull.NULL, allocator);
         trailer.setInfo(indirectObject.getReference());
         assertTrue(trailer.hasInfo());
     }
 
+    @Test
+    void hasId() {
+        PDFTrailer trailer = new PDFTrailer();
+        assertFalse(trailer.hasId());
+
+        trailer.setId(new PDFArray());
+        assertTrue(trailer.hasId());
+    }
+
     @Test
     void writeToPDF() throws IOException {
         PDFTrailer trailer = new PDFTrailer();
-        PDFIndirectObject info = new PDFIndirectObject(PDFNull.NULL);
-        PDFIndirectObject catalog = new PDFIndirectObject(PDFNull.NULL);
+        PDFIndirectObject info = new PDFIndirectObject(PDFNull.NULL, allocator);
+        PDFIndirectObject catalog = new PDFIndirectObject(PDFNull.NULL, allocator);
         PDFInteger size = new PDFInteger(3);
-        PDFInteger totalBytes = new PDFInteger(42);
+        long totalBytes = 42;
 
         ByteArrayOutputStream expected = new ByteArrayOutputStream();
         expected.writeBytes("trailer\n<</Info ".getBytes(StandardCharsets.US_ASCII));
@@ -54,4 +68,16 @@ class PDFTrailerTest {
 
         assertArrayEquals(expected.toByteArray(), actual.toByteArray());
     }
-}
\ No newline at end of file
+
+    @Test
+    void setPrev() throws IOException {
+        PDFTrailer trailer = new PDFTrailer();
+        trailer.setSize(new PDFInteger(3));
+        trailer.setPrev(5_000_000_000L);
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        trailer.writeToPDF(actual);
+
+        assertEquals("trailer\n<</Prev 5000000000/Size 3>>\nstartxref\n0\n%%EOF",
+                actual.toString(StandardCharsets.US_ASCII));
+    }
+}
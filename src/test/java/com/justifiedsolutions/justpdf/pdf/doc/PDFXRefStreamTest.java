@@ -0,0 +1,114 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.doc;
+
+import com.justifiedsolutions.justpdf.pdf.object.ObjectNumberAllocator;
+import com.justifiedsolutions.justpdf.pdf.object.PDFDictionary;
+import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject;
+import com.justifiedsolutions.justpdf.pdf.object.PDFInteger;
+import com.justifiedsolutions.justpdf.pdf.object.PDFName;
+import com.justifiedsolutions.justpdf.pdf.object.PDFNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PDFXRefStreamTest {
+
+    private ObjectNumberAllocator allocator;
+
+    @BeforeEach
+    void reset() {
+        allocator = new ObjectNumberAllocator();
+    }
+
+    @Test
+    void isCompressed() {
+        PDFIndirectObject compressed = new PDFIndirectObject(PDFNull.NULL, allocator);
+        PDFIndirectObject objectStream = new PDFIndirectObject(PDFNull.NULL, allocator);
+        PDFXRefStream xrefStream = new PDFXRefStream();
+        xrefStream.addCompressedObject(compressed, objectStream, 0);
+
+        assertTrue(xrefStream.isCompressed(compressed));
+        assertFalse(xrefStream.isCompressed(objectStream));
+    }
+
+    @Test
+    void writeToPDF() throws IOException, DataFormatException {
+        PDFIndirectObject compressed = new PDFIndirectObject(PDFNull.NULL, allocator);
+        PDFIndirectObject objectStream = new PDFIndirectObject(PDFNull.NULL, allocator);
+        objectStream.setByteOffset(300);
+        PDFIndirectObject self = new PDFIndirectObject(PDFNull.NULL, allocator);
+        self.setByteOffset(15);
+        List<PDFIndirectObject> indirectObjects = new ArrayList<>();
+        indirectObjects.add(self);
+        indirectObjects.add(compressed);
+        indirectObjects.add(objectStream);
+
+        PDFDictionary trailer = new PDFDictionary();
+        trailer.put(new PDFName("Size"), new PDFInteger(4));
+        PDFXRefStream xrefStream = new PDFXRefStream();
+        xrefStream.addCompressedObject(compressed, objectStream, 7);
+        xrefStream.setTrailer(trailer);
+        xrefStream.setIndirectObjects(indirectObjects);
+
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        xrefStream.writeToPDF(actual);
+        String text = actual.toString(StandardCharsets.ISO_8859_1);
+        assertTrue(text.startsWith("<</Filter [ /FlateDecode ]/Length "));
+        assertTrue(text.contains("/Size 4/Type /XRef/W [ 1 2 2 ]>>\nstream\n"));
+
+        int start = text.indexOf("stream\n") + 7;
+        int end = text.lastIndexOf("\nendstream");
+        Inflater inflater = new Inflater();
+        inflater.setInput(actual.toByteArray(), start, end - start);
+        byte[] data = new byte[20];
+        inflater.inflate(data);
+        inflater.end();
+        byte[] expected = {
+                0, 0, 0, (byte) 0xFF, (byte) 0xFF,
+                2, 0, 2, 0, 7,
+                1, 1, 44, 0, 0,
+                1, 0, 15, 0, 0};
+        assertArrayEquals(expected, data);
+    }
+
+    @Test
+    void writeToPDFLargeOffset() throws IOException, DataFormatException {
+        PDFIndirectObject self = new PDFIndirectObject(PDFNull.NULL, allocator);
+        self.setByteOffset(5_000_000_000L);
+        PDFXRefStream xrefStream = new PDFXRefStream();
+        xrefStream.setTrailer(new PDFDictionary());
+        xrefStream.setIndirectObjects(List.of(self));
+
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        xrefStream.writeToPDF(actual);
+        String text = actual.toString(StandardCharsets.ISO_8859_1);
+        assertTrue(text.contains("/W [ 1 5 2 ]>>\nstream\n"));
+
+        int start = text.indexOf("stream\n") + 7;
+        int end = text.lastIndexOf("\nendstream");
+        Inflater inflater = new Inflater();
+        inflater.setInput(actual.toByteArray(), start, end - start);
+        byte[] data = new byte[16];
+        inflater.inflate(data);
+        inflater.end();
+        byte[] expected = {
+                0, 0, 0, 0, 0, 0, (byte) 0xFF, (byte) 0xFF,
+                1, 1, 42, 5, (byte) 0xF2, 0, 0, 0};
+        assertArrayEquals(expected, data);
+    }
+}
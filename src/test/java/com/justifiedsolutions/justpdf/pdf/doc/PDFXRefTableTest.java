@@ -5,8 +5,8 @@
 
 package com.justifiedsolutions.justpdf.pdf.doc;
 
+import com.justifiedsolutions.justpdf.pdf.object.ObjectNumberAllocator;
 import com.justifiedsolutions.justpdf.pdf.object.PDFIndirectObject;
-import com.justifiedsolutions.justpdf.pdf.object.PDFInteger;
 import com.justifiedsolutions.justpdf.pdf.object.PDFNull;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,12 +18,18 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class PDFXRefTableTest {
 
+    private ObjectNumberAllocator allocator;
+
     @BeforeEach
     void reset() {
-        PDFIndirectObject.resetObjectNumber();
+        allocator = new ObjectNumberAllocator();
     }
 
     @Test
@@ -34,8 +40,8 @@ class PDFXRefTableTest {
         expected.writeBytes("0000000000 65535 f \n".getBytes(StandardCharsets.US_ASCII));
         expected.writeBytes("0000000042 00000 n \n".getBytes(StandardCharsets.US_ASCII));
 
-        PDFIndirectObject indirectObject = new PDFIndirectObject(PDFNull.NULL);
-        indirectObject.setByteOffset(new PDFInteger(42));
+        PDFIndirectObject indirectObject = new PDFIndirectObject(PDFNull.NULL, allocator);
+        indirectObject.setByteOffset(42);
         List<PDFIndirectObject> indirectObjects = new ArrayList<>();
         indirectObjects.add(indirectObject);
         PDFXRefTable xrefTable = new PDFXRefTable();
@@ -47,6 +53,83 @@ class PDFXRefTableTest {
         assertArrayEquals(expected.toByteArray(), actual.toByteArray());
     }
 
+    @Test
+    void writeToPDFLargeOffset() throws IOException {
+        PDFIndirectObject indirectObject = new PDFIndirectObject(PDFNull.NULL, allocator);
+        indirectObject.setByteOffset(5_000_000_000L);
+        List<PDFIndirectObject> indirectObjects = new ArrayList<>();
+        indirectObjects.add(indirectObject);
+        PDFXRefTable xrefTable = new PDFXRefTable();
+        xrefTable.setIndirectObjects(indirectObjects);
+
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        xrefTable.writeToPDF(actual);
+
+        assertTrue(actual.toString(StandardCharsets.US_ASCII).endsWith("5000000000 00000 n \n"));
+    }
+
+    @Test
+    void writeToPDFSubsection() throws IOException {
+        List<PDFIndirectObject> indirectObjects = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            PDFIndirectObject indirectObject = new PDFIndirectObject(PDFNull.NULL, allocator);
+            indirectObject.renumber(7 + i);
+            indirectObject.setByteOffset(100L * (i + 1));
+            indirectObjects.add(indirectObject);
+        }
+        PDFXRefTable xrefTable = new PDFXRefTable();
+        xrefTable.setFreeEntry(false);
+        xrefTable.setIndirectObjects(indirectObjects);
+
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        xrefTable.writeToPDF(actual);
+
+        assertEquals("xref\n7 3\n0000000100 00000 n \n0000000200 00000 n \n0000000300 00000 n \n",
+                actual.toString(StandardCharsets.US_ASCII));
+        assertEquals(actual.size(), PDFXRefTable.getLength(7, 3));
+    }
+
+    @Test
+    void writeToPDFSubsections() throws IOException {
+        List<PDFIndirectObject> indirectObjects = new ArrayList<>();
+        for (int objectNumber : new int[]{9, 3, 8, 4}) {
+            PDFIndirectObject indirectObject = new PDFIndirectObject(PDFNull.NULL, objectNumber);
+            indirectObject.setByteOffset(objectNumber * 100L);
+            indirectObjects.add(indirectObject);
+        }
+        PDFXRefTable xrefTable = new PDFXRefTable();
+        xrefTable.setFreeEntry(false);
+        xrefTable.setIndirectObjects(indirectObjects);
+
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        xrefTable.writeToPDF(actual);
+        assertEquals("xref\n3 2\n0000000300 00000 n \n0000000400 00000 n \n"
+                        + "8 2\n0000000800 00000 n \n0000000900 00000 n \n",
+                actual.toString(StandardCharsets.US_ASCII));
+
+        xrefTable.setFreeEntry(true);
+        actual.reset();
+        xrefTable.writeToPDF(actual);
+        assertTrue(actual.toString(StandardCharsets.US_ASCII).startsWith("xref\n0 1\n0000000000 65535 f \n3 2\n"));
+    }
+
+    @Test
+    void getLength() throws IOException {
+        List<PDFIndirectObject> indirectObjects = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            PDFIndirectObject indirectObject = new PDFIndirectObject(PDFNull.NULL, allocator);
+            indirectObject.setByteOffset(i);
+            indirectObjects.add(indirectObject);
+        }
+        PDFXRefTable xrefTable = new PDFXRefTable();
+        xrefTable.setIndirectObjects(indirectObjects);
+
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        xrefTable.writeToPDF(actual);
+
+        assertEquals(actual.size(), PDFXRefTable.getLength(0, 12));
+    }
+
     @Test
     void writeToPDF5() throws IOException {
         ByteArrayOutputStream expected = new ByteArrayOutputStream();
@@ -60,20 +143,20 @@ class PDFXRefTableTest {
         expected.writeBytes("0000000250 00000 n \n".getBytes(StandardCharsets.US_ASCII));
 
         List<PDFIndirectObject> indirectObjects = new ArrayList<>();
-        PDFIndirectObject indirectObject1 = new PDFIndirectObject(PDFNull.NULL);
-        indirectObject1.setByteOffset(new PDFInteger(50));
+        PDFIndirectObject indirectObject1 = new PDFIndirectObject(PDFNull.NULL, allocator);
+        indirectObject1.setByteOffset(50);
         indirectObjects.add(indirectObject1);
-        PDFIndirectObject indirectObject2 = new PDFIndirectObject(PDFNull.NULL);
-        indirectObject2.setByteOffset(new PDFInteger(100));
+        PDFIndirectObject indirectObject2 = new PDFIndirectObject(PDFNull.NULL, allocator);
+        indirectObject2.setByteOffset(100);
         indirectObjects.add(indirectObject2);
-        PDFIndirectObject indirectObject3 = new PDFIndirectObject(PDFNull.NULL);
-        indirectObject3.setByteOffset(new PDFInteger(150));
+        PDFIndirectObject indirectObject3 = new PDFIndirectObject(PDFNull.NULL, allocator);
+        indirectObject3.setByteOffset(150);
         indirectObjects.add(indirectObject3);
-        PDFIndirectObject indirectObject4 = new PDFIndirectObject(PDFNull.NULL);
-        indirectObject4.setByteOffset(new PDFInteger(200));
+        PDFIndirectObject indirectObject4 = new PDFIndirectObject(PDFNull.NULL, allocator);
+        indirectObject4.setByteOffset(200);
         indirectObjects.add(indirectObject4);
-        PDFIndirectObject indirectObject5 = new PDFIndirectObject(PDFNull.NULL);
-        indirectObject5.setByteOffset(new PDFInteger(250));
+        PDFIndirectObject indirectObject5 = new PDFIndirectObject(PDFNull.NULL, allocator);
+        indirectObject5.setByteOffset(250);
         indirectObjects.add(indirectObject5);
 
         PDFXRefTable xrefTable = new PDFXRefTable();
@@ -84,4 +167,36 @@ class PDFXRefTableTest {
 
         assertArrayEquals(expected.toByteArray(), actual.toByteArray());
     }
-}
\ No newline at end of file
+
+    @Test
+    void writeToPDFLargestOffset() throws IOException {
+        PDFIndirectObject indirectObject = new PDFIndirectObject(PDFNull.NULL, allocator);
+        indirectObject.setByteOffset(PDFXRefTable.OFFSET_LIMIT - 1);
+        PDFXRefTable xrefTable = new PDFXRefTable();
+        xrefTable.setIndirectObjects(List.of(indirectObject));
+
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        xrefTable.writeToPDF(actual);
+
+        assertTrue(actual.toString(StandardCharsets.US_ASCII).endsWith("\n9999999999 00000 n \n"));
+        assertEquals(PDFXRefTable.getLength(0, 1), actual.size());
+    }
+
+    @Test
+    void writeToPDFOffsetTooLarge() {
+        PDFIndirectObject indirectObject = new PDFIndirectObject(PDFNull.NULL, allocator);
+        indirectObject.setByteOffset(PDFXRefTable.OFFSET_LIMIT);
+        PDFXRefTable xrefTable = new PDFXRefTable();
+        xrefTable.setIndirectObjects(List.of(indirectObject));
+
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        assertThrows(IOException.class, () -> xrefTable.writeToPDF(actual));
+    }
+
+    @Test
+    void canList() {
+        assertTrue(PDFXRefTable.canList(0));
+        assertTrue(PDFXRefTable.canList(9_999_999_999L));
+        assertFalse(PDFXRefTable.canList(10_000_000_000L));
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.filter;
+
+import com.justifiedsolutions.justpdf.pdf.object.PDFName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeflateFilterTest {
+
+    @Test
+    void constructorInvalidLevel() {
+        assertThrows(IllegalArgumentException.class, () -> new DeflateFilter(-2));
+        assertThrows(IllegalArgumentException.class, () -> new DeflateFilter(10));
+    }
+
+    @Test
+    void getDecodeFilter() {
+        DeflateFilter filter = new DeflateFilter();
+        assertEquals(new PDFName("FlateDecode"), filter.getDecodeFilterName());
+        assertNull(filter.getDecodeFilterParams());
+        assertEquals(Deflater.DEFAULT_COMPRESSION, filter.getLevel());
+    }
+
+    @Test
+    void equalsHashCode() {
+        assertEquals(new DeflateFilter(), new DeflateFilter(Deflater.DEFAULT_COMPRESSION));
+        assertEquals(new DeflateFilter().hashCode(), new DeflateFilter(Deflater.DEFAULT_COMPRESSION).hashCode());
+        assertNotEquals(new DeflateFilter(), new DeflateFilter(Deflater.BEST_SPEED));
+    }
+
+    @Test
+    void filterMatchesDeflaterOutputStream() throws IOException {
+        byte[] input = createInput(100_000);
+        assertArrayEquals(deflate(input), new DeflateFilter().filter(input));
+        assertArrayEquals(deflate(new byte[0]), new DeflateFilter().filter(new byte[0]));
+    }
+
+    @Test
+    void filterReusesDeflater() throws DataFormatException {
+        byte[] first = createInput(50_000);
+        byte[] second = "q 0 0 m 10 10 l S Q".getBytes(StandardCharsets.US_ASCII);
+        for (int level = Deflater.DEFAULT_COMPRESSION; level <= Deflater.BEST_COMPRESSION; level++) {
+            DeflateFilter filter = new DeflateFilter(level);
+            assertArrayEquals(first, inflate(filter.filter(first)));
+            assertArrayEquals(second, inflate(filter.filter(second)));
+            assertArrayEquals(first, inflate(filter.filter(first)));
+        }
+    }
+
+    @Test
+    void filterLevels() {
+        byte[] input = createInput(100_000);
+        int fastest = new DeflateFilter(Deflater.BEST_SPEED).filter(input).length;
+        int smallest = new DeflateFilter(Deflater.BEST_COMPRESSION).filter(input).length;
+        int none = new DeflateFilter(Deflater.NO_COMPRESSION).filter(input).length;
+        assertTrue(smallest <= fastest);
+        assertTrue(fastest < none);
+    }
+
+    @Test
+    void filterConcurrently() throws Exception {
+        byte[] input = createInput(100_000);
+        byte[] expected = new DeflateFilter().filter(input);
+        CompletableFuture<byte[]> actual = CompletableFuture.supplyAsync(() -> new DeflateFilter().filter(input));
+        assertArrayEquals(expected, actual.get());
+    }
+
+    @Test
+    void filterSharesPoolAcrossThreads() throws Exception {
+        byte[] input = createInput(10_000);
+        byte[] expected = new DeflateFilter(Deflater.BEST_SPEED).filter(input);
+        int pooled = DeflateFilter.getPoolSize(Deflater.BEST_SPEED);
+        assertTrue(pooled >= 1);
+        for (int i = 0; i < 50; i++) {
+            Thread thread = new Thread(() -> new DeflateFilter(Deflater.BEST_SPEED).filter(input));
+            thread.start();
+            thread.join();
+        }
+        assertEquals(pooled, DeflateFilter.getPoolSize(Deflater.BEST_SPEED));
+        assertArrayEquals(expected, new DeflateFilter(Deflater.BEST_SPEED).filter(input));
+    }
+
+    @Test
+    void poolIsBounded() throws IOException {
+        int level = 3;
+        List<OutputStream> streams = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            streams.add(new DeflateFilter(level).wrap(new ByteArrayOutputStream()));
+        }
+        for (OutputStream stream : streams) {
+            stream.close();
+        }
+        int pooled = DeflateFilter.getPoolSize(level);
+        assertTrue(pooled > 0 && pooled < 100);
+    }
+
+    @Test
+    void wrap() throws IOException, DataFormatException {
+        byte[] input = createInput(100_000);
+        for (int level = Deflater.DEFAULT_COMPRESSION; level <= Deflater.BEST_COMPRESSION; level++) {
+            DeflateFilter filter = new DeflateFilter(level);
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            try (OutputStream out = filter.wrap(output)) {
+                for (int offset = 0; offset < input.length; offset += 1_000) {
+                    out.write(input, offset, Math.min(1_000, input.length - offset));
+                }
+            }
+            assertArrayEquals(input, inflate(output.toByteArray()));
+            if (level != Deflater.NO_COMPRESSION) {
+                assertArrayEquals(filter.filter(input), output.toByteArray());
+            }
+        }
+    }
+
+    @Test
+    void wrapNested() throws IOException, DataFormatException {
+        byte[] input = createInput(10_000);
+        DeflateFilter filter = new DeflateFilter();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (OutputStream outer = filter.wrap(output)) {
+            byte[] inner = filter.filter(input);
+            try (OutputStream nested = filter.wrap(outer)) {
+                nested.write(input);
+            }
+            assertArrayEquals(input, inflate(inner));
+        }
+        assertArrayEquals(input, inflate(inflate(output.toByteArray())));
+        assertArrayEquals(deflate(input), filter.filter(input));
+    }
+
+    private static byte[] createInput(int length) {
+        Random random = new Random(42);
+        String[] words = {"BT", "ET", "/F1 12 Tf", "72 720 Td", "(Lorem ipsum) Tj", "0 -14.4 Td", ".5 w", "S"};
+        StringBuilder builder = new StringBuilder(length);
+        while (builder.length() < length) {
+            builder.append(words[random.nextInt(words.length)]).append('\n');
+        }
+        return builder.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] deflate(byte[] input) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        DeflaterOutputStream deflater = new DeflaterOutputStream(output);
+        deflater.write(input);
+        deflater.finish();
+        return output.toByteArray();
+    }
+
+    private static byte[] inflate(byte[] input) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        inflater.setInput(input);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        while (!inflater.finished()) {
+            int length = inflater.inflate(buffer);
+            output.write(buffer, 0, length);
+        }
+        inflater.end();
+        return output.toByteArray();
+    }
+}
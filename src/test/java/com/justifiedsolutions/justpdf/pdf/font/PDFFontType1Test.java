@@ -5,12 +5,19 @@
 
 package com.justifiedsolutions.justpdf.pdf.font;
 
+import com.justifiedsolutions.justpdf.pdf.PDFByteSink;
+import com.justifiedsolutions.justpdf.pdf.object.PDFDictionary;
 import com.justifiedsolutions.justpdf.pdf.object.PDFName;
 import com.justifiedsolutions.justpdf.pdf.object.PDFObject;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class PDFFontType1Test {
 
@@ -56,4 +63,49 @@ class PDFFontType1Test {
         assertNull(encoding);
     }
 
-}
\ No newline at end of file
+    @Test
+    void getCharacterWidths() {
+        PDFFont font = PDFFontType1.getInstance(PDFFontType1.FontName.HELVETICA);
+        short[] widths = font.getCharacterWidths();
+        assertEquals(256, widths.length);
+        assertEquals(278, widths[' ']);
+        assertEquals(667, widths['A']);
+        assertEquals(944, widths['W']);
+        assertEquals(0, widths[0]);
+        for (int character = 0; character < widths.length; character++) {
+            assertEquals(font.getCharacterWidth(character), widths[character]);
+        }
+        assertEquals(0, font.getCharacterWidth(-1));
+        assertEquals(0, font.getCharacterWidth(0x20AC));
+        widths['A'] = 0;
+        assertEquals(667, font.getCharacterWidth('A'));
+    }
+
+    @Test
+    void writeToPDF() throws IOException {
+        PDFFont font = PDFFontType1.getInstance(PDFFontType1.FontName.TIMES_ROMAN);
+        PDFDictionary expected = new PDFDictionary();
+        for (PDFName key : font.keySet()) {
+            expected.put(key, font.get(key));
+        }
+        assertEquals(serialize(expected), serialize(font));
+        assertEquals(serialize(font), serialize(font));
+    }
+
+    @Test
+    void shared() {
+        PDFFont font = PDFFontType1.getInstance(PDFFontType1.FontName.COURIER);
+        assertThrows(UnsupportedOperationException.class, () -> font.put(PDFFont.BASE_FONT, new PDFName("Other")));
+        assertThrows(UnsupportedOperationException.class, () -> font.remove(PDFFontType1.ENCODING));
+        assertThrows(UnsupportedOperationException.class, font::clear);
+        assertEquals(new PDFName("Courier"), font.get(PDFFont.BASE_FONT));
+    }
+
+    private static String serialize(PDFObject object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (PDFByteSink sink = new PDFByteSink(bytes)) {
+            object.writeToPDF(sink);
+        }
+        return bytes.toString(StandardCharsets.US_ASCII);
+    }
+}
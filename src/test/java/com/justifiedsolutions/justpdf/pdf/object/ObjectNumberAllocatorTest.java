@@ -0,0 +1,40 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.object;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ObjectNumberAllocatorTest {
+
+    @Test
+    void next() {
+        ObjectNumberAllocator allocator = new ObjectNumberAllocator();
+        assertEquals(0, allocator.getLastObjectNumber());
+        assertEquals(1, allocator.next());
+        assertEquals(2, allocator.next());
+        assertEquals(2, allocator.getLastObjectNumber());
+    }
+
+    @Test
+    void nextAfterLastObjectNumber() {
+        ObjectNumberAllocator allocator = new ObjectNumberAllocator(41);
+        assertEquals(41, allocator.getLastObjectNumber());
+        assertEquals(42, allocator.next());
+    }
+
+    @Test
+    void independentAllocators() {
+        ObjectNumberAllocator first = new ObjectNumberAllocator();
+        ObjectNumberAllocator second = new ObjectNumberAllocator();
+        first.next();
+        first.next();
+        PDFIndirectObject indirectObject = new PDFIndirectObject(PDFNull.NULL, second);
+        assertEquals(new PDFInteger(1), indirectObject.getObjectNumber());
+        assertEquals(2, first.getLastObjectNumber());
+    }
+}
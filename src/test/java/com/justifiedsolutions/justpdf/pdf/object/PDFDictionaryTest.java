@@ -10,13 +10,17 @@ import org.junit.jupiter.api.Test;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class PDFDictionaryTest {
@@ -121,4 +125,109 @@ class PDFDictionaryTest {
 
         assertArrayEquals(expected.toByteArray(), actual.toByteArray());
     }
-}
\ No newline at end of file
+
+    @Test
+    void manyEntries() throws IOException {
+        PDFDictionary small = new PDFDictionary();
+        PDFDictionary large = new PDFDictionary();
+        StringBuilder expected = new StringBuilder("<<");
+        for (int i = 10; i < 30; i++) {
+            large.put(new PDFName("K" + i), new PDFInteger(i));
+            expected.append("/K").append(i).append(' ').append(i);
+        }
+        for (int i = 29; i >= 10; i--) {
+            small.put(new PDFName("K" + i), new PDFInteger(i));
+        }
+        expected.append(">>");
+        assertEquals(20, large.size());
+        assertEquals(new PDFInteger(17), large.get(new PDFName("K17")));
+        assertEquals(expected.toString(), write(large));
+        assertEquals(large, small);
+
+        for (int i = 10; i < 25; i++) {
+            large.remove(new PDFName("K" + i));
+            small.remove(new PDFName("K" + i));
+        }
+        assertEquals(5, large.size());
+        assertEquals("<</K25 25/K26 26/K27 27/K28 28/K29 29>>", write(large));
+
+        PDFDictionary other = new PDFDictionary();
+        for (int i = 25; i < 30; i++) {
+            other.put(new PDFName("K" + i), new PDFInteger(i));
+        }
+        assertEquals(other, large);
+        assertEquals(large, other);
+        assertEquals(other.hashCode(), large.hashCode());
+        assertEquals(other.keySet(), large.keySet());
+        other.put(new PDFName("K25"), new PDFInteger(0));
+        assertFalse(other.equals(large));
+    }
+
+    @Test
+    void putReplacesAndRemoves() throws IOException {
+        PDFDictionary dict = new PDFDictionary();
+        dict.put(new PDFName("B"), PDFBoolean.TRUE);
+        dict.put(new PDFName("A"), PDFBoolean.TRUE);
+        dict.put(new PDFName("C"), PDFBoolean.TRUE);
+        dict.put(new PDFName("B"), PDFBoolean.FALSE);
+        assertEquals("<</A true/B false/C true>>", write(dict));
+        dict.remove(new PDFName("A"));
+        dict.remove(new PDFName("D"));
+        assertEquals("<</B false/C true>>", write(dict));
+        assertEquals(2, dict.values().size());
+    }
+
+    @Test
+    void viewsAreLiveAndReadOnly() {
+        PDFDictionary dict = new PDFDictionary();
+        Set<PDFName> keys = dict.keySet();
+        Collection<PDFObject> values = dict.values();
+        assertSame(keys, dict.keySet());
+        assertSame(values, dict.values());
+        dict.put(new PDFName("B"), PDFBoolean.FALSE);
+        dict.put(new PDFName("A"), PDFBoolean.TRUE);
+        assertEquals(List.of(new PDFName("A"), new PDFName("B")), new ArrayList<>(keys));
+        assertEquals(List.of(PDFBoolean.TRUE, PDFBoolean.FALSE), new ArrayList<>(values));
+        assertTrue(keys.contains(new PDFName("A")));
+        assertThrows(UnsupportedOperationException.class, () -> keys.remove(new PDFName("A")));
+        assertThrows(UnsupportedOperationException.class, values::clear);
+
+        for (int i = 10; i < 30; i++) {
+            dict.put(new PDFName("K" + i), new PDFInteger(i));
+        }
+        assertEquals(22, keys.size());
+        assertEquals(22, values.size());
+        assertEquals(new PDFName("A"), keys.iterator().next());
+        assertThrows(UnsupportedOperationException.class, () -> keys.remove(new PDFName("A")));
+        assertThrows(UnsupportedOperationException.class, values::clear);
+        assertEquals(22, dict.size());
+    }
+
+    @Test
+    void forEach() {
+        PDFDictionary small = new PDFDictionary();
+        PDFDictionary large = new PDFDictionary();
+        for (int i = 29; i >= 10; i--) {
+            large.put(new PDFName("K" + i), new PDFInteger(i));
+            if (i < 15) {
+                small.put(new PDFName("K" + i), new PDFInteger(i));
+            }
+        }
+        for (PDFDictionary dict : List.of(small, large)) {
+            List<PDFName> keys = new ArrayList<>();
+            PDFDictionary copy = new PDFDictionary();
+            dict.forEach((key, value) -> {
+                keys.add(key);
+                copy.put(key, value);
+            });
+            assertEquals(new ArrayList<>(dict.keySet()), keys);
+            assertEquals(dict, copy);
+        }
+    }
+
+    private static String write(PDFObject object) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        object.writeToPDF(out);
+        return out.toString(StandardCharsets.US_ASCII);
+    }
+}
@@ -14,26 +14,29 @@ import java.nio.charset.StandardCharsets;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class PDFIndirectObjectTest {
 
+    private final ObjectNumberAllocator allocator = new ObjectNumberAllocator();
+
     @Test
     void getGenerationNumber() {
-        PDFIndirectObject inObject = new PDFIndirectObject(PDFBoolean.TRUE);
+        PDFIndirectObject inObject = new PDFIndirectObject(PDFBoolean.TRUE, allocator);
         assertEquals(new PDFInteger(0), inObject.getGenerationNumber());
     }
 
     @Test
     void getObject() {
         PDFObject expected = PDFBoolean.TRUE;
-        PDFIndirectObject inObject = new PDFIndirectObject(expected);
+        PDFIndirectObject inObject = new PDFIndirectObject(expected, allocator);
         assertEquals(expected, inObject.getObject());
     }
 
     @Test
     void getReference() throws IOException {
-        PDFIndirectObject inObject = new PDFIndirectObject(PDFBoolean.TRUE);
+        PDFIndirectObject inObject = new PDFIndirectObject(PDFBoolean.TRUE, allocator);
 
         ByteArrayOutputStream expected = new ByteArrayOutputStream();
         expected.writeBytes(String.valueOf(inObject.getObjectNumber().getValue()).getBytes(StandardCharsets.US_ASCII));
@@ -46,9 +49,47 @@ class PDFIndirectObjectTest {
         assertArrayEquals(expected.toByteArray(), actual.toByteArray());
     }
 
+    @Test
+    void getReferenceSame() {
+        PDFIndirectObject inObject = new PDFIndirectObject(PDFBoolean.TRUE, allocator);
+        assertSame(inObject.getReference(), inObject.getReference());
+        assertSame(inObject, inObject.getReference().getIndirectObject());
+    }
+
+    @Test
+    void renumber() throws IOException {
+        PDFIndirectObject inObject = new PDFIndirectObject(PDFBoolean.TRUE, allocator);
+        PDFIndirectObject.Reference reference = inObject.getReference();
+        inObject.renumber(42);
+        assertEquals(new PDFInteger(42), inObject.getObjectNumber());
+        assertSame(inObject, reference.getIndirectObject());
+
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        reference.writeToPDF(actual);
+        assertEquals("42 0 R", actual.toString(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void constructorObjectNumber() {
+        PDFIndirectObject inObject = new PDFIndirectObject(PDFBoolean.TRUE, 17);
+        assertEquals(new PDFInteger(17), inObject.getObjectNumber());
+        assertEquals(new PDFInteger(0), inObject.getGenerationNumber());
+        assertEquals(0, allocator.getLastObjectNumber());
+    }
+
+    @Test
+    void getNumber() {
+        PDFIndirectObject inObject = new PDFIndirectObject(PDFBoolean.TRUE, 17);
+        assertEquals(17, inObject.getNumber());
+        assertEquals(0, inObject.getGeneration());
+        inObject.renumber(3);
+        assertEquals(3, inObject.getNumber());
+        assertEquals(new PDFInteger(3), inObject.getObjectNumber());
+    }
+
     @Test
     void writeToPDF() throws IOException {
-        PDFIndirectObject inObject = new PDFIndirectObject(PDFBoolean.TRUE);
+        PDFIndirectObject inObject = new PDFIndirectObject(PDFBoolean.TRUE, allocator);
 
         ByteArrayOutputStream expected = new ByteArrayOutputStream();
         expected.writeBytes(String.valueOf(inObject.getObjectNumber().getValue()).getBytes(StandardCharsets.US_ASCII));
@@ -62,10 +103,8 @@ class PDFIndirectObjectTest {
 
     @Test
     void compareTo() {
-        PDFIndirectObject.resetObjectNumber();
-        PDFIndirectObject io1 = new PDFIndirectObject(PDFBoolean.TRUE);
-        PDFIndirectObject.resetObjectNumber();
-        PDFIndirectObject io2 = new PDFIndirectObject(PDFBoolean.TRUE);
+        PDFIndirectObject io1 = new PDFIndirectObject(PDFBoolean.TRUE, new ObjectNumberAllocator());
+        PDFIndirectObject io2 = new PDFIndirectObject(PDFBoolean.TRUE, new ObjectNumberAllocator());
         assertEquals(-1, io1.compareTo(null));
         assertEquals(0, io1.compareTo(io2));
     }
@@ -73,13 +112,11 @@ class PDFIndirectObjectTest {
     @Test
     @SuppressWarnings({ "unlikely-arg-type", "PMD.SimplifiableTestAssertion" })
     void equals() {
-        PDFIndirectObject.resetObjectNumber();
-        PDFIndirectObject io1 = new PDFIndirectObject(PDFBoolean.TRUE);
-        PDFIndirectObject.resetObjectNumber();
-        PDFIndirectObject io2 = new PDFIndirectObject(PDFBoolean.TRUE);
-        PDFIndirectObject io3 = new PDFIndirectObject(PDFBoolean.TRUE);
-        PDFIndirectObject.resetObjectNumber();
-        PDFIndirectObject io4 = new PDFIndirectObject(PDFBoolean.FALSE);
+        PDFIndirectObject io1 = new PDFIndirectObject(PDFBoolean.TRUE, new ObjectNumberAllocator());
+        ObjectNumberAllocator second = new ObjectNumberAllocator();
+        PDFIndirectObject io2 = new PDFIndirectObject(PDFBoolean.TRUE, second);
+        PDFIndirectObject io3 = new PDFIndirectObject(PDFBoolean.TRUE, second);
+        PDFIndirectObject io4 = new PDFIndirectObject(PDFBoolean.FALSE, new ObjectNumberAllocator());
 
         assertTrue(io1.equals(io1));
         assertFalse(io1.equals(null));
@@ -88,17 +125,19 @@ class PDFIndirectObjectTest {
         assertTrue(io1.equals(io2));
         assertEquals(io1.hashCode(), io2.hashCode());
         assertFalse(io1.equals(io3));
-        assertFalse(io1.equals(io4));
+        // the referenced objects are not compared
+        assertTrue(io1.equals(io4));
+        assertEquals(io1.hashCode(), io4.hashCode());
     }
 
     @Test
     @SuppressWarnings({ "unlikely-arg-type", "PMD.SimplifiableTestAssertion" })
     void equalsReference() {
-        PDFIndirectObject.resetObjectNumber();
-        PDFIndirectObject.Reference io1 = new PDFIndirectObject(PDFBoolean.TRUE).getReference();
-        PDFIndirectObject.resetObjectNumber();
-        PDFIndirectObject.Reference io2 = new PDFIndirectObject(PDFBoolean.TRUE).getReference();
-        PDFIndirectObject.Reference io3 = new PDFIndirectObject(PDFBoolean.TRUE).getReference();
+        PDFIndirectObject.Reference io1 = new PDFIndirectObject(PDFBoolean.TRUE, new ObjectNumberAllocator())
+                .getReference();
+        ObjectNumberAllocator second = new ObjectNumberAllocator();
+        PDFIndirectObject.Reference io2 = new PDFIndirectObject(PDFBoolean.TRUE, second).getReference();
+        PDFIndirectObject.Reference io3 = new PDFIndirectObject(PDFBoolean.TRUE, second).getReference();
 
         assertTrue(io1.equals(io1));
         assertFalse(io1.equals(null));
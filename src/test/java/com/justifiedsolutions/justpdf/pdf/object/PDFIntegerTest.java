@@ -13,6 +13,8 @@ import java.nio.charset.StandardCharsets;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 class PDFIntegerTest {
 
@@ -23,6 +25,17 @@ class PDFIntegerTest {
         assertEquals(0, value.compareTo(new PDFInteger(0)));
     }
 
+    @Test
+    void valueOf() {
+        assertSame(PDFInteger.valueOf(0), PDFInteger.valueOf(0));
+        assertSame(PDFInteger.valueOf(-128), PDFInteger.valueOf(-128));
+        assertSame(PDFInteger.valueOf(1023), PDFInteger.valueOf(1023));
+        assertNotSame(PDFInteger.valueOf(1024), PDFInteger.valueOf(1024));
+        assertNotSame(PDFInteger.valueOf(-129), PDFInteger.valueOf(-129));
+        assertEquals(new PDFInteger(-129), PDFInteger.valueOf(-129));
+        assertEquals(new PDFInteger(612), PDFInteger.valueOf(612));
+    }
+
     @Test
     void writeToPDFPositive() throws IOException {
         testPDFInteger(100);
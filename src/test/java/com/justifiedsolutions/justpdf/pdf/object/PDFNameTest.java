@@ -12,9 +12,25 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 class PDFNameTest {
 
+    @Test
+    void valueOf() throws IOException {
+        PDFName name = PDFName.valueOf("Lime Green");
+        assertSame(name, PDFName.valueOf("Lime Green"));
+        assertEquals(new PDFName("Lime Green"), name);
+        assertNotSame(new PDFName("Lime Green"), name);
+        assertEquals(0, name.compareTo(new PDFName("Lime Green")));
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        name.writeToPDF(actual);
+        name.writeToPDF(actual);
+        assertEquals("/Lime#20Green/Lime#20Green", actual.toString(StandardCharsets.US_ASCII));
+    }
+
     @Test
     void writeToPDFPound() throws IOException {
         testPDFName("#foo", "/#23foo");
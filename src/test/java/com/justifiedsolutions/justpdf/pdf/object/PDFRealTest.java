@@ -12,9 +12,23 @@ import java.io.IOException;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 class PDFRealTest {
 
+    @Test
+    void valueOf() {
+        assertSame(PDFReal.valueOf(0), PDFReal.valueOf(0));
+        assertSame(PDFReal.valueOf(1), PDFReal.valueOf(1f));
+        assertSame(PDFReal.valueOf(-128), PDFReal.valueOf(-128));
+        assertNotSame(PDFReal.valueOf(.5f), PDFReal.valueOf(.5f));
+        assertNotSame(PDFReal.valueOf(1024), PDFReal.valueOf(1024));
+        assertEquals(new PDFReal(-0f), PDFReal.valueOf(-0f));
+        assertEquals(new PDFReal(.5f), PDFReal.valueOf(.5f));
+        assertEquals(new PDFReal(612), PDFReal.valueOf(612));
+    }
+
     @Test
     void truncate() {
         float input = .123456f;
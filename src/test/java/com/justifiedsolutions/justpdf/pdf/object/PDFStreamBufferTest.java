@@ -0,0 +1,48 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.object;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PDFStreamBufferTest {
+
+    @Test
+    void toStream() {
+        PDFStreamBuffer buffer = new PDFStreamBuffer(64);
+        buffer.writeBytes("I am a leaf on the wind.".getBytes(StandardCharsets.US_ASCII));
+        PDFStream stream = buffer.toStream();
+        assertEquals(new PDFStream("I am a leaf on the wind.".getBytes(StandardCharsets.US_ASCII)), stream);
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void toStreamDetachesBuffer() {
+        PDFStreamBuffer buffer = new PDFStreamBuffer();
+        buffer.writeBytes("leaf".getBytes(StandardCharsets.US_ASCII));
+        PDFStream stream = buffer.toStream();
+        buffer.writeBytes("wind".getBytes(StandardCharsets.US_ASCII));
+        assertEquals(new PDFStream("leaf".getBytes(StandardCharsets.US_ASCII)), stream);
+        assertEquals(new PDFStream("wind".getBytes(StandardCharsets.US_ASCII)), buffer.toStream());
+    }
+
+    @Test
+    void toStreamTrimsMostlyUnusedBuffer() {
+        PDFStreamBuffer buffer = new PDFStreamBuffer(1024);
+        buffer.writeBytes("leaf".getBytes(StandardCharsets.US_ASCII));
+        assertEquals(4, buffer.toStream().getData().array().length);
+    }
+
+    @Test
+    void toStreamKeepsMostlyUsedBuffer() {
+        PDFStreamBuffer buffer = new PDFStreamBuffer(6);
+        buffer.writeBytes("leaf".getBytes(StandardCharsets.US_ASCII));
+        assertEquals(6, buffer.toStream().getData().array().length);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdf.pdf.object;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PDFStreamStoreTest {
+
+    @Test
+    void direct() throws IOException {
+        try (PDFStreamStore store = PDFStreamStore.direct()) {
+            assertSpill(store);
+        }
+    }
+
+    @Test
+    void mapped(@TempDir Path tempDir) throws IOException {
+        try (PDFStreamStore store = PDFStreamStore.mapped(tempDir)) {
+            assertSpill(store);
+        }
+        try (var files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void mappedSegments(@TempDir Path tempDir) throws IOException {
+        List<PDFStream> streams = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        try (PDFStreamStore store = PDFStreamStore.mapped(tempDir, 64)) {
+            for (int i = 0; i < 30; i++) {
+                PDFStream stream = new PDFStream(("Stream number " + i + '.').getBytes(StandardCharsets.US_ASCII));
+                expected.add(write(stream));
+                streams.add(store.spill(stream));
+            }
+            // three or four streams of 16 or 17 bytes fit in each 64 byte segment
+            assertEquals(10, store.getSegmentCount());
+
+            PDFStream large = new PDFStream(new byte[100]);
+            String expectedLarge = write(large);
+            store.spill(large);
+            assertEquals(11, store.getSegmentCount());
+            assertEquals(expectedLarge, write(large));
+            store.spill(new PDFStream(new byte[1]));
+            assertEquals(12, store.getSegmentCount());
+        }
+        for (int i = 0; i < streams.size(); i++) {
+            assertTrue(streams.get(i).getData().isReadOnly());
+            assertEquals(expected.get(i), write(streams.get(i)));
+        }
+    }
+
+    @Test
+    void closed() throws IOException {
+        PDFStreamStore store = PDFStreamStore.direct();
+        PDFStream stream = new PDFStream("leaf".getBytes(StandardCharsets.US_ASCII));
+        store.spill(stream);
+        store.close();
+        assertEquals("<</Length 4>>\nstream\nleaf\nendstream\n", write(stream));
+        PDFStream other = new PDFStream(new byte[]{1});
+        assertThrows(IllegalStateException.class, () -> store.spill(other));
+    }
+
+    private static void assertSpill(PDFStreamStore store) throws IOException {
+        PDFStream first = new PDFStream("I am a leaf on the wind.".getBytes(StandardCharsets.US_ASCII));
+        PDFStream second = new PDFStream("Watch how I soar.".getBytes(StandardCharsets.US_ASCII));
+        PDFStream empty = new PDFStream(new byte[0]);
+        String expectedFirst = write(first);
+        String expectedSecond = write(second);
+        String expectedEmpty = write(empty);
+        assertFalse(first.getData().isDirect());
+
+        assertSame(first, store.spill(first));
+        assertSame(second, store.spill(second));
+        assertSame(empty, store.spill(empty));
+        assertTrue(first.getData().isDirect());
+        assertEquals(41, store.getSize());
+        assertEquals(expectedFirst, write(first));
+        assertEquals(expectedSecond, write(second));
+        assertEquals(expectedEmpty, write(empty));
+
+        store.spill(first);
+        assertEquals(41, store.getSize());
+        assertArrayEquals("Watch how I soar.".getBytes(StandardCharsets.US_ASCII), toArray(second));
+    }
+
+    private static byte[] toArray(PDFStream stream) {
+        byte[] result = new byte[stream.getData().remaining()];
+        stream.getData().get(result);
+        return result;
+    }
+
+    private static String write(PDFStream stream) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        stream.writeToPDF(out);
+        return out.toString(StandardCharsets.US_ASCII);
+    }
+}
@@ -9,12 +9,14 @@ import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class PDFStreamTest {
@@ -37,6 +39,42 @@ class PDFStreamTest {
         assertArrayEquals(expected.toByteArray(), actual.toByteArray());
     }
 
+    @Test
+    void constructorCopies() throws IOException {
+        byte[] data = "leaf".getBytes(StandardCharsets.US_ASCII);
+        PDFStream stream = new PDFStream(data);
+        data[0] = 'b';
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        stream.writeToPDF(actual);
+        assertEquals("<</Length 4>>\nstream\nleaf\nendstream\n", actual.toString(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void constructorTakesOwnership() throws IOException {
+        byte[] data = "leaf on the wind".getBytes(StandardCharsets.US_ASCII);
+        PDFStream stream = new PDFStream(data, 4);
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        stream.writeToPDF(actual);
+        assertEquals("<</Length 4>>\nstream\nleaf\nendstream\n", actual.toString(StandardCharsets.US_ASCII));
+        assertEquals(new PDFStream("leaf".getBytes(StandardCharsets.US_ASCII)), stream);
+        assertEquals(new PDFStream("leaf".getBytes(StandardCharsets.US_ASCII)).hashCode(), stream.hashCode());
+        assertThrows(IndexOutOfBoundsException.class, () -> new PDFStream(data, 17));
+    }
+
+    @Test
+    void constructorByteBuffer() throws IOException {
+        ByteBuffer data = ByteBuffer.allocateDirect(16).put("leaf on the wind".getBytes(StandardCharsets.US_ASCII));
+        data.position(8).limit(11);
+        PDFStream stream = new PDFStream(data);
+        data.position(0);
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        stream.writeToPDF(actual);
+        assertEquals("<</Length 3>>\nstream\nthe\nendstream\n", actual.toString(StandardCharsets.US_ASCII));
+        assertEquals(new PDFStream("the".getBytes(StandardCharsets.US_ASCII)), stream);
+        assertEquals(new PDFStream("the".getBytes(StandardCharsets.US_ASCII)).hashCode(), stream.hashCode());
+        assertEquals(ByteBuffer.wrap("the".getBytes(StandardCharsets.US_ASCII)), stream.getData());
+    }
+
     @Test
     void addFilters() {
         PDFStream stream = new PDFStream(new byte[] {});
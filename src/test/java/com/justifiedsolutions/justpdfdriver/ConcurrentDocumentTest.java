@@ -0,0 +1,129 @@
+/*
+ * Copyright 2020 Justified Solutions
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.justifiedsolutions.justpdfdriver;
+
+import com.justifiedsolutions.justpdf.XRefValidator;
+import com.justifiedsolutions.justpdf.api.Document;
+import com.justifiedsolutions.justpdf.api.DocumentException;
+import com.justifiedsolutions.justpdf.api.HorizontalAlignment;
+import com.justifiedsolutions.justpdf.api.Margin;
+import com.justifiedsolutions.justpdf.api.Metadata;
+import com.justifiedsolutions.justpdf.api.PageNumberFooter;
+import com.justifiedsolutions.justpdf.api.PageSize;
+import com.justifiedsolutions.justpdf.api.Section;
+import com.justifiedsolutions.justpdf.api.content.Paragraph;
+import com.justifiedsolutions.justpdf.api.content.Table;
+import com.justifiedsolutions.justpdf.api.font.PDFFont;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Renders several documents per thread at the same time and validates the cross reference table of every one of them.
+ * A few documents per thread are enough for them to interleave and catch any object numbering state they share.
+ */
+class ConcurrentDocumentTest {
+
+    private static final int THREADS = 8;
+    private static final int DOCUMENTS = 32;
+
+    @Test
+    void renderInParallel() throws Exception {
+        byte[] reference = render(false);
+        int expectedSize = XRefValidator.validate(reference);
+        String expected = normalize(reference);
+
+        List<Future<byte[]>> results = submitAll(false);
+        for (Future<byte[]> result : results) {
+            byte[] actual = result.get();
+            assertEquals(expectedSize, XRefValidator.validate(actual));
+            assertEquals(expected, normalize(actual));
+        }
+    }
+
+    @Test
+    void renderStreamingInParallel() throws Exception {
+        byte[] reference = render(true);
+        int expectedSize = XRefValidator.validate(reference);
+        String expected = normalize(reference);
+
+        List<Future<byte[]>> results = submitAll(true);
+        for (Future<byte[]> result : results) {
+            byte[] actual = result.get();
+            assertEquals(expectedSize, XRefValidator.validate(actual));
+            assertEquals(expected, normalize(actual));
+        }
+    }
+
+    private List<Future<byte[]>> submitAll(boolean streaming) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Callable<byte[]>> tasks = new ArrayList<>();
+            for (int i = 0; i < DOCUMENTS; i++) {
+                tasks.add(() -> {
+                    start.await();
+                    return render(streaming);
+                });
+            }
+            List<Future<byte[]>> results = new ArrayList<>();
+            for (Callable<byte[]> task : tasks) {
+                results.add(executor.submit(task));
+            }
+            start.countDown();
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * The creation date is the only part of the output that changes from one run to the next.
+     */
+    private static String normalize(byte[] pdf) {
+        String text = new String(pdf, StandardCharsets.ISO_8859_1);
+        return text.replaceAll("/CreationDate \\(D:[^)]*\\)", "/CreationDate (D:)");
+    }
+
+    private static byte[] render(boolean streaming) throws DocumentException, IOException {
+        Document document = new Document(PageSize.LETTER, new Margin(72, 72, 72, 72));
+        document.getWriteOptions().setStreaming(streaming);
+        document.setMetadata(Metadata.TITLE, "ConcurrentDocumentTest");
+        document.setFooter(new PageNumberFooter(false, HorizontalAlignment.RIGHT,
+                new PDFFont(PDFFont.FontName.HELVETICA, 10)));
+
+        for (int s = 1; s <= 2; s++) {
+            Paragraph title = new Paragraph("Section " + s);
+            title.setFont(new PDFFont(PDFFont.FontName.HELVETICA_BOLD, 16));
+            Section section = document.createSection(title);
+            for (int p = 0; p < 3; p++) {
+                Paragraph paragraph = new Paragraph("Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed "
+                        + "do eiusmod tempor incididunt ut labore et dolore magna aliqua. Paragraph " + p + '.');
+                paragraph.setFont(new PDFFont(PDFFont.FontName.TIMES_ROMAN, 12));
+                section.addContent(paragraph);
+            }
+            Table table = new Table(2);
+            table.createCell(new Paragraph("A"));
+            table.createCell(new Paragraph("B"));
+            section.addContent(table);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        document.write(out);
+        return out.toByteArray();
+    }
+}